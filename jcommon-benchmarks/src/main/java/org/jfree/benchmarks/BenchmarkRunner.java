@@ -0,0 +1,104 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * --------------------
+ * BenchmarkRunner.java
+ * --------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The entry point of <code>benchmarks.jar</code>.  It accepts the usual JMH
+ * command line options, but unless a result format is given it writes the
+ * results as JSON to <code>jmh-result.json</code>, so that every run leaves
+ * a machine-readable record that can be tracked over time.
+ */
+public final class BenchmarkRunner {
+
+    /** The default result file. */
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    /**
+     * Private constructor prevents object creation.
+     */
+    private BenchmarkRunner() {
+        // prevent instantiation
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args  JMH command line options (for example a benchmark name
+     *     pattern, or -h for help).
+     *
+     * @throws CommandLineOptionException if the options are invalid.
+     * @throws RunnerException if a benchmark fails.
+     * @throws IOException if the help or a listing cannot be written.
+     */
+    public static void main(final String[] args)
+            throws CommandLineOptionException, RunnerException, IOException {
+        final CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp()) {
+            cmd.showHelp();
+            return;
+        }
+        if (cmd.shouldList() || cmd.shouldListWithParams()
+                || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            // let the standard JMH entry point handle the listing options
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+            if (!cmd.getResult().hasValue()) {
+                options.result(DEFAULT_RESULT_FILE);
+            }
+        }
+        new Runner(options.build()).run();
+    }
+
+}
@@ -0,0 +1,241 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ------------------------
+ * PngEncoderBenchmark.java
+ * ------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.benchmarks;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import com.keypoint.PngEncoder;
+import com.keypoint.PngEncoderPool;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link PngEncoder}, encoding a chart-like image (flat
+ * background, gradient plot area, anti-aliased series and labels).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PngEncoderBenchmark {
+
+    /** The image size (width x height). */
+    @Param({"800x600", "4000x3000"})
+    public String size;
+
+    /** The filter type. */
+    @Param({"0", "5"})
+    public int filter;
+
+    /** Choose palette and greyscale colour types automatically? */
+    @Param({"false", "true"})
+    public boolean autoColorType;
+
+    /** The image. */
+    private BufferedImage image;
+
+    /** A pool shared by all benchmark threads. */
+    private PngEncoderPool pool;
+
+    /**
+     * Creates the fixture.
+     */
+    @Setup
+    public void setup() {
+        final int x = this.size.indexOf('x');
+        final int width = Integer.parseInt(this.size.substring(0, x));
+        final int height = Integer.parseInt(this.size.substring(x + 1));
+        this.image = createChartImage(width, height);
+        this.pool = new PngEncoderPool(Runtime.getRuntime()
+                .availableProcessors(), true, this.filter, 6,
+                this.autoColorType);
+    }
+
+    /**
+     * Encodes to a byte array with a new encoder.
+     *
+     * @return The PNG bytes.
+     */
+    @Benchmark
+    public byte[] encodeToBytes() {
+        final PngEncoder encoder = new PngEncoder(this.image, true,
+                this.filter, 6);
+        encoder.setAutoColorType(this.autoColorType);
+        return encoder.pngEncode();
+    }
+
+    /**
+     * Encodes to a stream with a new encoder.
+     *
+     * @return The number of bytes written.
+     *
+     * @throws IOException never.
+     */
+    @Benchmark
+    public long encodeToStream() throws IOException {
+        final PngEncoder encoder = new PngEncoder(this.image, true,
+                this.filter, 6);
+        encoder.setAutoColorType(this.autoColorType);
+        final CountingOutputStream out = new CountingOutputStream();
+        encoder.pngEncode(out);
+        return out.count;
+    }
+
+    /**
+     * Encodes to a stream with a pooled encoder.
+     *
+     * @return The number of bytes written.
+     *
+     * @throws IOException never.
+     */
+    @Benchmark
+    public long encodePooled() throws IOException {
+        final CountingOutputStream out = new CountingOutputStream();
+        this.pool.encode(this.image, out);
+        return out.count;
+    }
+
+    /**
+     * Draws a chart-like image.
+     *
+     * @param width  the width.
+     * @param height  the height.
+     *
+     * @return The image.
+     */
+    static BufferedImage createChartImage(int width, int height) {
+        final BufferedImage image = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setPaint(Color.white);
+        g2.fillRect(0, 0, width, height);
+        final int left = width / 10;
+        final int top = height / 10;
+        final int plotWidth = width * 8 / 10;
+        final int plotHeight = height * 8 / 10;
+        g2.setPaint(new GradientPaint(0, top, Color.lightGray, 0,
+                top + plotHeight, Color.white));
+        g2.fillRect(left, top, plotWidth, plotHeight);
+        g2.setPaint(Color.gray);
+        for (int i = 1; i < 10; i++) {
+            final int y = top + plotHeight * i / 10;
+            g2.drawLine(left, y, left + plotWidth, y);
+        }
+        final Color[] colors = {Color.red, Color.blue, Color.green.darker(),
+            Color.orange, Color.magenta};
+        g2.setStroke(new BasicStroke(Math.max(1.0f, width / 400.0f)));
+        for (int s = 0; s < colors.length; s++) {
+            g2.setPaint(colors[s]);
+            int lastX = left;
+            int lastY = top + plotHeight / 2;
+            for (int i = 1; i <= 50; i++) {
+                final int px = left + plotWidth * i / 50;
+                final int py = top + (int) (plotHeight
+                        * (0.5 + 0.4 * Math.sin(i * 0.3 + s)));
+                g2.drawLine(lastX, lastY, px, py);
+                lastX = px;
+                lastY = py;
+            }
+        }
+        g2.setPaint(Color.black);
+        g2.setFont(new Font("SansSerif", Font.PLAIN, Math.max(10,
+                height / 50)));
+        for (int i = 0; i <= 10; i++) {
+            g2.drawString(String.valueOf(i * 10), left / 3,
+                    top + plotHeight - plotHeight * i / 10);
+        }
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * An output stream that only counts the bytes written to it.
+     */
+    static class CountingOutputStream extends OutputStream {
+
+        /** The number of bytes written. */
+        long count;
+
+        /**
+         * Counts one byte.
+         *
+         * @param b  the byte.
+         */
+        public void write(int b) {
+            this.count++;
+        }
+
+        /**
+         * Counts a range of bytes.
+         *
+         * @param b  the data.
+         * @param off  the offset.
+         * @param len  the number of bytes.
+         */
+        public void write(byte[] b, int off, int len) {
+            this.count += len;
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------------------
+ * SerialUtilitiesBenchmark.java
+ * -----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.benchmarks;
+
+import java.awt.Shape;
+import java.awt.geom.GeneralPath;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.io.SerialUtilities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for
+ * {@link SerialUtilities#writeShape(Shape, ObjectOutputStream, int)} and
+ * {@link SerialUtilities#readShape(ObjectInputStream)} with a series shape
+ * made of many line, quadratic and cubic segments, in each shape format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerialUtilitiesBenchmark {
+
+    /** The number of segments in the path. */
+    @Param({"100", "10000"})
+    public int segments;
+
+    /** The shape format (see {@link SerialUtilities#SHAPE_FORMAT_LEGACY}). */
+    @Param({"0", "1", "2"})
+    public int format;
+
+    /** The shape. */
+    private GeneralPath path;
+
+    /** The serialized shape. */
+    private byte[] serialized;
+
+    /** The output buffer, reused between invocations. */
+    private ByteArrayOutputStream buffer;
+
+    /**
+     * Creates the fixture.
+     *
+     * @throws IOException never.
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.path = createSeriesPath(this.segments);
+        this.buffer = new ByteArrayOutputStream();
+        this.serialized = write();
+    }
+
+    /**
+     * Serializes the shape.
+     *
+     * @return The serialized bytes.
+     *
+     * @throws IOException never.
+     */
+    @Benchmark
+    public byte[] writeShape() throws IOException {
+        return write();
+    }
+
+    /**
+     * Deserializes the shape.
+     *
+     * @return The shape.
+     *
+     * @throws IOException never.
+     * @throws ClassNotFoundException never.
+     */
+    @Benchmark
+    public Shape readShape() throws IOException, ClassNotFoundException {
+        final ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(this.serialized));
+        return SerialUtilities.readShape(in);
+    }
+
+    /**
+     * Serializes the shape.
+     *
+     * @return The serialized bytes.
+     *
+     * @throws IOException never.
+     */
+    private byte[] write() throws IOException {
+        this.buffer.reset();
+        final ObjectOutputStream out = new ObjectOutputStream(this.buffer);
+        SerialUtilities.writeShape(this.path, out, this.format);
+        out.close();
+        return this.buffer.toByteArray();
+    }
+
+    /**
+     * Creates a path that looks like a rendered data series.
+     *
+     * @param segments  the number of segments.
+     *
+     * @return The path.
+     */
+    static GeneralPath createSeriesPath(int segments) {
+        final GeneralPath path = new GeneralPath(GeneralPath.WIND_NON_ZERO,
+                segments + 1);
+        path.moveTo(0.0f, 100.0f);
+        for (int i = 1; i <= segments; i++) {
+            final float x = i * 2.5f;
+            final float y = 100.0f + (float) (80.0 * Math.sin(i * 0.05));
+            switch (i % 4) {
+                case 0:
+                    path.quadTo(x - 1.25f, y + 3.0f, x, y);
+                    break;
+                case 1:
+                    path.curveTo(x - 2.0f, y - 2.0f, x - 1.0f, y + 2.0f, x, y);
+                    break;
+                default:
+                    path.lineTo(x, y);
+                    break;
+            }
+        }
+        path.closePath();
+        return path;
+    }
+
+}
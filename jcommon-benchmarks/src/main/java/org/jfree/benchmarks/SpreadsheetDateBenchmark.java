@@ -0,0 +1,118 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------------------
+ * SpreadsheetDateBenchmark.java
+ * -----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.date.DayDate;
+import org.jfree.date.SpreadsheetDate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the construction of {@link SpreadsheetDate} instances,
+ * which happens for every day of a time series axis.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpreadsheetDateBenchmark {
+
+    /** The serial number of the next date to create. */
+    private int serial = 2;
+
+    /** The day of the month of the next date to create. */
+    private int day = 1;
+
+    /** The month of the next date to create. */
+    private int month = 1;
+
+    /** The year of the next date to create. */
+    private int year = 1900;
+
+    /**
+     * Creates a date from a day, month and year (which computes the serial
+     * number).
+     *
+     * @return The date.
+     */
+    @Benchmark
+    public DayDate fromDayMonthYear() {
+        final DayDate result = new SpreadsheetDate(this.day, this.month,
+                this.year);
+        this.day = (this.day % 28) + 1;
+        if (this.day == 1) {
+            this.month = (this.month % 12) + 1;
+            if (this.month == 1) {
+                this.year = (this.year == 9999) ? 1900 : this.year + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a date from a serial number (which computes the day, month
+     * and year).
+     *
+     * @return The date.
+     */
+    @Benchmark
+    public DayDate fromSerial() {
+        final DayDate result = new SpreadsheetDate(this.serial);
+        this.serial++;
+        if (this.serial > SpreadsheetDate.LATEST_DATE_ORDINAL) {
+            this.serial = SpreadsheetDate.EARLIEST_DATE_ORDINAL;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,155 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------------------
+ * TextUtilitiesBenchmark.java
+ * ---------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.benchmarks;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.text.G2TextMeasurer;
+import org.jfree.text.TextBlock;
+import org.jfree.text.TextMeasurer;
+import org.jfree.text.TextUtilities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the line wrapping in {@link TextUtilities}, which spends
+ * most of its time in the private <code>nextLineBreak()</code> method.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TextUtilitiesBenchmark {
+
+    /** A paragraph of label text. */
+    private static final String PARAGRAPH = "Quarterly revenue by region, "
+            + "adjusted for currency movements and seasonal effects. "
+            + "Figures for the most recent quarter are provisional and may "
+            + "be revised when the audited accounts are published. ";
+
+    /** The number of paragraphs in the text. */
+    @Param({"1", "10", "100"})
+    public int paragraphs;
+
+    /** The wrapping width. */
+    @Param({"120", "600"})
+    public float width;
+
+    /** The text. */
+    private String text;
+
+    /** The font. */
+    private Font font;
+
+    /** The graphics target. */
+    private Graphics2D g2;
+
+    /** The text measurer. */
+    private TextMeasurer measurer;
+
+    /**
+     * Creates the fixture.
+     */
+    @Setup
+    public void setup() {
+        final StringBuffer buffer = new StringBuffer();
+        for (int i = 0; i < this.paragraphs; i++) {
+            buffer.append(PARAGRAPH);
+            buffer.append(i);
+            buffer.append('\n');
+        }
+        this.text = buffer.toString();
+        this.font = new Font("SansSerif", Font.PLAIN, 12);
+        final BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        this.g2 = image.createGraphics();
+        this.g2.setFont(this.font);
+        this.measurer = new G2TextMeasurer(this.g2);
+    }
+
+    /**
+     * Releases the graphics target.
+     */
+    @TearDown
+    public void tearDown() {
+        this.g2.dispose();
+    }
+
+    /**
+     * Wraps the text to the given width.
+     *
+     * @return The text block.
+     */
+    @Benchmark
+    public TextBlock createWrappedTextBlock() {
+        return TextUtilities.createTextBlock(this.text, this.font, Color.black,
+                this.width, this.measurer);
+    }
+
+    /**
+     * Splits the text at newline characters only.
+     *
+     * @return The text block.
+     */
+    @Benchmark
+    public TextBlock createTextBlock() {
+        return TextUtilities.createTextBlock(this.text, this.font,
+                Color.black);
+    }
+
+}
@@ -0,0 +1,393 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------------------------
+ * ParallelDeflaterOutputStream.java
+ * ---------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package com.keypoint;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+
+/**
+ * An output stream that writes a zlib stream, compressing fixed-size blocks
+ * of its input concurrently.
+ * <p>
+ * Each block is compressed by its own raw {@link Deflater}, primed with the
+ * last 32K of the preceding block as a preset dictionary, and ended with a
+ * sync flush so that it finishes on a byte boundary.  The compressed blocks
+ * can therefore simply be concatenated (in the order in which they were
+ * written) between the zlib header and the Adler-32 trailer, which is
+ * computed on the writing thread.  This is the scheme used by "pigz".
+ * <p>
+ * The number of blocks in flight is bounded, so the memory used does not
+ * depend on the total amount of data written.
+ */
+class ParallelDeflaterOutputStream extends OutputStream {
+
+    /** The size of the deflate window (and the preset dictionary). */
+    private static final int WINDOW_SIZE = 32768;
+
+    /** The underlying stream. */
+    private OutputStream out;
+
+    /** The compression level. */
+    private int level;
+
+    /** The executor that runs the compression tasks. */
+    private ExecutorService executor;
+
+    /** The block size. */
+    private int blockSize;
+
+    /** The maximum number of blocks compressed concurrently. */
+    private int maxPending;
+
+    /** The compression tasks that have not been written yet, in order. */
+    private LinkedList pending;
+
+    /** The block currently being filled. */
+    private byte[] block;
+
+    /** The number of bytes in the current block. */
+    private int count;
+
+    /** The previous (already submitted) block, used as the dictionary. */
+    private byte[] previous;
+
+    /** The number of bytes in the previous block. */
+    private int previousCount;
+
+    /** The checksum of the uncompressed data. */
+    private Adler32 adler;
+
+    /** A flag that records whether the zlib header has been written. */
+    private boolean headerWritten;
+
+    /** A flag that records whether the stream has been finished. */
+    private boolean finished;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param out  the underlying stream.
+     * @param level  the compression level (0-9).
+     * @param executor  the executor that runs the compression tasks.
+     * @param blockSize  the number of uncompressed bytes per task.
+     */
+    public ParallelDeflaterOutputStream(final OutputStream out,
+                                        final int level,
+                                        final ExecutorService executor,
+                                        final int blockSize) {
+        if (out == null) {
+            throw new NullPointerException("Null 'out' argument.");
+        }
+        if (executor == null) {
+            throw new NullPointerException("Null 'executor' argument.");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive.");
+        }
+        this.out = out;
+        this.level = level;
+        this.executor = executor;
+        this.blockSize = blockSize;
+        this.maxPending = Math.max(2,
+                Runtime.getRuntime().availableProcessors() * 2);
+        this.pending = new LinkedList();
+        this.block = new byte[blockSize];
+        this.adler = new Adler32();
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param b  the byte.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void write(final int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    /**
+     * Writes a range of bytes.
+     *
+     * @param b  the data.
+     * @param off  the start offset.
+     * @param len  the number of bytes to write.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void write(final byte[] b, int off, int len) throws IOException {
+        if (this.finished) {
+            throw new IOException("Stream has been finished.");
+        }
+        this.adler.update(b, off, len);
+        while (len > 0) {
+            if (this.count == this.blockSize) {
+                submitBlock(false);
+            }
+            final int n = Math.min(len, this.blockSize - this.count);
+            System.arraycopy(b, off, this.block, this.count, n);
+            this.count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Compresses the remaining data and writes the complete zlib stream to
+     * the underlying stream, waiting for all outstanding tasks.  The
+     * underlying stream is not closed.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void finish() throws IOException {
+        if (this.finished) {
+            return;
+        }
+        submitBlock(true);
+        this.finished = true;
+        while (!this.pending.isEmpty()) {
+            writeNextResult();
+        }
+        final long checksum = this.adler.getValue();
+        this.out.write((int) (checksum >> 24) & 0xff);
+        this.out.write((int) (checksum >> 16) & 0xff);
+        this.out.write((int) (checksum >> 8) & 0xff);
+        this.out.write((int) checksum & 0xff);
+    }
+
+    /**
+     * Finishes the zlib stream and closes the underlying stream.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void close() throws IOException {
+        try {
+            finish();
+        }
+        finally {
+            cancelPending();
+            this.out.close();
+        }
+    }
+
+    /**
+     * Hands the current block to the executor and starts a new one.
+     *
+     * @param last  is this the final block of the stream?
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private void submitBlock(final boolean last) throws IOException {
+        if (!this.headerWritten) {
+            writeHeader();
+            this.headerWritten = true;
+        }
+        final Future future = this.executor.submit(new DeflateTask(
+                this.block, this.count, this.previous, this.previousCount,
+                this.level, last));
+        this.pending.addLast(future);
+        this.previous = this.block;
+        this.previousCount = this.count;
+        if (!last) {
+            this.block = new byte[this.blockSize];
+        }
+        this.count = 0;
+        while (this.pending.size() > this.maxPending) {
+            writeNextResult();
+        }
+    }
+
+    /**
+     * Waits for the oldest outstanding task and writes its output.
+     *
+     * @throws IOException if there is an I/O problem or the task failed.
+     */
+    private void writeNextResult() throws IOException {
+        final Future future = (Future) this.pending.removeFirst();
+        try {
+            final ByteArrayOutputStream result
+                    = (ByteArrayOutputStream) future.get();
+            result.writeTo(this.out);
+        }
+        catch (InterruptedException e) {
+            cancelPending();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(
+                    "Interrupted while waiting for compression.");
+        }
+        catch (ExecutionException e) {
+            cancelPending();
+            final IOException ioe = new IOException("Compression failed.");
+            ioe.initCause(e.getCause());
+            throw ioe;
+        }
+    }
+
+    /**
+     * Cancels all outstanding tasks.
+     */
+    private void cancelPending() {
+        while (!this.pending.isEmpty()) {
+            ((Future) this.pending.removeFirst()).cancel(false);
+        }
+    }
+
+    /**
+     * Writes the two byte zlib header.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private void writeHeader() throws IOException {
+        final int cmf = 0x78; // deflate, 32K window
+        final int flevel;
+        if (this.level <= 1) {
+            flevel = 0;
+        }
+        else if (this.level <= 5) {
+            flevel = 1;
+        }
+        else if (this.level == 6) {
+            flevel = 2;
+        }
+        else {
+            flevel = 3;
+        }
+        int flg = flevel << 6;
+        flg += 31 - ((cmf * 256 + flg) % 31);
+        this.out.write(cmf);
+        this.out.write(flg);
+    }
+
+    /**
+     * A task that compresses a single block to raw deflate data.
+     */
+    private static class DeflateTask implements Callable {
+
+        /** The data. */
+        private byte[] data;
+
+        /** The number of bytes of data. */
+        private int length;
+
+        /** The previous block (or <code>null</code>). */
+        private byte[] dictionary;
+
+        /** The number of bytes in the previous block. */
+        private int dictionaryLength;
+
+        /** The compression level. */
+        private int level;
+
+        /** Is this the last block of the stream? */
+        private boolean last;
+
+        /**
+         * Creates a new task.
+         *
+         * @param data  the data.
+         * @param length  the number of bytes of data.
+         * @param dictionary  the previous block (or <code>null</code>).
+         * @param dictionaryLength  the number of bytes in the previous block.
+         * @param level  the compression level.
+         * @param last  is this the last block of the stream?
+         */
+        DeflateTask(final byte[] data, final int length,
+                    final byte[] dictionary, final int dictionaryLength,
+                    final int level, final boolean last) {
+            this.data = data;
+            this.length = length;
+            this.dictionary = dictionary;
+            this.dictionaryLength = dictionaryLength;
+            this.level = level;
+            this.last = last;
+        }
+
+        /**
+         * Compresses the block.
+         *
+         * @return The compressed data (a ByteArrayOutputStream).
+         */
+        public Object call() {
+            final Deflater deflater = new Deflater(this.level, true);
+            try {
+                final ByteArrayOutputStream result = new ByteArrayOutputStream(
+                        this.length / 2 + 64);
+                if (this.dictionary != null && this.dictionaryLength > 0) {
+                    final int n = Math.min(WINDOW_SIZE, this.dictionaryLength);
+                    deflater.setDictionary(this.dictionary,
+                            this.dictionaryLength - n, n);
+                }
+                deflater.setInput(this.data, 0, this.length);
+                final byte[] buffer = new byte[8192];
+                if (this.last) {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        final int n = deflater.deflate(buffer);
+                        result.write(buffer, 0, n);
+                    }
+                }
+                else {
+                    int n;
+                    do {
+                        n = deflater.deflate(buffer, 0, buffer.length,
+                                Deflater.SYNC_FLUSH);
+                        result.write(buffer, 0, n);
+                    }
+                    while (n == buffer.length);
+                }
+                return result;
+            }
+            finally {
+                deflater.end();
+            }
+        }
+    }
+
+}
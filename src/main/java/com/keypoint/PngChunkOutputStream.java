@@ -0,0 +1,241 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------------
+ * PngChunkOutputStream.java
+ * -------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ * 17-Oct-2026 : Added constructor taking a reusable buffer;
+ *
+ */
+
+package com.keypoint;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+
+/**
+ * An output stream that packs everything written to it into PNG chunks of a
+ * single type (normally "IDAT").  At most <code>chunkSize</code> bytes are
+ * held in memory; once the buffer is full a complete chunk (length, type,
+ * data and CRC) is written to the underlying stream.
+ * <p>
+ * Closing this stream flushes the final (possibly short) chunk but does
+ * <b>not</b> close the underlying stream, so that further chunks (such as
+ * "IEND") can follow.
+ */
+class PngChunkOutputStream extends OutputStream {
+
+    /** The default chunk payload size. */
+    public static final int DEFAULT_CHUNK_SIZE = 32768;
+
+    /** The underlying stream. */
+    private OutputStream out;
+
+    /** The chunk type tag. */
+    private byte[] type;
+
+    /** The chunk payload buffer. */
+    private byte[] buffer;
+
+    /** The number of bytes currently held in the buffer. */
+    private int count;
+
+    /** The CRC calculator. */
+    private CRC32 crc;
+
+    /** A scratch buffer for the chunk length and CRC fields. */
+    private byte[] intBuffer;
+
+    /** A flag that records whether the stream has been closed. */
+    private boolean closed;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param out  the underlying stream.
+     * @param type  the chunk type tag (four bytes).
+     * @param chunkSize  the maximum payload of a single chunk.
+     * @param crc  the CRC calculator to use.
+     */
+    public PngChunkOutputStream(final OutputStream out, final byte[] type,
+                                final int chunkSize, final CRC32 crc) {
+        this(out, type, new byte[checkChunkSize(chunkSize)], crc);
+    }
+
+    /**
+     * Creates a new stream that uses the given array as its chunk buffer,
+     * so that the buffer can be reused across streams.
+     *
+     * @param out  the underlying stream.
+     * @param type  the chunk type tag (four bytes).
+     * @param buffer  the chunk buffer (its length is the chunk size).
+     * @param crc  the CRC calculator to use.
+     */
+    public PngChunkOutputStream(final OutputStream out, final byte[] type,
+                                final byte[] buffer, final CRC32 crc) {
+        if (out == null) {
+            throw new NullPointerException("Null 'out' argument.");
+        }
+        checkChunkSize(buffer.length);
+        this.out = out;
+        this.type = type;
+        this.buffer = buffer;
+        this.crc = crc;
+        this.intBuffer = new byte[4];
+    }
+
+    /**
+     * Checks that a chunk size is valid.
+     *
+     * @param chunkSize  the chunk size.
+     *
+     * @return The chunk size.
+     */
+    private static int checkChunkSize(final int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+        return chunkSize;
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param b  the byte.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void write(final int b) throws IOException {
+        if (this.count == this.buffer.length) {
+            flushChunk();
+        }
+        this.buffer[this.count++] = (byte) b;
+    }
+
+    /**
+     * Writes a range of bytes.
+     *
+     * @param b  the data.
+     * @param off  the start offset.
+     * @param len  the number of bytes to write.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void write(final byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (this.count == this.buffer.length) {
+                flushChunk();
+            }
+            final int n = Math.min(len, this.buffer.length - this.count);
+            System.arraycopy(b, off, this.buffer, this.count, n);
+            this.count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Writes any buffered data as a final chunk.  The underlying stream is
+     * flushed, but not closed.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        if (this.count > 0) {
+            flushChunk();
+        }
+        this.out.flush();
+    }
+
+    /**
+     * Writes the buffered bytes as one chunk.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private void flushChunk() throws IOException {
+        writeChunk(this.out, this.type, this.buffer, 0, this.count,
+                this.crc, this.intBuffer);
+        this.count = 0;
+    }
+
+    /**
+     * Writes a complete PNG chunk to a stream.
+     *
+     * @param out  the stream.
+     * @param type  the chunk type tag (four bytes).
+     * @param data  the chunk payload.
+     * @param off  the payload offset.
+     * @param len  the payload length.
+     * @param crc  the CRC calculator (will be reset).
+     * @param intBuffer  a scratch buffer of at least four bytes.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    static void writeChunk(final OutputStream out, final byte[] type,
+                           final byte[] data, final int off, final int len,
+                           final CRC32 crc, final byte[] intBuffer)
+            throws IOException {
+        writeInt4(out, len, intBuffer);
+        out.write(type);
+        out.write(data, off, len);
+        crc.reset();
+        crc.update(type, 0, type.length);
+        crc.update(data, off, len);
+        writeInt4(out, (int) crc.getValue(), intBuffer);
+    }
+
+    /**
+     * Writes a four-byte big-endian integer to a stream.
+     *
+     * @param out  the stream.
+     * @param n  the value.
+     * @param intBuffer  a scratch buffer of at least four bytes.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    static void writeInt4(final OutputStream out, final int n,
+                          final byte[] intBuffer) throws IOException {
+        intBuffer[0] = (byte) ((n >> 24) & 0xff);
+        intBuffer[1] = (byte) ((n >> 16) & 0xff);
+        intBuffer[2] = (byte) ((n >> 8) & 0xff);
+        intBuffer[3] = (byte) (n & 0xff);
+        out.write(intBuffer, 0, 4);
+    }
+
+}
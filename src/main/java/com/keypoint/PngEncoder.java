@@ -3,11 +3,15 @@ package com.keypoint;
 import java.awt.Image;
 import java.awt.image.ImageObserver;
 import java.awt.image.PixelGrabber;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
 import java.util.zip.CRC32;
 import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
 
 /**
  * PngEncoder takes a Java Image object and creates a byte string which can be
@@ -51,6 +55,20 @@ import java.util.zip.DeflaterOutputStream;
  *               Fixed bug with calculation of nRows
  * 15-Aug-2008 : Added scrunch.end() in writeImageData() method - see
  *               JFreeChart bug report 2037930 (David Gilbert);
+ * 17-Oct-2026 : Added streaming encoding to an OutputStream or
+ *               WritableByteChannel, with the image data written as a
+ *               sequence of bounded IDAT chunks.  The UP filter no longer
+ *               restarts at every 32K block of rows, and the SUB filter
+ *               no longer uses stale bytes for the first pixel of a row;
+ * 17-Oct-2026 : Added optional parallel compression of the image data;
+ * 17-Oct-2026 : Read the pixels of common BufferedImage types directly from
+ *               the raster instead of using a PixelGrabber;
+ * 17-Oct-2026 : Added the AVERAGE and PAETH filters, and adaptive filter
+ *               selection per row;
+ * 17-Oct-2026 : Added automatic selection of palette and greyscale colour
+ *               types;
+ * 17-Oct-2026 : Buffers are reused between encodings, and the Deflater too
+ *               when the encoder belongs to a PngEncoderPool;
  */
 
 public class PngEncoder {
@@ -70,8 +88,21 @@ public class PngEncoder {
     /** Constants for filter (UP). */
     public static final int FILTER_UP = 2;
 
+    /** Constants for filter (AVERAGE). */
+    public static final int FILTER_AVERAGE = 3;
+
+    /** Constants for filter (PAETH). */
+    public static final int FILTER_PAETH = 4;
+
+    /**
+     * Constants for filter (ADAPTIVE).  This is not a PNG filter type: it
+     * selects, for every row, the filter that gives the smallest sum of
+     * absolute filtered byte values.
+     */
+    public static final int FILTER_ADAPTIVE = 5;
+
     /** Constants for filter (LAST). */
-    public static final int FILTER_LAST = 2;
+    public static final int FILTER_LAST = 5;
 
     /** IHDR tag. */
     protected static final byte[] IHDR = {73, 72, 68, 82};
@@ -86,6 +117,30 @@ public class PngEncoder {
     protected static final byte[] PHYS = {(byte)'p', (byte)'H', (byte)'Y',
         (byte)'s'};
 
+    /** PLTE tag. */
+    protected static final byte[] PLTE = {80, 76, 84, 69};
+
+    /** tRNS tag. */
+    protected static final byte[] TRNS = {116, 82, 78, 83};
+
+    /** Colour type: greyscale. */
+    private static final int COLOR_GREY = 0;
+
+    /** Colour type: truecolour. */
+    private static final int COLOR_RGB = 2;
+
+    /** Colour type: indexed colour. */
+    private static final int COLOR_PALETTE = 3;
+
+    /** Colour type: greyscale with alpha. */
+    private static final int COLOR_GREY_ALPHA = 4;
+
+    /** Colour type: truecolour with alpha. */
+    private static final int COLOR_RGBA = 6;
+
+    /** The PNG file signature. */
+    private static final byte[] SIGNATURE = {-119, 80, 78, 71, 13, 10, 26, 10};
+
     /** The png bytes. */
     protected byte[] pngBytes;
 
@@ -140,6 +195,61 @@ public class PngEncoder {
      */
     protected int compressionLevel;
 
+    /** The maximum number of bytes written to a single IDAT chunk. */
+    private int idatChunkSize = PngChunkOutputStream.DEFAULT_CHUNK_SIZE;
+
+    /**
+     * The executor used to compress the image data in parallel, or
+     * <code>null</code> to compress on the calling thread.
+     */
+    private ExecutorService deflateExecutor;
+
+    /** The number of uncompressed bytes per parallel compression task. */
+    private int deflateBlockSize = 131072;
+
+    /** Choose the smallest colour type that represents the image exactly? */
+    private boolean autoColorType;
+
+    /** The PNG colour type used for the current encoding. */
+    private int colorType;
+
+    /** The bit depth used for the current encoding. */
+    private int bitDepth;
+
+    /** The palette for the current encoding (indexed colour only). */
+    private PngPalette palette;
+
+    /**
+     * Keep the Deflater from one encoding to the next?  This is set for
+     * encoders owned by a {@link PngEncoderPool}, which calls
+     * {@link #dispose()} when it discards them.
+     */
+    private boolean retainDeflater;
+
+    /** The Deflater (only kept between encodings if retainDeflater). */
+    private Deflater deflater;
+
+    /** The output buffer for the Deflater. */
+    private byte[] deflateBuffer;
+
+    /** The buffer for IDAT chunk data. */
+    private byte[] chunkBuffer;
+
+    /** The unfiltered scanline, with a leading filter type byte. */
+    private byte[] scanLine;
+
+    /** The filtered scanline. */
+    private byte[] filteredLine;
+
+    /** A second filtered scanline, used when choosing filters. */
+    private byte[] trialLine;
+
+    /** The pixel buffer for one row or a block of rows. */
+    private int[] pixelBuffer;
+
+    /** The colour table used when choosing the colour type. */
+    private PngPalette colors;
+
     /**
      * Class constructor.
      */
@@ -176,7 +286,8 @@ public class PngEncoder {
      *
      * @param image A Java Image object which uses the DirectColorModel
      * @param encodeAlpha Encode the alpha channel? false=no; true=yes
-     * @param whichFilter 0=none, 1=sub, 2=up
+     * @param whichFilter 0=none, 1=sub, 2=up, 3=average, 4=paeth,
+     *        5=adaptive
      * @see java.awt.Image
      */
     public PngEncoder(Image image, boolean encodeAlpha, int whichFilter) {
@@ -190,7 +301,8 @@ public class PngEncoder {
      *
      * @param image A Java Image object
      * @param encodeAlpha Encode the alpha channel? false=no; true=yes
-     * @param whichFilter 0=none, 1=sub, 2=up
+     * @param whichFilter 0=none, 1=sub, 2=up, 3=average, 4=paeth,
+     *        5=adaptive
      * @param compLevel 0..9 (1 = best speed, 9 = best compression, 0 = no
      *        compression)
      * @see java.awt.Image
@@ -234,8 +346,6 @@ public class PngEncoder {
      * @return an array of bytes, or null if there was a problem
      */
     public byte[] pngEncode(boolean encodeAlpha) {
-        byte[]  pngIdBytes = {-119, 80, 78, 71, 13, 10, 26, 10};
-
         if (this.image == null) {
             return null;
         }
@@ -253,10 +363,11 @@ public class PngEncoder {
          */
         this.maxPos = 0;
 
-        this.bytePos = writeBytes(pngIdBytes, 0);
+        this.bytePos = writeBytes(SIGNATURE, 0);
         //hdrPos = bytePos;
         writeHeader();
         writeResolution();
+        writePalette();
         //dataPos = bytePos;
         if (writeImageData()) {
             writeEnd();
@@ -278,6 +389,77 @@ public class PngEncoder {
         return pngEncode(this.encodeAlpha);
     }
 
+    /**
+     * Writes the PNG equivalent of the current image to a stream.  Unlike
+     * {@link #pngEncode()}, the file is never assembled in memory: the
+     * header is written first, followed by the image data as a sequence of
+     * IDAT chunks of at most {@link #getIdatChunkSize()} bytes, and finally
+     * the IEND chunk.  The memory used does not depend on the image height.
+     * <p>
+     * The stream is flushed, but not closed.
+     *
+     * @param out  the output stream (<code>null</code> not permitted).
+     *
+     * @throws IOException if there is an I/O problem or the pixels of the
+     *         image cannot be retrieved.
+     */
+    public void pngEncode(OutputStream out) throws IOException {
+        if (out == null) {
+            throw new NullPointerException("Null 'out' argument.");
+        }
+        if (this.image == null) {
+            throw new IllegalStateException("No image to encode.");
+        }
+        this.width = this.image.getWidth(null);
+        this.height = this.image.getHeight(null);
+        chooseColorType();
+
+        final byte[] intBuffer = new byte[4];
+        out.write(SIGNATURE);
+        final byte[] header = createHeaderData();
+        PngChunkOutputStream.writeChunk(out, IHDR, header, 0, header.length,
+                this.crc, intBuffer);
+        if (this.xDpi > 0 && this.yDpi > 0) {
+            final byte[] resolution = createResolutionData();
+            PngChunkOutputStream.writeChunk(out, PHYS, resolution, 0,
+                    resolution.length, this.crc, intBuffer);
+        }
+        if (this.palette != null) {
+            final byte[] plte = this.palette.createPaletteData();
+            PngChunkOutputStream.writeChunk(out, PLTE, plte, 0, plte.length,
+                    this.crc, intBuffer);
+            final byte[] trns = this.palette.createTransparencyData();
+            if (trns.length > 0) {
+                PngChunkOutputStream.writeChunk(out, TRNS, trns, 0,
+                        trns.length, this.crc, intBuffer);
+            }
+        }
+        final PngChunkOutputStream idat = new PngChunkOutputStream(out, IDAT,
+                getChunkBuffer(), this.crc);
+        writeImageData(idat);
+        idat.close();
+        PngChunkOutputStream.writeChunk(out, IEND, intBuffer, 0, 0,
+                this.crc, intBuffer);
+        out.flush();
+    }
+
+    /**
+     * Writes the PNG equivalent of the current image to a channel.  See
+     * {@link #pngEncode(OutputStream)} for details.  The channel is not
+     * closed.
+     *
+     * @param channel  the channel (<code>null</code> not permitted).
+     *
+     * @throws IOException if there is an I/O problem or the pixels of the
+     *         image cannot be retrieved.
+     */
+    public void pngEncode(WritableByteChannel channel) throws IOException {
+        if (channel == null) {
+            throw new NullPointerException("Null 'channel' argument.");
+        }
+        pngEncode(new BufferedOutputStream(Channels.newOutputStream(channel)));
+    }
+
     /**
      * Set the alpha encoding on or off.
      *
@@ -338,6 +520,101 @@ public class PngEncoder {
         return this.compressionLevel;
     }
 
+    /**
+     * Sets the maximum number of bytes written to a single IDAT chunk.  This
+     * bounds the amount of compressed data buffered while encoding.
+     *
+     * @param size  the chunk size (must be positive).
+     */
+    public void setIdatChunkSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Requires 'size' > 0.");
+        }
+        this.idatChunkSize = size;
+    }
+
+    /**
+     * Returns the maximum number of bytes written to a single IDAT chunk.
+     *
+     * @return The chunk size.
+     */
+    public int getIdatChunkSize() {
+        return this.idatChunkSize;
+    }
+
+    /**
+     * Sets the executor used to compress the image data.  When an executor
+     * is set, the filtered scanlines are split into blocks of
+     * {@link #getDeflateBlockSize()} bytes that are compressed concurrently
+     * and joined into a single zlib stream.  The default (<code>null</code>)
+     * compresses everything on the calling thread.
+     * <p>
+     * The encoder does not shut the executor down.
+     *
+     * @param executor  the executor (<code>null</code> permitted).
+     */
+    public void setDeflateExecutor(ExecutorService executor) {
+        this.deflateExecutor = executor;
+    }
+
+    /**
+     * Returns the executor used to compress the image data.
+     *
+     * @return The executor (possibly <code>null</code>).
+     */
+    public ExecutorService getDeflateExecutor() {
+        return this.deflateExecutor;
+    }
+
+    /**
+     * Sets the number of uncompressed bytes handed to each parallel
+     * compression task.  Smaller blocks give more parallelism on small
+     * images at a slight cost in compression ratio.
+     *
+     * @param size  the block size (must be at least 32768).
+     */
+    public void setDeflateBlockSize(int size) {
+        if (size < 32768) {
+            throw new IllegalArgumentException("Requires 'size' >= 32768.");
+        }
+        this.deflateBlockSize = size;
+    }
+
+    /**
+     * Returns the number of uncompressed bytes per parallel compression
+     * task.
+     *
+     * @return The block size.
+     */
+    public int getDeflateBlockSize() {
+        return this.deflateBlockSize;
+    }
+
+    /**
+     * Sets the flag that controls whether the encoder picks the smallest
+     * colour type that represents the image exactly.  When it is set, the
+     * image is scanned before encoding: images with at most 256 distinct
+     * colours are written as indexed colour (with 1, 2, 4 or 8 bits per
+     * pixel and a "tRNS" chunk for translucent entries), grey images as
+     * greyscale, and the alpha channel is dropped if every pixel is opaque.
+     * The default is <code>false</code> (always truecolour).
+     *
+     * @param auto  the new flag value.
+     */
+    public void setAutoColorType(boolean auto) {
+        this.autoColorType = auto;
+    }
+
+    /**
+     * Returns the flag that controls whether the encoder picks the smallest
+     * colour type that represents the image exactly.
+     *
+     * @return A boolean.
+     */
+    public boolean getAutoColorType() {
+        return this.autoColorType;
+    }
+
     /**
      * Increase or decrease the length of a byte array.
      *
@@ -445,43 +722,71 @@ public class PngEncoder {
         this.bytePos = writeBytes(IHDR, this.bytePos);
         this.width = this.image.getWidth(null);
         this.height = this.image.getHeight(null);
-        this.bytePos = writeInt4(this.width, this.bytePos);
-        this.bytePos = writeInt4(this.height, this.bytePos);
-        this.bytePos = writeByte(8, this.bytePos); // bit depth
-        this.bytePos = writeByte((this.encodeAlpha) ? 6 : 2, this.bytePos);
-            // direct model
-        this.bytePos = writeByte(0, this.bytePos); // compression method
-        this.bytePos = writeByte(0, this.bytePos); // filter method
-        this.bytePos = writeByte(0, this.bytePos); // no interlace
+        try {
+            chooseColorType();
+        }
+        catch (IOException e) {
+            // the same problem will be reported by writeImageData()
+            this.colorType = (this.encodeAlpha) ? COLOR_RGBA : COLOR_RGB;
+            this.bitDepth = 8;
+            this.palette = null;
+        }
+        this.bytePos = writeBytes(createHeaderData(), this.bytePos);
         this.crc.reset();
         this.crc.update(this.pngBytes, startPos, this.bytePos - startPos);
         this.crcValue = this.crc.getValue();
         this.bytePos = writeInt4((int) this.crcValue, this.bytePos);
     }
 
+    /**
+     * Creates the 13 data bytes of the "IHDR" chunk for the current width
+     * and height.
+     *
+     * @return The chunk data.
+     */
+    private byte[] createHeaderData() {
+        final byte[] data = new byte[13];
+        putInt4(data, 0, this.width);
+        putInt4(data, 4, this.height);
+        data[8] = (byte) this.bitDepth;
+        data[9] = (byte) this.colorType;
+        data[10] = 0; // compression method
+        data[11] = 0; // filter method
+        data[12] = 0; // no interlace
+        return data;
+    }
+
+    /**
+     * Stores a four-byte big-endian integer in an array.
+     *
+     * @param data  the array.
+     * @param offset  the offset.
+     * @param n  the value.
+     */
+    private static void putInt4(byte[] data, int offset, int n) {
+        data[offset] = (byte) ((n >> 24) & 0xff);
+        data[offset + 1] = (byte) ((n >> 16) & 0xff);
+        data[offset + 2] = (byte) ((n >> 8) & 0xff);
+        data[offset + 3] = (byte) (n & 0xff);
+    }
+
     /**
      * Perform "sub" filtering on the given row.
-     * Uses temporary array leftBytes to store the original values
-     * of the previous pixels.  The array is 16 bytes long, which
-     * will easily hold two-byte samples plus two-byte alpha.
+     * The row is processed from right to left so that the original value
+     * of the pixel to the left is still available when each byte is
+     * filtered.
      *
      * @param pixels The array holding the scan lines being built
      * @param startPos Starting position within pixels of bytes to be filtered.
      * @param width Width of a scanline in pixels.
      */
     protected void filterSub(byte[] pixels, int startPos, int width) {
-        int offset = this.bytesPerPixel;
-        int actualStart = startPos + offset;
-        int nBytes = width * this.bytesPerPixel;
-        int leftInsert = offset;
-        int leftExtract = 0;
+        final int offset = this.bytesPerPixel;
+        final int actualStart = startPos + offset;
+        final int nBytes = width * this.bytesPerPixel;
 
-        for (int i = actualStart; i < startPos + nBytes; i++) {
-            this.leftBytes[leftInsert] =  pixels[i];
-            pixels[i] = (byte) ((pixels[i] - this.leftBytes[leftExtract])
-                     % 256);
-            leftInsert = (leftInsert + 1) % 0x0f;
-            leftExtract = (leftExtract + 1) % 0x0f;
+        for (int i = startPos + nBytes - 1; i >= actualStart; i--) {
+            pixels[i] = (byte) (pixels[i] - pixels[i - offset]);
         }
     }
 
@@ -506,132 +811,588 @@ public class PngEncoder {
     }
 
     /**
-     * Write the image data into the pngBytes array.
-     * This will write one or more PNG "IDAT" chunks. In order
-     * to conserve memory, this method grabs as many rows as will
-     * fit into 32K bytes, or the whole image; whichever is less.
+     * Applies a PNG filter to a row without modifying the input.
      *
+     * @param type  the filter type ({@link #FILTER_NONE} to
+     *     {@link #FILTER_PAETH}).
+     * @param raw  the unfiltered row, starting at index 1.
+     * @param prior  the unfiltered previous row (all zeros for the first
+     *     row), starting at index 0.
+     * @param out  receives the filter type at index 0 followed by the
+     *     filtered row.
+     * @param nBytes  the number of bytes in a row.
+     * @param bpp  the number of bytes per complete pixel (at least 1).
+     */
+    private static void filterRow(int type, byte[] raw, byte[] prior,
+                                  byte[] out, int nBytes, int bpp) {
+        out[0] = (byte) type;
+        switch (type) {
+            case FILTER_SUB:
+                for (int i = 1; i <= nBytes; i++) {
+                    final int left = (i > bpp) ? raw[i - bpp] : 0;
+                    out[i] = (byte) (raw[i] - left);
+                }
+                break;
+            case FILTER_UP:
+                for (int i = 1; i <= nBytes; i++) {
+                    out[i] = (byte) (raw[i] - prior[i - 1]);
+                }
+                break;
+            case FILTER_AVERAGE:
+                for (int i = 1; i <= nBytes; i++) {
+                    final int left = (i > bpp) ? raw[i - bpp] & 0xff : 0;
+                    final int up = prior[i - 1] & 0xff;
+                    out[i] = (byte) (raw[i] - ((left + up) >> 1));
+                }
+                break;
+            case FILTER_PAETH:
+                for (int i = 1; i <= bpp && i <= nBytes; i++) {
+                    // left and upper left are zero, so the predictor is up
+                    out[i] = (byte) (raw[i] - prior[i - 1]);
+                }
+                for (int i = bpp + 1; i <= nBytes; i++) {
+                    final int a = raw[i - bpp] & 0xff;
+                    final int b = prior[i - 1] & 0xff;
+                    final int c = prior[i - 1 - bpp] & 0xff;
+                    final int p = a + b - c;
+                    final int pa = Math.abs(p - a);
+                    final int pb = Math.abs(p - b);
+                    final int pc = Math.abs(p - c);
+                    final int predictor;
+                    if (pa <= pb && pa <= pc) {
+                        predictor = a;
+                    }
+                    else if (pb <= pc) {
+                        predictor = b;
+                    }
+                    else {
+                        predictor = c;
+                    }
+                    out[i] = (byte) (raw[i] - predictor);
+                }
+                break;
+            default:
+                System.arraycopy(raw, 1, out, 1, nBytes);
+                break;
+        }
+    }
+
+    /**
+     * Returns the sum of the absolute values of a filtered row, with the
+     * bytes taken as signed values.  This is the heuristic suggested by the
+     * PNG specification for choosing a filter.
+     *
+     * @param row  the filtered row, starting at index 1.
+     * @param nBytes  the number of bytes in a row.
+     * @param limit  the sum can stop as soon as it reaches this value.
+     *
+     * @return The sum (at least <code>limit</code> if it was cut short).
+     */
+    private static long sumOfAbsolutes(byte[] row, int nBytes, long limit) {
+        long sum = 0;
+        for (int i = 1; i <= nBytes; i++) {
+            final int v = row[i];
+            sum += (v < 0) ? -v : v;
+            if ((i & 0xff) == 0 && sum >= limit) {
+                return sum;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Write the image data into the pngBytes array.
+     * This will write one or more PNG "IDAT" chunks of at most
+     * {@link #getIdatChunkSize()} bytes each.
      *
      * @return true if no errors; false if error grabbing pixels
      */
     protected boolean writeImageData() {
-        int rowsLeft = this.height;  // number of rows remaining to write
-        int startRow = 0;       // starting row to process this time through
-        int nRows;              // how many rows to grab at a time
+        final PngChunkOutputStream idat = new PngChunkOutputStream(
+                new PngBytesOutputStream(), IDAT, getChunkBuffer(), this.crc);
+        try {
+            writeImageData(idat);
+            idat.close();
+            return true;
+        }
+        catch (IOException e) {
+            System.err.println(e.toString());
+            return false;
+        }
+    }
 
-        byte[] scanLines;       // the scan lines to be compressed
-        int scanPos;            // where we are in the scan lines
-        int startPos;           // where this line's actual pixels start (used
-                                // for filtering)
+    /**
+     * Writes the compressed image data to a stream.  If the image is a
+     * <code>BufferedImage</code> of type <code>TYPE_INT_ARGB</code>,
+     * <code>TYPE_INT_RGB</code>, <code>TYPE_3BYTE_BGR</code> or
+     * <code>TYPE_4BYTE_ABGR</code> the rows are read directly from its
+     * raster.  Otherwise, in order to conserve memory, this method grabs as
+     * many rows as will fit into 32K bytes, or the whole image, whichever is
+     * less.  Either way the rows are filtered and compressed one scanline at
+     * a time, and all buffers are reused from one row to the next.
+     *
+     * @param out  the stream that receives the zlib data (usually a stream
+     *     that wraps the data in IDAT chunks).
+     *
+     * @throws IOException if there is an I/O problem or the pixels can not be
+     *     grabbed.
+     */
+    protected void writeImageData(OutputStream out) throws IOException {
+        this.width = this.image.getWidth(null);
+        this.height = this.image.getHeight(null);
+        if (this.bitDepth == 0) {
+            chooseColorType();
+        }
+        final int bitsPerPixel = getChannels(this.colorType) * this.bitDepth;
+        this.bytesPerPixel = Math.max(1, bitsPerPixel / 8);
+
+        // the PNG specification advises against filtering indexed colour
+        // and low bit depth images
+        int rowFilter = this.filter;
+        if (rowFilter == FILTER_ADAPTIVE && (this.colorType == COLOR_PALETTE
+                || this.bitDepth < 8)) {
+            rowFilter = FILTER_NONE;
+        }
 
-        byte[] compressedLines; // the resultant compressed lines
-        int nCompressed;        // how big is the compressed area?
+        final int rowBytes = (this.width * bitsPerPixel + 7) / 8;
+        final int lineBytes = rowBytes + 1;
+        final byte[] scanLine = this.scanLine = reuse(this.scanLine,
+                lineBytes);
+        byte[] filtered = null;
+        byte[] trial = null;
+        if (rowFilter != FILTER_NONE) {
+            this.priorRow = reuse(this.priorRow, rowBytes);
+            Arrays.fill(this.priorRow, 0, rowBytes, (byte) 0);
+            filtered = this.filteredLine = reuse(this.filteredLine,
+                    lineBytes);
+        }
+        if (rowFilter == FILTER_ADAPTIVE) {
+            trial = this.trialLine = reuse(this.trialLine, lineBytes);
+        }
+        final int alphaMask = (this.encodeAlpha) ? 0 : 0xff000000;
+        final int maxSample = (1 << this.bitDepth) - 1;
+        final PixelRows rows = new PixelRows();
+        final int[] pixels = rows.pixels;
+
+        ParallelDeflaterOutputStream parallelBytes = null;
+        if (this.deflateExecutor != null) {
+            parallelBytes = new ParallelDeflaterOutputStream(out,
+                    this.compressionLevel, this.deflateExecutor,
+                    this.deflateBlockSize);
+        }
+        else {
+            if (this.deflater == null) {
+                this.deflater = new Deflater(this.compressionLevel);
+            }
+            else {
+                this.deflater.reset();
+                this.deflater.setLevel(this.compressionLevel);
+            }
+            this.deflateBuffer = reuse(this.deflateBuffer, 8192);
+        }
+        try {
+            for (int y = 0; y < this.height; y++) {
+                int i = rows.fetch(y);
+                int scanPos = 1;
+                scanLine[0] = (byte) FILTER_NONE;
+                switch (this.colorType) {
+                    case COLOR_RGBA:
+                        for (int x = 0; x < this.width; x++) {
+                            final int pixel = pixels[i++];
+                            scanLine[scanPos++] = (byte) (pixel >> 16);
+                            scanLine[scanPos++] = (byte) (pixel >> 8);
+                            scanLine[scanPos++] = (byte) pixel;
+                            scanLine[scanPos++] = (byte) (pixel >>> 24);
+                        }
+                        break;
+                    case COLOR_RGB:
+                        for (int x = 0; x < this.width; x++) {
+                            final int pixel = pixels[i++];
+                            scanLine[scanPos++] = (byte) (pixel >> 16);
+                            scanLine[scanPos++] = (byte) (pixel >> 8);
+                            scanLine[scanPos++] = (byte) pixel;
+                        }
+                        break;
+                    case COLOR_GREY_ALPHA:
+                        for (int x = 0; x < this.width; x++) {
+                            final int pixel = pixels[i++];
+                            scanLine[scanPos++] = (byte) pixel;
+                            scanLine[scanPos++] = (byte) (pixel >>> 24);
+                        }
+                        break;
+                    default:
+                        // greyscale or indexed colour, possibly several
+                        // samples per byte (most significant bits first)
+                        int bits = 0;
+                        int nBits = 0;
+                        for (int x = 0; x < this.width; x++) {
+                            final int pixel = pixels[i++];
+                            final int sample;
+                            if (this.colorType == COLOR_PALETTE) {
+                                sample = this.palette.indexOf(
+                                        pixel | alphaMask);
+                            }
+                            else {
+                                sample = (pixel & 0xff) * maxSample / 255;
+                            }
+                            bits = (bits << this.bitDepth) | sample;
+                            nBits += this.bitDepth;
+                            if (nBits == 8) {
+                                scanLine[scanPos++] = (byte) bits;
+                                bits = 0;
+                                nBits = 0;
+                            }
+                        }
+                        if (nBits > 0) {
+                            scanLine[scanPos] = (byte) (bits << (8 - nBits));
+                        }
+                        break;
+                }
+                if (rowFilter == FILTER_ADAPTIVE) {
+                    long best = Long.MAX_VALUE;
+                    for (int type = FILTER_NONE; type <= FILTER_PAETH;
+                         type++) {
+                        filterRow(type, scanLine, this.priorRow, trial,
+                                rowBytes, this.bytesPerPixel);
+                        final long sum = sumOfAbsolutes(trial, rowBytes,
+                                best);
+                        if (sum < best) {
+                            best = sum;
+                            final byte[] swap = filtered;
+                            filtered = trial;
+                            trial = swap;
+                        }
+                    }
+                }
+                else if (rowFilter != FILTER_NONE) {
+                    filterRow(rowFilter, scanLine, this.priorRow, filtered,
+                            rowBytes, this.bytesPerPixel);
+                }
+                byte[] line = scanLine;
+                if (filtered != null) {
+                    System.arraycopy(scanLine, 1, this.priorRow, 0,
+                            rowBytes);
+                    line = filtered;
+                }
+                if (parallelBytes != null) {
+                    parallelBytes.write(line, 0, lineBytes);
+                }
+                else {
+                    deflate(line, lineBytes, out);
+                }
+            }
+            if (parallelBytes != null) {
+                parallelBytes.finish();
+            }
+            else {
+                finishDeflate(out);
+            }
+        }
+        finally {
+            if (this.deflater != null && !this.retainDeflater) {
+                this.deflater.end();
+                this.deflater = null;
+            }
+        }
+    }
 
-        //int depth;              // color depth ( handle only 8 or 32 )
+    /**
+     * Compresses a scanline and writes whatever compressed data the
+     * Deflater produces.
+     *
+     * @param data  the data.
+     * @param len  the number of bytes.
+     * @param out  the output stream.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private void deflate(byte[] data, int len, OutputStream out)
+            throws IOException {
+        this.deflater.setInput(data, 0, len);
+        while (!this.deflater.needsInput()) {
+            final int n = this.deflater.deflate(this.deflateBuffer, 0,
+                    this.deflateBuffer.length);
+            if (n > 0) {
+                out.write(this.deflateBuffer, 0, n);
+            }
+        }
+    }
 
-        PixelGrabber pg;
+    /**
+     * Finishes the compressed stream.
+     *
+     * @param out  the output stream.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private void finishDeflate(OutputStream out) throws IOException {
+        this.deflater.finish();
+        while (!this.deflater.finished()) {
+            final int n = this.deflater.deflate(this.deflateBuffer, 0,
+                    this.deflateBuffer.length);
+            if (n > 0) {
+                out.write(this.deflateBuffer, 0, n);
+            }
+        }
+    }
 
-        this.bytesPerPixel = (this.encodeAlpha) ? 4 : 3;
+    /**
+     * Returns the buffer for IDAT chunk data, creating it if necessary.
+     *
+     * @return The buffer.
+     */
+    private byte[] getChunkBuffer() {
+        if (this.chunkBuffer == null
+                || this.chunkBuffer.length != this.idatChunkSize) {
+            this.chunkBuffer = new byte[this.idatChunkSize];
+        }
+        return this.chunkBuffer;
+    }
 
-        Deflater scrunch = new Deflater(this.compressionLevel);
-        ByteArrayOutputStream outBytes = new ByteArrayOutputStream(1024);
+    /**
+     * Returns the given buffer if it holds at least <code>size</code> bytes,
+     * and a new buffer otherwise.
+     *
+     * @param buffer  the buffer (<code>null</code> permitted).
+     * @param size  the required size.
+     *
+     * @return A buffer.
+     */
+    private static byte[] reuse(byte[] buffer, int size) {
+        if (buffer != null && buffer.length >= size) {
+            return buffer;
+        }
+        return new byte[size];
+    }
 
-        DeflaterOutputStream compBytes = new DeflaterOutputStream(outBytes,
-                scrunch);
-        try {
-            while (rowsLeft > 0) {
-                nRows = Math.min(32767 / (this.width
-                        * (this.bytesPerPixel + 1)), rowsLeft);
-                nRows = Math.max(nRows, 1);
+    /**
+     * Releases the resources held by this encoder (in particular the native
+     * memory of a retained Deflater).  The encoder remains usable.
+     */
+    void dispose() {
+        if (this.deflater != null) {
+            this.deflater.end();
+            this.deflater = null;
+        }
+        this.image = null;
+        this.pngBytes = null;
+    }
 
-                int[] pixels = new int[this.width * nRows];
+    /**
+     * Sets the flag that controls whether the Deflater is kept from one
+     * encoding to the next.  Used by {@link PngEncoderPool}.
+     *
+     * @param retain  the new flag value.
+     */
+    void setRetainDeflater(boolean retain) {
+        this.retainDeflater = retain;
+    }
 
-                pg = new PixelGrabber(this.image, 0, startRow,
-                        this.width, nRows, pixels, 0, this.width);
-                try {
-                    pg.grabPixels();
-                }
-                catch (Exception e) {
-                    System.err.println("interrupted waiting for pixels!");
-                    return false;
+    /**
+     * Chooses the colour type and bit depth for the current image.  Unless
+     * automatic selection is enabled, this is 8-bit truecolour with or
+     * without alpha, depending on the alpha encoding setting.  Otherwise the
+     * image is scanned once to count its distinct colours and to find out
+     * whether it is grey and whether it is translucent.
+     *
+     * @throws IOException if the pixels cannot be grabbed.
+     */
+    private void chooseColorType() throws IOException {
+        this.colorType = (this.encodeAlpha) ? COLOR_RGBA : COLOR_RGB;
+        this.bitDepth = 8;
+        this.palette = null;
+        if (!this.autoColorType) {
+            return;
+        }
+        final int alphaMask = (this.encodeAlpha) ? 0 : 0xff000000;
+        if (this.colors == null) {
+            this.colors = new PngPalette();
+        }
+        final PngPalette colors = this.colors;
+        colors.clear();
+        boolean grey = true;
+        boolean translucent = false;
+        int greyDepth = 1;
+        final PixelRows rows = new PixelRows();
+        final int[] pixels = rows.pixels;
+        for (int y = 0; y < this.height; y++) {
+            int i = rows.fetch(y);
+            for (int x = 0; x < this.width; x++) {
+                final int argb = pixels[i++] | alphaMask;
+                colors.add(argb);
+                if ((argb >>> 24) != 0xff) {
+                    translucent = true;
                 }
-                if ((pg.getStatus() & ImageObserver.ABORT) != 0) {
-                    System.err.println("image fetch aborted or errored");
-                    return false;
+                if (grey) {
+                    final int b = argb & 0xff;
+                    if (((argb >> 16) & 0xff) != b
+                            || ((argb >> 8) & 0xff) != b) {
+                        grey = false;
+                    }
+                    else if (greyDepth < 8) {
+                        greyDepth = Math.max(greyDepth, getGreyDepth(b));
+                    }
                 }
+            }
+            if (!grey && colors.isOverflow()
+                    && (translucent || !this.encodeAlpha)) {
+                break;  // nothing better than truecolour is possible
+            }
+        }
 
-                /*
-                 * Create a data chunk. scanLines adds "nRows" for
-                 * the filter bytes.
-                 */
-                scanLines = new byte[this.width * nRows * this.bytesPerPixel
-                                     + nRows];
+        int paletteDepth = 0;
+        if (!colors.isOverflow()) {
+            paletteDepth = 8;
+            if (colors.getSize() <= 2) {
+                paletteDepth = 1;
+            }
+            else if (colors.getSize() <= 4) {
+                paletteDepth = 2;
+            }
+            else if (colors.getSize() <= 16) {
+                paletteDepth = 4;
+            }
+        }
+        if (grey && !translucent
+                && (paletteDepth == 0 || greyDepth <= paletteDepth)) {
+            this.colorType = COLOR_GREY;
+            this.bitDepth = greyDepth;
+        }
+        else if (paletteDepth > 0) {
+            colors.sortTranslucentFirst();
+            this.palette = colors;
+            this.colorType = COLOR_PALETTE;
+            this.bitDepth = paletteDepth;
+        }
+        else if (grey) {
+            this.colorType = COLOR_GREY_ALPHA;
+        }
+        else {
+            this.colorType = (translucent) ? COLOR_RGBA : COLOR_RGB;
+        }
+    }
 
-                if (this.filter == FILTER_SUB) {
-                    this.leftBytes = new byte[16];
-                }
-                if (this.filter == FILTER_UP) {
-                    this.priorRow = new byte[this.width * this.bytesPerPixel];
-                }
+    /**
+     * Returns the smallest greyscale bit depth that can represent a grey
+     * level exactly.
+     *
+     * @param level  the grey level (0-255).
+     *
+     * @return The bit depth (1, 2, 4 or 8).
+     */
+    private static int getGreyDepth(int level) {
+        if (level % 255 == 0) {
+            return 1;
+        }
+        if (level % 85 == 0) {
+            return 2;
+        }
+        if (level % 17 == 0) {
+            return 4;
+        }
+        return 8;
+    }
 
-                scanPos = 0;
-                startPos = 1;
-                for (int i = 0; i < this.width * nRows; i++) {
-                    if (i % this.width == 0) {
-                        scanLines[scanPos++] = (byte) this.filter;
-                        startPos = scanPos;
-                    }
-                    scanLines[scanPos++] = (byte) ((pixels[i] >> 16) & 0xff);
-                    scanLines[scanPos++] = (byte) ((pixels[i] >>  8) & 0xff);
-                    scanLines[scanPos++] = (byte) ((pixels[i]) & 0xff);
-                    if (this.encodeAlpha) {
-                        scanLines[scanPos++] = (byte) ((pixels[i] >> 24)
-                                & 0xff);
-                    }
-                    if ((i % this.width == this.width - 1)
-                            && (this.filter != FILTER_NONE)) {
-                        if (this.filter == FILTER_SUB) {
-                            filterSub(scanLines, startPos, this.width);
-                        }
-                        if (this.filter == FILTER_UP) {
-                            filterUp(scanLines, startPos, this.width);
-                        }
-                    }
-                }
+    /**
+     * Returns the number of samples per pixel for a colour type.
+     *
+     * @param colorType  the colour type.
+     *
+     * @return The number of samples.
+     */
+    private static int getChannels(int colorType) {
+        switch (colorType) {
+            case COLOR_RGB:
+                return 3;
+            case COLOR_GREY_ALPHA:
+                return 2;
+            case COLOR_RGBA:
+                return 4;
+            default:
+                return 1;
+        }
+    }
 
-                /*
-                 * Write these lines to the output area
-                 */
-                compBytes.write(scanLines, 0, scanPos);
+    /**
+     * Delivers the pixels of the image one row at a time, either straight
+     * from the raster or in blocks of rows from a PixelGrabber.
+     */
+    private class PixelRows {
 
-                startRow += nRows;
-                rowsLeft -= nRows;
-            }
-            compBytes.close();
+        /** The raster reader (<code>null</code> if a grabber is used). */
+        private PngRasterReader reader;
 
-            /*
-             * Write the compressed bytes
-             */
-            compressedLines = outBytes.toByteArray();
-            nCompressed = compressedLines.length;
+        /** The pixel buffer (one row or a block of rows). */
+        private int[] pixels;
 
-            this.crc.reset();
-            this.bytePos = writeInt4(nCompressed, this.bytePos);
-            this.bytePos = writeBytes(IDAT, this.bytePos);
-            this.crc.update(IDAT);
-            this.bytePos = writeBytes(compressedLines, nCompressed,
-                    this.bytePos);
-            this.crc.update(compressedLines, 0, nCompressed);
+        /** The number of rows grabbed at a time. */
+        private int nRows;
 
-            this.crcValue = this.crc.getValue();
-            this.bytePos = writeInt4((int) this.crcValue, this.bytePos);
-            scrunch.finish();
-            scrunch.end();
-            return true;
+        /**
+         * Creates a new instance for the current image.
+         */
+        PixelRows() {
+            this.reader = PngRasterReader.create(PngEncoder.this.image);
+            if (this.reader != null) {
+                this.nRows = 1;
+            }
+            else {
+                this.nRows = Math.max(1, Math.min(32767
+                        / (PngEncoder.this.width * 4), PngEncoder.this.height));
+            }
+            final int size = PngEncoder.this.width * this.nRows;
+            if (PngEncoder.this.pixelBuffer == null
+                    || PngEncoder.this.pixelBuffer.length < size) {
+                PngEncoder.this.pixelBuffer = new int[size];
+            }
+            this.pixels = PngEncoder.this.pixelBuffer;
         }
-        catch (IOException e) {
-            System.err.println(e.toString());
-            return false;
+
+        /**
+         * Makes a row available in the pixel buffer.  Rows must be fetched in
+         * order.
+         *
+         * @param y  the row.
+         *
+         * @return The offset of the row in the pixel buffer.
+         *
+         * @throws IOException if the pixels cannot be grabbed.
+         */
+        int fetch(int y) throws IOException {
+            if (this.reader != null) {
+                this.reader.readRow(y, this.pixels);
+                return 0;
+            }
+            final int row = y % this.nRows;
+            if (row == 0) {
+                grabPixels(y, Math.min(this.nRows, PngEncoder.this.height - y),
+                        this.pixels);
+            }
+            return row * PngEncoder.this.width;
+        }
+    }
+
+    /**
+     * Grabs a block of rows from the image into the given array.
+     *
+     * @param startRow  the first row.
+     * @param nRows  the number of rows.
+     * @param pixels  the target array (at least width * nRows long).
+     *
+     * @throws IOException if the pixels cannot be grabbed.
+     */
+    private void grabPixels(int startRow, int nRows, int[] pixels)
+            throws IOException {
+        final PixelGrabber pg = new PixelGrabber(this.image, 0, startRow,
+                this.width, nRows, pixels, 0, this.width);
+        try {
+            pg.grabPixels();
+        }
+        catch (InterruptedException e) {
+            throw new IOException("interrupted waiting for pixels!");
+        }
+        if ((pg.getStatus() & ImageObserver.ABORT) != 0) {
+            throw new IOException("image fetch aborted or errored");
         }
     }
 
@@ -704,9 +1465,7 @@ public class PngEncoder {
 
             final int startPos = this.bytePos = writeInt4(9, this.bytePos);
             this.bytePos = writeBytes(PHYS, this.bytePos);
-            this.bytePos = writeInt4(this.xDpi, this.bytePos);
-            this.bytePos = writeInt4(this.yDpi, this.bytePos);
-            this.bytePos = writeByte(1, this.bytePos); // unit is the meter.
+            this.bytePos = writeBytes(createResolutionData(), this.bytePos);
 
             this.crc.reset();
             this.crc.update(this.pngBytes, startPos, this.bytePos - startPos);
@@ -714,4 +1473,81 @@ public class PngEncoder {
             this.bytePos = writeInt4((int) this.crcValue, this.bytePos);
         }
     }
+
+    /**
+     * Write the PNG "PLTE" and "tRNS" chunks into the pngBytes array, if the
+     * image is encoded with indexed colour.
+     */
+    protected void writePalette() {
+        if (this.palette != null) {
+            writeChunk(PLTE, this.palette.createPaletteData());
+            final byte[] trns = this.palette.createTransparencyData();
+            if (trns.length > 0) {
+                writeChunk(TRNS, trns);
+            }
+        }
+    }
+
+    /**
+     * Write a chunk into the pngBytes array.
+     *
+     * @param type  the chunk type.
+     * @param data  the chunk data.
+     */
+    private void writeChunk(byte[] type, byte[] data) {
+        this.bytePos = writeInt4(data.length, this.bytePos);
+        final int startPos = this.bytePos;
+        this.bytePos = writeBytes(type, this.bytePos);
+        this.bytePos = writeBytes(data, this.bytePos);
+        this.crc.reset();
+        this.crc.update(this.pngBytes, startPos, this.bytePos - startPos);
+        this.crcValue = this.crc.getValue();
+        this.bytePos = writeInt4((int) this.crcValue, this.bytePos);
+    }
+
+    /**
+     * Creates the 9 data bytes of the "pHYs" chunk.
+     *
+     * @return The chunk data.
+     */
+    private byte[] createResolutionData() {
+        final byte[] data = new byte[9];
+        putInt4(data, 0, this.xDpi);
+        putInt4(data, 4, this.yDpi);
+        data[8] = 1; // unit is the meter.
+        return data;
+    }
+
+    /**
+     * An output stream that appends to the pngBytes array, used to route the
+     * chunked image data into the in-memory encoding.
+     */
+    private class PngBytesOutputStream extends OutputStream {
+
+        /**
+         * Writes a single byte.
+         *
+         * @param b  the byte.
+         */
+        public void write(int b) {
+            PngEncoder.this.bytePos = writeByte(b, PngEncoder.this.bytePos);
+        }
+
+        /**
+         * Writes a range of bytes.
+         *
+         * @param b  the data.
+         * @param off  the offset.
+         * @param len  the number of bytes.
+         */
+        public void write(byte[] b, int off, int len) {
+            byte[] data = b;
+            if (off != 0) {
+                data = new byte[len];
+                System.arraycopy(b, off, data, 0, len);
+            }
+            PngEncoder.this.bytePos = writeBytes(data, len,
+                    PngEncoder.this.bytePos);
+        }
+    }
 }
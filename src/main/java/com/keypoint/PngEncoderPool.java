@@ -0,0 +1,165 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------
+ * PngEncoderPool.java
+ * -------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package com.keypoint;
+
+import java.awt.Image;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A thread-safe facade for {@link PngEncoder}.  A {@link PngEncoder}
+ * instance holds per-encoding state and must not be shared between
+ * threads; this class keeps a bounded pool of idle encoders, each of which
+ * keeps its Deflater, scanline buffers and chunk buffer from one call to
+ * the next.  Every call to {@link #encode(Image, OutputStream)} borrows an
+ * idle encoder (or creates one if none is available) and returns it to the
+ * pool afterwards, so encoding never blocks on other threads.  Encoders that
+ * do not fit in the pool are released.
+ */
+public class PngEncoderPool {
+
+    /** The idle encoders. */
+    private BlockingQueue idle;
+
+    /** Encode the alpha channel? */
+    private boolean encodeAlpha;
+
+    /** The filter type. */
+    private int filter;
+
+    /** The compression level. */
+    private int compressionLevel;
+
+    /** Choose the colour type automatically? */
+    private boolean autoColorType;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param maxIdle  the maximum number of idle encoders kept in the pool
+     *     (usually the number of threads that encode images).
+     * @param encodeAlpha  encode the alpha channel?
+     * @param filter  the filter type (see {@link PngEncoder#setFilter(int)}).
+     * @param compressionLevel  the compression level (0-9).
+     * @param autoColorType  choose palette and greyscale colour types
+     *     automatically (see {@link PngEncoder#setAutoColorType(boolean)})?
+     */
+    public PngEncoderPool(int maxIdle, boolean encodeAlpha, int filter,
+                          int compressionLevel, boolean autoColorType) {
+        if (maxIdle <= 0) {
+            throw new IllegalArgumentException("Requires 'maxIdle' > 0.");
+        }
+        this.idle = new ArrayBlockingQueue(maxIdle);
+        this.encodeAlpha = encodeAlpha;
+        this.filter = filter;
+        this.compressionLevel = compressionLevel;
+        this.autoColorType = autoColorType;
+    }
+
+    /**
+     * Writes the PNG equivalent of an image to a stream.  This method may
+     * be called concurrently from any number of threads.
+     *
+     * @param image  the image (<code>null</code> not permitted).
+     * @param out  the output stream (<code>null</code> not permitted).  The
+     *     stream is flushed, but not closed.
+     *
+     * @throws IOException if there is an I/O problem or the pixels of the
+     *         image cannot be retrieved.
+     */
+    public void encode(Image image, OutputStream out) throws IOException {
+        if (image == null) {
+            throw new NullPointerException("Null 'image' argument.");
+        }
+        PngEncoder encoder = (PngEncoder) this.idle.poll();
+        if (encoder == null) {
+            encoder = createEncoder();
+        }
+        boolean reusable = false;
+        try {
+            encoder.setImage(image);
+            encoder.pngEncode(out);
+            reusable = true;
+        }
+        finally {
+            encoder.setImage(null);
+            if (!reusable || !this.idle.offer(encoder)) {
+                encoder.dispose();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of idle encoders in the pool.
+     *
+     * @return The number of idle encoders.
+     */
+    public int getIdleCount() {
+        return this.idle.size();
+    }
+
+    /**
+     * Releases all idle encoders.  The pool remains usable.
+     */
+    public void clear() {
+        PngEncoder encoder = (PngEncoder) this.idle.poll();
+        while (encoder != null) {
+            encoder.dispose();
+            encoder = (PngEncoder) this.idle.poll();
+        }
+    }
+
+    /**
+     * Creates a new encoder with the settings of this pool.
+     *
+     * @return A new encoder.
+     */
+    private PngEncoder createEncoder() {
+        final PngEncoder encoder = new PngEncoder(null, this.encodeAlpha,
+                this.filter, this.compressionLevel);
+        encoder.setAutoColorType(this.autoColorType);
+        encoder.setRetainDeflater(true);
+        return encoder;
+    }
+
+}
@@ -0,0 +1,231 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------
+ * PngPalette.java
+ * ---------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package com.keypoint;
+
+/**
+ * The distinct ARGB colours of an image, up to the 256 entries that fit in
+ * a PNG palette.  Colours are kept in a small open-addressing hash table so
+ * that counting them and looking up their indices does not allocate.
+ */
+final class PngPalette {
+
+    /** The maximum number of entries in a PNG palette. */
+    public static final int MAX_SIZE = 256;
+
+    /** The hash table size (a power of two, well above MAX_SIZE). */
+    private static final int TABLE_SIZE = 1024;
+
+    /** The colours in the hash table. */
+    private int[] keys;
+
+    /** The palette index + 1 for each hash table slot (0 = empty). */
+    private int[] values;
+
+    /** The colours in palette order. */
+    private int[] colors;
+
+    /** The number of colours. */
+    private int size;
+
+    /** A flag that is set once more than MAX_SIZE colours were added. */
+    private boolean overflow;
+
+    /**
+     * Creates an empty palette.
+     */
+    public PngPalette() {
+        this.keys = new int[TABLE_SIZE];
+        this.values = new int[TABLE_SIZE];
+        this.colors = new int[MAX_SIZE];
+    }
+
+    /**
+     * Removes all colours, so that the palette can be reused.
+     */
+    public void clear() {
+        for (int slot = 0; slot < TABLE_SIZE; slot++) {
+            this.values[slot] = 0;
+        }
+        this.size = 0;
+        this.overflow = false;
+    }
+
+    /**
+     * Adds a colour, if it is not already present.
+     *
+     * @param argb  the colour.
+     *
+     * @return <code>false</code> if the palette has overflowed.
+     */
+    public boolean add(final int argb) {
+        if (this.overflow) {
+            return false;
+        }
+        int slot = hash(argb);
+        while (this.values[slot] != 0) {
+            if (this.keys[slot] == argb) {
+                return true;
+            }
+            slot = (slot + 1) & (TABLE_SIZE - 1);
+        }
+        if (this.size == MAX_SIZE) {
+            this.overflow = true;
+            return false;
+        }
+        this.keys[slot] = argb;
+        this.colors[this.size] = argb;
+        this.size++;
+        this.values[slot] = this.size;
+        return true;
+    }
+
+    /**
+     * Returns the palette index of a colour that was added earlier.
+     *
+     * @param argb  the colour.
+     *
+     * @return The index, or -1 if the colour is not in the palette.
+     */
+    public int indexOf(final int argb) {
+        int slot = hash(argb);
+        while (this.values[slot] != 0) {
+            if (this.keys[slot] == argb) {
+                return this.values[slot] - 1;
+            }
+            slot = (slot + 1) & (TABLE_SIZE - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of colours.
+     *
+     * @return The number of colours.
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Returns <code>true</code> if more than {@link #MAX_SIZE} colours were
+     * added.
+     *
+     * @return A boolean.
+     */
+    public boolean isOverflow() {
+        return this.overflow;
+    }
+
+    /**
+     * Reorders the palette so that the colours that are not fully opaque
+     * come first, which keeps the "tRNS" chunk as short as possible.
+     */
+    public void sortTranslucentFirst() {
+        final int[] sorted = new int[MAX_SIZE];
+        int n = 0;
+        for (int i = 0; i < this.size; i++) {
+            if ((this.colors[i] >>> 24) != 0xff) {
+                sorted[n++] = this.colors[i];
+            }
+        }
+        for (int i = 0; i < this.size; i++) {
+            if ((this.colors[i] >>> 24) == 0xff) {
+                sorted[n++] = this.colors[i];
+            }
+        }
+        final int count = this.size;
+        clear();
+        this.colors = sorted;
+        for (int i = 0; i < count; i++) {
+            add(sorted[i]);
+        }
+    }
+
+    /**
+     * Creates the data for the "PLTE" chunk.
+     *
+     * @return The chunk data.
+     */
+    public byte[] createPaletteData() {
+        final byte[] data = new byte[this.size * 3];
+        for (int i = 0; i < this.size; i++) {
+            final int c = this.colors[i];
+            data[i * 3] = (byte) (c >> 16);
+            data[i * 3 + 1] = (byte) (c >> 8);
+            data[i * 3 + 2] = (byte) c;
+        }
+        return data;
+    }
+
+    /**
+     * Creates the data for the "tRNS" chunk, which lists the alpha values of
+     * the palette entries up to the last one that is not fully opaque.
+     * Call {@link #sortTranslucentFirst()} first.
+     *
+     * @return The chunk data (empty if all colours are opaque).
+     */
+    public byte[] createTransparencyData() {
+        int n = 0;
+        for (int i = 0; i < this.size; i++) {
+            if ((this.colors[i] >>> 24) != 0xff) {
+                n = i + 1;
+            }
+        }
+        final byte[] data = new byte[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = (byte) (this.colors[i] >>> 24);
+        }
+        return data;
+    }
+
+    /**
+     * Returns the hash table slot for a colour.
+     *
+     * @param argb  the colour.
+     *
+     * @return The slot.
+     */
+    private static int hash(final int argb) {
+        final int h = argb * 0x9E3779B9;
+        return (h >>> 22) & (TABLE_SIZE - 1);
+    }
+
+}
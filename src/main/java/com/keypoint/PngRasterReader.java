@@ -0,0 +1,213 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * --------------------
+ * PngRasterReader.java
+ * --------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package com.keypoint;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+/**
+ * Reads rows of ARGB pixels straight from the data buffer of a
+ * {@link BufferedImage}, without going through a
+ * {@link java.awt.image.PixelGrabber}.  Only the common non-premultiplied
+ * image types (<code>TYPE_INT_ARGB</code>, <code>TYPE_INT_RGB</code>,
+ * <code>TYPE_3BYTE_BGR</code> and <code>TYPE_4BYTE_ABGR</code>) are
+ * supported; use {@link #create(Image)} to find out whether an image
+ * qualifies.
+ */
+final class PngRasterReader {
+
+    /** The int data (for the packed image types). */
+    private int[] intData;
+
+    /** The byte data (for the interleaved image types). */
+    private byte[] byteData;
+
+    /** The index of the first pixel of the image in the data array. */
+    private int offset;
+
+    /** The number of array elements between two rows. */
+    private int scanlineStride;
+
+    /** The number of array elements between two pixels. */
+    private int pixelStride;
+
+    /** The offset of the red byte within a pixel. */
+    private int redOffset;
+
+    /** The offset of the green byte. */
+    private int greenOffset;
+
+    /** The offset of the blue byte. */
+    private int blueOffset;
+
+    /** The offset of the alpha byte, or -1 if there is no alpha. */
+    private int alphaOffset;
+
+    /** Does the image have an alpha channel? */
+    private boolean hasAlpha;
+
+    /** The image width. */
+    private int width;
+
+    /**
+     * Creates a reader (use {@link #create(Image)}).
+     */
+    private PngRasterReader() {
+        // nothing to do
+    }
+
+    /**
+     * Creates a reader for the given image.
+     *
+     * @param image  the image.
+     *
+     * @return A reader, or <code>null</code> if the image is not a
+     *     {@link BufferedImage} with a supported layout.
+     */
+    public static PngRasterReader create(final Image image) {
+        if (!(image instanceof BufferedImage)) {
+            return null;
+        }
+        final BufferedImage bi = (BufferedImage) image;
+        final WritableRaster raster = bi.getRaster();
+        final SampleModel sm = raster.getSampleModel();
+        final DataBuffer db = raster.getDataBuffer();
+        final int tx = -raster.getSampleModelTranslateX();
+        final int ty = -raster.getSampleModelTranslateY();
+        final PngRasterReader reader = new PngRasterReader();
+        reader.width = bi.getWidth();
+
+        switch (bi.getType()) {
+            case BufferedImage.TYPE_INT_ARGB:
+            case BufferedImage.TYPE_INT_RGB:
+                if (!(sm instanceof SinglePixelPackedSampleModel)
+                        || !(db instanceof DataBufferInt)
+                        || db.getNumBanks() != 1) {
+                    return null;
+                }
+                final SinglePixelPackedSampleModel sppsm
+                        = (SinglePixelPackedSampleModel) sm;
+                reader.intData = ((DataBufferInt) db).getData();
+                reader.scanlineStride = sppsm.getScanlineStride();
+                reader.pixelStride = 1;
+                reader.offset = db.getOffset() + ty * reader.scanlineStride
+                        + tx;
+                reader.hasAlpha
+                        = (bi.getType() == BufferedImage.TYPE_INT_ARGB);
+                return reader;
+            case BufferedImage.TYPE_3BYTE_BGR:
+            case BufferedImage.TYPE_4BYTE_ABGR:
+                if (!(sm instanceof ComponentSampleModel)
+                        || !(db instanceof DataBufferByte)
+                        || db.getNumBanks() != 1) {
+                    return null;
+                }
+                final ComponentSampleModel csm = (ComponentSampleModel) sm;
+                final int[] bandOffsets = csm.getBandOffsets();
+                reader.byteData = ((DataBufferByte) db).getData();
+                reader.scanlineStride = csm.getScanlineStride();
+                reader.pixelStride = csm.getPixelStride();
+                reader.offset = db.getOffset() + ty * reader.scanlineStride
+                        + tx * reader.pixelStride;
+                reader.redOffset = bandOffsets[0];
+                reader.greenOffset = bandOffsets[1];
+                reader.blueOffset = bandOffsets[2];
+                reader.hasAlpha = bandOffsets.length > 3;
+                reader.alphaOffset = reader.hasAlpha ? bandOffsets[3] : -1;
+                return reader;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Reads one row of the image as ARGB pixels.
+     *
+     * @param y  the row index.
+     * @param argb  the target array (at least as long as the image width).
+     */
+    public void readRow(final int y, final int[] argb) {
+        int i = this.offset + y * this.scanlineStride;
+        if (this.intData != null) {
+            if (this.hasAlpha) {
+                System.arraycopy(this.intData, i, argb, 0, this.width);
+            }
+            else {
+                for (int x = 0; x < this.width; x++) {
+                    argb[x] = this.intData[i++] | 0xff000000;
+                }
+            }
+            return;
+        }
+        final byte[] data = this.byteData;
+        final int r = this.redOffset;
+        final int g = this.greenOffset;
+        final int b = this.blueOffset;
+        final int step = this.pixelStride;
+        if (this.hasAlpha) {
+            final int a = this.alphaOffset;
+            for (int x = 0; x < this.width; x++) {
+                argb[x] = ((data[i + a] & 0xff) << 24)
+                        | ((data[i + r] & 0xff) << 16)
+                        | ((data[i + g] & 0xff) << 8)
+                        | (data[i + b] & 0xff);
+                i += step;
+            }
+        }
+        else {
+            for (int x = 0; x < this.width; x++) {
+                argb[x] = 0xff000000
+                        | ((data[i + r] & 0xff) << 16)
+                        | ((data[i + g] & 0xff) << 8)
+                        | (data[i + b] & 0xff);
+                i += step;
+            }
+        }
+    }
+
+}
@@ -39,6 +39,7 @@
  * 07-Jun-2004 : Added source headers (DG);
  * 18-Aug-2005 : Added casts to suppress compiler warnings, as suggested in
  *               patch 1260622 (DG);
+ * 17-Oct-2026 : Flatten the default configuration chain;
  *
  */
 
@@ -335,8 +336,10 @@ public abstract class AbstractBoot implements SubSystem {
         if (addSysProps) {
           final SystemPropertyConfiguration systemConfig
               = new SystemPropertyConfiguration();
+          systemConfig.setFlattened(true);
           globalConfig.insertConfiguration(systemConfig);
         }
+        globalConfig.setFlattened(true);
         return globalConfig;
     }
 
@@ -0,0 +1,346 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------------------
+ * FlattenedConfiguration.java
+ * ---------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ * 17-Oct-2026 : Only merge levels without external properties;
+ * 17-Oct-2026 : Don't box the versions;
+ *
+ */
+
+package org.jfree.base.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import org.jfree.util.Configuration;
+
+/**
+ * An immutable view of a chain of hierarchical configurations, with the
+ * properties of all levels merged into one map and a sorted array of the
+ * keys for prefix searches.
+ * <p>
+ * The view covers a configuration and its parents up to the first parent
+ * that is not a {@link HierarchicalConfiguration}, or that has
+ * {@link HierarchicalConfiguration#hasExternalProperties() external
+ * properties}.  Only plain hierarchical configurations and the property
+ * file configurations, whose values are all stored in
+ * {@link HierarchicalConfiguration#getConfiguration()}, have no external
+ * properties; any other subclass may override the methods that read the
+ * properties.  That parent, the tail, is queried for every key that the
+ * view does not contain.
+ * <p>
+ * The view records the version of each level when it is created.  It is
+ * current as long as no level has changed, which
+ * {@link #isCurrent(long)} checks with a single read of the global change
+ * count in the usual case where no configuration has changed at all.
+ *
+ * @author Thomas Morgner
+ */
+final class FlattenedConfiguration
+{
+  /**
+   * An iterator over a range of an array.
+   */
+  private static final class RangeIterator implements Iterator
+  {
+    /**
+     * The array.
+     */
+    private final Object[] data;
+
+    /**
+     * The index of the next element.
+     */
+    private int index;
+
+    /**
+     * The index after the last element.
+     */
+    private final int end;
+
+    /**
+     * Creates an iterator.
+     *
+     * @param data  the array.
+     * @param start the index of the first element.
+     * @param end   the index after the last element.
+     */
+    private RangeIterator(final Object[] data, final int start, final int end)
+    {
+      this.data = data;
+      this.index = start;
+      this.end = end;
+    }
+
+    /**
+     * Returns true if there are more elements.
+     *
+     * @return A boolean.
+     */
+    public boolean hasNext()
+    {
+      return this.index < this.end;
+    }
+
+    /**
+     * Returns the next element.
+     *
+     * @return The element.
+     */
+    public Object next()
+    {
+      if (this.index >= this.end)
+      {
+        throw new NoSuchElementException();
+      }
+      return this.data[this.index++];
+    }
+
+    /**
+     * Not supported.
+     */
+    public void remove()
+    {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * The configurations whose properties are merged into this view, starting
+   * with the child.
+   */
+  private final HierarchicalConfiguration[] levels;
+
+  /**
+   * The version of each level when this view was created.
+   */
+  private final long[] versions;
+
+  /**
+   * The merged properties (String keys and values).
+   */
+  private final Map values;
+
+  /**
+   * The keys in ascending order.
+   */
+  private final String[] keys;
+
+  /**
+   * The configuration that is queried for keys that are not in this view
+   * (null if the view covers the root configuration).
+   */
+  private final Configuration tail;
+
+  /**
+   * The global change count at which this view was last known to be
+   * current.
+   */
+  private volatile long changeCount;
+
+  /**
+   * Creates a view of a configuration and its parents.
+   *
+   * @param head        the configuration.
+   * @param changeCount the current global change count (read before this
+   *                    method is called).
+   */
+  FlattenedConfiguration(final HierarchicalConfiguration head,
+                         final long changeCount)
+  {
+    final List levelList = new ArrayList();
+    long[] versionArray = new long[4];
+    this.values = new HashMap();
+    Configuration config = head;
+    while (true)
+    {
+      final HierarchicalConfiguration level =
+          (HierarchicalConfiguration) config;
+      // the version is read first, so that a concurrent change invalidates
+      // the view even if the change is already visible here
+      if (levelList.size() == versionArray.length)
+      {
+        final long[] grown = new long[versionArray.length * 2];
+        System.arraycopy(versionArray, 0, grown, 0, versionArray.length);
+        versionArray = grown;
+      }
+      versionArray[levelList.size()] = level.getVersion();
+      levelList.add(level);
+      merge(level.getConfiguration());
+      config = level.getParentConfig();
+      if (config instanceof HierarchicalConfiguration == false
+          || ((HierarchicalConfiguration) config).hasExternalProperties())
+      {
+        break;
+      }
+    }
+    this.tail = config;
+    this.levels = (HierarchicalConfiguration[])
+        levelList.toArray(new HierarchicalConfiguration[levelList.size()]);
+    this.versions = new long[this.levels.length];
+    System.arraycopy(versionArray, 0, this.versions, 0, this.versions.length);
+    this.keys = (String[]) this.values.keySet().toArray
+        (new String[this.values.size()]);
+    Arrays.sort(this.keys);
+    this.changeCount = changeCount;
+  }
+
+  /**
+   * Adds the properties of one level that are not defined by a child level.
+   *
+   * @param properties the properties.
+   */
+  private void merge(final Properties properties)
+  {
+    final Properties copy = (Properties) properties.clone();
+    final Iterator it = copy.entrySet().iterator();
+    while (it.hasNext())
+    {
+      final Map.Entry entry = (Map.Entry) it.next();
+      if (entry.getKey() instanceof String
+          && entry.getValue() instanceof String
+          && this.values.containsKey(entry.getKey()) == false)
+      {
+        this.values.put(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Returns true if no level of this view has changed since it was created.
+   *
+   * @param changeCount the current global change count.
+   * @return true, if the view is current.
+   */
+  boolean isCurrent(final long changeCount)
+  {
+    if (this.changeCount == changeCount)
+    {
+      return true;
+    }
+    // some configuration has changed, but maybe not one of ours
+    for (int i = 0; i < this.levels.length; i++)
+    {
+      if (this.levels[i].getVersion() != this.versions[i])
+      {
+        return false;
+      }
+    }
+    this.changeCount = changeCount;
+    return true;
+  }
+
+  /**
+   * Returns the configuration that is queried for keys that are not in this
+   * view.
+   *
+   * @return the tail configuration, or null.
+   */
+  Configuration getTail()
+  {
+    return this.tail;
+  }
+
+  /**
+   * Returns the value for a key.
+   *
+   * @param key          the key.
+   * @param defaultValue the default value.
+   * @return the value.
+   */
+  String getConfigProperty(final String key, final String defaultValue)
+  {
+    final String value = (String) this.values.get(key);
+    if (value != null)
+    {
+      return value;
+    }
+    if (this.tail != null)
+    {
+      return this.tail.getConfigProperty(key, defaultValue);
+    }
+    return defaultValue;
+  }
+
+  /**
+   * Returns the keys of this view that start with a prefix, in ascending
+   * order.
+   *
+   * @param prefix the prefix.
+   * @return the keys.
+   */
+  Iterator findPropertyKeys(final String prefix)
+  {
+    int start = Arrays.binarySearch(this.keys, prefix);
+    if (start < 0)
+    {
+      start = -(start + 1);
+    }
+    int end = start;
+    while (end < this.keys.length && this.keys[end].startsWith(prefix))
+    {
+      end++;
+    }
+    if (start == end)
+    {
+      return Collections.EMPTY_LIST.iterator();
+    }
+    return new RangeIterator(this.keys, start, end);
+  }
+
+  /**
+   * Adds the keys of this view that start with a prefix to a set.
+   *
+   * @param prefix    the prefix.
+   * @param collector the set.
+   */
+  void collectPropertyKeys(final String prefix, final TreeSet collector)
+  {
+    final Iterator it = findPropertyKeys(prefix);
+    while (it.hasNext())
+    {
+      collector.add(it.next());
+    }
+  }
+}
@@ -38,37 +38,133 @@
  * -------
  * 07-Jun-2004 : Added JCommon header (DG);
  * 29-Jul-2004 : Replaced 'enum' variable name (reserved word in JDK 1.5) (DG);
+ * 17-Oct-2026 : Added version counters and an optional flattened view of the
+ *               configuration chain;
+ * 17-Oct-2026 : Added property change listeners;
+ * 17-Oct-2026 : Added replaceConfiguration() for atomic updates;
+ * 17-Oct-2026 : Added isFullyObservable();
+ * 17-Oct-2026 : A failing listener no longer hides changes from the others;
+ * 17-Oct-2026 : Subclasses have external properties unless they opt out;
  *
  */
 
 package org.jfree.base.config;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.beans.PropertyChangeSupport;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jfree.util.Configuration;
+import org.jfree.util.Log;
+import org.jfree.util.ObjectUtilities;
+import org.jfree.util.ObservableConfiguration;
 import org.jfree.util.PublicCloneable;
 
 /**
  * A hierarchical configuration. Such a configuration can have one or more
  * parent configurations providing usefull default values.
+ * <p>
+ * Each lookup normally walks up the chain of parents until a configuration
+ * defines the key.  A configuration that is {@link #setFlattened(boolean)
+ * flattened} instead merges the properties of the whole chain into one
+ * immutable map with a sorted key index, so that a lookup is a single hash
+ * lookup and a prefix search is a binary search.  The merged view is
+ * rebuilt after any configuration in the chain has been changed; every
+ * change increments the {@link #getVersion() version} of the changed
+ * configuration.
+ * <p>
+ * Listeners are notified when the value of a property changes, whether the
+ * change is made in this configuration or in a parent configuration.  A
+ * configuration with listeners registers itself with its parent
+ * configuration, so listeners should be removed from short-lived
+ * configurations.
  *
  * @author Thomas Morgner
  */
 public class HierarchicalConfiguration
-    implements ModifiableConfiguration, PublicCloneable
+    implements ModifiableConfiguration, ObservableConfiguration,
+    PublicCloneable
 {
+  /** For serialization. */
+  private static final long serialVersionUID = -5568992376281398513L;
+
+  /**
+   * The number of changes made to any hierarchical configuration.
+   */
+  private static final AtomicLong CHANGE_COUNT = new AtomicLong();
 
   /**
    * The instance configuration properties.
    */
-  private Properties configuration;
+  private volatile Properties configuration;
+
+  /**
+   * A flag that controls whether lookups use the flattened view.
+   */
+  private boolean flattened;
+
+  /**
+   * The number of changes made to this configuration.
+   */
+  private transient volatile long version;
+
+  /**
+   * The flattened view of this configuration and its parents (null if it
+   * has not been created yet).
+   */
+  private transient volatile FlattenedConfiguration flattenedView;
+
+  /**
+   * The listeners (null if no listener has been added yet).
+   */
+  private transient volatile PropertyChangeSupport changeSupport;
+
+  /**
+   * The listener that receives the changes of the parent configuration
+   * (null while this configuration has no listeners).
+   */
+  private transient PropertyChangeListener parentListener;
+
+  /**
+   * Forwards the changes of the parent configuration that are not hidden by
+   * this configuration.
+   */
+  private class ParentListener implements PropertyChangeListener
+  {
+    /**
+     * Creates a new listener.
+     */
+    protected ParentListener()
+    {
+    }
+
+    /**
+     * Receives a change of the parent configuration.
+     *
+     * @param event the event.
+     */
+    public void propertyChange(final PropertyChangeEvent event)
+    {
+      final String name = event.getPropertyName();
+      if (name == null || isLocallyDefined(name) == false)
+      {
+        firePropertyChange(name, event.getOldValue(), event.getNewValue());
+      }
+    }
+  }
 
   /**
    * The parent configuration (null if this is the root configuration).
@@ -118,6 +214,10 @@ public class HierarchicalConfiguration
    */
   public String getConfigProperty(final String key, final String defaultValue)
   {
+    if (this.flattened)
+    {
+      return getFlattenedView().getConfigProperty(key, defaultValue);
+    }
     String value = this.configuration.getProperty(key);
     if (value == null)
     {
@@ -146,6 +246,15 @@ public class HierarchicalConfiguration
       throw new NullPointerException();
     }
 
+    final String oldValue;
+    if (this.changeSupport != null)
+    {
+      oldValue = getConfigProperty(key);
+    }
+    else
+    {
+      oldValue = null;
+    }
     if (value == null)
     {
       this.configuration.remove(key);
@@ -154,6 +263,284 @@ public class HierarchicalConfiguration
     {
       this.configuration.setProperty(key, value);
     }
+    updateVersion();
+    if (this.changeSupport != null)
+    {
+      firePropertyChange(key, oldValue, getConfigProperty(key));
+    }
+  }
+
+  /**
+   * Returns true if lookups use a flattened view of this configuration and
+   * its parents.
+   *
+   * @return true, if the configuration is flattened, false otherwise.
+   */
+  public boolean isFlattened()
+  {
+    return this.flattened;
+  }
+
+  /**
+   * Defines whether lookups use a flattened view of this configuration and
+   * its parents.  The view is created on the first lookup and recreated
+   * after any configuration it covers has changed, so this is worthwhile
+   * for configurations that are read far more often than they are changed.
+   *
+   * @param flattened true, if the configuration should be flattened.
+   */
+  public void setFlattened(final boolean flattened)
+  {
+    this.flattened = flattened;
+    this.flattenedView = null;
+  }
+
+  /**
+   * Returns the number of changes made to this configuration.  The version
+   * does not include changes made to the parent configurations.
+   *
+   * @return the version.
+   */
+  public long getVersion()
+  {
+    return this.version;
+  }
+
+  /**
+   * Records a change to this configuration and notifies the listeners that
+   * any property may have changed.  Subclasses that modify the properties
+   * returned by {@link #getConfiguration()} must call this method
+   * afterwards, or flattened views and listeners will not see the change.
+   */
+  protected void configurationChanged()
+  {
+    updateVersion();
+    firePropertyChange(null, null, null);
+  }
+
+  /**
+   * Increments the version of this configuration and the global change
+   * count.
+   */
+  private void updateVersion()
+  {
+    synchronized (this)
+    {
+      this.version++;
+    }
+    CHANGE_COUNT.incrementAndGet();
+  }
+
+  /**
+   * Notifies the listeners of a change.  A listener that throws a
+   * RuntimeException is logged and does not stop the notification of the
+   * other listeners, which may include child configurations and caches.
+   *
+   * @param name     the name of the property (null if any property may have
+   *                 changed).
+   * @param oldValue the old value.
+   * @param newValue the new value.
+   */
+  protected void firePropertyChange(final String name,
+                                    final Object oldValue,
+                                    final Object newValue)
+  {
+    final PropertyChangeSupport support = this.changeSupport;
+    if (support == null
+        || (oldValue != null && oldValue.equals(newValue)))
+    {
+      return;
+    }
+    final PropertyChangeEvent event =
+        new PropertyChangeEvent(this, name, oldValue, newValue);
+    final PropertyChangeListener[] listeners =
+        support.getPropertyChangeListeners();
+    for (int i = 0; i < listeners.length; i++)
+    {
+      PropertyChangeListener listener = listeners[i];
+      if (listener instanceof PropertyChangeListenerProxy)
+      {
+        final PropertyChangeListenerProxy proxy =
+            (PropertyChangeListenerProxy) listener;
+        if (name == null || name.equals(proxy.getPropertyName()) == false)
+        {
+          continue;
+        }
+        listener = (PropertyChangeListener) proxy.getListener();
+      }
+      try
+      {
+        listener.propertyChange(event);
+      }
+      catch (RuntimeException e)
+      {
+        Log.warn("A configuration listener failed", e);
+      }
+    }
+  }
+
+  /**
+   * Adds a listener that is notified when any property of this
+   * configuration or its parents changes.
+   *
+   * @param listener the listener.
+   */
+  public synchronized void addPropertyChangeListener
+      (final PropertyChangeListener listener)
+  {
+    getChangeSupport().addPropertyChangeListener(listener);
+    attachToParent();
+  }
+
+  /**
+   * Adds a listener that is notified when the given property changes in
+   * this configuration or its parents.
+   *
+   * @param name     the name of the property.
+   * @param listener the listener.
+   */
+  public synchronized void addPropertyChangeListener
+      (final String name, final PropertyChangeListener listener)
+  {
+    getChangeSupport().addPropertyChangeListener(name, listener);
+    attachToParent();
+  }
+
+  /**
+   * Removes a listener.
+   *
+   * @param listener the listener.
+   */
+  public synchronized void removePropertyChangeListener
+      (final PropertyChangeListener listener)
+  {
+    if (this.changeSupport != null)
+    {
+      this.changeSupport.removePropertyChangeListener(listener);
+      detachFromParentIfUnused();
+    }
+  }
+
+  /**
+   * Removes a listener for the given property.
+   *
+   * @param name     the name of the property.
+   * @param listener the listener.
+   */
+  public synchronized void removePropertyChangeListener
+      (final String name, final PropertyChangeListener listener)
+  {
+    if (this.changeSupport != null)
+    {
+      this.changeSupport.removePropertyChangeListener(name, listener);
+      detachFromParentIfUnused();
+    }
+  }
+
+  /**
+   * Returns the listener support, creating it if necessary.  The caller
+   * must hold the lock of this configuration.
+   *
+   * @return the listener support.
+   */
+  private PropertyChangeSupport getChangeSupport()
+  {
+    if (this.changeSupport == null)
+    {
+      this.changeSupport = new PropertyChangeSupport(this);
+    }
+    return this.changeSupport;
+  }
+
+  /**
+   * Registers with the parent configuration, if it reports changes.  The
+   * caller must hold the lock of this configuration.
+   */
+  private void attachToParent()
+  {
+    if (this.parentListener == null
+        && this.parentConfiguration instanceof ObservableConfiguration)
+    {
+      this.parentListener = new ParentListener();
+      ((ObservableConfiguration) this.parentConfiguration)
+          .addPropertyChangeListener(this.parentListener);
+    }
+  }
+
+  /**
+   * Removes the registration with the parent configuration if this
+   * configuration has no more listeners.  The caller must hold the lock of
+   * this configuration.
+   */
+  private void detachFromParentIfUnused()
+  {
+    if (this.parentListener != null
+        && this.changeSupport.getPropertyChangeListeners().length == 0)
+    {
+      ((ObservableConfiguration) this.parentConfiguration)
+          .removePropertyChangeListener(this.parentListener);
+      this.parentListener = null;
+    }
+  }
+
+  /**
+   * Returns true if every change of a property value of this configuration
+   * and its parents is reported to the listeners.  This is false if a
+   * configuration in the chain {@link #hasExternalProperties() has external
+   * properties} or does not report its changes.
+   *
+   * @return true, if every change is reported.
+   */
+  public boolean isFullyObservable()
+  {
+    if (hasExternalProperties())
+    {
+      return false;
+    }
+    final Configuration parent = this.parentConfiguration;
+    if (parent == null)
+    {
+      return true;
+    }
+    return parent instanceof ObservableConfiguration
+        && ((ObservableConfiguration) parent).isFullyObservable();
+  }
+
+  /**
+   * Returns true if this configuration returns values that are not stored in
+   * {@link #getConfiguration()}.  The values of such a configuration can
+   * change without notice, so a flattened view always queries it instead of
+   * merging it.
+   * <p>
+   * A subclass may override the methods that read the properties, so this
+   * method returns true for every subclass.  A subclass that keeps all its
+   * values in {@link #getConfiguration()} overrides this method to return
+   * false for its own class.
+   *
+   * @return false for a plain hierarchical configuration, true for any
+   *         subclass.
+   */
+  protected boolean hasExternalProperties()
+  {
+    return getClass() != HierarchicalConfiguration.class;
+  }
+
+  /**
+   * Returns the flattened view of this configuration, creating a new view if
+   * a configuration in the chain has changed.
+   *
+   * @return the view.
+   */
+  private FlattenedConfiguration getFlattenedView()
+  {
+    final long changeCount = CHANGE_COUNT.get();
+    FlattenedConfiguration view = this.flattenedView;
+    if (view == null || view.isCurrent(changeCount) == false)
+    {
+      view = new FlattenedConfiguration(this, changeCount);
+      this.flattenedView = view;
+    }
+    return view;
   }
 
   /**
@@ -188,6 +575,135 @@ public class HierarchicalConfiguration
     return this.configuration;
   }
 
+  /**
+   * Replaces the collection of properties for the configuration, if it has
+   * not been replaced since it was read with {@link #getConfiguration()}.
+   * Readers see either the old or the new properties, never a mixture, and
+   * are never blocked.  The listeners are notified of every property whose
+   * value changed.
+   * <p>
+   * A subclass that updates its properties with this method should treat
+   * the properties as immutable once they are published, and make all
+   * changes on a copy.
+   *
+   * @param expected   the properties that are expected to be current.
+   * @param properties the new properties (<code>null</code> not permitted).
+   * @return the number of properties whose value changed, or -1 if the
+   *         current properties are not the expected ones.
+   */
+  protected int replaceConfiguration(final Properties expected,
+                                     final Properties properties)
+  {
+    final List changedKeys = swapConfiguration(expected, properties);
+    if (changedKeys == null)
+    {
+      return -1;
+    }
+    fireConfigurationChanges(expected, properties, changedKeys);
+    return changedKeys.size();
+  }
+
+  /**
+   * The first half of {@link #replaceConfiguration(Properties, Properties)}:
+   * replaces the properties and updates the version, but does not notify
+   * the listeners.  The caller must pass the result to
+   * {@link #fireConfigurationChanges(Properties, Properties, List)}.
+   *
+   * @param expected   the properties that are expected to be current.
+   * @param properties the new properties (<code>null</code> not permitted).
+   * @return the keys of the properties whose value changed, or null if the
+   *         current properties are not the expected ones.
+   */
+  List swapConfiguration(final Properties expected,
+                         final Properties properties)
+  {
+    if (properties == null)
+    {
+      throw new NullPointerException("Null 'properties' argument.");
+    }
+    synchronized (this)
+    {
+      if (this.configuration != expected)
+      {
+        return null;
+      }
+      this.configuration = properties;
+    }
+
+    final List changedKeys = new ArrayList();
+    final Iterator it = properties.entrySet().iterator();
+    while (it.hasNext())
+    {
+      final Map.Entry entry = (Map.Entry) it.next();
+      if (ObjectUtilities.equal(entry.getValue(),
+          expected.get(entry.getKey())) == false)
+      {
+        changedKeys.add(entry.getKey());
+      }
+    }
+    final Iterator oldKeys = expected.keySet().iterator();
+    while (oldKeys.hasNext())
+    {
+      final Object key = oldKeys.next();
+      if (properties.containsKey(key) == false)
+      {
+        changedKeys.add(key);
+      }
+    }
+    if (changedKeys.isEmpty() == false)
+    {
+      updateVersion();
+    }
+    return changedKeys;
+  }
+
+  /**
+   * The second half of {@link #replaceConfiguration(Properties, Properties)}:
+   * notifies the listeners of every changed property.
+   *
+   * @param oldProperties the replaced properties.
+   * @param newProperties the new properties.
+   * @param changedKeys   the keys returned by
+   *                      {@link #swapConfiguration(Properties, Properties)}.
+   */
+  void fireConfigurationChanges(final Properties oldProperties,
+                                final Properties newProperties,
+                                final List changedKeys)
+  {
+    if (this.changeSupport == null)
+    {
+      return;
+    }
+    for (int i = 0; i < changedKeys.size(); i++)
+    {
+      if (changedKeys.get(i) instanceof String)
+      {
+        final String key = (String) changedKeys.get(i);
+        firePropertyChange(key, getEffectiveValue(oldProperties, key),
+            getEffectiveValue(newProperties, key));
+      }
+    }
+  }
+
+  /**
+   * Returns the value that a key would have if this configuration had the
+   * given properties.
+   *
+   * @param properties the properties.
+   * @param key        the key.
+   * @return the value, or null if the key is not defined.
+   */
+  private String getEffectiveValue(final Properties properties,
+                                   final String key)
+  {
+    final String value = properties.getProperty(key);
+    if (value != null || isRootConfig())
+    {
+      return value;
+    }
+    return this.parentConfiguration.getConfigProperty(key);
+  }
+
   /**
    * The new configuartion will be inserted into the list of report
    * configuration, so that this configuration has the given report
@@ -214,7 +730,22 @@ public class HierarchicalConfiguration
     {
       throw new IllegalArgumentException("Cannot add myself as parent configuration.");
     }
-    this.parentConfiguration = config;
+    synchronized (this)
+    {
+      if (this.parentListener != null)
+      {
+        ((ObservableConfiguration) this.parentConfiguration)
+            .removePropertyChangeListener(this.parentListener);
+        this.parentListener = null;
+      }
+      this.parentConfiguration = config;
+      if (this.changeSupport != null
+          && this.changeSupport.getPropertyChangeListeners().length > 0)
+      {
+        attachToParent();
+      }
+    }
+    configurationChanged();
   }
 
   /**
@@ -249,11 +780,56 @@ public class HierarchicalConfiguration
    */
   public Iterator findPropertyKeys(final String prefix)
   {
+    if (this.flattened)
+    {
+      return findFlattenedPropertyKeys(prefix);
+    }
     final TreeSet keys = new TreeSet();
     collectPropertyKeys(prefix, this, keys);
     return Collections.unmodifiableSet(keys).iterator();
   }
 
+  /**
+   * Searches all property keys that start with a given prefix in the
+   * flattened view.
+   *
+   * @param prefix the prefix that all selected property keys should share
+   * @return the properties as iterator.
+   */
+  private Iterator findFlattenedPropertyKeys(final String prefix)
+  {
+    final FlattenedConfiguration view = getFlattenedView();
+    final Configuration tail = view.getTail();
+    if (tail == null && hasExternalProperties() == false)
+    {
+      return view.findPropertyKeys(prefix);
+    }
+
+    final TreeSet keys = new TreeSet();
+    view.collectPropertyKeys(prefix, keys);
+    if (hasExternalProperties())
+    {
+      final Enumeration names = getConfigProperties();
+      while (names.hasMoreElements())
+      {
+        final String key = (String) names.nextElement();
+        if (key.startsWith(prefix))
+        {
+          keys.add(key);
+        }
+      }
+    }
+    if (tail != null)
+    {
+      final Iterator it = tail.findPropertyKeys(prefix);
+      while (it.hasNext())
+      {
+        keys.add(it.next());
+      }
+    }
+    return Collections.unmodifiableSet(keys).iterator();
+  }
+
   /**
    * Collects property keys from this and all parent report configurations,
    * which start with the given prefix.
@@ -364,6 +940,9 @@ public class HierarchicalConfiguration
   {
     HierarchicalConfiguration config = (HierarchicalConfiguration) super.clone();
     config.configuration = (Properties) this.configuration.clone();
+    config.flattenedView = null;
+    config.changeSupport = null;
+    config.parentListener = null;
     return config;
   }
 }
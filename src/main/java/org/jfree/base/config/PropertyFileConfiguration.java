@@ -37,6 +37,9 @@
  * Changes
  * -------
  * 14-Jan-2003 : Initial version
+ * 17-Oct-2026 : Record loaded properties as a configuration change;
+ * 17-Oct-2026 : Update the properties by copy-on-write;
+ * 17-Oct-2026 : Added hasExternalProperties();
  */
 package org.jfree.base.config;
 
@@ -50,11 +53,18 @@ import org.jfree.util.ObjectUtilities;
 
 /**
  * A report configuration that reads its values from an arbitary property file.
+ * <p>
+ * The properties are never modified in place: every change, including
+ * loading a file, is made on a copy that then replaces the properties at
+ * once.  Readers therefore never see a partly loaded file.
  *
  * @author Thomas Morgner
  */
 public class PropertyFileConfiguration extends HierarchicalConfiguration
 {
+  /** For serialization. */
+  private static final long serialVersionUID = 1816211475480990433L;
+
   /**
    * Default constructor.
    */
@@ -128,7 +138,16 @@ public class PropertyFileConfiguration extends HierarchicalConfiguration
       final BufferedInputStream bin = new BufferedInputStream(in);
       final Properties p = new Properties();
       p.load(bin);
-      this.getConfiguration().putAll(p);
+      while (true)
+      {
+        final Properties current = getConfiguration();
+        final Properties merged = (Properties) current.clone();
+        merged.putAll(p);
+        if (replaceConfiguration(current, merged) >= 0)
+        {
+          break;
+        }
+      }
       bin.close();
     }
     catch (IOException ioe)
@@ -138,4 +157,48 @@ public class PropertyFileConfiguration extends HierarchicalConfiguration
 
   }
 
+  /**
+   * Sets a configuration property.
+   *
+   * @param key   the property key.
+   * @param value the property value.
+   */
+  public void setConfigProperty(final String key, final String value)
+  {
+    if (key == null)
+    {
+      throw new NullPointerException();
+    }
+
+    while (true)
+    {
+      final Properties current = getConfiguration();
+      final Properties changed = (Properties) current.clone();
+      if (value == null)
+      {
+        changed.remove(key);
+      }
+      else
+      {
+        changed.setProperty(key, value);
+      }
+      if (replaceConfiguration(current, changed) >= 0)
+      {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Returns false, as all the values of this configuration are stored in
+   * {@link #getConfiguration()}.  Subclasses are treated as having external
+   * properties unless they override this method again.
+   *
+   * @return false for this class, true for any subclass.
+   */
+  protected boolean hasExternalProperties()
+  {
+    return getClass() != PropertyFileConfiguration.class;
+  }
+
 }
@@ -0,0 +1,545 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------------------------------
+ * ReloadingPropertyFileConfiguration.java
+ * ---------------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ * 17-Oct-2026 : Keep watching after a failed reload, and stop reporting
+ *               isWatching() when the watcher thread ends;
+ * 17-Oct-2026 : Count a reload before the listeners are notified;
+ * 17-Oct-2026 : Added hasExternalProperties();
+ *
+ */
+
+package org.jfree.base.config;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.util.Log;
+
+/**
+ * A property file configuration that reloads its file when the file
+ * changes.
+ * <p>
+ * Each reload reads the whole file and then replaces the properties of this
+ * configuration at once, so readers see either the old or the new contents
+ * of the file, and are never blocked.  Listeners of this configuration (and
+ * of its child configurations) are notified of every property whose value
+ * changed, and flattened child configurations pick up the new values.  A
+ * reload replaces all properties, including the properties that were set
+ * with {@link #setConfigProperty(String, String)}.  If the file cannot be
+ * read, the properties are left unchanged.
+ * <p>
+ * The file is watched with a {@link WatchService} after
+ * {@link #startWatching()} has been called.  Editors often write a file in
+ * several steps, so the file is read once no further change has been
+ * reported for {@link #SETTLE_DELAY} milliseconds.  On platforms without
+ * native file notifications, the watch service may take several seconds to
+ * notice a change.
+ *
+ * @author Thomas Morgner
+ */
+public class ReloadingPropertyFileConfiguration
+    extends PropertyFileConfiguration
+{
+  /** For serialization. */
+  private static final long serialVersionUID = -2371465327489036754L;
+
+  /**
+   * The time in milliseconds to wait for further changes before the file is
+   * read.
+   */
+  public static final long SETTLE_DELAY = 50;
+
+  /**
+   * Waits for changes of the file and reloads it.
+   */
+  private class Watcher implements Runnable
+  {
+    /**
+     * The watch service.
+     */
+    private final WatchService watchService;
+
+    /**
+     * The name of the file.
+     */
+    private final Path fileName;
+
+    /**
+     * Creates a new watcher.
+     *
+     * @param watchService the watch service.
+     * @param fileName     the name of the file.
+     */
+    protected Watcher(final WatchService watchService, final Path fileName)
+    {
+      this.watchService = watchService;
+      this.fileName = fileName;
+    }
+
+    /**
+     * Waits for changes until the watch service is closed.  The watch
+     * service is closed when this method returns for any reason, so that
+     * {@link #isWatching()} does not report a watcher that has stopped.
+     */
+    public void run()
+    {
+      try
+      {
+        while (true)
+        {
+          WatchKey key = this.watchService.take();
+          final long detected = System.nanoTime();
+          boolean changed = false;
+          while (key != null)
+          {
+            changed |= isFileChanged(key);
+            if (key.reset() == false)
+            {
+              Log.warn("Stopped watching the configuration file " + getFile()
+                  + ", the directory is no longer accessible.");
+              return;
+            }
+            key = this.watchService.poll(SETTLE_DELAY, TimeUnit.MILLISECONDS);
+          }
+          if (changed)
+          {
+            try
+            {
+              reload(detected);
+            }
+            catch (RuntimeException e)
+            {
+              // most likely a failing listener; keep watching
+              Log.warn("Failed to reload the configuration file "
+                  + getFile(), e);
+            }
+          }
+        }
+      }
+      catch (InterruptedException e)
+      {
+        // stopped
+      }
+      catch (ClosedWatchServiceException e)
+      {
+        // stopped
+      }
+      finally
+      {
+        closeWatchService(this.watchService);
+      }
+    }
+
+    /**
+     * Checks whether the events of a watch key include a change of the
+     * file.
+     *
+     * @param key the key.
+     * @return true, if the file may have changed.
+     */
+    private boolean isFileChanged(final WatchKey key)
+    {
+      boolean changed = false;
+      final Iterator it = key.pollEvents().iterator();
+      while (it.hasNext())
+      {
+        final WatchEvent event = (WatchEvent) it.next();
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW
+            || this.fileName.equals(event.context()))
+        {
+          changed = true;
+        }
+      }
+      return changed;
+    }
+  }
+
+  /**
+   * The property file.
+   */
+  private final File file;
+
+  /**
+   * Serializes the reloads and the start and stop of the watcher.
+   */
+  private transient Object reloadLock;
+
+  /**
+   * The watch service (null if the file is not watched).
+   */
+  private transient WatchService watchService;
+
+  /**
+   * The number of successful reloads.
+   */
+  private transient volatile int reloadCount;
+
+  /**
+   * The number of reloads that failed because the file could not be read.
+   */
+  private transient volatile int failedReloadCount;
+
+  /**
+   * The number of property changes caused by reloads.
+   */
+  private transient volatile long changedPropertyCount;
+
+  /**
+   * The latency of the last successful reload in nanoseconds.
+   */
+  private transient volatile long lastReloadLatency;
+
+  /**
+   * The largest latency of a reload in nanoseconds.
+   */
+  private transient volatile long maxReloadLatency;
+
+  /**
+   * Creates a new configuration and reads the file, if it exists.
+   *
+   * @param file the property file (<code>null</code> not permitted).
+   */
+  public ReloadingPropertyFileConfiguration(final File file)
+  {
+    if (file == null)
+    {
+      throw new NullPointerException("Null 'file' argument.");
+    }
+    this.file = file;
+    this.reloadLock = new Object();
+    if (file.exists())
+    {
+      reload();
+    }
+  }
+
+  /**
+   * Returns the property file.
+   *
+   * @return the file.
+   */
+  public File getFile()
+  {
+    return this.file;
+  }
+
+  /**
+   * Reads the file and replaces the properties with its contents.  If the
+   * file cannot be read or is malformed, the properties are not changed.
+   *
+   * @return true, if the file was read, false otherwise.
+   */
+  public boolean reload()
+  {
+    return reload(System.nanoTime());
+  }
+
+  /**
+   * Reads the file and replaces the properties with its contents.
+   *
+   * @param start the time at which the change was noticed, as returned by
+   *              {@link System#nanoTime()}.
+   * @return true, if the file was read, false otherwise.
+   */
+  private boolean reload(final long start)
+  {
+    synchronized (this.reloadLock)
+    {
+      final Properties properties = new Properties();
+      try
+      {
+        final InputStream in =
+            new BufferedInputStream(new FileInputStream(this.file));
+        try
+        {
+          properties.load(in);
+        }
+        finally
+        {
+          in.close();
+        }
+      }
+      catch (IOException e)
+      {
+        this.failedReloadCount++;
+        Log.warn("Unable to reload the configuration file " + this.file, e);
+        return false;
+      }
+      catch (IllegalArgumentException e)
+      {
+        // a malformed Unicode escape
+        this.failedReloadCount++;
+        Log.warn("Unable to reload the configuration file " + this.file, e);
+        return false;
+      }
+
+      Properties replaced;
+      List changedKeys;
+      do
+      {
+        replaced = getConfiguration();
+        changedKeys = swapConfiguration(replaced, properties);
+      }
+      while (changedKeys == null);
+
+      // count the reload before the listeners run, as they may fail
+      final int changes = changedKeys.size();
+      final long latency = System.nanoTime() - start;
+      this.reloadCount++;
+      this.changedPropertyCount += changes;
+      this.lastReloadLatency = latency;
+      if (latency > this.maxReloadLatency)
+      {
+        this.maxReloadLatency = latency;
+      }
+      Log.debug("Reloaded the configuration file " + this.file + ": "
+          + changes + " properties changed, latency "
+          + (latency / 1000) + " microseconds.");
+      fireConfigurationChanges(replaced, properties, changedKeys);
+      return true;
+    }
+  }
+
+  /**
+   * Starts watching the file for changes.  The file is watched by a daemon
+   * thread, which holds a reference to this configuration until
+   * {@link #stopWatching()} is called.  This method does nothing if the
+   * file is already watched.
+   *
+   * @throws IOException if the directory of the file cannot be watched.
+   */
+  public void startWatching() throws IOException
+  {
+    synchronized (this.reloadLock)
+    {
+      if (this.watchService != null)
+      {
+        return;
+      }
+      final Path path = this.file.getAbsoluteFile().toPath();
+      final Path directory = path.getParent();
+      final WatchService service =
+          directory.getFileSystem().newWatchService();
+      try
+      {
+        directory.register(service, new WatchEvent.Kind[] {
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_DELETE});
+      }
+      catch (IOException e)
+      {
+        service.close();
+        throw e;
+      }
+      this.watchService = service;
+      final Thread thread = new Thread
+          (new Watcher(service, path.getFileName()),
+              "ConfigurationWatcher-" + this.file.getName());
+      thread.setDaemon(true);
+      thread.start();
+    }
+    // catch changes made before the watch service was registered
+    if (this.file.exists())
+    {
+      reload();
+    }
+  }
+
+  /**
+   * Stops watching the file.
+   */
+  public void stopWatching()
+  {
+    synchronized (this.reloadLock)
+    {
+      if (this.watchService != null)
+      {
+        closeWatchService(this.watchService);
+      }
+    }
+  }
+
+  /**
+   * Closes a watch service, and forgets it if it is the current one.
+   *
+   * @param service the watch service.
+   */
+  private void closeWatchService(final WatchService service)
+  {
+    synchronized (this.reloadLock)
+    {
+      if (this.watchService == service)
+      {
+        this.watchService = null;
+      }
+    }
+    try
+    {
+      service.close();
+    }
+    catch (IOException e)
+    {
+      Log.debug("Unable to close the watch service", e);
+    }
+  }
+
+  /**
+   * Returns true if the file is watched for changes.
+   *
+   * @return true, if the file is watched.
+   */
+  public boolean isWatching()
+  {
+    synchronized (this.reloadLock)
+    {
+      return this.watchService != null;
+    }
+  }
+
+  /**
+   * Returns the number of successful reloads, including the initial read of
+   * the file.
+   *
+   * @return the number of reloads.
+   */
+  public int getReloadCount()
+  {
+    return this.reloadCount;
+  }
+
+  /**
+   * Returns the number of reloads that failed because the file could not
+   * be read.
+   *
+   * @return the number of failed reloads.
+   */
+  public int getFailedReloadCount()
+  {
+    return this.failedReloadCount;
+  }
+
+  /**
+   * Returns the number of property changes caused by reloads.
+   *
+   * @return the number of changed properties.
+   */
+  public long getChangedPropertyCount()
+  {
+    return this.changedPropertyCount;
+  }
+
+  /**
+   * Returns the latency of the last successful reload in nanoseconds: the
+   * time from the first notification of a change until the new properties
+   * were published, including the {@link #SETTLE_DELAY}.
+   *
+   * @return the latency in nanoseconds.
+   */
+  public long getLastReloadLatency()
+  {
+    return this.lastReloadLatency;
+  }
+
+  /**
+   * Returns the largest latency of a reload in nanoseconds.
+   *
+   * @return the latency in nanoseconds.
+   */
+  public long getMaxReloadLatency()
+  {
+    return this.maxReloadLatency;
+  }
+
+  /**
+   * Helper method for serialization.  The file is not watched after
+   * deserialization.
+   *
+   * @param in the input stream from where to read the serialized object.
+   * @throws IOException            when reading the stream fails.
+   * @throws ClassNotFoundException if a class definition for a serialized
+   *                                object could not be found.
+   */
+  private void readObject(final ObjectInputStream in)
+      throws IOException, ClassNotFoundException
+  {
+    in.defaultReadObject();
+    this.reloadLock = new Object();
+  }
+
+  /**
+   * Returns a clone of this instance.  The clone does not watch the file.
+   *
+   * @return A clone.
+   *
+   * @throws CloneNotSupportedException if there is a problem cloning.
+   */
+  public Object clone() throws CloneNotSupportedException
+  {
+    final ReloadingPropertyFileConfiguration config =
+        (ReloadingPropertyFileConfiguration) super.clone();
+    config.reloadLock = new Object();
+    config.watchService = null;
+    return config;
+  }
+  /**
+   * Returns false, as the reloaded values are stored in
+   * {@link #getConfiguration()} and every reload is reported.  Subclasses
+   * are treated as having external properties unless they override this
+   * method again.
+   *
+   * @return false for this class, true for any subclass.
+   */
+  protected boolean hasExternalProperties()
+  {
+    return getClass() != ReloadingPropertyFileConfiguration.class;
+  }
+}
@@ -38,6 +38,7 @@
  * -------------------------
  * 14-Jan-2003 : Initial Version, moved from inner class of ReportConfiguration
  * 05-Feb-2003 : This implementation now handles SecurityExceptions.
+ * 17-Oct-2026 : The system properties are external properties;
  * 
  */
 
@@ -53,6 +54,9 @@ import java.util.Vector;
  */
 public class SystemPropertyConfiguration extends HierarchicalConfiguration {
 
+    /** For serialization. */
+    private static final long serialVersionUID = -9103417804148286513L;
+
     /**
      * Creates a report configuration that includes all the system properties (whether they are
      * related to reports or not).  The parent configuration is a
@@ -96,6 +100,16 @@ public class SystemPropertyConfiguration extends HierarchicalConfiguration {
         return super.getConfigProperty(key, defaultValue);
     }
 
+    /**
+     * Returns true, as the system properties are not stored in this
+     * configuration and can be changed at any time.
+     *
+     * @return true.
+     */
+    protected boolean hasExternalProperties() {
+        return true;
+    }
+
     /**
      * Checks, whether the given key is locally defined in the system properties.
      * @see HierarchicalConfiguration#isLocallyDefined(java.lang.String)
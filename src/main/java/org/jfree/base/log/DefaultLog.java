@@ -37,11 +37,17 @@
  * Changes
  * -------
  * 07-Jun-2004 : Added JCommon header (DG);
+ * 17-Oct-2026 : Read the log levels for context prefixes;
  *
  */
 
 package org.jfree.base.log;
 
+import java.util.HashMap;
+import java.util.Iterator;
+
+import org.jfree.base.BaseBoot;
+import org.jfree.util.Configuration;
 import org.jfree.util.Log;
 import org.jfree.util.LogTarget;
 import org.jfree.util.PrintStreamLogTarget;
@@ -93,19 +99,60 @@ public class DefaultLog extends Log {
      */
     public void init() {
         removeTarget(DEFAULT_LOG_TARGET);
-        final String logLevel = LogConfiguration.getLogLevel();
-        if (logLevel.equalsIgnoreCase("error")) {
-            setDebuglevel(LogTarget.ERROR);
+        configureLevels();
+    }
+
+    /**
+     * Reads the log level and the log levels for context prefixes from the
+     * global configuration (see {@link LogConfiguration#LOGLEVEL_PREFIX}).
+     * Invalid levels are ignored.
+     */
+    void configureLevels() {
+        setDebuglevel(parseLogLevel(LogConfiguration.getLogLevel(),
+                getDebuglevel()));
+        final Configuration config = BaseBoot.getInstance().getGlobalConfig();
+        final HashMap levels = new HashMap();
+        final Iterator keys = config.findPropertyKeys(
+                LogConfiguration.LOGLEVEL_PREFIX);
+        while (keys.hasNext()) {
+            final String key = (String) keys.next();
+            final int level = parseLogLevel(config.getConfigProperty(key), -1);
+            if (level >= 0) {
+                levels.put(key.substring(
+                        LogConfiguration.LOGLEVEL_PREFIX.length()),
+                        new Integer(level));
+            }
+        }
+        setContextLevels(levels);
+    }
+
+    /**
+     * Converts the name of a log level ("Error", "Warn", "Info" or "Debug",
+     * not case sensitive) to the level.
+     *
+     * @param name  the name (<code>null</code> permitted).
+     * @param defaultLevel  the level to return for an unknown name.
+     *
+     * @return The level.
+     */
+    static int parseLogLevel(final String name, final int defaultLevel) {
+        if (name == null) {
+            return defaultLevel;
+        }
+        final String level = name.trim();
+        if (level.equalsIgnoreCase("error")) {
+            return LogTarget.ERROR;
         }
-        else if (logLevel.equalsIgnoreCase("warn")) {
-            setDebuglevel(LogTarget.WARN);
+        else if (level.equalsIgnoreCase("warn")) {
+            return LogTarget.WARN;
         }
-        else if (logLevel.equalsIgnoreCase("info")) {
-            setDebuglevel(LogTarget.INFO);
+        else if (level.equalsIgnoreCase("info")) {
+            return LogTarget.INFO;
         }
-        else if (logLevel.equalsIgnoreCase("debug")) {
-            setDebuglevel(LogTarget.DEBUG);
+        else if (level.equalsIgnoreCase("debug")) {
+            return LogTarget.DEBUG;
         }
+        return defaultLevel;
     }
 
     /**
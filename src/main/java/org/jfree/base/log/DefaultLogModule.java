@@ -41,6 +41,7 @@
  * 25-Nov-2005 : The initialization was overly complicated. There is only
  *               one logtarget here, and additional targets should create
  *               an dependent module.
+ * 17-Oct-2026 : Added support for the AsyncLogTarget;
  */
 
 package org.jfree.base.log;
@@ -48,7 +49,9 @@ package org.jfree.base.log;
 import org.jfree.base.modules.AbstractModule;
 import org.jfree.base.modules.ModuleInitializeException;
 import org.jfree.base.modules.SubSystem;
+import org.jfree.util.AsyncLogTarget;
 import org.jfree.util.Log;
+import org.jfree.util.LogTarget;
 import org.jfree.util.PrintStreamLogTarget;
 
 /**
@@ -72,7 +75,7 @@ public class DefaultLogModule extends AbstractModule
 
   /**
    * Initalizes the module. This method initializes the logging system, if the
-   * System.out logtarget is selected.
+   * System.out logtarget (or its asynchronous variant) is selected.
    *
    * @param subSystem the sub-system.
    * @throws ModuleInitializeException if an error occured.
@@ -85,19 +88,41 @@ public class DefaultLogModule extends AbstractModule
       return;
     }
 
-    if (LogConfiguration.getLogTarget().equals
-            (PrintStreamLogTarget.class.getName()))
+    final String targetName = LogConfiguration.getLogTarget();
+    final LogTarget target;
+    if (targetName.equals(PrintStreamLogTarget.class.getName()))
     {
-      DefaultLog.installDefaultLog();
-      Log.getInstance().addTarget(new PrintStreamLogTarget());
-
-      if ("true".equals(subSystem.getGlobalConfig().getConfigProperty
-              ("org.jfree.base.LogAutoInit")))
+      target = new PrintStreamLogTarget();
+    }
+    else if (targetName.equals(AsyncLogTarget.class.getName()))
+    {
+      final AsyncLogTarget asyncTarget = new AsyncLogTarget(System.out,
+          LogConfiguration.getAsyncCapacity(),
+          LogConfiguration.getAsyncPolicy());
+      // write the queued messages before the VM exits
+      Runtime.getRuntime().addShutdownHook(new Thread()
       {
-        Log.getInstance().init();
-      }
-      Log.info("Default log target started ... previous log messages " +
-              "could have been ignored.");
+        public void run()
+        {
+          asyncTarget.close();
+        }
+      });
+      target = asyncTarget;
+    }
+    else
+    {
+      return;
+    }
+
+    DefaultLog.installDefaultLog();
+    Log.getInstance().addTarget(target);
+
+    if ("true".equals(subSystem.getGlobalConfig().getConfigProperty
+            ("org.jfree.base.LogAutoInit")))
+    {
+      Log.getInstance().init();
     }
+    Log.info("Default log target started ... previous log messages " +
+            "could have been ignored.");
   }
 }
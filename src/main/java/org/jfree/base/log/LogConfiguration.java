@@ -37,12 +37,16 @@
  * Changes
  * -------
  * 07-Jun-2004 : Added JCommon header (DG);
+ * 17-Oct-2026 : Added settings for the AsyncLogTarget;
+ * 17-Oct-2026 : Added log levels for context prefixes;
+ * 17-Oct-2026 : Limit the AsyncLogTarget capacity to the maximum;
  *
  */
 
 package org.jfree.base.log;
 
 import org.jfree.base.BaseBoot;
+import org.jfree.util.AsyncLogTarget;
 import org.jfree.util.PrintStreamLogTarget;
 
 /**
@@ -61,6 +65,14 @@ public class LogConfiguration {
   /** The default 'log level' property value. */
   public static final String LOGLEVEL_DEFAULT = "Info";
 
+  /**
+   * The prefix of the property keys for the log levels of context prefixes.
+   * For example, <code>org.jfree.base.LogLevel.org.jfree.xml=Debug</code>
+   * enables debug messages for all log contexts in the
+   * <code>org.jfree.xml</code> packages.
+   */
+  public static final String LOGLEVEL_PREFIX = LOGLEVEL + ".";
+
   /** The 'log target' property key. */
   public static final String LOGTARGET = "org.jfree.base.LogTarget";
 
@@ -71,6 +83,17 @@ public class LogConfiguration {
   /** The 'disable logging' property key. */
   public static final String DISABLE_LOGGING = "org.jfree.base.NoDefaultDebug"; 
 
+  /** The 'async log capacity' property key. */
+  public static final String ASYNC_CAPACITY =
+          "org.jfree.base.AsyncLogTarget.Capacity";
+
+  /** The 'async log policy' property key. */
+  public static final String ASYNC_POLICY =
+          "org.jfree.base.AsyncLogTarget.Policy";
+
+  /** The default 'async log policy' property value. */
+  public static final String ASYNC_POLICY_DEFAULT = "Block";
+
   /**
    * Default constructor.
    */
@@ -126,8 +149,8 @@ public class LogConfiguration {
    * Notes:
    * <ul>
    * <li>the setting is not case sensitive.</li>
-   * <li>changing the log level after the {@link org.jfree.util.Log} class has been
-   * loaded will have no effect.</li>
+   * <li>changing the log level updates the {@link DefaultLog} and the log
+   * contexts created by it immediately.</li>
    * <li>to turn of logging altogether, use the {@link #setDisableLogging} method.</li>
    * </ul>
    *
@@ -136,6 +159,42 @@ public class LogConfiguration {
   public static void setLogLevel(final String level)
   {
     BaseBoot.getConfiguration().setConfigProperty(LOGLEVEL, level);
+    DefaultLog.getDefaultLog().configureLevels();
+  }
+
+  /**
+   * Returns the log level for a context prefix.
+   *
+   * @param prefix  the prefix (for example, a package name).
+   *
+   * @return the log level, or <code>null</code> if the prefix has no level
+   *     of its own.
+   */
+  public static String getLogLevel(final String prefix)
+  {
+    return BaseBoot.getInstance().getGlobalConfig().getConfigProperty
+            (LOGLEVEL_PREFIX + prefix);
+  }
+
+  /**
+   * Sets the log level for all log contexts whose name is, or starts with,
+   * the prefix followed by a '.'.  The log contexts that already exist are
+   * updated immediately.  A longer prefix takes precedence over a shorter
+   * one, and contexts without a prefix level use the global log level.
+   *
+   * @param prefix  the prefix (<code>null</code> not permitted).
+   * @param level  the log level (see {@link #setLogLevel(String)}), or
+   *     <code>null</code> to remove the level for the prefix.
+   */
+  public static void setLogLevel(final String prefix, final String level)
+  {
+    if (prefix == null)
+    {
+      throw new NullPointerException("Null 'prefix' argument.");
+    }
+    BaseBoot.getConfiguration().setConfigProperty
+            (LOGLEVEL_PREFIX + prefix, level);
+    DefaultLog.getDefaultLog().configureLevels();
   }
 
   /**
@@ -164,5 +223,58 @@ public class LogConfiguration {
             (DISABLE_LOGGING, String.valueOf(disableLogging));
   }
 
+  /**
+   * Returns the buffer capacity for an {@link AsyncLogTarget}.  Values
+   * above {@link AsyncLogTarget#MAXIMUM_CAPACITY} are reduced to the
+   * maximum, invalid values select the default capacity.
+   *
+   * @return the capacity.
+   */
+  public static int getAsyncCapacity()
+  {
+    final String value = BaseBoot.getInstance().getGlobalConfig()
+        .getConfigProperty(ASYNC_CAPACITY);
+    if (value != null)
+    {
+      try
+      {
+        final int capacity = Integer.parseInt(value.trim());
+        if (capacity > 0)
+        {
+          return Math.min(capacity, AsyncLogTarget.MAXIMUM_CAPACITY);
+        }
+      }
+      catch (NumberFormatException nfe)
+      {
+        // use the default
+      }
+    }
+    return AsyncLogTarget.DEFAULT_CAPACITY;
+  }
+
+  /**
+   * Returns the policy of an {@link AsyncLogTarget} for a full buffer.
+   * Valid values are <code>"Drop"</code>, <code>"Block"</code> and
+   * <code>"Sample"</code> (the setting is not case sensitive), any other
+   * value selects <code>"Block"</code>.
+   *
+   * @return the policy ({@link AsyncLogTarget#DROP},
+   *     {@link AsyncLogTarget#BLOCK} or {@link AsyncLogTarget#SAMPLE}).
+   */
+  public static int getAsyncPolicy()
+  {
+    final String policy = BaseBoot.getInstance().getGlobalConfig()
+        .getConfigProperty(ASYNC_POLICY, ASYNC_POLICY_DEFAULT);
+    if (policy.equalsIgnoreCase("drop"))
+    {
+      return AsyncLogTarget.DROP;
+    }
+    if (policy.equalsIgnoreCase("sample"))
+    {
+      return AsyncLogTarget.SAMPLE;
+    }
+    return AsyncLogTarget.BLOCK;
+  }
+
 
 }
@@ -38,6 +38,7 @@
  * -------
  * 26-Jun-2003 : Initial version
  * 07-Jun-2004 : Added JCommon header (DG);
+ * 17-Oct-2026 : The package configuration has no external properties;
  *
  */
 
@@ -94,6 +95,16 @@ public final class PackageManager {
         public void insertConfiguration(final HierarchicalConfiguration config) {
             super.insertConfiguration(config);
         }
+
+        /**
+         * Returns false, as all the values of this configuration are stored
+         * in its properties.
+         *
+         * @return false for this class, true for any subclass.
+         */
+        protected boolean hasExternalProperties() {
+            return getClass() != PackageConfiguration.class;
+        }
     }
 
 
@@ -0,0 +1,917 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ----------------
+ * BinaryCodec.java
+ * ----------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ * 17-Oct-2026 : Reject invalid arc types with an InvalidObjectException;
+ *
+ */
+
+package org.jfree.io;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.TextAttribute;
+import java.awt.font.TransformAttribute;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.text.AttributedCharacterIterator;
+import java.text.AttributedString;
+import java.text.CharacterIterator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Writes and reads rendering attributes (paints, strokes, composites,
+ * shapes, points and attributed strings) as plain binary data, without
+ * Java serialization.  The methods work with any <code>DataOutput</code>
+ * and <code>DataInput</code>; wrap a <code>ByteBuffer</code> (heap or
+ * direct) in a {@link ByteBufferDataOutput} or {@link ByteBufferDataInput}
+ * to use it directly.
+ * <p>
+ * Each value starts with a one-byte tag (zero for <code>null</code>), so no
+ * class names, handles or reflection are involved.  The supported types are:
+ * <ul>
+ * <li>paints: <code>Color</code> (written as its 32-bit ARGB value) and
+ *     <code>GradientPaint</code>;</li>
+ * <li>strokes: <code>BasicStroke</code>;</li>
+ * <li>composites: <code>AlphaComposite</code>;</li>
+ * <li>shapes: <code>Line2D</code>, <code>Rectangle2D</code>,
+ *     <code>Ellipse2D</code>, <code>Arc2D</code> and
+ *     <code>GeneralPath</code>, any other shape is written as the
+ *     <code>GeneralPath</code> that describes its outline;</li>
+ * <li>attributed strings whose attributes are standard
+ *     {@link TextAttribute} keys with <code>String</code>, number,
+ *     <code>Boolean</code>, paint, <code>Font</code> or
+ *     <code>TransformAttribute</code> values.</li>
+ * </ul>
+ * The write methods throw a <code>NotSerializableException</code> for
+ * anything else.  Use {@link SerialUtilities} for arbitrary implementations
+ * that need Java serialization.
+ */
+public final class BinaryCodec {
+
+    /** The tag for a <code>null</code> value. */
+    private static final int NULL = 0;
+
+    /** The tag for a <code>Color</code>. */
+    private static final int PAINT_COLOR = 1;
+
+    /** The tag for a <code>GradientPaint</code>. */
+    private static final int PAINT_GRADIENT = 2;
+
+    /** The tag for a <code>BasicStroke</code>. */
+    private static final int STROKE_BASIC = 1;
+
+    /** The tag for an <code>AlphaComposite</code>. */
+    private static final int COMPOSITE_ALPHA = 1;
+
+    /** The tag for a non-null point. */
+    private static final int POINT = 1;
+
+    /** The tag for a non-null attributed string. */
+    private static final int ATTRIBUTED_STRING = 1;
+
+    /** The tag for a <code>Line2D</code>. */
+    static final int SHAPE_LINE = 1;
+
+    /** The tag for a <code>Rectangle2D</code>. */
+    static final int SHAPE_RECTANGLE = 2;
+
+    /** The tag for an <code>Ellipse2D</code>. */
+    static final int SHAPE_ELLIPSE = 3;
+
+    /** The tag for an <code>Arc2D</code>. */
+    static final int SHAPE_ARC = 4;
+
+    /** The tag for a <code>GeneralPath</code>. */
+    static final int SHAPE_PATH = 5;
+
+    /** The tag for a <code>String</code> attribute value. */
+    private static final int VALUE_STRING = 1;
+
+    /** The tag for an <code>Integer</code> attribute value. */
+    private static final int VALUE_INTEGER = 2;
+
+    /** The tag for a <code>Float</code> attribute value. */
+    private static final int VALUE_FLOAT = 3;
+
+    /** The tag for a <code>Double</code> attribute value. */
+    private static final int VALUE_DOUBLE = 4;
+
+    /** The tag for a <code>Boolean</code> attribute value. */
+    private static final int VALUE_BOOLEAN = 5;
+
+    /** The tag for a paint attribute value. */
+    private static final int VALUE_PAINT = 6;
+
+    /** The tag for a <code>Font</code> attribute value. */
+    private static final int VALUE_FONT = 7;
+
+    /** The tag for a <code>TransformAttribute</code> attribute value. */
+    private static final int VALUE_TRANSFORM = 8;
+
+    /**
+     * The attribute keys that can be written, in the order of their codes
+     * (new keys must only ever be appended).
+     */
+    private static final TextAttribute[] KEYS = {
+        TextAttribute.FAMILY, TextAttribute.WEIGHT, TextAttribute.WIDTH,
+        TextAttribute.POSTURE, TextAttribute.SIZE, TextAttribute.TRANSFORM,
+        TextAttribute.SUPERSCRIPT, TextAttribute.FONT,
+        TextAttribute.CHAR_REPLACEMENT, TextAttribute.FOREGROUND,
+        TextAttribute.BACKGROUND, TextAttribute.UNDERLINE,
+        TextAttribute.STRIKETHROUGH, TextAttribute.RUN_DIRECTION,
+        TextAttribute.BIDI_EMBEDDING, TextAttribute.JUSTIFICATION,
+        TextAttribute.INPUT_METHOD_HIGHLIGHT,
+        TextAttribute.INPUT_METHOD_UNDERLINE, TextAttribute.SWAP_COLORS,
+        TextAttribute.NUMERIC_SHAPING, TextAttribute.KERNING,
+        TextAttribute.LIGATURES, TextAttribute.TRACKING
+    };
+
+    /** The code of each attribute key (TextAttribute to Integer). */
+    private static final Map KEY_CODES = new HashMap();
+
+    static {
+        for (int i = 0; i < KEYS.length; i++) {
+            KEY_CODES.put(KEYS[i], Integer.valueOf(i));
+        }
+    }
+
+    /**
+     * Private constructor prevents object creation.
+     */
+    private BinaryCodec() {
+        // no instances
+    }
+
+    /**
+     * Writes a paint.
+     *
+     * @param paint  the paint (<code>null</code> permitted).
+     * @param out  the output (<code>null</code> not permitted).
+     *
+     * @throws IOException if there is an I/O problem or the paint is not
+     *     supported.
+     */
+    public static void writePaint(final Paint paint, final DataOutput out)
+            throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Null 'out' argument.");
+        }
+        if (paint == null) {
+            out.writeByte(NULL);
+        }
+        else if (paint instanceof Color) {
+            out.writeByte(PAINT_COLOR);
+            out.writeInt(((Color) paint).getRGB());
+        }
+        else if (paint instanceof GradientPaint) {
+            final GradientPaint gp = (GradientPaint) paint;
+            out.writeByte(PAINT_GRADIENT);
+            writeFloatPoint(gp.getPoint1(), out);
+            out.writeInt(gp.getColor1().getRGB());
+            writeFloatPoint(gp.getPoint2(), out);
+            out.writeInt(gp.getColor2().getRGB());
+            out.writeBoolean(gp.isCyclic());
+        }
+        else {
+            throw new NotSerializableException(paint.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads a paint written by {@link #writePaint(Paint, DataOutput)}.
+     *
+     * @param in  the input (<code>null</code> not permitted).
+     *
+     * @return The paint (possibly <code>null</code>).
+     *
+     * @throws IOException if there is an I/O problem or the data is not
+     *     valid.
+     */
+    public static Paint readPaint(final DataInput in) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Null 'in' argument.");
+        }
+        final int tag = in.readUnsignedByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case PAINT_COLOR:
+                return new Color(in.readInt(), true);
+            case PAINT_GRADIENT:
+                final float x1 = in.readFloat();
+                final float y1 = in.readFloat();
+                final Color c1 = new Color(in.readInt(), true);
+                final float x2 = in.readFloat();
+                final float y2 = in.readFloat();
+                final Color c2 = new Color(in.readInt(), true);
+                return new GradientPaint(x1, y1, c1, x2, y2, c2,
+                        in.readBoolean());
+            default:
+                throw new InvalidObjectException("Unknown paint type: " + tag);
+        }
+    }
+
+    /**
+     * Writes a stroke.
+     *
+     * @param stroke  the stroke (<code>null</code> permitted).
+     * @param out  the output (<code>null</code> not permitted).
+     *
+     * @throws IOException if there is an I/O problem or the stroke is not
+     *     supported.
+     */
+    public static void writeStroke(final Stroke stroke, final DataOutput out)
+            throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Null 'out' argument.");
+        }
+        if (stroke == null) {
+            out.writeByte(NULL);
+        }
+        else if (stroke instanceof BasicStroke) {
+            final BasicStroke s = (BasicStroke) stroke;
+            out.writeByte(STROKE_BASIC);
+            out.writeFloat(s.getLineWidth());
+            out.writeByte(s.getEndCap());
+            out.writeByte(s.getLineJoin());
+            out.writeFloat(s.getMiterLimit());
+            final float[] dash = s.getDashArray();
+            if (dash == null) {
+                out.writeInt(-1);
+            }
+            else {
+                out.writeInt(dash.length);
+                for (int i = 0; i < dash.length; i++) {
+                    out.writeFloat(dash[i]);
+                }
+            }
+            out.writeFloat(s.getDashPhase());
+        }
+        else {
+            throw new NotSerializableException(stroke.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads a stroke written by {@link #writeStroke(Stroke, DataOutput)}.
+     *
+     * @param in  the input (<code>null</code> not permitted).
+     *
+     * @return The stroke (possibly <code>null</code>).
+     *
+     * @throws IOException if there is an I/O problem or the data is not
+     *     valid.
+     */
+    public static Stroke readStroke(final DataInput in) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Null 'in' argument.");
+        }
+        final int tag = in.readUnsignedByte();
+        if (tag == NULL) {
+            return null;
+        }
+        if (tag != STROKE_BASIC) {
+            throw new InvalidObjectException("Unknown stroke type: " + tag);
+        }
+        final float width = in.readFloat();
+        final int cap = in.readByte();
+        final int join = in.readByte();
+        final float miterLimit = in.readFloat();
+        final int dashCount = in.readInt();
+        float[] dash = null;
+        if (dashCount >= 0) {
+            // the count comes from the stream, so let the array grow with
+            // the data that is actually there
+            dash = new float[Math.min(dashCount, 64)];
+            for (int i = 0; i < dashCount; i++) {
+                if (i == dash.length) {
+                    final float[] larger = new float[(int) Math.min(
+                            dashCount, dash.length * 2L)];
+                    System.arraycopy(dash, 0, larger, 0, i);
+                    dash = larger;
+                }
+                dash[i] = in.readFloat();
+            }
+        }
+        final float dashPhase = in.readFloat();
+        try {
+            return new BasicStroke(width, cap, join, miterLimit, dash,
+                    dashPhase);
+        }
+        catch (IllegalArgumentException e) {
+            throw new InvalidObjectException(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a composite.
+     *
+     * @param composite  the composite (<code>null</code> permitted).
+     * @param out  the output (<code>null</code> not permitted).
+     *
+     * @throws IOException if there is an I/O problem or the composite is not
+     *     supported.
+     */
+    public static void writeComposite(final Composite composite,
+                                      final DataOutput out)
+            throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Null 'out' argument.");
+        }
+        if (composite == null) {
+            out.writeByte(NULL);
+        }
+        else if (composite instanceof AlphaComposite) {
+            final AlphaComposite ac = (AlphaComposite) composite;
+            out.writeByte(COMPOSITE_ALPHA);
+            out.writeByte(ac.getRule());
+            out.writeFloat(ac.getAlpha());
+        }
+        else {
+            throw new NotSerializableException(
+                    composite.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads a composite written by
+     * {@link #writeComposite(Composite, DataOutput)}.
+     *
+     * @param in  the input (<code>null</code> not permitted).
+     *
+     * @return The composite (possibly <code>null</code>).
+     *
+     * @throws IOException if there is an I/O problem or the data is not
+     *     valid.
+     */
+    public static Composite readComposite(final DataInput in)
+            throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Null 'in' argument.");
+        }
+        final int tag = in.readUnsignedByte();
+        if (tag == NULL) {
+            return null;
+        }
+        if (tag != COMPOSITE_ALPHA) {
+            throw new InvalidObjectException("Unknown composite type: "
+                    + tag);
+        }
+        final int rule = in.readByte();
+        final float alpha = in.readFloat();
+        try {
+            return AlphaComposite.getInstance(rule, alpha);
+        }
+        catch (IllegalArgumentException e) {
+            throw new InvalidObjectException(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a shape, with the coordinates of a <code>GeneralPath</code> as
+     * plain floats.
+     *
+     * @param shape  the shape (<code>null</code> permitted).
+     * @param out  the output (<code>null</code> not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public static void writeShape(final Shape shape, final DataOutput out)
+            throws IOException {
+        writeShape(shape, out, false);
+    }
+
+    /**
+     * Writes a shape.  Shapes other than the standard ones listed in the
+     * class description are written as a <code>GeneralPath</code>.
+     *
+     * @param shape  the shape (<code>null</code> permitted).
+     * @param out  the output (<code>null</code> not permitted).
+     * @param delta  delta-encode the coordinates of paths (smaller, but
+     *     slower to write)?
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public static void writeShape(final Shape shape, final DataOutput out,
+                                  final boolean delta) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Null 'out' argument.");
+        }
+        if (shape == null) {
+            out.writeByte(NULL);
+        }
+        else if (!writeStandardShape(shape, out, delta)) {
+            out.writeByte(SHAPE_PATH);
+            PathCodec.write(new GeneralPath(shape), out, delta);
+        }
+    }
+
+    /**
+     * Reads a shape written by {@link #writeShape(Shape, DataOutput)} or
+     * {@link #writeShape(Shape, DataOutput, boolean)}.
+     *
+     * @param in  the input (<code>null</code> not permitted).
+     *
+     * @return The shape (possibly <code>null</code>).
+     *
+     * @throws IOException if there is an I/O problem or the data is not
+     *     valid.
+     */
+    public static Shape readShape(final DataInput in) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Null 'in' argument.");
+        }
+        final int tag = in.readUnsignedByte();
+        if (tag == NULL) {
+            return null;
+        }
+        return readStandardShape(tag, in);
+    }
+
+    /**
+     * Writes the tag and geometry of a line, rectangle, ellipse, arc or
+     * general path.  This is shared with the compact format of
+     * {@link SerialUtilities#writeShape(Shape, java.io.ObjectOutputStream)}.
+     *
+     * @param shape  the shape (<code>null</code> not permitted).
+     * @param out  the output (<code>null</code> not permitted).
+     * @param delta  delta-encode the coordinates of a general path?
+     *
+     * @return <code>false</code> (and nothing is written) if the shape is
+     *     not one of the standard shapes.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    static boolean writeStandardShape(final Shape shape, final DataOutput out,
+                                      final boolean delta)
+            throws IOException {
+        if (shape instanceof Line2D) {
+            final Line2D line = (Line2D) shape;
+            out.writeByte(SHAPE_LINE);
+            out.writeDouble(line.getX1());
+            out.writeDouble(line.getY1());
+            out.writeDouble(line.getX2());
+            out.writeDouble(line.getY2());
+        }
+        else if (shape instanceof Rectangle2D) {
+            final Rectangle2D rectangle = (Rectangle2D) shape;
+            out.writeByte(SHAPE_RECTANGLE);
+            out.writeDouble(rectangle.getX());
+            out.writeDouble(rectangle.getY());
+            out.writeDouble(rectangle.getWidth());
+            out.writeDouble(rectangle.getHeight());
+        }
+        else if (shape instanceof Ellipse2D) {
+            final Ellipse2D ellipse = (Ellipse2D) shape;
+            out.writeByte(SHAPE_ELLIPSE);
+            out.writeDouble(ellipse.getX());
+            out.writeDouble(ellipse.getY());
+            out.writeDouble(ellipse.getWidth());
+            out.writeDouble(ellipse.getHeight());
+        }
+        else if (shape instanceof Arc2D) {
+            final Arc2D arc = (Arc2D) shape;
+            out.writeByte(SHAPE_ARC);
+            out.writeDouble(arc.getX());
+            out.writeDouble(arc.getY());
+            out.writeDouble(arc.getWidth());
+            out.writeDouble(arc.getHeight());
+            out.writeDouble(arc.getAngleStart());
+            out.writeDouble(arc.getAngleExtent());
+            out.writeByte(arc.getArcType());
+        }
+        else if (shape instanceof GeneralPath) {
+            out.writeByte(SHAPE_PATH);
+            PathCodec.write((GeneralPath) shape, out, delta);
+        }
+        else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the geometry of a standard shape, after its tag.
+     *
+     * @param tag  the tag.
+     * @param in  the input (<code>null</code> not permitted).
+     *
+     * @return The shape.
+     *
+     * @throws IOException if there is an I/O problem or the data is not
+     *     valid.
+     */
+    static Shape readStandardShape(final int tag, final DataInput in)
+            throws IOException {
+        switch (tag) {
+            case SHAPE_LINE:
+                return new Line2D.Double(in.readDouble(), in.readDouble(),
+                        in.readDouble(), in.readDouble());
+            case SHAPE_RECTANGLE:
+                return new Rectangle2D.Double(in.readDouble(),
+                        in.readDouble(), in.readDouble(), in.readDouble());
+            case SHAPE_ELLIPSE:
+                return new Ellipse2D.Double(in.readDouble(), in.readDouble(),
+                        in.readDouble(), in.readDouble());
+            case SHAPE_ARC:
+                try {
+                    return new Arc2D.Double(in.readDouble(), in.readDouble(),
+                            in.readDouble(), in.readDouble(), in.readDouble(),
+                            in.readDouble(), in.readByte());
+                }
+                catch (IllegalArgumentException e) {
+                    throw new InvalidObjectException(e.getMessage());
+                }
+            case SHAPE_PATH:
+                return PathCodec.read(in);
+            default:
+                throw new InvalidObjectException("Unknown shape type: " + tag);
+        }
+    }
+
+    /**
+     * Writes a point.
+     *
+     * @param p  the point (<code>null</code> permitted).
+     * @param out  the output (<code>null</code> not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public static void writePoint2D(final Point2D p, final DataOutput out)
+            throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Null 'out' argument.");
+        }
+        if (p == null) {
+            out.writeByte(NULL);
+        }
+        else {
+            out.writeByte(POINT);
+            out.writeDouble(p.getX());
+            out.writeDouble(p.getY());
+        }
+    }
+
+    /**
+     * Reads a point written by {@link #writePoint2D(Point2D, DataOutput)}.
+     *
+     * @param in  the input (<code>null</code> not permitted).
+     *
+     * @return The point (possibly <code>null</code>).
+     *
+     * @throws IOException if there is an I/O problem or the data is not
+     *     valid.
+     */
+    public static Point2D readPoint2D(final DataInput in) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Null 'in' argument.");
+        }
+        final int tag = in.readUnsignedByte();
+        if (tag == NULL) {
+            return null;
+        }
+        if (tag != POINT) {
+            throw new InvalidObjectException("Unknown point type: " + tag);
+        }
+        return new Point2D.Double(in.readDouble(), in.readDouble());
+    }
+
+    /**
+     * Writes an attributed string, as its text followed by the limit and the
+     * attributes of each run.
+     *
+     * @param as  the attributed string (<code>null</code> permitted).
+     * @param out  the output (<code>null</code> not permitted).
+     *
+     * @throws IOException if there is an I/O problem or an attribute is not
+     *     supported.
+     */
+    public static void writeAttributedString(final AttributedString as,
+                                             final DataOutput out)
+            throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Null 'out' argument.");
+        }
+        if (as == null) {
+            out.writeByte(NULL);
+            return;
+        }
+        out.writeByte(ATTRIBUTED_STRING);
+        final AttributedCharacterIterator aci = as.getIterator();
+        final int begin = aci.getBeginIndex();
+        out.writeInt(aci.getEndIndex() - begin);
+        for (char c = aci.first(); c != CharacterIterator.DONE;
+                c = aci.next()) {
+            out.writeChar(c);
+        }
+        char c = aci.first();
+        while (c != CharacterIterator.DONE) {
+            final int limit = aci.getRunLimit();
+            out.writeInt(limit - begin);
+            writeAttributes(aci.getAttributes(), out);
+            c = aci.setIndex(limit);
+        }
+        // a limit of -1 marks the end of the runs
+        out.writeInt(-1);
+    }
+
+    /**
+     * Reads an attributed string written by
+     * {@link #writeAttributedString(AttributedString, DataOutput)}.
+     *
+     * @param in  the input (<code>null</code> not permitted).
+     *
+     * @return The attributed string (possibly <code>null</code>).
+     *
+     * @throws IOException if there is an I/O problem or the data is not
+     *     valid.
+     */
+    public static AttributedString readAttributedString(final DataInput in)
+            throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Null 'in' argument.");
+        }
+        final int tag = in.readUnsignedByte();
+        if (tag == NULL) {
+            return null;
+        }
+        if (tag != ATTRIBUTED_STRING) {
+            throw new InvalidObjectException("Unknown string type: " + tag);
+        }
+        final String text = readString(in);
+        final AttributedString result = new AttributedString(text);
+        int start = 0;
+        int limit = in.readInt();
+        while (limit >= 0) {
+            if (limit <= start || limit > text.length()) {
+                throw new InvalidObjectException("Invalid run limit: "
+                        + limit);
+            }
+            final Map attributes = readAttributes(in);
+            if (!attributes.isEmpty()) {
+                result.addAttributes(attributes, start, limit);
+            }
+            start = limit;
+            limit = in.readInt();
+        }
+        return result;
+    }
+
+    /**
+     * Writes a string as its length followed by its characters.
+     *
+     * @param s  the string (<code>null</code> not permitted).
+     * @param out  the output.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void writeString(final String s, final DataOutput out)
+            throws IOException {
+        out.writeInt(s.length());
+        out.writeChars(s);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(String, DataOutput)}.
+     *
+     * @param in  the input.
+     *
+     * @return The string.
+     *
+     * @throws IOException if there is an I/O problem or the data is not
+     *     valid.
+     */
+    private static String readString(final DataInput in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            throw new InvalidObjectException("Invalid string length: "
+                    + length);
+        }
+        final StringBuffer buffer = new StringBuffer(Math.min(length, 4096));
+        for (int i = 0; i < length; i++) {
+            buffer.append(in.readChar());
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Writes a point with float coordinates.
+     *
+     * @param p  the point.
+     * @param out  the output.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void writeFloatPoint(final Point2D p, final DataOutput out)
+            throws IOException {
+        out.writeFloat((float) p.getX());
+        out.writeFloat((float) p.getY());
+    }
+
+    /**
+     * Writes a map of text attributes.
+     *
+     * @param attributes  the attributes.
+     * @param out  the output.
+     *
+     * @throws IOException if there is an I/O problem or an attribute is not
+     *     supported.
+     */
+    private static void writeAttributes(final Map attributes,
+                                        final DataOutput out)
+            throws IOException {
+        out.writeInt(attributes.size());
+        final Iterator iterator = attributes.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry entry = (Map.Entry) iterator.next();
+            final Integer code = (Integer) KEY_CODES.get(entry.getKey());
+            if (code == null) {
+                throw new NotSerializableException(
+                        "Unsupported attribute: " + entry.getKey());
+            }
+            out.writeByte(code.intValue());
+            writeAttributeValue(entry.getValue(), out);
+        }
+    }
+
+    /**
+     * Reads a map of text attributes.
+     *
+     * @param in  the input.
+     *
+     * @return The attributes.
+     *
+     * @throws IOException if there is an I/O problem or the data is not
+     *     valid.
+     */
+    private static Map readAttributes(final DataInput in) throws IOException {
+        final int count = in.readInt();
+        if (count < 0 || count > KEYS.length) {
+            throw new InvalidObjectException("Invalid attribute count: "
+                    + count);
+        }
+        final Map result = new HashMap();
+        for (int i = 0; i < count; i++) {
+            final int code = in.readUnsignedByte();
+            if (code >= KEYS.length) {
+                throw new InvalidObjectException("Unknown attribute: "
+                        + code);
+            }
+            result.put(KEYS[code], readAttributeValue(in));
+        }
+        return result;
+    }
+
+    /**
+     * Writes the value of a text attribute.
+     *
+     * @param value  the value (<code>null</code> permitted).
+     * @param out  the output.
+     *
+     * @throws IOException if there is an I/O problem or the value is not
+     *     supported.
+     */
+    private static void writeAttributeValue(final Object value,
+                                            final DataOutput out)
+            throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        }
+        else if (value instanceof String) {
+            out.writeByte(VALUE_STRING);
+            writeString((String) value, out);
+        }
+        else if (value instanceof Integer) {
+            out.writeByte(VALUE_INTEGER);
+            out.writeInt(((Integer) value).intValue());
+        }
+        else if (value instanceof Float) {
+            out.writeByte(VALUE_FLOAT);
+            out.writeFloat(((Float) value).floatValue());
+        }
+        else if (value instanceof Double) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble(((Double) value).doubleValue());
+        }
+        else if (value instanceof Boolean) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean(((Boolean) value).booleanValue());
+        }
+        else if (value instanceof Color || value instanceof GradientPaint) {
+            out.writeByte(VALUE_PAINT);
+            writePaint((Paint) value, out);
+        }
+        else if (value instanceof Font) {
+            out.writeByte(VALUE_FONT);
+            writeAttributes(((Font) value).getAttributes(), out);
+        }
+        else if (value instanceof TransformAttribute) {
+            out.writeByte(VALUE_TRANSFORM);
+            final double[] matrix = new double[6];
+            ((TransformAttribute) value).getTransform().getMatrix(matrix);
+            for (int i = 0; i < matrix.length; i++) {
+                out.writeDouble(matrix[i]);
+            }
+        }
+        else {
+            throw new NotSerializableException("Unsupported attribute value: "
+                    + value.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads the value of a text attribute.
+     *
+     * @param in  the input.
+     *
+     * @return The value (possibly <code>null</code>).
+     *
+     * @throws IOException if there is an I/O problem or the data is not
+     *     valid.
+     */
+    private static Object readAttributeValue(final DataInput in)
+            throws IOException {
+        final int tag = in.readUnsignedByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case VALUE_STRING:
+                return readString(in);
+            case VALUE_INTEGER:
+                return Integer.valueOf(in.readInt());
+            case VALUE_FLOAT:
+                return Float.valueOf(in.readFloat());
+            case VALUE_DOUBLE:
+                return Double.valueOf(in.readDouble());
+            case VALUE_BOOLEAN:
+                return Boolean.valueOf(in.readBoolean());
+            case VALUE_PAINT:
+                return readPaint(in);
+            case VALUE_FONT:
+                return new Font(readAttributes(in));
+            case VALUE_TRANSFORM:
+                final double[] matrix = new double[6];
+                for (int i = 0; i < matrix.length; i++) {
+                    matrix[i] = in.readDouble();
+                }
+                return new TransformAttribute(new AffineTransform(matrix));
+            default:
+                throw new InvalidObjectException("Unknown attribute value: "
+                        + tag);
+        }
+    }
+
+}
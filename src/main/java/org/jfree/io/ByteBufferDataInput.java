@@ -0,0 +1,339 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ------------------------
+ * ByteBufferDataInput.java
+ * ------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.io;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+
+/**
+ * A <code>DataInput</code> that reads from a <code>ByteBuffer</code> (heap or
+ * direct), starting at the current position of the buffer.  Reading past the
+ * limit of the buffer throws an <code>EOFException</code>, as the
+ * <code>DataInput</code> contract requires.
+ *
+ * @see BinaryCodec
+ * @see ByteBufferDataOutput
+ */
+public class ByteBufferDataInput implements DataInput {
+
+    /** The buffer. */
+    private ByteBuffer buffer;
+
+    /**
+     * Creates a new input.
+     *
+     * @param buffer  the buffer (<code>null</code> not permitted).
+     */
+    public ByteBufferDataInput(final ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("Null 'buffer' argument.");
+        }
+        this.buffer = buffer;
+    }
+
+    /**
+     * Returns the buffer.
+     *
+     * @return The buffer (never <code>null</code>).
+     */
+    public ByteBuffer getBuffer() {
+        return this.buffer;
+    }
+
+    /**
+     * Checks that the buffer has enough bytes left.
+     *
+     * @param count  the number of bytes required.
+     *
+     * @throws EOFException if there are fewer bytes left.
+     */
+    private void require(final int count) throws EOFException {
+        if (this.buffer.remaining() < count) {
+            throw new EOFException();
+        }
+    }
+
+    /**
+     * Fills an array with bytes.
+     *
+     * @param b  the array.
+     *
+     * @throws IOException if there are not enough bytes left.
+     */
+    public void readFully(final byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    /**
+     * Reads bytes into part of an array.
+     *
+     * @param b  the array.
+     * @param off  the offset of the first byte.
+     * @param len  the number of bytes.
+     *
+     * @throws IOException if there are not enough bytes left.
+     */
+    public void readFully(final byte[] b, final int off, final int len)
+            throws IOException {
+        require(len);
+        this.buffer.get(b, off, len);
+    }
+
+    /**
+     * Skips bytes.
+     *
+     * @param n  the number of bytes to skip.
+     *
+     * @return The number of bytes skipped (fewer than <code>n</code> at the
+     *     end of the buffer).
+     */
+    public int skipBytes(final int n) {
+        final int skipped = Math.max(0, Math.min(n, this.buffer.remaining()));
+        this.buffer.position(this.buffer.position() + skipped);
+        return skipped;
+    }
+
+    /**
+     * Reads a boolean.
+     *
+     * @return The value.
+     *
+     * @throws IOException if there are not enough bytes left.
+     */
+    public boolean readBoolean() throws IOException {
+        require(1);
+        return this.buffer.get() != 0;
+    }
+
+    /**
+     * Reads a byte.
+     *
+     * @return The value.
+     *
+     * @throws IOException if there are not enough bytes left.
+     */
+    public byte readByte() throws IOException {
+        require(1);
+        return this.buffer.get();
+    }
+
+    /**
+     * Reads an unsigned byte.
+     *
+     * @return The value (0-255).
+     *
+     * @throws IOException if there are not enough bytes left.
+     */
+    public int readUnsignedByte() throws IOException {
+        require(1);
+        return this.buffer.get() & 0xff;
+    }
+
+    /**
+     * Reads a short.
+     *
+     * @return The value.
+     *
+     * @throws IOException if there are not enough bytes left.
+     */
+    public short readShort() throws IOException {
+        require(2);
+        return this.buffer.getShort();
+    }
+
+    /**
+     * Reads an unsigned short.
+     *
+     * @return The value (0-65535).
+     *
+     * @throws IOException if there are not enough bytes left.
+     */
+    public int readUnsignedShort() throws IOException {
+        require(2);
+        return this.buffer.getShort() & 0xffff;
+    }
+
+    /**
+     * Reads a char.
+     *
+     * @return The value.
+     *
+     * @throws IOException if there are not enough bytes left.
+     */
+    public char readChar() throws IOException {
+        require(2);
+        return this.buffer.getChar();
+    }
+
+    /**
+     * Reads an int.
+     *
+     * @return The value.
+     *
+     * @throws IOException if there are not enough bytes left.
+     */
+    public int readInt() throws IOException {
+        require(4);
+        return this.buffer.getInt();
+    }
+
+    /**
+     * Reads a long.
+     *
+     * @return The value.
+     *
+     * @throws IOException if there are not enough bytes left.
+     */
+    public long readLong() throws IOException {
+        require(8);
+        return this.buffer.getLong();
+    }
+
+    /**
+     * Reads a float.
+     *
+     * @return The value.
+     *
+     * @throws IOException if there are not enough bytes left.
+     */
+    public float readFloat() throws IOException {
+        require(4);
+        return this.buffer.getFloat();
+    }
+
+    /**
+     * Reads a double.
+     *
+     * @return The value.
+     *
+     * @throws IOException if there are not enough bytes left.
+     */
+    public double readDouble() throws IOException {
+        require(8);
+        return this.buffer.getDouble();
+    }
+
+    /**
+     * Reads a line of text, with each byte taken as a Latin-1 character.
+     * The line ends at a line feed, a carriage return, a carriage return
+     * followed by a line feed, or the end of the buffer.
+     *
+     * @return The line (without the line terminator), or <code>null</code>
+     *     at the end of the buffer.
+     */
+    public String readLine() {
+        if (!this.buffer.hasRemaining()) {
+            return null;
+        }
+        final StringBuffer line = new StringBuffer();
+        while (this.buffer.hasRemaining()) {
+            final int c = this.buffer.get() & 0xff;
+            if (c == '\n') {
+                break;
+            }
+            if (c == '\r') {
+                if (this.buffer.hasRemaining()
+                        && this.buffer.get(this.buffer.position()) == '\n') {
+                    this.buffer.get();
+                }
+                break;
+            }
+            line.append((char) c);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Reads a string in modified UTF-8 format, as written by
+     * {@link DataOutput#writeUTF(String)}.
+     *
+     * @return The string.
+     *
+     * @throws IOException if there are not enough bytes left or the data is
+     *     not valid modified UTF-8.
+     */
+    public String readUTF() throws IOException {
+        final int utfLength = readUnsignedShort();
+        require(utfLength);
+        final char[] chars = new char[utfLength];
+        int count = 0;
+        int n = 0;
+        while (n < utfLength) {
+            final int b = this.buffer.get() & 0xff;
+            n++;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            }
+            else if ((b & 0xe0) == 0xc0) {
+                if (n + 1 > utfLength) {
+                    throw new UTFDataFormatException("Truncated character.");
+                }
+                final int b2 = this.buffer.get() & 0xff;
+                n++;
+                if ((b2 & 0xc0) != 0x80) {
+                    throw new UTFDataFormatException("Malformed input.");
+                }
+                chars[count++] = (char) (((b & 0x1f) << 6) | (b2 & 0x3f));
+            }
+            else if ((b & 0xf0) == 0xe0) {
+                if (n + 2 > utfLength) {
+                    throw new UTFDataFormatException("Truncated character.");
+                }
+                final int b2 = this.buffer.get() & 0xff;
+                final int b3 = this.buffer.get() & 0xff;
+                n += 2;
+                if ((b2 & 0xc0) != 0x80 || (b3 & 0xc0) != 0x80) {
+                    throw new UTFDataFormatException("Malformed input.");
+                }
+                chars[count++] = (char) (((b & 0x0f) << 12)
+                        | ((b2 & 0x3f) << 6) | (b3 & 0x3f));
+            }
+            else {
+                throw new UTFDataFormatException("Malformed input.");
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+}
@@ -0,0 +1,254 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------------
+ * ByteBufferDataOutput.java
+ * -------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.io;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+
+/**
+ * A <code>DataOutput</code> that writes to a <code>ByteBuffer</code> (heap or
+ * direct), starting at the current position of the buffer.  With the
+ * buffer's default big-endian byte order, the data can be read back with a
+ * {@link ByteBufferDataInput} or a <code>java.io.DataInputStream</code>.
+ * Writing past the limit of the buffer throws a
+ * <code>java.nio.BufferOverflowException</code>.
+ *
+ * @see BinaryCodec
+ */
+public class ByteBufferDataOutput implements DataOutput {
+
+    /** The buffer. */
+    private ByteBuffer buffer;
+
+    /**
+     * Creates a new output.
+     *
+     * @param buffer  the buffer (<code>null</code> not permitted).
+     */
+    public ByteBufferDataOutput(final ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("Null 'buffer' argument.");
+        }
+        this.buffer = buffer;
+    }
+
+    /**
+     * Returns the buffer.
+     *
+     * @return The buffer (never <code>null</code>).
+     */
+    public ByteBuffer getBuffer() {
+        return this.buffer;
+    }
+
+    /**
+     * Writes the low eight bits of an int.
+     *
+     * @param b  the byte.
+     */
+    public void write(final int b) {
+        this.buffer.put((byte) b);
+    }
+
+    /**
+     * Writes an array of bytes.
+     *
+     * @param b  the bytes.
+     */
+    public void write(final byte[] b) {
+        this.buffer.put(b);
+    }
+
+    /**
+     * Writes part of an array of bytes.
+     *
+     * @param b  the bytes.
+     * @param off  the offset of the first byte.
+     * @param len  the number of bytes.
+     */
+    public void write(final byte[] b, final int off, final int len) {
+        this.buffer.put(b, off, len);
+    }
+
+    /**
+     * Writes a boolean as one byte.
+     *
+     * @param v  the value.
+     */
+    public void writeBoolean(final boolean v) {
+        this.buffer.put(v ? (byte) 1 : (byte) 0);
+    }
+
+    /**
+     * Writes the low eight bits of an int.
+     *
+     * @param v  the value.
+     */
+    public void writeByte(final int v) {
+        this.buffer.put((byte) v);
+    }
+
+    /**
+     * Writes the low sixteen bits of an int.
+     *
+     * @param v  the value.
+     */
+    public void writeShort(final int v) {
+        this.buffer.putShort((short) v);
+    }
+
+    /**
+     * Writes a char.
+     *
+     * @param v  the value.
+     */
+    public void writeChar(final int v) {
+        this.buffer.putChar((char) v);
+    }
+
+    /**
+     * Writes an int.
+     *
+     * @param v  the value.
+     */
+    public void writeInt(final int v) {
+        this.buffer.putInt(v);
+    }
+
+    /**
+     * Writes a long.
+     *
+     * @param v  the value.
+     */
+    public void writeLong(final long v) {
+        this.buffer.putLong(v);
+    }
+
+    /**
+     * Writes a float.
+     *
+     * @param v  the value.
+     */
+    public void writeFloat(final float v) {
+        this.buffer.putFloat(v);
+    }
+
+    /**
+     * Writes a double.
+     *
+     * @param v  the value.
+     */
+    public void writeDouble(final double v) {
+        this.buffer.putDouble(v);
+    }
+
+    /**
+     * Writes the low eight bits of each character of a string.
+     *
+     * @param s  the string.
+     */
+    public void writeBytes(final String s) {
+        final int length = s.length();
+        for (int i = 0; i < length; i++) {
+            this.buffer.put((byte) s.charAt(i));
+        }
+    }
+
+    /**
+     * Writes each character of a string as a char.
+     *
+     * @param s  the string.
+     */
+    public void writeChars(final String s) {
+        final int length = s.length();
+        for (int i = 0; i < length; i++) {
+            this.buffer.putChar(s.charAt(i));
+        }
+    }
+
+    /**
+     * Writes a string in modified UTF-8 format, preceded by its encoded
+     * length as an unsigned short.
+     *
+     * @param s  the string.
+     *
+     * @throws IOException if the encoded string is longer than 65535 bytes.
+     */
+    public void writeUTF(final String s) throws IOException {
+        final int length = s.length();
+        int utfLength = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = s.charAt(i);
+            if (c >= 0x0001 && c <= 0x007f) {
+                utfLength++;
+            }
+            else if (c > 0x07ff) {
+                utfLength += 3;
+            }
+            else {
+                utfLength += 2;
+            }
+        }
+        if (utfLength > 65535) {
+            throw new UTFDataFormatException("Encoded string too long: "
+                    + utfLength + " bytes");
+        }
+        this.buffer.putShort((short) utfLength);
+        for (int i = 0; i < length; i++) {
+            final char c = s.charAt(i);
+            if (c >= 0x0001 && c <= 0x007f) {
+                this.buffer.put((byte) c);
+            }
+            else if (c > 0x07ff) {
+                this.buffer.put((byte) (0xe0 | ((c >> 12) & 0x0f)));
+                this.buffer.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+                this.buffer.put((byte) (0x80 | (c & 0x3f)));
+            }
+            else {
+                this.buffer.put((byte) (0xc0 | ((c >> 6) & 0x1f)));
+                this.buffer.put((byte) (0x80 | (c & 0x3f)));
+            }
+        }
+    }
+
+}
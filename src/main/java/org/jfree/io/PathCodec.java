@@ -0,0 +1,362 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * --------------
+ * PathCodec.java
+ * --------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.io;
+
+import java.awt.geom.GeneralPath;
+import java.awt.geom.PathIterator;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+
+/**
+ * Writes and reads a {@link GeneralPath} in a compact binary form:
+ * <ul>
+ * <li>the winding rule (one byte);</li>
+ * <li>a flags byte (bit 0 set if the coordinates are delta-encoded);</li>
+ * <li>the number of segments (an int);</li>
+ * <li>the number of bytes of segment data (an int);</li>
+ * <li>for each segment, the segment type (one byte) followed by the
+ *     coordinates that the segment type needs (none for SEG_CLOSE, one
+ *     point for SEG_MOVETO and SEG_LINETO, two for SEG_QUADTO and three
+ *     for SEG_CUBICTO).</li>
+ * </ul>
+ * Without delta encoding each coordinate is written as a big-endian float.
+ * With delta encoding, the bits of each coordinate are XOR-ed with the bits
+ * of the previous coordinate on the same axis, and only the bytes of the
+ * result between its leading and trailing zero bytes are written, preceded
+ * by one byte per point that describes the two coordinates.  Both forms are
+ * lossless.  The segment data is read with a single call and decoded from
+ * an array.
+ */
+final class PathCodec {
+
+    /** The flag for delta-encoded coordinates. */
+    private static final int FLAG_DELTA = 1;
+
+    /** The largest number of bytes for one segment. */
+    private static final int MAX_SEGMENT_BYTES = 28;
+
+    /** The number of significant bytes for each nibble code. */
+    private static final int[] LENGTHS = {0, 1, 1, 1, 1, 2, 2, 2, 3, 3, 4};
+
+    /** The number of trailing zero bytes for each nibble code. */
+    private static final int[] SHIFTS = {0, 0, 1, 2, 3, 0, 1, 2, 0, 1, 0};
+
+    /** The first nibble code for each number of significant bytes. */
+    private static final int[] FIRST_CODES = {0, 1, 5, 8, 10};
+
+    /**
+     * Private constructor prevents object creation.
+     */
+    private PathCodec() {
+        // no instances
+    }
+
+    /**
+     * Returns the number of points for a segment type.
+     *
+     * @param type  the segment type.
+     *
+     * @return The number of points.
+     *
+     * @throws IOException if the type is not valid.
+     */
+    private static int getPointCount(final int type) throws IOException {
+        switch (type) {
+            case PathIterator.SEG_MOVETO:
+            case PathIterator.SEG_LINETO:
+                return 1;
+            case PathIterator.SEG_QUADTO:
+                return 2;
+            case PathIterator.SEG_CUBICTO:
+                return 3;
+            case PathIterator.SEG_CLOSE:
+                return 0;
+            default:
+                throw new InvalidObjectException("Invalid segment type: "
+                        + type);
+        }
+    }
+
+    /**
+     * Writes a path.
+     *
+     * @param path  the path (<code>null</code> not permitted).
+     * @param out  the output (<code>null</code> not permitted).
+     * @param delta  delta-encode the coordinates?
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public static void write(final GeneralPath path, final DataOutput out,
+                             final boolean delta) throws IOException {
+        int count = 0;
+        PathIterator pi = path.getPathIterator(null);
+        while (!pi.isDone()) {
+            count++;
+            pi.next();
+        }
+        final byte[] data = new byte[count * MAX_SEGMENT_BYTES];
+        final float[] coords = new float[6];
+        int n = 0;
+        int lastX = 0;
+        int lastY = 0;
+        pi = path.getPathIterator(null);
+        final int rule = pi.getWindingRule();
+        while (!pi.isDone()) {
+            final int type = pi.currentSegment(coords);
+            data[n++] = (byte) type;
+            final int points = getPointCount(type);
+            for (int p = 0; p < points; p++) {
+                final int xBits = Float.floatToRawIntBits(coords[p * 2]);
+                final int yBits = Float.floatToRawIntBits(coords[p * 2 + 1]);
+                if (!delta) {
+                    n = putBytes(xBits, 10, data, n);
+                    n = putBytes(yBits, 10, data, n);
+                    continue;
+                }
+                final int xCode = getCode(xBits ^ lastX);
+                final int yCode = getCode(yBits ^ lastY);
+                data[n++] = (byte) ((xCode << 4) | yCode);
+                n = putBytes(xBits ^ lastX, xCode, data, n);
+                n = putBytes(yBits ^ lastY, yCode, data, n);
+                lastX = xBits;
+                lastY = yBits;
+            }
+            pi.next();
+        }
+        out.writeByte(rule);
+        out.writeByte(delta ? FLAG_DELTA : 0);
+        out.writeInt(count);
+        out.writeInt(n);
+        out.write(data, 0, n);
+    }
+
+    /**
+     * Reads a path written by
+     * {@link #write(GeneralPath, DataOutput, boolean)}.
+     *
+     * @param in  the input (<code>null</code> not permitted).
+     *
+     * @return The path.
+     *
+     * @throws IOException if there is an I/O problem or the data is not
+     *     valid.
+     */
+    public static GeneralPath read(final DataInput in) throws IOException {
+        final int rule = in.readByte();
+        if (rule != PathIterator.WIND_EVEN_ODD
+                && rule != PathIterator.WIND_NON_ZERO) {
+            throw new InvalidObjectException("Invalid winding rule: " + rule);
+        }
+        final boolean delta = (in.readByte() & FLAG_DELTA) != 0;
+        final int count = in.readInt();
+        final int length = in.readInt();
+        if (count < 0 || length < count
+                || length / MAX_SEGMENT_BYTES > count) {
+            throw new InvalidObjectException("Invalid path data length.");
+        }
+        final byte[] data = readFully(in, length);
+        // the count comes from the stream, so limit the initial capacity
+        final GeneralPath path = new GeneralPath(rule,
+                Math.max(1, Math.min(count, 65536)));
+        final float[] coords = new float[6];
+        final int[] offset = new int[1];
+        int lastX = 0;
+        int lastY = 0;
+        try {
+            int n = 0;
+            for (int s = 0; s < count; s++) {
+                final int type = data[n++];
+                final int points = getPointCount(type);
+                for (int p = 0; p < points; p++) {
+                    if (!delta) {
+                        coords[p * 2] = Float.intBitsToFloat(
+                                getInt(data, n));
+                        coords[p * 2 + 1] = Float.intBitsToFloat(
+                                getInt(data, n + 4));
+                        n += 8;
+                        continue;
+                    }
+                    final int codes = data[n] & 0xff;
+                    offset[0] = n + 1;
+                    lastX ^= getBytes(data, offset, codes >> 4);
+                    lastY ^= getBytes(data, offset, codes & 0x0f);
+                    n = offset[0];
+                    coords[p * 2] = Float.intBitsToFloat(lastX);
+                    coords[p * 2 + 1] = Float.intBitsToFloat(lastY);
+                }
+                switch (type) {
+                    case PathIterator.SEG_MOVETO:
+                        path.moveTo(coords[0], coords[1]);
+                        break;
+                    case PathIterator.SEG_LINETO:
+                        path.lineTo(coords[0], coords[1]);
+                        break;
+                    case PathIterator.SEG_QUADTO:
+                        path.quadTo(coords[0], coords[1], coords[2],
+                                coords[3]);
+                        break;
+                    case PathIterator.SEG_CUBICTO:
+                        path.curveTo(coords[0], coords[1], coords[2],
+                                coords[3], coords[4], coords[5]);
+                        break;
+                    default:
+                        path.closePath();
+                        break;
+                }
+            }
+            if (n != length) {
+                throw new InvalidObjectException("Invalid path data length.");
+            }
+        }
+        catch (ArrayIndexOutOfBoundsException e) {
+            throw new InvalidObjectException("Truncated path data.");
+        }
+        return path;
+    }
+
+    /**
+     * Reads a number of bytes, without allocating much more than the data
+     * actually available if the length is corrupt.
+     *
+     * @param in  the input.
+     * @param length  the number of bytes.
+     *
+     * @return The bytes.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static byte[] readFully(final DataInput in, final int length)
+            throws IOException {
+        byte[] data = new byte[Math.min(length, 65536)];
+        int n = 0;
+        while (n < length) {
+            if (n == data.length) {
+                final byte[] larger = new byte[(int) Math.min(length,
+                        data.length * 2L)];
+                System.arraycopy(data, 0, larger, 0, n);
+                data = larger;
+            }
+            final int chunk = data.length - n;
+            in.readFully(data, n, chunk);
+            n += chunk;
+        }
+        return data;
+    }
+
+    /**
+     * Returns the big-endian int at the given offset.
+     *
+     * @param data  the data.
+     * @param offset  the offset.
+     *
+     * @return The int.
+     */
+    private static int getInt(final byte[] data, final int offset) {
+        return (data[offset] << 24) | ((data[offset + 1] & 0xff) << 16)
+                | ((data[offset + 2] & 0xff) << 8) | (data[offset + 3] & 0xff);
+    }
+
+    /**
+     * Returns the nibble code that describes the significant bytes of a
+     * value.
+     *
+     * @param value  the value.
+     *
+     * @return The code (0-10).
+     */
+    private static int getCode(final int value) {
+        if (value == 0) {
+            return 0;
+        }
+        final int leading = Integer.numberOfLeadingZeros(value) >> 3;
+        final int trailing = Integer.numberOfTrailingZeros(value) >> 3;
+        return FIRST_CODES[4 - leading - trailing] + trailing;
+    }
+
+    /**
+     * Puts the significant bytes of a value into a buffer (most significant
+     * byte first).
+     *
+     * @param value  the value.
+     * @param code  the nibble code for the value (10 for all four bytes).
+     * @param buffer  the buffer.
+     * @param offset  the offset of the first byte.
+     *
+     * @return The offset after the last byte.
+     */
+    private static int putBytes(final int value, final int code,
+                                final byte[] buffer, int offset) {
+        final int bits = value >>> (SHIFTS[code] << 3);
+        for (int i = LENGTHS[code] - 1; i >= 0; i--) {
+            buffer[offset++] = (byte) (bits >>> (i << 3));
+        }
+        return offset;
+    }
+
+    /**
+     * Reads the significant bytes of a value.
+     *
+     * @param data  the data.
+     * @param offset  the offset of the first byte (updated by this method).
+     * @param code  the nibble code for the value.
+     *
+     * @return The value.
+     *
+     * @throws IOException if the code is not valid.
+     */
+    private static int getBytes(final byte[] data, final int[] offset,
+                                final int code) throws IOException {
+        if (code >= LENGTHS.length) {
+            throw new InvalidObjectException("Invalid coordinate code: "
+                    + code);
+        }
+        int n = offset[0];
+        int bits = 0;
+        for (int i = LENGTHS[code]; i > 0; i--) {
+            bits = (bits << 8) | (data[n++] & 0xff);
+        }
+        offset[0] = n;
+        return bits << (SHIFTS[code] << 3);
+    }
+
+}
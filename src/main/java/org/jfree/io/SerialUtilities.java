@@ -42,6 +42,10 @@
  * 22-Feb-2005 : Added support for Arc2D - see patch 1147035 by Arik Levin (DG);
  * 29-Jul-2005 : Added support for AttributedString (DG);
  * 10-Oct-2011 : Added support for AlphaComposite instances (MH);
+ * 17-Oct-2026 : Added compact shape format, which writeShape() uses only
+ *               when it is requested explicitly;
+ * 17-Oct-2026 : Share the compact shape encoding with BinaryCodec;
+ * 17-Oct-2026 : Reject unknown shape headers in readShape();
  *
  */
 
@@ -66,6 +70,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.io.StreamCorruptedException;
 import java.text.AttributedCharacterIterator;
 import java.text.AttributedString;
 import java.text.CharacterIterator;
@@ -79,6 +84,39 @@ import java.util.Map;
  */
 public class SerialUtilities {
 
+    /**
+     * The shape format used by JCommon 1.0.23 and earlier, which writes the
+     * class of each shape through Java serialization and six floats for
+     * every segment of a <code>GeneralPath</code>.
+     */
+    public static final int SHAPE_FORMAT_LEGACY = 0;
+
+    /**
+     * The compact shape format, which identifies standard shapes with a
+     * one-byte tag and writes only the coordinates that each segment of a
+     * <code>GeneralPath</code> needs.  JCommon 1.0.23 and earlier cannot
+     * read this format.
+     */
+    public static final int SHAPE_FORMAT_COMPACT = 1;
+
+    /**
+     * The compact shape format with delta-encoded <code>GeneralPath</code>
+     * coordinates, which is smaller still for paths with many segments.
+     */
+    public static final int SHAPE_FORMAT_COMPACT_DELTA = 2;
+
+    /** The header byte of a non-null shape in the legacy format. */
+    private static final int SHAPE_HEADER_LEGACY = 0;
+
+    /** The header byte of a null shape (in any format). */
+    private static final int SHAPE_HEADER_NULL = 1;
+
+    /** The header byte of a shape in version 1 of the compact format. */
+    private static final int SHAPE_HEADER_COMPACT_V1 = 2;
+
+    /** The compact format tag for shapes that are serialized as objects. */
+    private static final int SHAPE_OBJECT = 0;
+
     /**
      * Private constructor prevents object creation.
      */
@@ -339,13 +377,16 @@ public class SerialUtilities {
 
     /**
      * Reads a <code>Shape</code> object that has been serialised by the
-     * {@link #writeShape(Shape, ObjectOutputStream)} method.
+     * {@link #writeShape(Shape, ObjectOutputStream)} method, in any of the
+     * supported formats.
      *
      * @param stream  the input stream (<code>null</code> not permitted).
      *
      * @return The shape object (possibly <code>null</code>).
      *
-     * @throws IOException  if there is an I/O problem.
+     * @throws IOException  if there is an I/O problem (a
+     *     <code>StreamCorruptedException</code> if the stream does not
+     *     contain a shape in a known format).
      * @throws ClassNotFoundException  if there is a problem loading a class.
      */
     public static Shape readShape(final ObjectInputStream stream)
@@ -354,8 +395,16 @@ public class SerialUtilities {
         if (stream == null) {
             throw new IllegalArgumentException("Null 'stream' argument.");
         }
+        final int header = stream.readUnsignedByte();
+        if (header == SHAPE_HEADER_COMPACT_V1) {
+            return readCompactShape(stream);
+        }
+        if (header != SHAPE_HEADER_LEGACY && header != SHAPE_HEADER_NULL) {
+            throw new StreamCorruptedException(
+                    "Unknown shape header: " + header);
+        }
         Shape result = null;
-        final boolean isNull = stream.readBoolean();
+        final boolean isNull = (header == SHAPE_HEADER_NULL);
         if (!isNull) {
             final Class c = (Class) stream.readObject();
             if (c.equals(Line2D.class)) {
@@ -433,7 +482,10 @@ public class SerialUtilities {
     }
 
     /**
-     * Serialises a <code>Shape</code> object.
+     * Serialises a <code>Shape</code> object in the legacy format (see
+     * {@link #SHAPE_FORMAT_LEGACY}), which every version of JCommon can
+     * read.  Use {@link #writeShape(Shape, ObjectOutputStream, int)} to
+     * write one of the smaller compact formats.
      *
      * @param shape  the shape object (<code>null</code> permitted).
      * @param stream  the output stream (<code>null</code> not permitted).
@@ -443,6 +495,61 @@ public class SerialUtilities {
     public static void writeShape(final Shape shape,
                                   final ObjectOutputStream stream)
         throws IOException {
+        writeShape(shape, stream, SHAPE_FORMAT_LEGACY);
+    }
+
+    /**
+     * Serialises a <code>Shape</code> object in the specified format.  The
+     * {@link #readShape(ObjectInputStream)} method reads all formats, but
+     * JCommon 1.0.23 and earlier can only read {@link #SHAPE_FORMAT_LEGACY}.
+     *
+     * @param shape  the shape object (<code>null</code> permitted).
+     * @param stream  the output stream (<code>null</code> not permitted).
+     * @param format  the format ({@link #SHAPE_FORMAT_LEGACY},
+     *     {@link #SHAPE_FORMAT_COMPACT} or
+     *     {@link #SHAPE_FORMAT_COMPACT_DELTA}).
+     *
+     * @throws IOException if there is an I/O error.
+     */
+    public static void writeShape(final Shape shape,
+                                  final ObjectOutputStream stream,
+                                  final int format)
+        throws IOException {
+
+        if (stream == null) {
+            throw new IllegalArgumentException("Null 'stream' argument.");
+        }
+        if (format == SHAPE_FORMAT_LEGACY) {
+            writeLegacyShape(shape, stream);
+        }
+        else if (format == SHAPE_FORMAT_COMPACT
+                || format == SHAPE_FORMAT_COMPACT_DELTA) {
+            if (shape == null) {
+                stream.writeByte(SHAPE_HEADER_NULL);
+            }
+            else {
+                stream.writeByte(SHAPE_HEADER_COMPACT_V1);
+                writeCompactShape(shape, stream,
+                        format == SHAPE_FORMAT_COMPACT_DELTA);
+            }
+        }
+        else {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+    }
+
+    /**
+     * Serialises a <code>Shape</code> object in the legacy format.
+     *
+     * @param shape  the shape object (<code>null</code> permitted).
+     * @param stream  the output stream.
+     *
+     * @throws IOException if there is an I/O error.
+     */
+    private static void writeLegacyShape(final Shape shape,
+                                         final ObjectOutputStream stream)
+        throws IOException {
+
 
         if (stream == null) {
             throw new IllegalArgumentException("Null 'stream' argument.");
@@ -512,6 +619,47 @@ public class SerialUtilities {
         }
     }
 
+    /**
+     * Writes a non-null shape in the compact format (without the header).
+     *
+     * @param shape  the shape.
+     * @param stream  the output stream.
+     * @param delta  delta-encode the coordinates of a
+     *     <code>GeneralPath</code>?
+     *
+     * @throws IOException if there is an I/O error.
+     */
+    private static void writeCompactShape(final Shape shape,
+                                          final ObjectOutputStream stream,
+                                          final boolean delta)
+        throws IOException {
+
+        if (!BinaryCodec.writeStandardShape(shape, stream, delta)) {
+            stream.writeByte(SHAPE_OBJECT);
+            stream.writeObject(shape);
+        }
+    }
+
+    /**
+     * Reads a non-null shape in the compact format (after the header).
+     *
+     * @param stream  the input stream.
+     *
+     * @return The shape.
+     *
+     * @throws IOException  if there is an I/O problem.
+     * @throws ClassNotFoundException  if there is a problem loading a class.
+     */
+    private static Shape readCompactShape(final ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+
+        final int type = stream.readUnsignedByte();
+        if (type == SHAPE_OBJECT) {
+            return (Shape) stream.readObject();
+        }
+        return BinaryCodec.readStandardShape(type, stream);
+    }
+
     /**
      * Reads a <code>Point2D</code> object that has been serialised by the
      * {@link #writePoint2D(Point2D, ObjectOutputStream)} method.
@@ -0,0 +1,139 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ------------------------
+ * CachingTextMeasurer.java
+ * ------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.text;
+
+import java.awt.Graphics2D;
+
+/**
+ * A {@link TextMeasurer} that remembers the widths measured by another
+ * measurer in a {@link TextWidthCache}.  The widths are keyed by the
+ * current font and font render context of a {@link Graphics2D}, so the
+ * measurer stays correct when the font or the rendering hints of the
+ * graphics device change.  Sharing one cache between the measurers created
+ * for successive charts lets the widths of recurring labels survive from one
+ * chart to the next.
+ */
+public class CachingTextMeasurer implements TextMeasurer {
+
+    /** The graphics device. */
+    private Graphics2D g2;
+
+    /** The measurer that measures the text on a cache miss. */
+    private TextMeasurer delegate;
+
+    /** The cache. */
+    private TextWidthCache cache;
+
+    /**
+     * Creates a new text measurer with its own cache.
+     *
+     * @param g2  the graphics device (<code>null</code> not permitted).
+     */
+    public CachingTextMeasurer(final Graphics2D g2) {
+        this(g2, new TextWidthCache());
+    }
+
+    /**
+     * Creates a new text measurer that measures with a
+     * {@link G2TextMeasurer}.
+     *
+     * @param g2  the graphics device (<code>null</code> not permitted).
+     * @param cache  the cache (<code>null</code> not permitted, may be
+     *     shared).
+     */
+    public CachingTextMeasurer(final Graphics2D g2,
+                               final TextWidthCache cache) {
+        this(new G2TextMeasurer(g2), g2, cache);
+    }
+
+    /**
+     * Creates a new text measurer.
+     *
+     * @param delegate  the measurer used on a cache miss, which must measure
+     *     text with the current font and render context of <code>g2</code>
+     *     (<code>null</code> not permitted).
+     * @param g2  the graphics device (<code>null</code> not permitted).
+     * @param cache  the cache (<code>null</code> not permitted, may be
+     *     shared).
+     */
+    public CachingTextMeasurer(final TextMeasurer delegate,
+                               final Graphics2D g2,
+                               final TextWidthCache cache) {
+        if (delegate == null) {
+            throw new NullPointerException("Null 'delegate' argument.");
+        }
+        if (g2 == null) {
+            throw new NullPointerException("Null 'g2' argument.");
+        }
+        if (cache == null) {
+            throw new NullPointerException("Null 'cache' argument.");
+        }
+        this.delegate = delegate;
+        this.g2 = g2;
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the cache.
+     *
+     * @return The cache (never <code>null</code>).
+     */
+    public TextWidthCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Returns the string width.
+     *
+     * @param text  the text.
+     * @param start  the index of the first character to measure.
+     * @param end  the index of the last character to measure.
+     *
+     * @return The string width.
+     */
+    public float getStringWidth(final String text,
+                                final int start, final int end) {
+        return this.cache.getStringWidth(this.g2.getFont(),
+                this.g2.getFontRenderContext(), text, start, end,
+                this.delegate);
+    }
+
+}
@@ -45,6 +45,7 @@
  * 01-Apr-2004 : Changed java.awt.geom.Dimension2D to org.jfree.ui.Size2D 
  *               because of JDK bug 4976448 which persists on JDK 1.3.1 (DG);
  * 04-Oct-2004 : Renamed ShapeUtils --> ShapeUtilities (DG);
+ * 17-Oct-2026 : Added createLayout() method;
  *
  */
  
@@ -155,6 +156,19 @@ public class TextBlock implements Serializable {
         return Collections.unmodifiableList(this.lines);
     }
     
+    /**
+     * Measures this block for the font render context of the given graphics
+     * device.  The layout can be drawn repeatedly without measuring the
+     * text again.
+     *
+     * @param g2  the graphics device (<code>null</code> not permitted).
+     *
+     * @return The layout.
+     */
+    public TextBlockLayout createLayout(final Graphics2D g2) {
+        return new TextBlockLayout(this, g2);
+    }
+
     /**
      * Returns the width and height of the text block.
      * 
@@ -280,9 +294,23 @@ public class TextBlock implements Serializable {
     private float[] calculateOffsets(final TextBlockAnchor anchor, 
                                      final double width, final double height) {
         final float[] result = new float[2];
-        float xAdj = 0.0f;
-        float yAdj = 0.0f;
+        result[0] = calculateXOffset(anchor, width);
+        result[1] = calculateYOffset(anchor, height);
+        return result;
+    }   
 
+    /**
+     * Calculates the x offset required to align a text block with the
+     * specified anchor point.
+     *
+     * @param anchor  the anchor position.
+     * @param width  the width of the text block.
+     *
+     * @return The x offset.
+     */
+    static float calculateXOffset(final TextBlockAnchor anchor,
+                                  final double width) {
+        float xAdj = 0.0f;
         if (anchor == TextBlockAnchor.TOP_CENTER
                 || anchor == TextBlockAnchor.CENTER
                 || anchor == TextBlockAnchor.BOTTOM_CENTER) {
@@ -297,15 +325,22 @@ public class TextBlock implements Serializable {
             xAdj = (float) -width;
             
         }
+        return xAdj;
+    }
 
-        if (anchor == TextBlockAnchor.TOP_LEFT
-                || anchor == TextBlockAnchor.TOP_CENTER
-                || anchor == TextBlockAnchor.TOP_RIGHT) {
-                    
-            yAdj = 0.0f;
-            
-        }
-        else if (anchor == TextBlockAnchor.CENTER_LEFT
+    /**
+     * Calculates the y offset required to align a text block with the
+     * specified anchor point.
+     *
+     * @param anchor  the anchor position.
+     * @param height  the height of the text block.
+     *
+     * @return The y offset.
+     */
+    static float calculateYOffset(final TextBlockAnchor anchor,
+                                  final double height) {
+        float yAdj = 0.0f;
+        if (anchor == TextBlockAnchor.CENTER_LEFT
                 || anchor == TextBlockAnchor.CENTER
                 || anchor == TextBlockAnchor.CENTER_RIGHT) {
                     
@@ -319,11 +354,9 @@ public class TextBlock implements Serializable {
             yAdj = (float) -height;
             
         }
-        result[0] = xAdj;
-        result[1] = yAdj;
-        return result;
-    }   
-    
+        return yAdj;
+    }
+
     /**
      * Tests this object for equality with an arbitrary object.
      * 
@@ -0,0 +1,377 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * --------------------
+ * TextBlockLayout.java
+ * --------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.text;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Rectangle2D;
+import java.text.AttributedString;
+import java.util.List;
+
+import org.jfree.ui.HorizontalAlignment;
+import org.jfree.ui.Size2D;
+import org.jfree.ui.TextAnchor;
+import org.jfree.util.ShapeUtilities;
+
+/**
+ * An immutable snapshot of a {@link TextBlock} with the sizes and baseline
+ * offsets of its lines and fragments measured once, for a single
+ * {@link FontRenderContext}.  Drawing the layout gives the same result as
+ * drawing the block with a graphics device that has the same font render
+ * context, but does not measure any text, so a layout can be kept for a
+ * title or legend that is drawn over and over again.
+ * <p>
+ * Later changes to the block (or its lines) do not affect the layout.  Use
+ * {@link #isValidFor(Graphics2D)} to check whether a layout can be used
+ * with a particular graphics device.
+ *
+ * @see TextBlock#createLayout(Graphics2D)
+ */
+public final class TextBlockLayout {
+
+    /** The font render context used for the measurements. */
+    private FontRenderContext frc;
+
+    /** The alignment of the lines. */
+    private HorizontalAlignment lineAlignment;
+
+    /** The width of the block. */
+    private double width;
+
+    /** The height of the block. */
+    private double height;
+
+    /** The width of each line. */
+    private double[] lineWidths;
+
+    /** The height of each line. */
+    private double[] lineHeights;
+
+    /** The offset from the top of each line to its baseline. */
+    private float[] lineBaselines;
+
+    /** The index of the first fragment of each line (plus an end marker). */
+    private int[] lineStarts;
+
+    /** The text of each fragment. */
+    private String[] texts;
+
+    /** The font of each fragment. */
+    private Font[] fonts;
+
+    /** The paint of each fragment. */
+    private Paint[] paints;
+
+    /** The baseline offset of each fragment. */
+    private float[] fragmentBaselines;
+
+    /** The width of each fragment. */
+    private double[] fragmentWidths;
+
+    /**
+     * Measures a text block.
+     *
+     * @param block  the block (<code>null</code> not permitted).
+     * @param g2  the graphics device used for the measurements
+     *     (<code>null</code> not permitted).
+     */
+    public TextBlockLayout(final TextBlock block, final Graphics2D g2) {
+        if (block == null) {
+            throw new IllegalArgumentException("Null 'block' argument.");
+        }
+        if (g2 == null) {
+            throw new IllegalArgumentException("Null 'g2' argument.");
+        }
+        this.frc = g2.getFontRenderContext();
+        this.lineAlignment = block.getLineAlignment();
+        final List lines = block.getLines();
+        final int lineCount = lines.size();
+        int fragmentCount = 0;
+        for (int i = 0; i < lineCount; i++) {
+            fragmentCount += ((TextLine) lines.get(i)).getFragments().size();
+        }
+        this.lineWidths = new double[lineCount];
+        this.lineHeights = new double[lineCount];
+        this.lineBaselines = new float[lineCount];
+        this.lineStarts = new int[lineCount + 1];
+        this.texts = new String[fragmentCount];
+        this.fonts = new Font[fragmentCount];
+        this.paints = new Paint[fragmentCount];
+        this.fragmentBaselines = new float[fragmentCount];
+        this.fragmentWidths = new double[fragmentCount];
+
+        int f = 0;
+        for (int i = 0; i < lineCount; i++) {
+            final List fragments = ((TextLine) lines.get(i)).getFragments();
+            this.lineStarts[i] = f;
+            double lineWidth = 0.0;
+            double lineHeight = 0.0;
+            float baseline = 0.0f;
+            for (int j = 0; j < fragments.size(); j++) {
+                final TextFragment fragment = (TextFragment) fragments.get(j);
+                final Size2D d = fragment.calculateDimensions(g2);
+                this.texts[f] = fragment.getText();
+                this.fonts[f] = fragment.getFont();
+                this.paints[f] = fragment.getPaint();
+                this.fragmentBaselines[f] = fragment.getBaselineOffset();
+                this.fragmentWidths[f] = d.getWidth();
+                lineWidth = lineWidth + d.getWidth();
+                lineHeight = Math.max(lineHeight, d.getHeight());
+                baseline = Math.max(baseline, fragment.calculateBaselineOffset(
+                        g2, TextAnchor.TOP_LEFT));
+                f++;
+            }
+            this.lineWidths[i] = lineWidth;
+            this.lineHeights[i] = lineHeight;
+            this.lineBaselines[i] = baseline;
+            this.width = Math.max(this.width, lineWidth);
+            this.height = this.height + lineHeight;
+        }
+        this.lineStarts[lineCount] = f;
+    }
+
+    /**
+     * Returns the font render context that the layout was measured with.
+     *
+     * @return The font render context.
+     */
+    public FontRenderContext getFontRenderContext() {
+        return this.frc;
+    }
+
+    /**
+     * Returns <code>true</code> if the layout was measured with the font
+     * render context of the given graphics device.
+     *
+     * @param g2  the graphics device (<code>null</code> not permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean isValidFor(final Graphics2D g2) {
+        return this.frc.equals(g2.getFontRenderContext());
+    }
+
+    /**
+     * Returns the width of the block.
+     *
+     * @return The width.
+     */
+    public double getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns the height of the block.
+     *
+     * @return The height.
+     */
+    public double getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Returns the number of lines.
+     *
+     * @return The number of lines.
+     */
+    public int getLineCount() {
+        return this.lineWidths.length;
+    }
+
+    /**
+     * Returns the width of a line.
+     *
+     * @param line  the line index.
+     *
+     * @return The width.
+     */
+    public double getLineWidth(final int line) {
+        return this.lineWidths[line];
+    }
+
+    /**
+     * Returns the height of a line.
+     *
+     * @param line  the line index.
+     *
+     * @return The height.
+     */
+    public double getLineHeight(final int line) {
+        return this.lineHeights[line];
+    }
+
+    /**
+     * Returns the width and height of the block.
+     *
+     * @return The width and height.
+     *
+     * @see TextBlock#calculateDimensions(Graphics2D)
+     */
+    public Size2D calculateDimensions() {
+        return new Size2D(this.width, this.height);
+    }
+
+    /**
+     * Returns the bounds of the text block.
+     *
+     * @param anchorX  the x-coordinate for the anchor point.
+     * @param anchorY  the y-coordinate for the anchor point.
+     * @param anchor  the text block anchor (<code>null</code> not permitted).
+     * @param rotateX  the x-coordinate for the rotation point.
+     * @param rotateY  the y-coordinate for the rotation point.
+     * @param angle  the rotation angle.
+     *
+     * @return The bounds.
+     *
+     * @see TextBlock#calculateBounds(Graphics2D, float, float,
+     *     TextBlockAnchor, float, float, double)
+     */
+    public Shape calculateBounds(final float anchorX, final float anchorY,
+                                 final TextBlockAnchor anchor,
+                                 final float rotateX, final float rotateY,
+                                 final double angle) {
+        final Rectangle2D bounds = new Rectangle2D.Double(
+                anchorX + TextBlock.calculateXOffset(anchor, this.width),
+                anchorY + TextBlock.calculateYOffset(anchor, this.height),
+                this.width, this.height);
+        return ShapeUtilities.rotateShape(bounds, angle, rotateX, rotateY);
+    }
+
+    /**
+     * Draws the text block at a specific location.
+     *
+     * @param g2  the graphics device.
+     * @param x  the x-coordinate for the anchor point.
+     * @param y  the y-coordinate for the anchor point.
+     * @param anchor  the anchor point.
+     */
+    public void draw(final Graphics2D g2, final float x, final float y,
+                     final TextBlockAnchor anchor) {
+        draw(g2, x, y, anchor, 0.0f, 0.0f, 0.0);
+    }
+
+    /**
+     * Draws the text block, aligning it with the specified anchor point and
+     * rotating it about the specified rotation point.
+     *
+     * @param g2  the graphics device.
+     * @param anchorX  the x-coordinate for the anchor point.
+     * @param anchorY  the y-coordinate for the anchor point.
+     * @param anchor  the point on the text block that is aligned to the
+     *                anchor point.
+     * @param rotateX  the x-coordinate for the rotation point.
+     * @param rotateY  the x-coordinate for the rotation point.
+     * @param angle  the rotation (in radians).
+     *
+     * @see TextBlock#draw(Graphics2D, float, float, TextBlockAnchor, float,
+     *     float, double)
+     */
+    public void draw(final Graphics2D g2,
+                     final float anchorX, final float anchorY,
+                     final TextBlockAnchor anchor,
+                     final float rotateX, final float rotateY,
+                     final double angle) {
+        final float xOffset = TextBlock.calculateXOffset(anchor, this.width);
+        final float yOffset = TextBlock.calculateYOffset(anchor, this.height);
+        float yCursor = 0.0f;
+        for (int i = 0; i < this.lineWidths.length; i++) {
+            float lineOffset = 0.0f;
+            if (this.lineAlignment == HorizontalAlignment.CENTER) {
+                lineOffset = (float) (this.width - this.lineWidths[i])
+                        / 2.0f;
+            }
+            else if (this.lineAlignment == HorizontalAlignment.RIGHT) {
+                lineOffset = (float) (this.width - this.lineWidths[i]);
+            }
+            float x = anchorX + xOffset + lineOffset;
+            final float y = anchorY + yOffset + yCursor
+                    + this.lineBaselines[i];
+            for (int f = this.lineStarts[i]; f < this.lineStarts[i + 1];
+                    f++) {
+                g2.setFont(this.fonts[f]);
+                g2.setPaint(this.paints[f]);
+                drawString(g2, this.texts[f], x,
+                        y + this.fragmentBaselines[f], angle, rotateX,
+                        rotateY);
+                x = x + (float) this.fragmentWidths[f];
+            }
+            yCursor = yCursor + (float) this.lineHeights[i];
+        }
+    }
+
+    /**
+     * Draws a string with its left baseline point at (x, y), in the same
+     * way as {@link TextFragment#draw(Graphics2D, float, float, TextAnchor,
+     * float, float, double)} but without measuring it.
+     *
+     * @param g2  the graphics device.
+     * @param text  the text.
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     * @param angle  the rotation angle.
+     * @param rotateX  the x-coordinate for the rotation point.
+     * @param rotateY  the y-coordinate for the rotation point.
+     */
+    private static void drawString(final Graphics2D g2, final String text,
+                                   final float x, final float y,
+                                   final double angle, final float rotateX,
+                                   final float rotateY) {
+        if (text == null || text.length() == 0) {
+            return;
+        }
+        if (angle != 0.0) {
+            TextUtilities.drawRotatedString(text, g2, x, y, angle, rotateX,
+                    rotateY);
+        }
+        else if (!TextUtilities.getDrawStringsWithFontAttributes()) {
+            g2.drawString(text, x, y);
+        }
+        else {
+            final AttributedString as = new AttributedString(text,
+                    g2.getFont().getAttributes());
+            g2.drawString(as.getIterator(), x, y);
+        }
+    }
+
+}
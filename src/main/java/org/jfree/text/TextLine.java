@@ -45,6 +45,7 @@
  * 03-Sep-2004 : Added a method to remove a fragment (DG);
  * 08-Jul-2005 : Fixed bug in calculateBaselineOffset() (DG);
  * 01-Sep-2013 : Updated draw() method to take into account the textAnchor (DG);
+ * 17-Oct-2026 : Added getFragments() for TextBlockLayout;
  *
  */
 
@@ -198,6 +199,15 @@ public class TextLine implements Serializable {
         return new Size2D(width, height);
     }
     
+    /**
+     * Returns the list of fragments (used by {@link TextBlockLayout}).
+     *
+     * @return The fragments (not a copy, do not modify).
+     */
+    List getFragments() {
+        return this.fragments;
+    }
+
     /**
      * Returns the first text fragment in the line.
      * 
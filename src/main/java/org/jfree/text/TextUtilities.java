@@ -59,6 +59,7 @@
  *               the rotation angle is 0.0 (DG);
  * 25-Oct-2013 : Added drawStringsWithFontAttributes flag (DG);
  * 28-Feb-2014 : Fix endless loop in createTextBlock() (DG);
+ * 17-Oct-2026 : Made createTextBlock() methods linear in the text length;
  *
  */
 
@@ -76,6 +77,7 @@ import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.text.AttributedString;
 import java.text.BreakIterator;
+import java.util.Locale;
 
 import org.jfree.base.BaseBoot;
 import org.jfree.ui.TextAnchor;
@@ -169,33 +171,21 @@ public class TextUtilities {
             throw new IllegalArgumentException("Null 'text' argument.");
         }
         TextBlock result = new TextBlock();
-        String input = text;
-        boolean moreInputToProcess = (text.length() > 0);
+        int length = text.length();
         int start = 0;
-        while (moreInputToProcess) {
-            int index = input.indexOf("\n");
-            if (index > start) {
-                String line = input.substring(start, index);
-                if (index < input.length() - 1) {
-                    result.addLine(line, font, paint);
-                    input = input.substring(index + 1);
-                }
-                else {
-                    moreInputToProcess = false;
-                }
+        while (start < length) {
+            int index = text.indexOf('\n', start);
+            if (index < 0) {
+                result.addLine(text.substring(start), font, paint);
+                break;
             }
-            else if (index == start) {
-                if (index < input.length() - 1) {
-                    input = input.substring(index + 1);
-                }
-                else {
-                    moreInputToProcess = false;
-                }
+            if (index == length - 1) {
+                break;
             }
-            else {
-                result.addLine(input, font, paint);
-                moreInputToProcess = false;
+            if (index > start) {
+                result.addLine(text.substring(start, index), font, paint);
             }
+            start = index + 1;
         }
         return result;
     }
@@ -238,27 +228,31 @@ public class TextUtilities {
             Paint paint, float maxWidth, int maxLines, TextMeasurer measurer) {
 
         TextBlock result = new TextBlock();
-        BreakIterator iterator = BreakIterator.getLineInstance();
-        iterator.setText(text);
+        LineBreaker breaker = LineBreaker.getInstance(text, measurer);
         int current = 0;
         int lines = 0;
         int length = text.length();
-        while (current < length && lines < maxLines) {
-            int next = nextLineBreak(text, current, maxWidth, iterator,
-                    measurer);
-            if (next == BreakIterator.DONE) {
-                result.addLine(text.substring(current), font, paint);
-                return result;
-            } else if (next == current) {
-                next++; // we must take one more character or we'll loop forever
-            }
-            result.addLine(text.substring(current, next), font, paint);
-            lines++;
-            current = next;
-            while (current < text.length()&& text.charAt(current) == '\n') {
-                current++;
+        try {
+            while (current < length && lines < maxLines) {
+                int next = breaker.nextLineBreak(current, maxWidth);
+                if (next == BreakIterator.DONE) {
+                    result.addLine(text.substring(current), font, paint);
+                    return result;
+                } else if (next == current) {
+                    next++; // we must take one more character or we'll loop
+                            // forever
+                }
+                result.addLine(text.substring(current, next), font, paint);
+                lines++;
+                current = next;
+                while (current < length && text.charAt(current) == '\n') {
+                    current++;
+                }
             }
         }
+        finally {
+            breaker.release();
+        }
         if (current < length) {
             TextLine lastLine = result.getLastLine();
             TextFragment lastFragment = lastLine.getLastTextFragment();
@@ -276,61 +270,6 @@ public class TextUtilities {
         return result;
     }
 
-    /**
-     * Returns the character index of the next line break.  If the next
-     * character is wider than <code>width</code> this method will return
-     * <code>start</code> - the caller should check for this case.
-     *
-     * @param text  the text (<code>null</code> not permitted).
-     * @param start  the start index.
-     * @param width  the target display width.
-     * @param iterator  the word break iterator.
-     * @param measurer  the text measurer.
-     *
-     * @return The index of the next line break.
-     */
-    private static int nextLineBreak(String text, int start, float width, 
-            BreakIterator iterator, TextMeasurer measurer) {
-
-        // this method is (loosely) based on code in JFreeReport's
-        // TextParagraph class
-        int current = start;
-        int end;
-        float x = 0.0f;
-        boolean firstWord = true;
-        int newline = text.indexOf('\n', start);
-        if (newline < 0) {
-            newline = Integer.MAX_VALUE;
-        }
-        while (((end = iterator.following(current)) != BreakIterator.DONE)) {
-            x += measurer.getStringWidth(text, current, end);
-            if (x > width) {
-                if (firstWord) {
-                    while (measurer.getStringWidth(text, start, end) > width) {
-                        end--;
-                        if (end <= start) {
-                            return end;
-                        }
-                    }
-                    return end;
-                }
-                else {
-                    end = iterator.previous();
-                    return end;
-                }
-            }
-            else {
-                if (end > newline) {
-                    return newline;
-                }
-            }
-            // we found at least one word that fits ...
-            firstWord = false;
-            current = end;
-        }
-        return BreakIterator.DONE;
-    }
-
     /**
      * Returns the bounds for the specified text.
      *
@@ -850,4 +789,234 @@ public class TextUtilities {
         TextUtilities.drawStringsWithFontAttributes = b;
     }
 
+    /**
+     * Finds the line breaks for {@link #createTextBlock(String, Font, Paint,
+     * float, int, TextMeasurer)}.  The break opportunities of the text are
+     * found once, and the width of each segment between two of them is
+     * measured at most once and kept as a running total, so that the width
+     * of any run of segments is a subtraction and the last segment that
+     * fits on a line can be found with a binary search.  A word that does
+     * not fit on a line by itself is split at the last character that fits,
+     * again found with a binary search.  One instance (with its break
+     * iterator and arrays) is kept per thread.
+     */
+    private static final class LineBreaker {
+
+        /** The instance for each thread. */
+        private static final ThreadLocal INSTANCE = new ThreadLocal() {
+            protected Object initialValue() {
+                return new LineBreaker();
+            }
+        };
+
+        /** The line break iterator. */
+        private BreakIterator iterator;
+
+        /** The locale of the break iterator. */
+        private Locale locale;
+
+        /** The break opportunities, starting with 0 and ending with the text
+         *  length. */
+        private int[] boundaries = new int[64];
+
+        /** The number of break opportunities. */
+        private int count;
+
+        /** The total width of the segments before each break opportunity. */
+        private double[] widths = new double[64];
+
+        /** The index of the last break opportunity with a known width. */
+        private int measured;
+
+        /** The text. */
+        private String text;
+
+        /** The text measurer. */
+        private TextMeasurer measurer;
+
+        /** Is this instance in use? */
+        private boolean inUse;
+
+        /**
+         * Returns a line breaker for the given text, which must be released
+         * after use.
+         *
+         * @param text  the text.
+         * @param measurer  the text measurer.
+         *
+         * @return A line breaker.
+         */
+        static LineBreaker getInstance(String text, TextMeasurer measurer) {
+            LineBreaker breaker = (LineBreaker) INSTANCE.get();
+            if (breaker.inUse) {
+                // a measurer that wraps text itself...
+                breaker = new LineBreaker();
+            }
+            breaker.init(text, measurer);
+            return breaker;
+        }
+
+        /**
+         * Prepares this line breaker for the given text.
+         *
+         * @param text  the text.
+         * @param measurer  the text measurer.
+         */
+        private void init(String text, TextMeasurer measurer) {
+            Locale current = Locale.getDefault();
+            if (this.iterator == null || !current.equals(this.locale)) {
+                this.iterator = BreakIterator.getLineInstance(current);
+                this.locale = current;
+            }
+            this.text = text;
+            this.measurer = measurer;
+            this.inUse = true;
+            this.iterator.setText(text);
+            this.count = 0;
+            int boundary = this.iterator.first();
+            while (boundary != BreakIterator.DONE) {
+                if (this.count == this.boundaries.length) {
+                    int[] b = new int[this.count * 2];
+                    System.arraycopy(this.boundaries, 0, b, 0, this.count);
+                    this.boundaries = b;
+                }
+                this.boundaries[this.count++] = boundary;
+                boundary = this.iterator.next();
+            }
+            this.iterator.setText("");
+            if (this.widths.length < this.count) {
+                this.widths = new double[this.boundaries.length];
+            }
+            this.widths[0] = 0.0;
+            this.measured = 0;
+        }
+
+        /**
+         * Releases this line breaker.
+         */
+        void release() {
+            this.text = null;
+            this.measurer = null;
+            this.inUse = false;
+        }
+
+        /**
+         * Returns the character index of the next line break.  If the next
+         * character is wider than <code>width</code> this method will return
+         * <code>start</code> - the caller should check for this case.
+         *
+         * @param start  the start index.
+         * @param width  the target display width.
+         *
+         * @return The index of the next line break, or
+         *     <code>BreakIterator.DONE</code> if the rest of the text fits.
+         */
+        int nextLineBreak(int start, float width) {
+            // the first break opportunity after start
+            int low = 0;
+            int high = this.count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (this.boundaries[mid] <= start) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            int first = low;
+            if (first == this.count) {
+                return BreakIterator.DONE;
+            }
+            int newline = this.text.indexOf('\n', start);
+            if (newline < 0) {
+                newline = Integer.MAX_VALUE;
+            }
+            measureTo(first);
+            double base;
+            if (this.boundaries[first - 1] == start) {
+                base = this.widths[first - 1];
+            }
+            else {
+                // the line starts in the middle of a word
+                base = this.widths[first] - this.measurer.getStringWidth(
+                        this.text, start, this.boundaries[first]);
+            }
+            if (this.widths[first] - base > width) {
+                return splitWord(start, this.boundaries[first], width);
+            }
+            if (this.boundaries[first] > newline) {
+                return newline;
+            }
+
+            // measure until a segment does not fit, then find the last
+            // break opportunity that fits
+            while (this.measured < this.count - 1
+                    && this.widths[this.measured] - base <= width) {
+                measureTo(this.measured + 1);
+            }
+            low = first;
+            high = this.measured;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (this.widths[mid] - base <= width) {
+                    low = mid;
+                }
+                else {
+                    high = mid - 1;
+                }
+            }
+            if (this.boundaries[low] > newline) {
+                return newline;
+            }
+            if (low == this.count - 1) {
+                return BreakIterator.DONE;
+            }
+            return this.boundaries[low];
+        }
+
+        /**
+         * Measures the segments up to the given break opportunity.
+         *
+         * @param index  the index of the break opportunity.
+         */
+        private void measureTo(int index) {
+            while (this.measured < index) {
+                int i = this.measured;
+                this.widths[i + 1] = this.widths[i]
+                        + this.measurer.getStringWidth(this.text,
+                        this.boundaries[i], this.boundaries[i + 1]);
+                this.measured = i + 1;
+            }
+        }
+
+        /**
+         * Returns the index of the last character of a word that fits within
+         * the given width.
+         *
+         * @param start  the start of the word.
+         * @param end  the end of the word.
+         * @param width  the target display width.
+         *
+         * @return The index (<code>start</code> if not even the first
+         *     character fits).
+         */
+        private int splitWord(int start, int end, float width) {
+            int low = start;
+            int high = end - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (this.measurer.getStringWidth(this.text, start, mid)
+                        > width) {
+                    high = mid - 1;
+                }
+                else {
+                    low = mid;
+                }
+            }
+            return low;
+        }
+
+    }
+
 }
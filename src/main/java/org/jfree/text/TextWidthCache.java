@@ -0,0 +1,410 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------
+ * TextWidthCache.java
+ * -------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.text;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of text widths, keyed by font, font render context (which
+ * captures the transform and the anti-aliasing and fractional metrics
+ * hints) and text.  The widths of single Latin-1 characters are kept in a
+ * table per font, all other widths in a map that evicts the least recently
+ * used entry once it is full.
+ * <p>
+ * A cache can be shared by any number of {@link CachingTextMeasurer}
+ * instances and threads.  The text is measured outside the lock, so
+ * threads never wait for each other's measurements.
+ */
+public class TextWidthCache {
+
+    /** The default maximum number of cached substring widths. */
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+    /** The maximum number of fonts with a character width table. */
+    private static final int MAX_FONTS = 64;
+
+    /** The number of characters in a width table. */
+    private static final int TABLE_SIZE = 256;
+
+    /** The maximum number of substring widths. */
+    private int maxEntries;
+
+    /** The substring widths (WidthKey to Float), in access order. */
+    private LinkedHashMap widths;
+
+    /** The character width tables (FontKey to float[]), in access order. */
+    private LinkedHashMap tables;
+
+    /** A reusable key for lookups (guarded by this). */
+    private WidthKey probe;
+
+    /** A reusable key for table lookups (guarded by this). */
+    private FontKey fontProbe;
+
+    /** The number of lookups that found a width. */
+    private long hitCount;
+
+    /** The number of lookups that had to measure the text. */
+    private long missCount;
+
+    /** The number of substring widths evicted. */
+    private long evictionCount;
+
+    /**
+     * Creates a cache with room for {@link #DEFAULT_MAX_ENTRIES} widths.
+     */
+    public TextWidthCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries  the maximum number of substring widths (must be
+     *     positive).
+     */
+    public TextWidthCache(final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Requires 'maxEntries' > 0.");
+        }
+        this.maxEntries = maxEntries;
+        this.widths = new LinkedHashMap(16, 0.75f, true) {
+            protected boolean removeEldestEntry(final Map.Entry eldest) {
+                if (size() > TextWidthCache.this.maxEntries) {
+                    TextWidthCache.this.evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.tables = new LinkedHashMap(16, 0.75f, true) {
+            protected boolean removeEldestEntry(final Map.Entry eldest) {
+                return size() > MAX_FONTS;
+            }
+        };
+        this.probe = new WidthKey();
+        this.fontProbe = new FontKey(null, null);
+    }
+
+    /**
+     * Returns the width of a substring, measuring it with the given measurer
+     * if it is not in the cache.  The measurer must measure text with the
+     * given font and font render context.
+     *
+     * @param font  the font (<code>null</code> not permitted).
+     * @param frc  the font render context (<code>null</code> not permitted).
+     * @param text  the text (<code>null</code> not permitted).
+     * @param start  the index of the first character to measure.
+     * @param end  the index after the last character to measure.
+     * @param measurer  the measurer (<code>null</code> not permitted).
+     *
+     * @return The width.
+     */
+    public float getStringWidth(final Font font, final FontRenderContext frc,
+                                final String text, final int start,
+                                final int end, final TextMeasurer measurer) {
+        if (font == null) {
+            throw new NullPointerException("Null 'font' argument.");
+        }
+        if (frc == null) {
+            throw new NullPointerException("Null 'frc' argument.");
+        }
+        final char c = (end - start == 1) ? text.charAt(start) : 0xffff;
+        if (c < TABLE_SIZE) {
+            return getCharWidth(font, frc, text, start, measurer);
+        }
+        synchronized (this) {
+            this.probe.set(font, frc, text, start, end);
+            final Float cached = (Float) this.widths.get(this.probe);
+            this.probe.clear();
+            if (cached != null) {
+                this.hitCount++;
+                return cached.floatValue();
+            }
+            this.missCount++;
+        }
+        final float width = measurer.getStringWidth(text, start, end);
+        final WidthKey key = new WidthKey();
+        key.set(font, frc, text.substring(start, end), 0, end - start);
+        synchronized (this) {
+            this.widths.put(key, Float.valueOf(width));
+        }
+        return width;
+    }
+
+    /**
+     * Returns the width of a single Latin-1 character.
+     *
+     * @param font  the font.
+     * @param frc  the font render context.
+     * @param text  the text.
+     * @param index  the index of the character.
+     * @param measurer  the measurer.
+     *
+     * @return The width.
+     */
+    private float getCharWidth(final Font font, final FontRenderContext frc,
+                               final String text, final int index,
+                               final TextMeasurer measurer) {
+        final char c = text.charAt(index);
+        float[] table;
+        synchronized (this) {
+            this.fontProbe.font = font;
+            this.fontProbe.frc = frc;
+            table = (float[]) this.tables.get(this.fontProbe);
+            this.fontProbe.font = null;
+            this.fontProbe.frc = null;
+            if (table == null) {
+                table = new float[TABLE_SIZE];
+                Arrays.fill(table, Float.NaN);
+                this.tables.put(new FontKey(font, frc), table);
+            }
+            final float cached = table[c];
+            if (!Float.isNaN(cached)) {
+                this.hitCount++;
+                return cached;
+            }
+            this.missCount++;
+        }
+        final float width = measurer.getStringWidth(text, index, index + 1);
+        synchronized (this) {
+            table[c] = width;
+        }
+        return width;
+    }
+
+    /**
+     * Returns the maximum number of substring widths.
+     *
+     * @return The maximum number of substring widths.
+     */
+    public int getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    /**
+     * Returns the number of substring widths in the cache (character widths
+     * are not included).
+     *
+     * @return The number of entries.
+     */
+    public synchronized int getSize() {
+        return this.widths.size();
+    }
+
+    /**
+     * Returns the number of lookups that found a width in the cache.
+     *
+     * @return The hit count.
+     */
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that had to measure the text.
+     *
+     * @return The miss count.
+     */
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Returns the number of substring widths that were evicted to make room
+     * for new ones.
+     *
+     * @return The eviction count.
+     */
+    public synchronized long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * Removes all widths and resets the counters.
+     */
+    public synchronized void clear() {
+        this.widths.clear();
+        this.tables.clear();
+        this.hitCount = 0;
+        this.missCount = 0;
+        this.evictionCount = 0;
+    }
+
+    /**
+     * The key for a character width table.
+     */
+    private static final class FontKey {
+
+        /** The font. */
+        Font font;
+
+        /** The font render context. */
+        FontRenderContext frc;
+
+        /**
+         * Creates a key.
+         *
+         * @param font  the font.
+         * @param frc  the font render context.
+         */
+        FontKey(final Font font, final FontRenderContext frc) {
+            this.font = font;
+            this.frc = frc;
+        }
+
+        /**
+         * Tests this key for equality with an arbitrary object.
+         *
+         * @param obj  the object.
+         *
+         * @return A boolean.
+         */
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof FontKey)) {
+                return false;
+            }
+            final FontKey that = (FontKey) obj;
+            return this.font.equals(that.font) && this.frc.equals(that.frc);
+        }
+
+        /**
+         * Returns a hash code for this key.
+         *
+         * @return A hash code.
+         */
+        public int hashCode() {
+            return this.font.hashCode() * 31 + this.frc.hashCode();
+        }
+    }
+
+    /**
+     * The key for a substring width.  The key refers to a range of a string
+     * so that lookups do not need to create the substring.
+     */
+    private static final class WidthKey {
+
+        /** The font. */
+        private Font font;
+
+        /** The font render context. */
+        private FontRenderContext frc;
+
+        /** The text. */
+        private String text;
+
+        /** The start of the range. */
+        private int start;
+
+        /** The end of the range. */
+        private int end;
+
+        /** The hash code. */
+        private int hash;
+
+        /**
+         * Sets the contents of this key.
+         *
+         * @param font  the font.
+         * @param frc  the font render context.
+         * @param text  the text.
+         * @param start  the start of the range.
+         * @param end  the end of the range.
+         */
+        void set(final Font font, final FontRenderContext frc,
+                 final String text, final int start, final int end) {
+            this.font = font;
+            this.frc = frc;
+            this.text = text;
+            this.start = start;
+            this.end = end;
+            int h = font.hashCode() * 31 + frc.hashCode();
+            for (int i = start; i < end; i++) {
+                h = 31 * h + text.charAt(i);
+            }
+            this.hash = h;
+        }
+
+        /**
+         * Releases the references held by this key.
+         */
+        void clear() {
+            this.font = null;
+            this.frc = null;
+            this.text = null;
+        }
+
+        /**
+         * Tests this key for equality with an arbitrary object.
+         *
+         * @param obj  the object.
+         *
+         * @return A boolean.
+         */
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof WidthKey)) {
+                return false;
+            }
+            final WidthKey that = (WidthKey) obj;
+            final int length = this.end - this.start;
+            return this.hash == that.hash
+                    && length == that.end - that.start
+                    && this.text.regionMatches(this.start, that.text,
+                            that.start, length)
+                    && this.font.equals(that.font)
+                    && this.frc.equals(that.frc);
+        }
+
+        /**
+         * Returns a hash code for this key.
+         *
+         * @return A hash code.
+         */
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+}
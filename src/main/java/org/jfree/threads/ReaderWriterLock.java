@@ -33,178 +33,404 @@
  * Changes
  * -------
  * 29-Jan-2003 : Added standard header (DG);
+ * 17-Oct-2026 : Reimplemented with striped reader counters, added fair
+ *               and writer-preferring modes and contention statistics;
  *
  */
 
 package org.jfree.threads;
 
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * A reader-writer lock from "Java Threads" by Scott Oak and Henry Wong.
+ * A reentrant reader-writer lock.  Any number of threads can hold the read
+ * lock at the same time, or one thread can hold the write lock.  A thread
+ * that holds the write lock can also acquire the read lock, but a thread
+ * that holds only the read lock cannot acquire the write lock (this throws
+ * an <code>IllegalArgumentException</code> instead of deadlocking).  Each
+ * call to {@link #lockRead()} or {@link #lockWrite()} must be matched by a
+ * call to {@link #unlock()}.
+ * <p>
+ * Readers are counted in a set of padded counters, one per stripe of
+ * threads, so uncontended readers on different processors do not write to
+ * the same cache line and never block each other.  A writer takes an
+ * internal mutex, announces itself to new readers and waits for the
+ * counters to drain.  Readers that find a writer active or waiting take the
+ * slow path through the mutex.  The lock can run in one of two modes:
+ * <ul>
+ * <li><b>fair</b>: writers and waiting readers are served in arrival order,
+ *     as with the original implementation of this class;</li>
+ * <li><b>writer-preferring</b> (the default): a waiting writer is served
+ *     before any waiting reader, which gives the shortest write latency for
+ *     read-mostly workloads.</li>
+ * </ul>
+ * Only the slow paths update the contention statistics, so collecting them
+ * costs nothing while the lock is uncontended.
  *
  * @author Scott Oak and Henry Wong
  */
 public class ReaderWriterLock {
 
+    /** The number of ints between two reader counters (64 bytes). */
+    private static final int PADDING = 16;
+
+    /** The maximum number of reader counters. */
+    private static final int MAX_STRIPES = 64;
+
+    /** The number of times a writer yields before it parks. */
+    private static final int SPINS = 64;
+
     /**
-     * A node for the waiting list.
-     *
-     * @author Scott Oak and Henry Wong
+     * The locks held by one thread.
      */
-    private static class ReaderWriterNode {
-
-        /** A reader. */
-        protected static final int READER = 0;
+    private static final class Holds {
 
-        /** A writer. */
-        protected static final int WRITER = 1;
+        /** The index of the reader counter for the thread. */
+        final int index;
 
-        /** The thread. */
-        protected Thread t;
+        /** The number of read locks held. */
+        int reads;
 
-        /** The state. */
-        protected int state;
+        /** The number of write locks held. */
+        int writes;
 
-        /** The number of acquires.*/
-        protected int nAcquires;
+        /** Is the thread included in its reader counter? */
+        boolean counted;
 
         /**
-         * Creates a new node.
+         * Creates a new instance.
          *
-         * @param t  the thread.
-         * @param state  the state.
+         * @param index  the index of the reader counter.
          */
-        private ReaderWriterNode(final Thread t, final int state) {
-            this.t = t;
-            this.state = state;
-            this.nAcquires = 0;
+        Holds(final int index) {
+            this.index = index;
         }
 
     }
 
-    /** The waiting threads. */
-    private ArrayList waiters;
+    /** Serve threads in arrival order? */
+    private boolean fair;
+
+    /** The reader counters (one int in every {@link #PADDING}). */
+    private AtomicIntegerArray readers;
+
+    /** The number of reader counters, minus one. */
+    private int mask;
+
+    /** The source of reader counter indices. */
+    private AtomicInteger nextStripe;
+
+    /** The locks held by each thread. */
+    private ThreadLocal holds;
+
+    /** The mutex held by the writer (and briefly by blocked readers). */
+    private ReentrantLock mutex;
+
+    /** Signalled when no writers are waiting (writer-preferring mode). */
+    private Condition noWaitingWriters;
+
+    /** The number of writers waiting for the mutex. */
+    private AtomicInteger waitingWriters;
+
+    /** Is the write lock held (or being acquired)? */
+    private volatile boolean writeLocked;
+
+    /** The thread that holds (or is acquiring) the write lock. */
+    private volatile Thread writer;
+
+    /** The number of read lock acquisitions that had to wait. */
+    private AtomicLong readContentionCount;
+
+    /** The number of write lock acquisitions that had to wait. */
+    private AtomicLong writeContentionCount;
+
+    /** The total time that readers waited, in nanoseconds. */
+    private AtomicLong readWaitTime;
+
+    /** The total time that writers waited, in nanoseconds. */
+    private AtomicLong writeWaitTime;
 
     /**
-     * Default constructor.
+     * Creates a new writer-preferring lock.
      */
     public ReaderWriterLock() {
-        this.waiters = new ArrayList();
+        this(false);
+    }
+
+    /**
+     * Creates a new lock.
+     *
+     * @param fair  <code>true</code> to serve writers and waiting readers in
+     *     arrival order, <code>false</code> to serve waiting writers first.
+     */
+    public ReaderWriterLock(final boolean fair) {
+        this.fair = fair;
+        int stripes = 1;
+        final int processors = Runtime.getRuntime().availableProcessors();
+        while (stripes < processors && stripes < MAX_STRIPES) {
+            stripes = stripes * 2;
+        }
+        this.mask = stripes - 1;
+        this.readers = new AtomicIntegerArray(stripes * PADDING);
+        this.nextStripe = new AtomicInteger();
+        this.holds = new ThreadLocal() {
+            protected Object initialValue() {
+                final int stripe = ReaderWriterLock.this.nextStripe
+                        .getAndIncrement() & ReaderWriterLock.this.mask;
+                return new Holds(stripe * PADDING);
+            }
+        };
+        this.mutex = new ReentrantLock(fair);
+        this.noWaitingWriters = this.mutex.newCondition();
+        this.waitingWriters = new AtomicInteger();
+        this.readContentionCount = new AtomicLong();
+        this.writeContentionCount = new AtomicLong();
+        this.readWaitTime = new AtomicLong();
+        this.writeWaitTime = new AtomicLong();
+    }
+
+    /**
+     * Returns <code>true</code> if this lock serves threads in arrival order,
+     * and <code>false</code> if it is writer-preferring.
+     *
+     * @return A boolean.
+     */
+    public boolean isFair() {
+        return this.fair;
     }
 
     /**
      * Grab the read lock.
      */
-    public synchronized void lockRead() {
-        final ReaderWriterNode node;
-        final Thread me = Thread.currentThread();
-        final int index = getIndex(me);
-        if (index == -1) {
-            node = new ReaderWriterNode(me, ReaderWriterNode.READER);
-            this.waiters.add(node);
+    public void lockRead() {
+        final Holds h = (Holds) this.holds.get();
+        if (h.reads > 0 || h.writes > 0) {
+            h.reads++;
+            return;
         }
-        else {
-            node = (ReaderWriterNode) this.waiters.get(index);
+        this.readers.incrementAndGet(h.index);
+        if (!this.writeLocked && this.waitingWriters.get() == 0) {
+            h.reads = 1;
+            h.counted = true;
+            return;
         }
-        while (getIndex(me) > firstWriter()) {
-            try {
-                wait();
-            }
-            catch (Exception e) {
-                System.err.println("ReaderWriterLock.lockRead(): exception.");
-                System.err.print(e.getMessage());
+        // a writer is active or waiting, so back off and queue
+        this.readers.decrementAndGet(h.index);
+        wakeWriter();
+        final long start = System.nanoTime();
+        this.mutex.lock();
+        try {
+            if (!this.fair) {
+                while (this.waitingWriters.get() > 0) {
+                    this.noWaitingWriters.awaitUninterruptibly();
+                }
             }
+            // no writer can be active while the mutex is held
+            this.readers.incrementAndGet(h.index);
         }
-        node.nAcquires++;
+        finally {
+            this.mutex.unlock();
+        }
+        h.reads = 1;
+        h.counted = true;
+        this.readContentionCount.incrementAndGet();
+        this.readWaitTime.addAndGet(System.nanoTime() - start);
     }
 
     /**
      * Grab the write lock.
+     *
+     * @throws IllegalArgumentException if the current thread holds the read
+     *     lock but not the write lock.
      */
-    public synchronized void lockWrite() {
-        final ReaderWriterNode node;
-        final Thread me = Thread.currentThread();
-        final int index = getIndex(me);
-        if (index == -1) {
-            node = new ReaderWriterNode(me, ReaderWriterNode.WRITER);
-            this.waiters.add(node);
+    public void lockWrite() {
+        final Holds h = (Holds) this.holds.get();
+        if (h.writes > 0) {
+            h.writes++;
+            return;
         }
-        else {
-            node = (ReaderWriterNode) this.waiters.get(index);
-            if (node.state == ReaderWriterNode.READER) {
-                throw new IllegalArgumentException("Upgrade lock");
-            }
-            node.state = ReaderWriterNode.WRITER;
+        if (h.reads > 0) {
+            throw new IllegalArgumentException("Upgrade lock");
+        }
+        boolean contended = false;
+        long start = 0L;
+        this.waitingWriters.incrementAndGet();
+        if (!tryLockMutex()) {
+            contended = true;
+            start = System.nanoTime();
+            this.mutex.lock();
         }
-        while (getIndex(me) != 0) {
-            try {
-                wait();
+        this.waitingWriters.decrementAndGet();
+        this.writer = Thread.currentThread();
+        this.writeLocked = true;
+        if (getReadLockCount() > 0) {
+            if (!contended) {
+                contended = true;
+                start = System.nanoTime();
             }
-            catch (Exception e) {
-                System.err.println("ReaderWriterLock.lockWrite(): exception.");
-                System.err.print(e.getMessage());
+            int spins = 0;
+            while (getReadLockCount() > 0) {
+                if (spins < SPINS) {
+                    spins++;
+                    Thread.yield();
+                }
+                else {
+                    LockSupport.park(this);
+                }
             }
         }
-        node.nAcquires++;
+        h.writes = 1;
+        if (contended) {
+            this.writeContentionCount.incrementAndGet();
+            this.writeWaitTime.addAndGet(System.nanoTime() - start);
+        }
     }
 
     /**
-     * Unlock.
+     * Unlock.  A thread that holds both locks releases its read locks
+     * first.
+     *
+     * @throws IllegalArgumentException if the current thread does not hold
+     *     the lock.
      */
-    public synchronized void unlock() {
-
-        final ReaderWriterNode node;
-        final Thread me = Thread.currentThread();
-        final int index = getIndex(me);
-        if (index > firstWriter()) {
-            throw new IllegalArgumentException("Lock not held");
+    public void unlock() {
+        final Holds h = (Holds) this.holds.get();
+        if (h.reads > 0) {
+            h.reads--;
+            if (h.reads == 0 && h.counted) {
+                h.counted = false;
+                this.readers.decrementAndGet(h.index);
+                wakeWriter();
+            }
         }
-        node = (ReaderWriterNode) this.waiters.get(index);
-        node.nAcquires--;
-        if (node.nAcquires == 0) {
-            this.waiters.remove(index);
+        else if (h.writes > 0) {
+            h.writes--;
+            if (h.writes == 0) {
+                this.writeLocked = false;
+                this.writer = null;
+                if (!this.fair && this.waitingWriters.get() == 0) {
+                    this.noWaitingWriters.signalAll();
+                }
+                this.mutex.unlock();
+            }
+        }
+        else {
+            throw new IllegalArgumentException("Lock not held");
         }
-        notifyAll();
     }
 
     /**
-     * Returns the index of the first waiting writer.
+     * Tries to take the mutex without waiting (in fair mode, only if no
+     * other thread is queued for it).
      *
-     * @return The index.
-     */
-    private int firstWriter() {
-        final Iterator e = this.waiters.iterator();
-        int index = 0;
-        while (e.hasNext()) {
-            final ReaderWriterNode node = (ReaderWriterNode) e.next();
-            if (node.state == ReaderWriterNode.WRITER) {
-                return index;
+     * @return A boolean.
+     */
+    private boolean tryLockMutex() {
+        if (this.fair && this.mutex.hasQueuedThreads()) {
+            return false;
+        }
+        return this.mutex.tryLock();
+    }
+
+    /**
+     * Wakes the writer (if any) so that it checks the reader counters
+     * again.
+     */
+    private void wakeWriter() {
+        if (this.writeLocked) {
+            final Thread t = this.writer;
+            if (t != null) {
+                LockSupport.unpark(t);
             }
-            index += 1;
         }
-        return Integer.MAX_VALUE;
     }
 
     /**
-     * Returns the index of a thread.
-     *
-     * @param t  the thread.
+     * Returns the number of threads that hold the read lock (not counting
+     * a writer that also holds the read lock).  The value is a snapshot
+     * that is intended for monitoring.
      *
-     * @return The index.
-     */
-    private int getIndex(final Thread t) {
-        final Iterator e = this.waiters.iterator();
-        int index = 0;
-        while (e.hasNext()) {
-            final ReaderWriterNode node = (ReaderWriterNode) e.next();
-            if (node.t == t) {
-                return index;
-            }
-            index += 1;
+     * @return The number of readers.
+     */
+    public int getReadLockCount() {
+        int count = 0;
+        for (int i = 0; i <= this.mask; i++) {
+            count += this.readers.get(i * PADDING);
         }
-        return -1;
+        return count;
+    }
+
+    /**
+     * Returns <code>true</code> if a thread holds (or is acquiring) the
+     * write lock.
+     *
+     * @return A boolean.
+     */
+    public boolean isWriteLocked() {
+        return this.writeLocked;
+    }
+
+    /**
+     * Returns the number of writers waiting for another writer to release
+     * the lock.
+     *
+     * @return The number of waiting writers.
+     */
+    public int getQueuedWriterCount() {
+        return this.waitingWriters.get();
+    }
+
+    /**
+     * Returns the number of read lock acquisitions that had to wait for a
+     * writer.
+     *
+     * @return The count.
+     */
+    public long getReadContentionCount() {
+        return this.readContentionCount.get();
+    }
+
+    /**
+     * Returns the number of write lock acquisitions that had to wait for
+     * another writer or for readers.
+     *
+     * @return The count.
+     */
+    public long getWriteContentionCount() {
+        return this.writeContentionCount.get();
+    }
+
+    /**
+     * Returns the total time that readers have waited for the lock.
+     *
+     * @return The time (in nanoseconds).
+     */
+    public long getReadWaitTime() {
+        return this.readWaitTime.get();
+    }
+
+    /**
+     * Returns the total time that writers have waited for the lock.
+     *
+     * @return The time (in nanoseconds).
+     */
+    public long getWriteWaitTime() {
+        return this.writeWaitTime.get();
+    }
+
+    /**
+     * Resets the contention statistics to zero.
+     */
+    public void resetStatistics() {
+        this.readContentionCount.set(0L);
+        this.writeContentionCount.set(0L);
+        this.readWaitTime.set(0L);
+        this.writeWaitTime.set(0L);
     }
 
 }
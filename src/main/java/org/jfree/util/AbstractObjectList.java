@@ -40,6 +40,10 @@
  * 13-Aug-2003 : Version 1, based on ObjectList (DG);
  * 24-Aug-2003 : Fixed size (BK);
  * 15-Sep-2003 : Fix serialization for subclasses (ShapeList, PaintList) (NB);
+ * 17-Oct-2026 : The list now at least doubles its capacity when it grows;
+ * 17-Oct-2026 : Added ensureSize() for subclasses that store their items;
+ * 17-Oct-2026 : Don't allocate the array for such subclasses when
+ *               deserializing;
  */
 
 package org.jfree.util;
@@ -127,7 +131,8 @@ public class AbstractObjectList implements Cloneable, Serializable {
             throw new IllegalArgumentException("Requires index >= 0.");
         }
         if (index >= this.objects.length) {
-            final Object[] enlarged = new Object[index + this.increment];
+            final Object[] enlarged = new Object[getEnlargedCapacity(
+                    this.objects.length, index, this.increment)];
             System.arraycopy(this.objects, 0, enlarged, 0, this.objects.length);
             this.objects = enlarged;
         }
@@ -135,6 +140,48 @@ public class AbstractObjectList implements Cloneable, Serializable {
         this.size = Math.max(this.size, index + 1);
     }
 
+    /**
+     * Increases the list size, without storing anything in the list.  This
+     * is for subclasses that hold the items themselves, so that the size is
+     * still serialized.
+     *
+     * @param minimumSize  the minimum list size.
+     */
+    void ensureSize(final int minimumSize) {
+        this.size = Math.max(this.size, minimumSize);
+    }
+
+    /**
+     * Returns true if the items are stored in the array of this class, and
+     * false for subclasses that hold the items themselves.
+     *
+     * @return A boolean.
+     */
+    boolean isStoringObjects() {
+        return true;
+    }
+
+    /**
+     * Returns the new capacity for an array that must grow to hold the item
+     * at the specified index.  The capacity at least doubles, so that
+     * filling a list of <i>n</i> items takes O(<i>n</i>) time rather than
+     * O(<i>n</i>&sup2;).
+     *
+     * @param capacity  the current capacity.
+     * @param index  the index that must fit.
+     * @param increment  the minimum number of items beyond the index.
+     *
+     * @return The new capacity.
+     */
+    static int getEnlargedCapacity(final int capacity, final int index,
+                                   final int increment) {
+        final long required = (long) index + Math.max(increment, 1);
+        final long enlarged = Math.max(capacity * 2L, required);
+        // stay below the array size limit of most VMs if that is enough
+        final long limit = Math.max(Integer.MAX_VALUE - 8L, index + 1L);
+        return (int) Math.min(enlarged, limit);
+    }
+
     /**
      * Clears the list.
      */
@@ -269,7 +316,7 @@ public class AbstractObjectList implements Cloneable, Serializable {
         throws IOException, ClassNotFoundException {
 
         stream.defaultReadObject();
-        this.objects = new Object[this.size];
+        this.objects = new Object[isStoringObjects() ? this.size : 0];
         final int count = stream.readInt();
         for (int i = 0; i < count; i++) {
             final int index = stream.readInt();
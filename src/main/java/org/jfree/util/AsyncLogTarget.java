@@ -0,0 +1,654 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------
+ * AsyncLogTarget.java
+ * -------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ * 17-Oct-2026 : Fixed records lost or written concurrently after close(),
+ *               and clamp negative levels;
+ * 17-Oct-2026 : Count and report the records that a target fails to write;
+ * 17-Oct-2026 : Added MAXIMUM_CAPACITY;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A log target that hands log records to a background thread, so that the
+ * threads that log never wait for console or file I/O.  The records are
+ * kept in a bounded, lock-free ring buffer.  The background thread removes
+ * them in batches and either writes each batch to a
+ * <code>PrintStream</code> with a single write and flush (in the same
+ * format as {@link PrintStreamLogTarget}), or passes the records on to
+ * another log target.
+ * <p>
+ * What happens when the buffer is full depends on the policy:
+ * <ul>
+ * <li>{@link #DROP} - the record is dropped;</li>
+ * <li>{@link #BLOCK} - the logging thread waits until there is room;</li>
+ * <li>{@link #SAMPLE} - once the buffer is half full, only one record in
+ *     every <code>sampleRate</code> is kept, and records are dropped when
+ *     the buffer is full.</li>
+ * </ul>
+ * The message of each record is converted to a string on the logging
+ * thread, so mutable message objects are captured as they are at the time
+ * of the call.
+ * <p>
+ * To use this target for the default log, set the
+ * <code>org.jfree.base.LogTarget</code> configuration property to
+ * <code>org.jfree.util.AsyncLogTarget</code>.
+ *
+ * @see org.jfree.base.log.LogConfiguration
+ */
+public class AsyncLogTarget implements LogTarget {
+
+    /** The policy that drops records when the buffer is full. */
+    public static final int DROP = 0;
+
+    /** The policy that waits for room when the buffer is full. */
+    public static final int BLOCK = 1;
+
+    /** The policy that samples records when the buffer fills up. */
+    public static final int SAMPLE = 2;
+
+    /** The default buffer capacity. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** The largest buffer capacity. */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** The default sample rate for the {@link #SAMPLE} policy. */
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+
+    /** The maximum number of records written in one batch. */
+    private static final int BATCH_SIZE = 256;
+
+    /** The longest time the writer sleeps without being woken (100ms). */
+    private static final long IDLE_NANOS = 100000000L;
+
+    /** The time a blocked logging thread sleeps between attempts (0.1ms). */
+    private static final long RETRY_NANOS = 100000L;
+
+    /** The line separator. */
+    private static final String LINE_SEPARATOR =
+            System.getProperty("line.separator", "\n");
+
+    /**
+     * A log record.
+     */
+    private static final class Record {
+
+        /** The log level. */
+        final int level;
+
+        /** The message. */
+        final String message;
+
+        /** The exception (possibly <code>null</code>). */
+        final Exception exception;
+
+        /**
+         * Creates a new record.
+         *
+         * @param level  the log level.
+         * @param message  the message.
+         * @param exception  the exception (<code>null</code> permitted).
+         */
+        Record(final int level, final String message,
+               final Exception exception) {
+            this.level = level;
+            this.message = message;
+            this.exception = exception;
+        }
+
+    }
+
+    /** The stream for batched output (<code>null</code> if delegating). */
+    private PrintStream printStream;
+
+    /** The target for the records (<code>null</code> if printing). */
+    private LogTarget delegate;
+
+    /** The policy for a full buffer. */
+    private int policy;
+
+    /** The sample rate for the {@link #SAMPLE} policy. */
+    private int sampleRate;
+
+    /** The buffer capacity minus one (the capacity is a power of two). */
+    private int mask;
+
+    /** The records. */
+    private AtomicReferenceArray records;
+
+    /**
+     * The sequence number of each slot.  The slot for position
+     * <code>p</code> can be filled when its sequence is <code>p</code>, and
+     * emptied when it is <code>p + 1</code>.
+     */
+    private AtomicLongArray sequences;
+
+    /** The next position to fill. */
+    private AtomicLong tail;
+
+    /** The next position to empty (only written by the writer thread). */
+    private AtomicLong head;
+
+    /** The number of records that have been written. */
+    private AtomicLong writtenCount;
+
+    /** The number of records that have been dropped. */
+    private AtomicLong droppedCount;
+
+    /** The number of records that could not be written. */
+    private AtomicLong failedCount;
+
+    /** The counter used to pick sampled records. */
+    private AtomicLong sampleCounter;
+
+    /** Is the writer thread about to sleep? */
+    private volatile boolean writerIdle;
+
+    /** Has the target been closed? */
+    private volatile boolean closed;
+
+    /** The writer thread. */
+    private Thread writer;
+
+    /**
+     * Creates a target that writes to <code>System.out</code>, with the
+     * default capacity, waiting for room when the buffer is full.
+     */
+    public AsyncLogTarget() {
+        this(System.out, DEFAULT_CAPACITY, BLOCK);
+    }
+
+    /**
+     * Creates a target that writes batches of records to a stream.
+     *
+     * @param printStream  the stream (<code>null</code> not permitted).
+     * @param capacity  the buffer capacity (rounded up to a power of two).
+     * @param policy  the policy for a full buffer ({@link #DROP},
+     *     {@link #BLOCK} or {@link #SAMPLE}).
+     */
+    public AsyncLogTarget(final PrintStream printStream, final int capacity,
+                          final int policy) {
+        this(printStream, null, capacity, policy, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * Creates a target that passes the records on to another target, on
+     * the background thread.
+     *
+     * @param delegate  the target (<code>null</code> not permitted).
+     * @param capacity  the buffer capacity (rounded up to a power of two).
+     * @param policy  the policy for a full buffer ({@link #DROP},
+     *     {@link #BLOCK} or {@link #SAMPLE}).
+     * @param sampleRate  keep one record in this many when sampling (must
+     *     be positive).
+     */
+    public AsyncLogTarget(final LogTarget delegate, final int capacity,
+                          final int policy, final int sampleRate) {
+        this(null, checkDelegate(delegate), capacity, policy, sampleRate);
+    }
+
+    /**
+     * Creates a new target.
+     *
+     * @param printStream  the stream (<code>null</code> if delegating).
+     * @param delegate  the target (<code>null</code> if printing).
+     * @param capacity  the buffer capacity.
+     * @param policy  the policy for a full buffer.
+     * @param sampleRate  the sample rate.
+     */
+    private AsyncLogTarget(final PrintStream printStream,
+                           final LogTarget delegate, final int capacity,
+                           final int policy, final int sampleRate) {
+        if (printStream == null && delegate == null) {
+            throw new NullPointerException("Null 'printStream' argument.");
+        }
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException(
+                    "Invalid 'capacity' argument.");
+        }
+        if (policy != DROP && policy != BLOCK && policy != SAMPLE) {
+            throw new IllegalArgumentException("Invalid 'policy' argument.");
+        }
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("Requires 'sampleRate' > 0.");
+        }
+        this.printStream = printStream;
+        this.delegate = delegate;
+        this.policy = policy;
+        this.sampleRate = sampleRate;
+        int size = 1;
+        while (size < capacity) {
+            size = size * 2;
+        }
+        this.mask = size - 1;
+        this.records = new AtomicReferenceArray(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+        this.tail = new AtomicLong();
+        this.head = new AtomicLong();
+        this.writtenCount = new AtomicLong();
+        this.droppedCount = new AtomicLong();
+        this.failedCount = new AtomicLong();
+        this.sampleCounter = new AtomicLong();
+        this.writer = new Thread("AsyncLogTarget") {
+            public void run() {
+                runWriter();
+            }
+        };
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Checks the delegate argument.
+     *
+     * @param delegate  the delegate.
+     *
+     * @return The delegate.
+     */
+    private static LogTarget checkDelegate(final LogTarget delegate) {
+        if (delegate == null) {
+            throw new NullPointerException("Null 'delegate' argument.");
+        }
+        return delegate;
+    }
+
+    /**
+     * Returns the buffer capacity.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return this.mask + 1;
+    }
+
+    /**
+     * Returns the policy for a full buffer.
+     *
+     * @return The policy.
+     */
+    public int getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * Returns the number of records that have been accepted into the buffer
+     * so far.
+     *
+     * @return The count.
+     */
+    public long getQueuedCount() {
+        return this.tail.get();
+    }
+
+    /**
+     * Returns the number of records that are waiting to be written.
+     *
+     * @return The count.
+     */
+    public int getPendingCount() {
+        return (int) Math.max(0L, this.tail.get() - this.head.get());
+    }
+
+    /**
+     * Returns the number of records that have been written.
+     *
+     * @return The count.
+     */
+    public long getWrittenCount() {
+        return this.writtenCount.get();
+    }
+
+    /**
+     * Returns the number of records that have been dropped because the
+     * buffer was full (or, with the {@link #SAMPLE} policy, filling up).
+     *
+     * @return The count.
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * Returns the number of records that could not be written, because the
+     * stream or the target that they were passed on to threw an exception.
+     * These records are not included in the written count.
+     *
+     * @return The count.
+     */
+    public long getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    /**
+     * Logs a message at a specified log level.
+     *
+     * @param level  the log level.
+     * @param message  the log message.
+     */
+    public void log(final int level, final Object message) {
+        enqueue(level, message, null);
+    }
+
+    /**
+     * Logs a message at a specified log level.
+     *
+     * @param level  the log level.
+     * @param message  the log message.
+     * @param e  the exception
+     */
+    public void log(final int level, final Object message,
+                    final Exception e) {
+        enqueue(level, message, e);
+    }
+
+    /**
+     * Adds a record to the buffer, applying the policy if it is full.
+     *
+     * @param level  the log level.
+     * @param message  the message.
+     * @param e  the exception (<code>null</code> permitted).
+     */
+    private void enqueue(final int level, final Object message,
+                         final Exception e) {
+        if (this.policy == SAMPLE && getPendingCount() > this.mask / 2) {
+            final long n = this.sampleCounter.incrementAndGet();
+            if (n % this.sampleRate != 0) {
+                this.droppedCount.incrementAndGet();
+                return;
+            }
+        }
+        final Record record = new Record(
+                Math.max(ERROR, Math.min(level, DEBUG)),
+                String.valueOf(message), e);
+        if (this.closed) {
+            synchronized (this) {
+                writeAll();
+                write(new Record[] {record}, 1);
+            }
+            return;
+        }
+        int spins = 0;
+        while (!offer(record)) {
+            if (this.policy != BLOCK) {
+                this.droppedCount.incrementAndGet();
+                return;
+            }
+            if (this.closed) {
+                // the writer thread may be gone, so make room here
+                writeAll();
+            }
+            wakeWriter();
+            if (spins < 64) {
+                spins++;
+                Thread.yield();
+            }
+            else {
+                LockSupport.parkNanos(this, RETRY_NANOS);
+            }
+        }
+        if (this.closed) {
+            // the writer thread may have stopped before the record was added
+            writeAll();
+            return;
+        }
+        wakeWriter();
+    }
+
+    /**
+     * Adds a record to the buffer, unless it is full.
+     *
+     * @param record  the record.
+     *
+     * @return A boolean.
+     */
+    private boolean offer(final Record record) {
+        while (true) {
+            final long position = this.tail.get();
+            final int index = (int) position & this.mask;
+            final long available = this.sequences.get(index) - position;
+            if (available < 0) {
+                return false;
+            }
+            if (available == 0
+                    && this.tail.compareAndSet(position, position + 1)) {
+                this.records.set(index, record);
+                this.sequences.set(index, position + 1);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes up to <code>batch.length</code> records from the buffer (only
+     * called while holding the lock on this target).
+     *
+     * @param batch  the array for the records.
+     *
+     * @return The number of records.
+     */
+    private int drain(final Record[] batch) {
+        long position = this.head.get();
+        int count = 0;
+        while (count < batch.length) {
+            final int index = (int) position & this.mask;
+            if (this.sequences.get(index) != position + 1) {
+                break;
+            }
+            batch[count++] = (Record) this.records.get(index);
+            this.records.set(index, null);
+            this.sequences.set(index, position + this.mask + 1);
+            position++;
+        }
+        this.head.set(position);
+        return count;
+    }
+
+    /**
+     * Removes a batch of records from the buffer and writes them.  The
+     * writer thread, {@link #close()} and the threads that log after the
+     * target is closed all empty the buffer through this method, so that
+     * only one of them removes and writes records at a time.
+     *
+     * @param batch  the array for the records.
+     *
+     * @return The number of records written.
+     */
+    private int writeBatch(final Record[] batch) {
+        synchronized (this) {
+            final int count = drain(batch);
+            if (count > 0) {
+                write(batch, count);
+                for (int i = 0; i < count; i++) {
+                    batch[i] = null;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Writes all the records in the buffer.
+     */
+    private void writeAll() {
+        final Record[] batch = new Record[BATCH_SIZE];
+        while (writeBatch(batch) > 0) {
+            // continue until the buffer is empty
+        }
+    }
+
+    /**
+     * Wakes the writer thread if it is idle.
+     */
+    private void wakeWriter() {
+        if (this.writerIdle) {
+            LockSupport.unpark(this.writer);
+        }
+    }
+
+    /**
+     * The body of the writer thread.
+     */
+    private void runWriter() {
+        final Record[] batch = new Record[BATCH_SIZE];
+        while (true) {
+            if (writeBatch(batch) > 0) {
+                continue;
+            }
+            if (this.closed) {
+                return;
+            }
+            this.writerIdle = true;
+            if (this.tail.get() == this.head.get() && !this.closed) {
+                LockSupport.parkNanos(this, IDLE_NANOS);
+            }
+            this.writerIdle = false;
+        }
+    }
+
+    /**
+     * Writes a batch of records.  A failing stream or target must not stop
+     * the writer thread, so failures are counted and reported to
+     * <code>System.err</code> instead.  When passing records on, each
+     * record is passed on even if an earlier one failed.
+     *
+     * @param batch  the records.
+     * @param count  the number of records.
+     */
+    private void write(final Record[] batch, final int count) {
+        if (this.printStream != null) {
+            try {
+                final StringWriter text = new StringWriter(count * 80);
+                final PrintWriter out = new PrintWriter(text);
+                for (int i = 0; i < count; i++) {
+                    final Record r = batch[i];
+                    out.print(LEVELS[r.level]);
+                    out.print(r.message);
+                    out.print(LINE_SEPARATOR);
+                    if (r.exception != null) {
+                        r.exception.printStackTrace(out);
+                    }
+                }
+                out.flush();
+                this.printStream.print(text.toString());
+                this.printStream.flush();
+            }
+            catch (RuntimeException e) {
+                this.failedCount.addAndGet(count);
+                reportFailure(count + " log records", e);
+                return;
+            }
+            this.writtenCount.addAndGet(count);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            final Record r = batch[i];
+            try {
+                if (r.exception == null) {
+                    this.delegate.log(r.level, r.message);
+                }
+                else {
+                    this.delegate.log(r.level, r.message, r.exception);
+                }
+                this.writtenCount.incrementAndGet();
+            }
+            catch (RuntimeException e) {
+                this.failedCount.incrementAndGet();
+                reportFailure("the log record '" + r.message + "'", e);
+            }
+        }
+    }
+
+    /**
+     * Reports records that could not be written, in the format of the
+     * {@link PrintStreamLogTarget}.
+     *
+     * @param records  a description of the records.
+     * @param e  the exception.
+     */
+    private void reportFailure(final String records,
+                               final RuntimeException e) {
+        final PrintStream err = System.err;
+        err.print(LEVELS[ERROR]);
+        err.println("Failed to write " + records);
+        e.printStackTrace(err);
+    }
+
+    /**
+     * Waits until all the records that were queued before this call have
+     * been written.
+     */
+    public void flush() {
+        final long target = this.tail.get();
+        while (this.writtenCount.get() + this.failedCount.get() < target
+                && this.writer.isAlive()) {
+            LockSupport.unpark(this.writer);
+            LockSupport.parkNanos(this, RETRY_NANOS);
+        }
+    }
+
+    /**
+     * Writes the remaining records and stops the writer thread.  Records
+     * that are logged after this call are written on the calling thread.
+     */
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        // pick up records from threads that raced with the close
+        writeAll();
+    }
+
+}
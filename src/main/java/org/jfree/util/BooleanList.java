@@ -42,12 +42,24 @@
  * 13-Aug-2003 : Now extends new class AbstractObjectList (DG);
  * 21-Oct-2004 : Removed duplicate implementation of Cloneable and Serializable,
  *               AbstractObjectList already implements that.
+ * 17-Oct-2026 : Store the values in bit sets instead of Boolean objects;
+ * 17-Oct-2026 : Keep the size in the superclass, so that it is serialized;
+ * 17-Oct-2026 : Don't allocate the unused array of the superclass when
+ *               deserializing;
  */
 
 package org.jfree.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Arrays;
+
 /**
- * A list of <code>Boolean</code> objects.
+ * A list of <code>Boolean</code> objects.  The values are held in two bit
+ * sets (one for the items that are not <code>null</code>, one for the items
+ * that are <code>true</code>), so the list needs two bits per item and
+ * {@link #getBoolean(int)} returns {@link Boolean#TRUE}, {@link Boolean#FALSE}
+ * or <code>null</code>.  The serialized form is the same as before.
  *
  * @author David Gilbert
  */
@@ -55,11 +67,21 @@ public class BooleanList extends AbstractObjectList {
 
     /** For serialization. */
     private static final long serialVersionUID = -8543170333219422042L;
-    
+
+    /** The bits for the items that are not <code>null</code>. */
+    private transient long[] defined;
+
+    /** The bits for the items that are <code>true</code>. */
+    private transient long[] values;
+
     /**
      * Creates a new list.
      */
     public BooleanList() {
+        // the objects array of the superclass is not used
+        super(0, DEFAULT_INITIAL_CAPACITY);
+        this.defined = new long[1];
+        this.values = new long[1];
     }
 
     /**
@@ -73,6 +95,26 @@ public class BooleanList extends AbstractObjectList {
         return (Boolean) get(index);
     }
 
+    /**
+     * Returns a value from the list, or a default value if the item is
+     * <code>null</code> or the index is outside the list.
+     *
+     * @param index  the index (zero-based).
+     * @param defaultValue  the default value.
+     *
+     * @return The value.
+     */
+    public boolean getBoolean(final int index, final boolean defaultValue) {
+        if (index < 0 || index >= size()) {
+            return defaultValue;
+        }
+        final long mask = 1L << index;
+        if ((this.defined[index >> 6] & mask) == 0) {
+            return defaultValue;
+        }
+        return (this.values[index >> 6] & mask) != 0;
+    }
+
     /**
      * Sets the value for an item in the list.  The list is expanded if 
      * necessary.
@@ -84,6 +126,130 @@ public class BooleanList extends AbstractObjectList {
         set(index, b);
     }
 
+    /**
+     * Sets the value for an item in the list.  The list is expanded if
+     * necessary.
+     *
+     * @param index  the index (zero-based).
+     * @param b  the boolean.
+     */
+    public void setBoolean(final int index, final boolean b) {
+        set(index, b ? Boolean.TRUE : Boolean.FALSE);
+    }
+
+    /**
+     * Returns the object at the specified index, if there is one, or
+     * <code>null</code>.
+     *
+     * @param index  the object index.
+     *
+     * @return The object or <code>null</code>.
+     */
+    protected Object get(final int index) {
+        if (index < 0 || index >= size()) {
+            return null;
+        }
+        final long mask = 1L << index;
+        if ((this.defined[index >> 6] & mask) == 0) {
+            return null;
+        }
+        return (this.values[index >> 6] & mask) != 0 ? Boolean.TRUE
+                : Boolean.FALSE;
+    }
+
+    /**
+     * Sets an item (overwriting any existing value).
+     *
+     * @param index  the object index.
+     * @param object  the value (a <code>Boolean</code> or <code>null</code>).
+     */
+    protected void set(final int index, final Object object) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Requires index >= 0.");
+        }
+        final Boolean b = (Boolean) object;
+        final int word = index >> 6;
+        ensureCapacity(word);
+        final long mask = 1L << index;
+        if (b == null) {
+            this.defined[word] &= ~mask;
+            this.values[word] &= ~mask;
+        }
+        else {
+            this.defined[word] |= mask;
+            if (b.booleanValue()) {
+                this.values[word] |= mask;
+            }
+            else {
+                this.values[word] &= ~mask;
+            }
+        }
+        ensureSize(index + 1);
+    }
+
+    /**
+     * Returns false, as the values are stored in the bit sets of this list.
+     *
+     * @return false.
+     */
+    boolean isStoringObjects() {
+        return false;
+    }
+
+    /**
+     * Makes sure that the bit sets have room for the specified word.
+     *
+     * @param word  the word index.
+     */
+    private void ensureCapacity(final int word) {
+        if (this.defined == null) {
+            // deserialization calls set() before any constructor code
+            this.defined = new long[word + 1];
+            this.values = new long[word + 1];
+        }
+        else if (word >= this.defined.length) {
+            final int capacity = getEnlargedCapacity(this.defined.length,
+                    word, 1);
+            final long[] enlargedDefined = new long[capacity];
+            final long[] enlargedValues = new long[capacity];
+            System.arraycopy(this.defined, 0, enlargedDefined, 0,
+                    this.defined.length);
+            System.arraycopy(this.values, 0, enlargedValues, 0,
+                    this.values.length);
+            this.defined = enlargedDefined;
+            this.values = enlargedValues;
+        }
+    }
+
+    /**
+     * Clears the list.
+     */
+    public void clear() {
+        super.clear();
+        if (this.defined != null) {
+            Arrays.fill(this.defined, 0L);
+            Arrays.fill(this.values, 0L);
+        }
+    }
+
+    /**
+     * Returns the index of the specified value, or -1 if the value is not in
+     * the list.
+     *
+     * @param object  the value (<code>null</code> permitted).
+     *
+     * @return The index or -1.
+     */
+    protected int indexOf(final Object object) {
+        final int count = size();
+        for (int index = 0; index < count; index++) {
+            if (ObjectUtilities.equal(get(index), object)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Tests the list for equality with another object (typically also a list).
      *
@@ -107,4 +273,37 @@ public class BooleanList extends AbstractObjectList {
     public int hashCode() {
         return super.hashCode();
     }
+
+    /**
+     * Returns a clone of the list.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning the
+     *         list.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        final BooleanList clone = (BooleanList) super.clone();
+        if (this.defined != null) {
+            clone.defined = this.defined.clone();
+            clone.values = this.values.clone();
+        }
+        return clone;
+    }
+
+    /**
+     * Provides serialization support.  The superclass has already read the
+     * items; this makes sure that the bit sets cover the whole list, which
+     * may end with <code>null</code> items.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(final ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        ensureCapacity(Math.max(size() - 1, 0) >> 6);
+    }
 }
@@ -0,0 +1,963 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * --------------------
+ * CompactHashNMap.java
+ * --------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Array;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link HashNMap} that keeps its keys and values in flat arrays instead of
+ * a <code>HashMap</code> of lists.  The keys are stored in an open-addressing
+ * hash table with linear probing.  A key with a single value keeps that value
+ * inline in the table, and only a key with two or more values gets an array,
+ * which grows as values are added.  Most keys in a typical registry have one
+ * value, so this needs much less memory than one <code>ArrayList</code> (and
+ * one map entry) for every key.
+ * <p>
+ * The values for a key can be visited with
+ * {@link #forEach(Object, HashNMapConsumer)}, which does not allocate.  The
+ * iterators returned by {@link #keys()} and the {@link #keySet()} view do not
+ * support <code>remove</code>; use {@link #removeAll(Object)} instead.
+ * <p>
+ * This class is not synchronized.
+ */
+public class CompactHashNMap extends HashNMap {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2849347813527637542L;
+
+    /** The default number of slots in the hash table. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The initial length of the value array for a key with two values. */
+    private static final int INITIAL_VALUE_CAPACITY = 4;
+
+    /** Stands in for the <code>null</code> key in the hash table. */
+    private static final Object NULL_KEY = new Object();
+
+    /** An empty array. */
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+
+    /** The keys (<code>null</code> marks a free slot). */
+    private transient Object[] keys;
+
+    /** The value for a key with one value, otherwise an array of values. */
+    private transient Object[] values;
+
+    /** The number of values for each key. */
+    private transient int[] counts;
+
+    /** The number of keys. */
+    private transient int size;
+
+    /** The number of structural modifications, for the iterators. */
+    private transient int modCount;
+
+    /**
+     * Creates a new, empty map.
+     */
+    public CompactHashNMap() {
+        this(DEFAULT_CAPACITY / 2);
+    }
+
+    /**
+     * Creates a new, empty map with room for a number of keys.
+     *
+     * @param expectedKeys  the number of keys the map should hold before
+     *     it grows.
+     */
+    public CompactHashNMap(final int expectedKeys) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("Negative 'expectedKeys'.");
+        }
+        allocate(getCapacity(expectedKeys));
+    }
+
+    /**
+     * Returns the table size for a number of keys, a power of two that
+     * keeps the load factor at or below 0.75.
+     *
+     * @param keyCount  the number of keys.
+     *
+     * @return The capacity.
+     */
+    private static int getCapacity(final int keyCount) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * 3L < keyCount * 4L) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    /**
+     * Allocates empty storage.
+     *
+     * @param capacity  the number of slots (a power of two).
+     */
+    private void allocate(final int capacity) {
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.counts = new int[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the key stored in the table for a key.
+     *
+     * @param key  the key (<code>null</code> permitted).
+     *
+     * @return The stored key (never <code>null</code>).
+     */
+    private static Object maskNull(final Object key) {
+        return (key == null) ? NULL_KEY : key;
+    }
+
+    /**
+     * Returns the key for a key stored in the table.
+     *
+     * @param key  the stored key.
+     *
+     * @return The key.
+     */
+    private static Object unmaskNull(final Object key) {
+        return (key == NULL_KEY) ? null : key;
+    }
+
+    /**
+     * Returns the slot where the search for a key begins.
+     *
+     * @param key  the stored key.
+     *
+     * @return The slot.
+     */
+    private int getHomeSlot(final Object key) {
+        final int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (this.keys.length - 1);
+    }
+
+    /**
+     * Returns the slot that holds a key, or <code>-(slot + 1)</code> for the
+     * free slot where it would be stored.
+     *
+     * @param key  the stored key.
+     *
+     * @return The slot.
+     */
+    private int findSlot(final Object key) {
+        final int mask = this.keys.length - 1;
+        int slot = getHomeSlot(key);
+        Object k = this.keys[slot];
+        while (k != null) {
+            if (k == key || k.equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+            k = this.keys[slot];
+        }
+        return -(slot + 1);
+    }
+
+    /**
+     * Returns the slot that holds a key, or -1 if the key is not in the map.
+     *
+     * @param key  the key (<code>null</code> permitted).
+     *
+     * @return The slot.
+     */
+    private int getSlot(final Object key) {
+        final int slot = findSlot(maskNull(key));
+        return (slot < 0) ? -1 : slot;
+    }
+
+    /**
+     * Stores a new key with one value.
+     *
+     * @param key  the stored key.
+     * @param val  the value.
+     * @param freeSlot  the result of {@link #findSlot(Object)} for the key.
+     */
+    private void insert(final Object key, final Object val, int freeSlot) {
+        if ((this.size + 1) * 4L > this.keys.length * 3L) {
+            rehash(this.keys.length * 2);
+            freeSlot = findSlot(key);
+        }
+        final int slot = -(freeSlot + 1);
+        this.keys[slot] = key;
+        this.values[slot] = val;
+        this.counts[slot] = 1;
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * Moves all keys into a table with a new capacity.
+     *
+     * @param capacity  the new capacity (a power of two).
+     */
+    private void rehash(final int capacity) {
+        final Object[] oldKeys = this.keys;
+        final Object[] oldValues = this.values;
+        final int[] oldCounts = this.counts;
+        final int oldSize = this.size;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                final int slot = -(findSlot(oldKeys[i]) + 1);
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = oldValues[i];
+                this.counts[slot] = oldCounts[i];
+            }
+        }
+        this.size = oldSize;
+    }
+
+    /**
+     * Removes the key in a slot, and moves the keys that follow it in the
+     * same probe sequence back so that no free slot separates them from
+     * their home slot.
+     *
+     * @param slot  the slot.
+     */
+    private void removeSlot(final int slot) {
+        final int mask = this.keys.length - 1;
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (this.keys[next] == null) {
+                break;
+            }
+            // a key stays where it is if its home slot lies after the gap
+            final int home = getHomeSlot(this.keys[next]);
+            final boolean stays = (next > gap)
+                    ? (home > gap && home <= next)
+                    : (home > gap || home <= next);
+            if (!stays) {
+                this.keys[gap] = this.keys[next];
+                this.values[gap] = this.values[next];
+                this.counts[gap] = this.counts[next];
+                gap = next;
+            }
+        }
+        this.keys[gap] = null;
+        this.values[gap] = null;
+        this.size--;
+        this.modCount++;
+    }
+
+    /**
+     * Returns a value for the key in a slot.
+     *
+     * @param slot  the slot.
+     * @param n  the index of the value.
+     *
+     * @return The value.
+     */
+    private Object getValue(final int slot, final int n) {
+        final int count = this.counts[slot];
+        if (n < 0 || n >= count) {
+            throw new IndexOutOfBoundsException("Index: " + n + ", Size: "
+                    + count);
+        }
+        if (count == 1) {
+            return this.values[slot];
+        }
+        return ((Object[]) this.values[slot])[n];
+    }
+
+    /**
+     * Returns the index of a value for the key in a slot.
+     *
+     * @param slot  the slot.
+     * @param value  the value (<code>null</code> permitted).
+     *
+     * @return The index, or -1 if the value is not registered for the key.
+     */
+    private int indexOf(final int slot, final Object value) {
+        final int count = this.counts[slot];
+        if (count == 1) {
+            return ObjectUtilities.equal(value, this.values[slot]) ? 0 : -1;
+        }
+        final Object[] array = (Object[]) this.values[slot];
+        for (int i = 0; i < count; i++) {
+            if (ObjectUtilities.equal(value, array[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a value for the key in a slot.
+     *
+     * @param slot  the slot.
+     * @param val  the value.
+     */
+    private void addValue(final int slot, final Object val) {
+        final int count = this.counts[slot];
+        Object[] array;
+        if (count == 1) {
+            array = new Object[INITIAL_VALUE_CAPACITY];
+            array[0] = this.values[slot];
+            this.values[slot] = array;
+        }
+        else {
+            array = (Object[]) this.values[slot];
+            if (count == array.length) {
+                final Object[] larger = new Object[count * 2];
+                System.arraycopy(array, 0, larger, 0, count);
+                array = larger;
+                this.values[slot] = array;
+            }
+        }
+        array[count] = val;
+        this.counts[slot] = count + 1;
+        this.modCount++;
+    }
+
+    /**
+     * Removes a value for the key in a slot, and the key itself if that was
+     * its last value.
+     *
+     * @param slot  the slot.
+     * @param n  the index of the value.
+     */
+    private void removeValue(final int slot, final int n) {
+        final int count = this.counts[slot];
+        if (count == 1) {
+            removeSlot(slot);
+            return;
+        }
+        final Object[] array = (Object[]) this.values[slot];
+        System.arraycopy(array, n + 1, array, n, count - n - 1);
+        array[count - 1] = null;
+        if (count == 2) {
+            this.values[slot] = array[0];
+        }
+        this.counts[slot] = count - 1;
+        this.modCount++;
+    }
+
+    /**
+     * Inserts a new key/value pair into the map.  If such a pair already
+     * exists, it gets replaced with the given values.
+     *
+     * @param key  the key.
+     * @param val  the value.
+     *
+     * @return A boolean.
+     */
+    public boolean put(final Object key, final Object val) {
+        final Object k = maskNull(key);
+        final int slot = findSlot(k);
+        if (slot < 0) {
+            insert(k, val, slot);
+        }
+        else {
+            this.values[slot] = val;
+            this.counts[slot] = 1;
+            this.modCount++;
+        }
+        return true;
+    }
+
+    /**
+     * Adds a new key/value pair into this map. If the key is not yet in the
+     * map, it gets added to the map and the call is equal to
+     * put(Object,Object).
+     *
+     * @param key  the key.
+     * @param val  the value.
+     *
+     * @return true, if  the value has been added, false otherwise
+     */
+    public boolean add(final Object key, final Object val) {
+        final Object k = maskNull(key);
+        final int slot = findSlot(k);
+        if (slot < 0) {
+            insert(k, val, slot);
+        }
+        else {
+            addValue(slot, val);
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the n-th value registered for an key or null if there was no
+     * such key in the list. An index out of bounds exception is thrown if
+     * there are less than n elements registered to this key.
+     *
+     * @param key  the key.
+     * @param n  the index.
+     *
+     * @return the object.
+     */
+    public Object get(final Object key, final int n) {
+        final int slot = getSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        return getValue(slot, n);
+    }
+
+    /**
+     * Returns an iterator over all elements registered to the given key.
+     * The iterator supports <code>remove</code>.
+     *
+     * @param key  the key.
+     *
+     * @return an iterator.
+     */
+    public Iterator getAll(final Object key) {
+        return new ValueIterator(getSlot(key));
+    }
+
+    /**
+     * Passes every value registered for a key to a consumer, without
+     * creating an iterator.  The consumer must not modify this map.
+     *
+     * @param key  the key.
+     * @param consumer  the consumer (<code>null</code> not permitted).
+     */
+    public void forEach(final Object key, final HashNMapConsumer consumer) {
+        if (consumer == null) {
+            throw new NullPointerException("Null 'consumer' argument.");
+        }
+        final int slot = getSlot(key);
+        if (slot < 0) {
+            return;
+        }
+        final int count = this.counts[slot];
+        if (count == 1) {
+            consumer.accept(key, this.values[slot]);
+            return;
+        }
+        final Object[] array = (Object[]) this.values[slot];
+        for (int i = 0; i < count; i++) {
+            consumer.accept(key, array[i]);
+        }
+    }
+
+    /**
+     * Returns all registered keys as an enumeration.  The iterator does not
+     * support <code>remove</code>.
+     *
+     * @return an enumeration of the keys.
+     */
+    public Iterator keys() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Returns all registered keys as set.  The set is backed by this map,
+     * and supports <code>remove</code> but not removal through its iterator.
+     *
+     * @return a set of keys.
+     */
+    public Set keySet() {
+        return new KeySet();
+    }
+
+    /**
+     * Removes the key/value pair from the map. If the removed entry was the
+     * last entry for this key, the key gets also removed.
+     *
+     * @param key  the key.
+     * @param value  the value.
+     *
+     * @return true, if removing the element was successfull, false otherwise.
+     */
+    public boolean remove(final Object key, final Object value) {
+        final int slot = getSlot(key);
+        if (slot < 0) {
+            return false;
+        }
+        final int n = indexOf(slot, value);
+        if (n < 0) {
+            return false;
+        }
+        removeValue(slot, n);
+        return true;
+    }
+
+    /**
+     * Removes all elements for the given key.
+     *
+     * @param key  the key.
+     */
+    public void removeAll(final Object key) {
+        final int slot = getSlot(key);
+        if (slot >= 0) {
+            removeSlot(slot);
+        }
+    }
+
+    /**
+     * Clears all keys and values of this map.
+     */
+    public void clear() {
+        Arrays.fill(this.keys, null);
+        Arrays.fill(this.values, null);
+        this.size = 0;
+        this.modCount++;
+    }
+
+    /**
+     * Tests whether this map contains the given key.
+     *
+     * @param key  the key.
+     *
+     * @return true if the key is contained in the map
+     */
+    public boolean containsKey(final Object key) {
+        return getSlot(key) >= 0;
+    }
+
+    /**
+     * Tests whether this map contains the given value.
+     *
+     * @param value  the value.
+     *
+     * @return true if the value is registered in the map for an key.
+     */
+    public boolean containsValue(final Object value) {
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] != null && indexOf(i, value) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tests whether this map contains the given value.
+     *
+     * @param key  the key under which to find the value
+     * @param value  the value.
+     *
+     * @return true if the value is registered in the map for an key.
+     */
+    public boolean containsValue(final Object key, final Object value) {
+        final int slot = getSlot(key);
+        return slot >= 0 && indexOf(slot, value) >= 0;
+    }
+
+    /**
+     * Creates a deep copy of this map.  The values themselves are not
+     * cloned.
+     *
+     * @return a clone.
+     *
+     * @throws CloneNotSupportedException this should never happen.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        final CompactHashNMap map = (CompactHashNMap) super.clone();
+        map.keys = this.keys.clone();
+        map.values = this.values.clone();
+        map.counts = this.counts.clone();
+        map.modCount = 0;
+        for (int i = 0; i < map.keys.length; i++) {
+            if (map.keys[i] != null && map.counts[i] > 1) {
+                map.values[i] = ((Object[]) map.values[i]).clone();
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Returns the contents for the given key as object array. If there were
+     * no objects registered with that key, an empty object array is returned.
+     *
+     * @param key  the key.
+     * @param data  the object array to receive the contents.
+     *
+     * @return the contents.
+     */
+    public Object[] toArray(final Object key, final Object[] data) {
+        if (key == null) {
+            throw new NullPointerException("Key must not be null.");
+        }
+        final int slot = getSlot(key);
+        if (slot < 0) {
+            if (data.length > 0) {
+                data[0] = null;
+            }
+            return data;
+        }
+        final int count = this.counts[slot];
+        Object[] result = data;
+        if (result.length < count) {
+            result = (Object[]) Array.newInstance(
+                    data.getClass().getComponentType(), count);
+        }
+        copyValues(slot, result);
+        if (result.length > count) {
+            result[count] = null;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the contents for the given key as object array. If there were
+     * no objects registered with that key, an empty object array is returned.
+     *
+     * @param key  the key.
+     *
+     * @return the contents.
+     */
+    public Object[] toArray(final Object key) {
+        if (key == null) {
+            throw new NullPointerException("Key must not be null.");
+        }
+        final int slot = getSlot(key);
+        if (slot < 0) {
+            return EMPTY_ARRAY;
+        }
+        final Object[] result = new Object[this.counts[slot]];
+        copyValues(slot, result);
+        return result;
+    }
+
+    /**
+     * Copies the values for the key in a slot into an array.
+     *
+     * @param slot  the slot.
+     * @param target  the array (large enough for all the values).
+     */
+    private void copyValues(final int slot, final Object[] target) {
+        final int count = this.counts[slot];
+        if (count == 1) {
+            target[0] = this.values[slot];
+        }
+        else {
+            System.arraycopy(this.values[slot], 0, target, 0, count);
+        }
+    }
+
+    /**
+     * Returns the number of elements registered with the given key.
+     *
+     * @param key  the key.
+     *
+     * @return the number of element for this key, or 0 if there are no
+     *         elements registered.
+     */
+    public int getValueCount(final Object key) {
+        if (key == null) {
+            throw new NullPointerException("Key must not be null.");
+        }
+        final int slot = getSlot(key);
+        return (slot < 0) ? 0 : this.counts[slot];
+    }
+
+    /**
+     * Writes the map to a stream: the number of keys, then each key with
+     * its number of values and the values.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException if there is an I/O error.
+     */
+    private void writeObject(final ObjectOutputStream stream)
+            throws IOException {
+        stream.defaultWriteObject();
+        stream.writeInt(this.size);
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] == null) {
+                continue;
+            }
+            final int count = this.counts[i];
+            stream.writeObject(unmaskNull(this.keys[i]));
+            stream.writeInt(count);
+            for (int n = 0; n < count; n++) {
+                stream.writeObject(getValue(i, n));
+            }
+        }
+    }
+
+    /**
+     * Restores a map written by {@link #writeObject(ObjectOutputStream)}.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException if there is an I/O error.
+     * @throws ClassNotFoundException if there is a classpath problem.
+     */
+    private void readObject(final ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        final int keyCount = stream.readInt();
+        // the count comes from the stream, so limit the initial capacity
+        allocate(getCapacity(Math.min(Math.max(keyCount, 0), 65536)));
+        for (int i = 0; i < keyCount; i++) {
+            final Object key = stream.readObject();
+            final int count = stream.readInt();
+            for (int n = 0; n < count; n++) {
+                add(key, stream.readObject());
+            }
+        }
+        this.modCount = 0;
+    }
+
+    /**
+     * An iterator over the values for one key.
+     */
+    private final class ValueIterator implements Iterator {
+
+        /** The slot of the key. */
+        private final int slot;
+
+        /** The number of values left for the key. */
+        private int count;
+
+        /** The index of the next value. */
+        private int next;
+
+        /** The index of the last value returned, or -1. */
+        private int last;
+
+        /** The modification count that this iterator expects. */
+        private int expectedModCount;
+
+        /**
+         * Creates an iterator.
+         *
+         * @param slot  the slot of the key, or -1 for a key that is not in
+         *     the map.
+         */
+        private ValueIterator(final int slot) {
+            this.slot = slot;
+            this.count = (slot < 0) ? 0 : CompactHashNMap.this.counts[slot];
+            this.last = -1;
+            this.expectedModCount = CompactHashNMap.this.modCount;
+        }
+
+        /**
+         * Checks that the map has not been modified, which could have moved
+         * the key to another slot.
+         */
+        private void checkModCount() {
+            if (CompactHashNMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * Returns <code>true</code> if there are more values.
+         *
+         * @return A boolean.
+         */
+        public boolean hasNext() {
+            return this.next < this.count;
+        }
+
+        /**
+         * Returns the next value.
+         *
+         * @return The value.
+         */
+        public Object next() {
+            if (this.next >= this.count) {
+                throw new NoSuchElementException();
+            }
+            checkModCount();
+            final Object value = getValue(this.slot, this.next);
+            this.last = this.next;
+            this.next++;
+            return value;
+        }
+
+        /**
+         * Removes the last value returned by {@link #next()}.
+         */
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            }
+            checkModCount();
+            removeValue(this.slot, this.last);
+            this.next = this.last;
+            this.last = -1;
+            this.count--;
+            this.expectedModCount = CompactHashNMap.this.modCount;
+        }
+    }
+
+    /**
+     * An iterator over the keys.
+     */
+    private final class KeyIterator implements Iterator {
+
+        /** The next slot to look at. */
+        private int slot;
+
+        /** The modification count that this iterator expects. */
+        private final int expectedModCount;
+
+        /**
+         * Creates an iterator.
+         */
+        private KeyIterator() {
+            this.expectedModCount = CompactHashNMap.this.modCount;
+            skipFreeSlots();
+        }
+
+        /**
+         * Moves to the next occupied slot.
+         */
+        private void skipFreeSlots() {
+            final Object[] k = CompactHashNMap.this.keys;
+            while (this.slot < k.length && k[this.slot] == null) {
+                this.slot++;
+            }
+        }
+
+        /**
+         * Returns <code>true</code> if there are more keys.
+         *
+         * @return A boolean.
+         */
+        public boolean hasNext() {
+            return this.slot < CompactHashNMap.this.keys.length;
+        }
+
+        /**
+         * Returns the next key.
+         *
+         * @return The key.
+         */
+        public Object next() {
+            if (CompactHashNMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Object key = CompactHashNMap.this.keys[this.slot];
+            this.slot++;
+            skipFreeSlots();
+            return unmaskNull(key);
+        }
+
+        /**
+         * Not supported.
+         */
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "Use CompactHashNMap.removeAll(Object) instead.");
+        }
+    }
+
+    /**
+     * A set view of the keys.
+     */
+    private final class KeySet extends AbstractSet {
+
+        /**
+         * Creates the view.
+         */
+        private KeySet() {
+            super();
+        }
+
+        /**
+         * Returns an iterator over the keys.
+         *
+         * @return The iterator.
+         */
+        public Iterator iterator() {
+            return new KeyIterator();
+        }
+
+        /**
+         * Returns the number of keys.
+         *
+         * @return The number of keys.
+         */
+        public int size() {
+            return CompactHashNMap.this.size;
+        }
+
+        /**
+         * Returns <code>true</code> if the map contains a key.
+         *
+         * @param o  the key.
+         *
+         * @return A boolean.
+         */
+        public boolean contains(final Object o) {
+            return containsKey(o);
+        }
+
+        /**
+         * Removes a key and all its values.
+         *
+         * @param o  the key.
+         *
+         * @return <code>true</code> if the key was in the map.
+         */
+        public boolean remove(final Object o) {
+            final int slot = getSlot(o);
+            if (slot < 0) {
+                return false;
+            }
+            removeSlot(slot);
+            return true;
+        }
+
+        /**
+         * Removes all keys.
+         */
+        public void clear() {
+            CompactHashNMap.this.clear();
+        }
+    }
+
+}
@@ -0,0 +1,740 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------------
+ * ConcurrentHashNMap.java
+ * -----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Array;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe {@link HashNMap}.  The keys are held in a
+ * <code>ConcurrentHashMap</code>, and the values for each key in an array
+ * that is never modified once it is in the map: an update copies the array
+ * and swaps it in with a compare-and-set, and retries if another thread
+ * changed the key in the meantime.  Readers never block and always see a
+ * consistent set of values for a key.
+ * <p>
+ * The iterators returned by {@link #getAll(Object)} work on the values that
+ * were registered when the iterator was created.  The iterators over the
+ * keys are weakly consistent, and none of the iterators throws a
+ * <code>ConcurrentModificationException</code>.
+ * <p>
+ * Besides the <code>HashNMap</code> methods, which are all atomic, this
+ * class offers {@link #putIfAbsent(Object, Object)} and
+ * {@link #computeValues(Object, HashNMapFunction)}.
+ */
+public class ConcurrentHashNMap extends HashNMap {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -2160712547372416652L;
+
+    /** Stands in for the <code>null</code> key in the table. */
+    private static final Object NULL_KEY = new Object();
+
+    /** An empty array. */
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+
+    /** The values for each key (an Object[] that is never modified). */
+    private transient ConcurrentHashMap valueTable;
+
+    /**
+     * Creates a new, empty map.
+     */
+    public ConcurrentHashNMap() {
+        this.valueTable = new ConcurrentHashMap();
+    }
+
+    /**
+     * Returns the key stored in the table for a key.
+     *
+     * @param key  the key (<code>null</code> permitted).
+     *
+     * @return The stored key (never <code>null</code>).
+     */
+    private static Object maskNull(final Object key) {
+        return (key == null) ? NULL_KEY : key;
+    }
+
+    /**
+     * Returns the key for a key stored in the table.
+     *
+     * @param key  the stored key.
+     *
+     * @return The key.
+     */
+    private static Object unmaskNull(final Object key) {
+        return (key == NULL_KEY) ? null : key;
+    }
+
+    /**
+     * Returns the values for a key.
+     *
+     * @param key  the key (<code>null</code> permitted).
+     *
+     * @return The values (<code>null</code> if the key is not in the map).
+     */
+    private Object[] getValues(final Object key) {
+        return (Object[]) this.valueTable.get(maskNull(key));
+    }
+
+    /**
+     * Returns the index of a value in an array.
+     *
+     * @param values  the values.
+     * @param value  the value (<code>null</code> permitted).
+     *
+     * @return The index, or -1.
+     */
+    private static int indexOf(final Object[] values, final Object value) {
+        for (int i = 0; i < values.length; i++) {
+            if (ObjectUtilities.equal(value, values[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces the values for a key, if they are still the expected ones.
+     *
+     * @param key  the stored key.
+     * @param expected  the expected values (<code>null</code> if the key
+     *     should not be in the map).
+     * @param values  the new values (<code>null</code> removes the key).
+     *
+     * @return <code>true</code> if the values were replaced.
+     */
+    private boolean replace(final Object key, final Object[] expected,
+                            final Object[] values) {
+        if (expected == null) {
+            return values == null
+                    || this.valueTable.putIfAbsent(key, values) == null;
+        }
+        if (values == null) {
+            return this.valueTable.remove(key, expected);
+        }
+        return this.valueTable.replace(key, expected, values);
+    }
+
+    /**
+     * Adds a value for a key.
+     *
+     * @param key  the key.
+     * @param val  the value.
+     * @param onlyIfAbsent  skip the value if it is already registered for
+     *     the key?
+     *
+     * @return <code>true</code> if the value was added.
+     */
+    private boolean addValue(final Object key, final Object val,
+                             final boolean onlyIfAbsent) {
+        final Object k = maskNull(key);
+        while (true) {
+            final Object[] values = (Object[]) this.valueTable.get(k);
+            final Object[] newValues;
+            if (values == null) {
+                newValues = new Object[] {val};
+            }
+            else {
+                if (onlyIfAbsent && indexOf(values, val) >= 0) {
+                    return false;
+                }
+                newValues = new Object[values.length + 1];
+                System.arraycopy(values, 0, newValues, 0, values.length);
+                newValues[values.length] = val;
+            }
+            if (replace(k, values, newValues)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Inserts a new key/value pair into the map.  If such a pair already
+     * exists, it gets replaced with the given values.
+     *
+     * @param key  the key.
+     * @param val  the value.
+     *
+     * @return A boolean.
+     */
+    public boolean put(final Object key, final Object val) {
+        this.valueTable.put(maskNull(key), new Object[] {val});
+        return true;
+    }
+
+    /**
+     * Adds a new key/value pair into this map. If the key is not yet in the
+     * map, it gets added to the map and the call is equal to
+     * put(Object,Object).
+     *
+     * @param key  the key.
+     * @param val  the value.
+     *
+     * @return true, if  the value has been added, false otherwise
+     */
+    public boolean add(final Object key, final Object val) {
+        return addValue(key, val, false);
+    }
+
+    /**
+     * Adds a value for a key, unless the value is already registered for
+     * that key.  The test and the update are atomic.
+     *
+     * @param key  the key.
+     * @param val  the value.
+     *
+     * @return <code>true</code> if the value was added, <code>false</code>
+     *     if it was already registered.
+     */
+    public boolean putIfAbsent(final Object key, final Object val) {
+        return addValue(key, val, true);
+    }
+
+    /**
+     * Replaces the values for a key with the result of a function, as one
+     * atomic update.  The function receives a copy of the current values,
+     * and is called again if another thread changes the key before the
+     * result can be stored.
+     *
+     * @param key  the key.
+     * @param function  the function (<code>null</code> not permitted).
+     *
+     * @return The new values (never <code>null</code>).
+     */
+    public Object[] computeValues(final Object key,
+                                  final HashNMapFunction function) {
+        if (function == null) {
+            throw new NullPointerException("Null 'function' argument.");
+        }
+        final Object k = maskNull(key);
+        while (true) {
+            final Object[] values = (Object[]) this.valueTable.get(k);
+            final Object[] result = function.computeValues(key,
+                    (values == null) ? EMPTY_ARRAY : values.clone());
+            Object[] newValues = null;
+            if (result != null && result.length > 0) {
+                newValues = new Object[result.length];
+                System.arraycopy(result, 0, newValues, 0, result.length);
+            }
+            if (replace(k, values, newValues)) {
+                if (newValues == null) {
+                    return EMPTY_ARRAY;
+                }
+                return newValues.clone();
+            }
+        }
+    }
+
+    /**
+     * Retrieves the n-th value registered for an key or null if there was no
+     * such key in the list. An index out of bounds exception is thrown if
+     * there are less than n elements registered to this key.
+     *
+     * @param key  the key.
+     * @param n  the index.
+     *
+     * @return the object.
+     */
+    public Object get(final Object key, final int n) {
+        final Object[] values = getValues(key);
+        if (values == null) {
+            return null;
+        }
+        return values[n];
+    }
+
+    /**
+     * Returns an iterator over all elements registered to the given key
+     * when this method is called.  The iterator's <code>remove</code>
+     * method removes the value from the map, if it is still there.
+     *
+     * @param key  the key.
+     *
+     * @return an iterator.
+     */
+    public Iterator getAll(final Object key) {
+        final Object[] values = getValues(key);
+        if (values == null) {
+            return Collections.EMPTY_LIST.iterator();
+        }
+        return new ValueIterator(key, values);
+    }
+
+    /**
+     * Passes every value registered for a key to a consumer, without
+     * creating an iterator.  The consumer sees the values that were
+     * registered when this method was called, and may modify this map.
+     *
+     * @param key  the key.
+     * @param consumer  the consumer (<code>null</code> not permitted).
+     */
+    public void forEach(final Object key, final HashNMapConsumer consumer) {
+        if (consumer == null) {
+            throw new NullPointerException("Null 'consumer' argument.");
+        }
+        final Object[] values = getValues(key);
+        if (values == null) {
+            return;
+        }
+        for (int i = 0; i < values.length; i++) {
+            consumer.accept(key, values[i]);
+        }
+    }
+
+    /**
+     * Returns all registered keys as an enumeration.  The iterator is weakly
+     * consistent.
+     *
+     * @return an enumeration of the keys.
+     */
+    public Iterator keys() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Returns all registered keys as set.  The set is backed by this map
+     * and its iterator is weakly consistent.
+     *
+     * @return a set of keys.
+     */
+    public Set keySet() {
+        return new KeySet();
+    }
+
+    /**
+     * Removes the key/value pair from the map. If the removed entry was the
+     * last entry for this key, the key gets also removed.
+     *
+     * @param key  the key.
+     * @param value  the value.
+     *
+     * @return true, if removing the element was successfull, false otherwise.
+     */
+    public boolean remove(final Object key, final Object value) {
+        final Object k = maskNull(key);
+        while (true) {
+            final Object[] values = (Object[]) this.valueTable.get(k);
+            if (values == null) {
+                return false;
+            }
+            final int n = indexOf(values, value);
+            if (n < 0) {
+                return false;
+            }
+            Object[] newValues = null;
+            if (values.length > 1) {
+                newValues = new Object[values.length - 1];
+                System.arraycopy(values, 0, newValues, 0, n);
+                System.arraycopy(values, n + 1, newValues, n,
+                        newValues.length - n);
+            }
+            if (replace(k, values, newValues)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes all elements for the given key.
+     *
+     * @param key  the key.
+     */
+    public void removeAll(final Object key) {
+        this.valueTable.remove(maskNull(key));
+    }
+
+    /**
+     * Clears all keys and values of this map.
+     */
+    public void clear() {
+        this.valueTable.clear();
+    }
+
+    /**
+     * Tests whether this map contains the given key.
+     *
+     * @param key  the key.
+     *
+     * @return true if the key is contained in the map
+     */
+    public boolean containsKey(final Object key) {
+        return this.valueTable.containsKey(maskNull(key));
+    }
+
+    /**
+     * Tests whether this map contains the given value.
+     *
+     * @param value  the value.
+     *
+     * @return true if the value is registered in the map for an key.
+     */
+    public boolean containsValue(final Object value) {
+        final Iterator iterator = this.valueTable.values().iterator();
+        while (iterator.hasNext()) {
+            if (indexOf((Object[]) iterator.next(), value) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tests whether this map contains the given value.
+     *
+     * @param key  the key under which to find the value
+     * @param value  the value.
+     *
+     * @return true if the value is registered in the map for an key.
+     */
+    public boolean containsValue(final Object key, final Object value) {
+        final Object[] values = getValues(key);
+        return values != null && indexOf(values, value) >= 0;
+    }
+
+    /**
+     * Creates a copy of this map.  The values themselves are not cloned.
+     *
+     * @return a clone.
+     *
+     * @throws CloneNotSupportedException this should never happen.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        final ConcurrentHashNMap map = (ConcurrentHashNMap) super.clone();
+        // the value arrays are never modified, so they can be shared
+        map.valueTable = new ConcurrentHashMap(this.valueTable);
+        return map;
+    }
+
+    /**
+     * Returns the contents for the given key as object array. If there were
+     * no objects registered with that key, an empty object array is returned.
+     *
+     * @param key  the key.
+     * @param data  the object array to receive the contents.
+     *
+     * @return the contents.
+     */
+    public Object[] toArray(final Object key, final Object[] data) {
+        if (key == null) {
+            throw new NullPointerException("Key must not be null.");
+        }
+        final Object[] values = getValues(key);
+        if (values == null) {
+            if (data.length > 0) {
+                data[0] = null;
+            }
+            return data;
+        }
+        Object[] result = data;
+        if (result.length < values.length) {
+            result = (Object[]) Array.newInstance(
+                    data.getClass().getComponentType(), values.length);
+        }
+        System.arraycopy(values, 0, result, 0, values.length);
+        if (result.length > values.length) {
+            result[values.length] = null;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the contents for the given key as object array. If there were
+     * no objects registered with that key, an empty object array is returned.
+     *
+     * @param key  the key.
+     *
+     * @return the contents.
+     */
+    public Object[] toArray(final Object key) {
+        if (key == null) {
+            throw new NullPointerException("Key must not be null.");
+        }
+        final Object[] values = getValues(key);
+        if (values == null) {
+            return EMPTY_ARRAY;
+        }
+        return values.clone();
+    }
+
+    /**
+     * Returns the number of elements registered with the given key.
+     *
+     * @param key  the key.
+     *
+     * @return the number of element for this key, or 0 if there are no
+     *         elements registered.
+     */
+    public int getValueCount(final Object key) {
+        if (key == null) {
+            throw new NullPointerException("Key must not be null.");
+        }
+        final Object[] values = getValues(key);
+        return (values == null) ? 0 : values.length;
+    }
+
+    /**
+     * Writes the map to a stream: each key with its number of values and
+     * the values, followed by a <code>null</code> key with a count of -1.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException if there is an I/O error.
+     */
+    private void writeObject(final ObjectOutputStream stream)
+            throws IOException {
+        stream.defaultWriteObject();
+        final Iterator iterator = this.valueTable.keySet().iterator();
+        while (iterator.hasNext()) {
+            final Object key = iterator.next();
+            final Object[] values = (Object[]) this.valueTable.get(key);
+            if (values == null) {
+                continue;
+            }
+            stream.writeObject(unmaskNull(key));
+            stream.writeInt(values.length);
+            for (int i = 0; i < values.length; i++) {
+                stream.writeObject(values[i]);
+            }
+        }
+        stream.writeObject(null);
+        stream.writeInt(-1);
+    }
+
+    /**
+     * Restores a map written by {@link #writeObject(ObjectOutputStream)}.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException if there is an I/O error.
+     * @throws ClassNotFoundException if there is a classpath problem.
+     */
+    private void readObject(final ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.valueTable = new ConcurrentHashMap();
+        while (true) {
+            final Object key = stream.readObject();
+            final int count = stream.readInt();
+            if (count < 0) {
+                break;
+            }
+            for (int i = 0; i < count; i++) {
+                add(key, stream.readObject());
+            }
+        }
+    }
+
+    /**
+     * An iterator over a snapshot of the values for one key.
+     */
+    private final class ValueIterator implements Iterator {
+
+        /** The key. */
+        private final Object key;
+
+        /** The values. */
+        private final Object[] values;
+
+        /** The index of the next value. */
+        private int next;
+
+        /** Can the last value be removed? */
+        private boolean canRemove;
+
+        /**
+         * Creates an iterator.
+         *
+         * @param key  the key.
+         * @param values  the values.
+         */
+        private ValueIterator(final Object key, final Object[] values) {
+            this.key = key;
+            this.values = values;
+        }
+
+        /**
+         * Returns <code>true</code> if there are more values.
+         *
+         * @return A boolean.
+         */
+        public boolean hasNext() {
+            return this.next < this.values.length;
+        }
+
+        /**
+         * Returns the next value.
+         *
+         * @return The value.
+         */
+        public Object next() {
+            if (this.next >= this.values.length) {
+                throw new NoSuchElementException();
+            }
+            this.canRemove = true;
+            return this.values[this.next++];
+        }
+
+        /**
+         * Removes the last value returned by {@link #next()} from the map.
+         */
+        public void remove() {
+            if (!this.canRemove) {
+                throw new IllegalStateException();
+            }
+            this.canRemove = false;
+            ConcurrentHashNMap.this.remove(this.key,
+                    this.values[this.next - 1]);
+        }
+    }
+
+    /**
+     * A weakly consistent iterator over the keys.
+     */
+    private final class KeyIterator implements Iterator {
+
+        /** The iterator over the stored keys. */
+        private final Iterator iterator;
+
+        /**
+         * Creates an iterator.
+         */
+        private KeyIterator() {
+            this.iterator
+                    = ConcurrentHashNMap.this.valueTable.keySet().iterator();
+        }
+
+        /**
+         * Returns <code>true</code> if there are more keys.
+         *
+         * @return A boolean.
+         */
+        public boolean hasNext() {
+            return this.iterator.hasNext();
+        }
+
+        /**
+         * Returns the next key.
+         *
+         * @return The key.
+         */
+        public Object next() {
+            return unmaskNull(this.iterator.next());
+        }
+
+        /**
+         * Removes the last key returned by {@link #next()}, with all its
+         * values.
+         */
+        public void remove() {
+            this.iterator.remove();
+        }
+    }
+
+    /**
+     * A set view of the keys.
+     */
+    private final class KeySet extends AbstractSet {
+
+        /**
+         * Creates the view.
+         */
+        private KeySet() {
+            super();
+        }
+
+        /**
+         * Returns an iterator over the keys.
+         *
+         * @return The iterator.
+         */
+        public Iterator iterator() {
+            return new KeyIterator();
+        }
+
+        /**
+         * Returns the number of keys.
+         *
+         * @return The number of keys.
+         */
+        public int size() {
+            return ConcurrentHashNMap.this.valueTable.size();
+        }
+
+        /**
+         * Returns <code>true</code> if the map contains a key.
+         *
+         * @param o  the key.
+         *
+         * @return A boolean.
+         */
+        public boolean contains(final Object o) {
+            return containsKey(o);
+        }
+
+        /**
+         * Removes a key and all its values.
+         *
+         * @param o  the key.
+         *
+         * @return <code>true</code> if the key was in the map.
+         */
+        public boolean remove(final Object o) {
+            final Object k = maskNull(o);
+            return ConcurrentHashNMap.this.valueTable.remove(k) != null;
+        }
+
+        /**
+         * Removes all keys.
+         */
+        public void clear() {
+            ConcurrentHashNMap.this.clear();
+        }
+    }
+
+}
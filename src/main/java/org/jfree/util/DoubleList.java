@@ -0,0 +1,268 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------
+ * DoubleList.java
+ * ---------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A list of <code>double</code> values that can grow as required, without
+ * wrapping each value in an object.  Items that have not been set have the
+ * value <code>0.0</code>.  The capacity at least doubles each time the
+ * list grows, so filling a list of <i>n</i> items takes O(<i>n</i>) time.
+ */
+public class DoubleList implements Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2816532178236598451L;
+
+    /** Storage for the values. */
+    private transient double[] values;
+
+    /** The current list size. */
+    private int size;
+
+    /**
+     * Creates a new list with the default initial capacity.
+     */
+    public DoubleList() {
+        this(AbstractObjectList.DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a new list.
+     *
+     * @param initialCapacity  the initial capacity.
+     */
+    public DoubleList(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "Requires initialCapacity >= 0.");
+        }
+        this.values = new double[initialCapacity];
+    }
+
+    /**
+     * Returns the value at the specified index, or <code>0.0</code> if the
+     * index is outside the list.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The value.
+     */
+    public double getDouble(final int index) {
+        if (index >= 0 && index < this.size) {
+            return this.values[index];
+        }
+        return 0.0;
+    }
+
+    /**
+     * Sets the value for an item in the list.  The list is expanded if
+     * necessary.
+     *
+     * @param index  the index (zero-based).
+     * @param value  the value.
+     */
+    public void setDouble(final int index, final double value) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Requires index >= 0.");
+        }
+        if (index >= this.values.length) {
+            final int capacity = AbstractObjectList.getEnlargedCapacity(
+                    this.values.length, index,
+                    AbstractObjectList.DEFAULT_INITIAL_CAPACITY);
+            final double[] enlarged = new double[capacity];
+            System.arraycopy(this.values, 0, enlarged, 0, this.size);
+            this.values = enlarged;
+        }
+        this.values[index] = value;
+        this.size = Math.max(this.size, index + 1);
+    }
+
+    /**
+     * Returns the index of the first item with the specified value, or -1
+     * if there is no such item.
+     * Values are compared in the same way as
+     * {@link Double#equals(Object)}.
+     *
+     * @param value  the value.
+     *
+     * @return The index or -1.
+     */
+    public int indexOf(final double value) {
+        for (int index = 0; index < this.size; index++) {
+            if (Double.doubleToLongBits(this.values[index])
+                    == Double.doubleToLongBits(value)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return The size of the list.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Clears the list.
+     */
+    public void clear() {
+        Arrays.fill(this.values, 0, this.size, 0.0);
+        this.size = 0;
+    }
+
+    /**
+     * Returns the values in the list.
+     *
+     * @return A new array containing the values.
+     */
+    public double[] toArray() {
+        final double[] result = new double[this.size];
+        System.arraycopy(this.values, 0, result, 0, this.size);
+        return result;
+    }
+
+    /**
+     * Tests this list for equality with another object.  Two lists are
+     * equal if they have the same size and the same values (compared in
+     * the same way as {@link Double#equals(Object)}).
+     *
+     * @param obj  the object to test (<code>null</code> permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof DoubleList)) {
+            return false;
+        }
+        final DoubleList other = (DoubleList) obj;
+        if (this.size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (Double.doubleToLongBits(this.values[i])
+                    != Double.doubleToLongBits(other.values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code value for the object.
+     *
+     * @return The hashcode.
+     */
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < this.size; i++) {
+            final long bits = Double.doubleToLongBits(this.values[i]);
+            result = 31 * result + (int) (bits ^ (bits >>> 32));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a clone of the list.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning the
+     *         list.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        final DoubleList clone = (DoubleList) super.clone();
+        clone.values = this.values.clone();
+        return clone;
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     */
+    private void writeObject(final ObjectOutputStream stream)
+        throws IOException {
+        stream.defaultWriteObject();
+        for (int i = 0; i < this.size; i++) {
+            stream.writeDouble(this.values[i]);
+        }
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(final ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        if (this.size < 0) {
+            throw new InvalidObjectException("Negative list size.");
+        }
+        // the size comes from the stream, so grow the array as values arrive
+        final int count = this.size;
+        this.size = 0;
+        this.values = new double[Math.min(count, 65536)];
+        for (int i = 0; i < count; i++) {
+            setDouble(i, stream.readDouble());
+        }
+    }
+
+}
@@ -37,24 +37,169 @@
  * Changes
  * -------
  * 20-May-2005 : Initial version.
+ * 17-Oct-2026 : Added typed accessors that cache the parsed values, and
+ *               change listeners;
+ * 17-Oct-2026 : Implement the new TypedConfiguration interface, and do not
+ *               cache values of chains with system properties;
+ * 17-Oct-2026 : Reuse parsed values of chains with system properties while
+ *               the text is unchanged;
+ * 17-Oct-2026 : Remove the listeners of collected wrappers;
  */
 
 package org.jfree.util;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A wrapper for the extended configuration interface around a plain configuration.
+ * <p>
+ * If the wrapped configuration is an {@link ObservableConfiguration} that is
+ * {@link ObservableConfiguration#isFullyObservable() fully observable}, the
+ * typed accessors parse each property once and keep the parsed value until
+ * the wrapped configuration reports a change of the property.  Otherwise,
+ * for example if the configuration chain includes the system properties,
+ * each call reads the property again, and parses it again only if the text
+ * differs from the text of the kept value.  Listeners
+ * added to this wrapper are notified of the changes of the wrapped
+ * configuration.  If the wrapped configuration reports that any property
+ * may have changed, the change is reported for every property that has
+ * been read through this wrapper or that has a listener of its own.  The
+ * wrapped configuration only holds a weak reference to the wrapper; the
+ * listeners of wrappers that have been garbage collected are removed when
+ * the next wrapper is created.
  *
  * @author Thomas Morgner
  */
 public class ExtendedConfigurationWrapper
-        implements ExtendedConfiguration
+        implements TypedConfiguration
 {
+  /** For serialization. */
+  private static final long serialVersionUID = 6374357689284189823L;
+
+  /** The type of duration values. */
+  private static final Object DURATION = new Object();
+
+  /** The listeners of the wrappers that have been garbage collected. */
+  private static final ReferenceQueue COLLECTED = new ReferenceQueue();
+
+  /**
+   * A property value and its parsed form.
+   */
+  private static final class CachedProperty
+  {
+    /** The property value (null if the property is not set). */
+    private final String text;
+
+    /** The type of the parsed value (null for the text only). */
+    private final Object type;
+
+    /** The parsed value (null if the text cannot be parsed). */
+    private final Object value;
+
+    /**
+     * Parses a property value.
+     *
+     * @param text the property value.
+     * @param type the type of the parsed value.
+     */
+    private CachedProperty (final String text, final Object type)
+    {
+      this.text = text;
+      this.type = type;
+      this.value = parse(text, type);
+    }
+  }
+
+  /**
+   * Forwards the changes of the wrapped configuration to the wrapper, as
+   * long as the wrapper has not been garbage collected.  The listener is
+   * a weak reference to the wrapper, and is queued in {@link #COLLECTED}
+   * once the wrapper has been collected.
+   */
+  private static final class ParentListener extends WeakReference
+      implements PropertyChangeListener
+  {
+    /** The wrapped configuration. */
+    private final ObservableConfiguration parent;
+
+    /**
+     * Creates a listener and adds it to the wrapped configuration.
+     *
+     * @param wrapper the wrapper.
+     * @param parent  the wrapped configuration.
+     */
+    private ParentListener (final ExtendedConfigurationWrapper wrapper,
+                            final ObservableConfiguration parent)
+    {
+      super(wrapper, COLLECTED);
+      this.parent = parent;
+      parent.addPropertyChangeListener(this);
+    }
+
+    /**
+     * Receives a change of the wrapped configuration.
+     *
+     * @param event the event.
+     */
+    public void propertyChange (final PropertyChangeEvent event)
+    {
+      final ExtendedConfigurationWrapper wrapper =
+          (ExtendedConfigurationWrapper) get();
+      if (wrapper == null)
+      {
+        this.parent.removePropertyChangeListener(this);
+      }
+      else
+      {
+        wrapper.parentChanged(event);
+      }
+    }
+
+    /**
+     * Removes the listeners of the wrappers that have been garbage
+     * collected from their wrapped configurations.
+     */
+    private static void removeCollected ()
+    {
+      ParentListener listener = (ParentListener) COLLECTED.poll();
+      while (listener != null)
+      {
+        listener.parent.removePropertyChangeListener(listener);
+        listener = (ParentListener) COLLECTED.poll();
+      }
+    }
+  }
+
   /** The base configuration. */
   private Configuration parent;
 
+  /** The cached properties, keyed by name. */
+  private transient Map cache;
+
+  /**
+   * A flag that controls whether the typed accessors use the cached values
+   * without reading the property (false if the base configuration does not
+   * report every change).
+   */
+  private transient volatile boolean cacheable;
+
+  /** The number of changes reported by the base configuration. */
+  private transient AtomicLong changeCount;
+
+  /** The listeners. */
+  private transient PropertyChangeSupport changeSupport;
+
   /**
    * Creates a wrapper around the given configuration.
    *
@@ -68,6 +213,294 @@ public class ExtendedConfigurationWrapper
       throw new NullPointerException("Parent given must not be null");
     }
     this.parent = parent;
+    init();
+  }
+
+  /**
+   * Creates the cache and registers with the base configuration.
+   */
+  private void init ()
+  {
+    this.changeSupport = new PropertyChangeSupport(this);
+    this.changeCount = new AtomicLong();
+    this.cache = new ConcurrentHashMap();
+    if (this.parent instanceof ObservableConfiguration)
+    {
+      ParentListener.removeCollected();
+      new ParentListener(this, (ObservableConfiguration) this.parent);
+      this.cacheable = isFullyObservable();
+    }
+    else
+    {
+      this.cacheable = false;
+    }
+  }
+
+  /**
+   * Parses a property value.
+   *
+   * @param text the property value (possibly null).
+   * @param type the type of the parsed value.
+   * @return the parsed value, or null if the text is null or cannot be
+   *         parsed.
+   */
+  private static Object parse (final String text, final Object type)
+  {
+    if (text == null || type == null)
+    {
+      return null;
+    }
+    try
+    {
+      if (type == Boolean.class)
+      {
+        return Boolean.valueOf("true".equals(text));
+      }
+      if (type == Integer.class)
+      {
+        return Integer.valueOf(text);
+      }
+      if (type == Long.class)
+      {
+        return Long.valueOf(text);
+      }
+      if (type == Double.class)
+      {
+        return Double.valueOf(text);
+      }
+      if (type == DURATION)
+      {
+        return Long.valueOf(parseDuration(text));
+      }
+      return Enum.valueOf((Class) type, text.trim());
+    }
+    catch (IllegalArgumentException e)
+    {
+      // includes NumberFormatException
+      return null;
+    }
+  }
+
+  /**
+   * Parses a duration.
+   *
+   * @param text the text.
+   * @return the duration in milliseconds.
+   * @throws NumberFormatException if the text is not a valid duration.
+   */
+  private static long parseDuration (final String text)
+  {
+    final String value = text.trim();
+    int end = value.length();
+    while (end > 0 && Character.isDigit(value.charAt(end - 1)) == false)
+    {
+      end--;
+    }
+    final String unit = value.substring(end).trim();
+    final long amount = Long.parseLong(value.substring(0, end).trim());
+    final long factor;
+    if (unit.length() == 0 || "ms".equals(unit))
+    {
+      factor = 1;
+    }
+    else if ("s".equals(unit))
+    {
+      factor = 1000;
+    }
+    else if ("m".equals(unit) || "min".equals(unit))
+    {
+      factor = 60 * 1000;
+    }
+    else if ("h".equals(unit))
+    {
+      factor = 60 * 60 * 1000;
+    }
+    else if ("d".equals(unit))
+    {
+      factor = 24 * 60 * 60 * 1000;
+    }
+    else
+    {
+      throw new NumberFormatException("Unknown unit: " + unit);
+    }
+    if (amount < 0 || amount > Long.MAX_VALUE / factor)
+    {
+      throw new NumberFormatException("Invalid duration: " + text);
+    }
+    return amount * factor;
+  }
+
+  /**
+   * Returns the cached property, reading and parsing the property if it is
+   * not cached with the given type.
+   *
+   * @param name the name of the property.
+   * @param type the type of the parsed value (null if any type will do).
+   * @return the cached property.
+   */
+  private CachedProperty getCachedProperty (final String name,
+                                            final Object type)
+  {
+    CachedProperty property = (CachedProperty) this.cache.get(name);
+    if (property != null && (type == null || property.type == type))
+    {
+      return property;
+    }
+    while (true)
+    {
+      // a change may be reported while the property is read; if so the
+      // cached value may be stale, and it is read again
+      final long count = this.changeCount.get();
+      property = new CachedProperty
+          (this.parent.getConfigProperty(name), type);
+      this.cache.put(name, property);
+      if (this.changeCount.get() == count)
+      {
+        return property;
+      }
+    }
+  }
+
+  /**
+   * Returns the parsed value of a property.  If the base configuration does
+   * not report every change, the property is read on every call, and the
+   * cached value is only used if it was parsed from the same text.
+   *
+   * @param name the name of the property.
+   * @param type the type of the parsed value.
+   * @return the parsed value, or null if the property is not set or cannot
+   *         be parsed.
+   */
+  Object getParsedValue (final String name, final Object type)
+  {
+    if (this.cacheable)
+    {
+      return getCachedProperty(name, type).value;
+    }
+    final String text = this.parent.getConfigProperty(name);
+    final CachedProperty cached = (CachedProperty) this.cache.get(name);
+    if (cached != null && cached.type == type
+        && ObjectUtilities.equal(text, cached.text))
+    {
+      return cached.value;
+    }
+    final CachedProperty property = new CachedProperty(text, type);
+    this.cache.put(name, property);
+    return property.value;
+  }
+
+  /**
+   * Receives a change of the base configuration, updates the cache and
+   * notifies the listeners.
+   *
+   * @param event the event.
+   */
+  private void parentChanged (final PropertyChangeEvent event)
+  {
+    this.changeCount.incrementAndGet();
+    final String name = event.getPropertyName();
+    if (name != null)
+    {
+      if (this.cache.containsKey(name))
+      {
+        this.cache.put(name, new CachedProperty
+            (this.parent.getConfigProperty(name), null));
+      }
+      this.changeSupport.firePropertyChange
+          (name, event.getOldValue(), event.getNewValue());
+      return;
+    }
+
+    // the chain itself may have changed, so that it includes or no longer
+    // includes values that are changed without notice
+    final boolean fullyObservable = isFullyObservable();
+    if (fullyObservable == false)
+    {
+      this.cacheable = false;
+    }
+
+    // any property may have changed, so check the known ones
+    final Iterator it = this.cache.entrySet().iterator();
+    while (it.hasNext())
+    {
+      final Map.Entry entry = (Map.Entry) it.next();
+      final String key = (String) entry.getKey();
+      final CachedProperty property = (CachedProperty) entry.getValue();
+      final String text = this.parent.getConfigProperty(key);
+      if (ObjectUtilities.equal(text, property.text) == false)
+      {
+        this.cache.put(key, new CachedProperty(text, null));
+        this.changeSupport.firePropertyChange(key, property.text, text);
+      }
+    }
+    this.cacheable = fullyObservable;
+    this.changeSupport.firePropertyChange(null, null, null);
+  }
+
+  /**
+   * Returns true if the wrapped configuration reports every change of a
+   * property value.
+   *
+   * @return true, if every change is reported.
+   */
+  public boolean isFullyObservable ()
+  {
+    return this.parent instanceof ObservableConfiguration
+        && ((ObservableConfiguration) this.parent).isFullyObservable();
+  }
+
+  /**
+   * Adds a listener that is notified when any property changes.  The
+   * listener is never notified if the wrapped configuration is not an
+   * {@link ObservableConfiguration}.
+   *
+   * @param listener the listener.
+   */
+  public void addPropertyChangeListener (final PropertyChangeListener listener)
+  {
+    this.changeSupport.addPropertyChangeListener(listener);
+  }
+
+  /**
+   * Adds a listener that is notified when the given property changes.  The
+   * listener is never notified if the wrapped configuration is not an
+   * {@link ObservableConfiguration}.
+   *
+   * @param name     the name of the property.
+   * @param listener the listener.
+   */
+  public void addPropertyChangeListener (final String name,
+                                         final PropertyChangeListener listener)
+  {
+    if (this.parent instanceof ObservableConfiguration)
+    {
+      // remember the current value, so that reloads can be checked
+      getCachedProperty(name, null);
+    }
+    this.changeSupport.addPropertyChangeListener(name, listener);
+  }
+
+  /**
+   * Removes a listener.
+   *
+   * @param listener the listener.
+   */
+  public void removePropertyChangeListener
+      (final PropertyChangeListener listener)
+  {
+    this.changeSupport.removePropertyChangeListener(listener);
+  }
+
+  /**
+   * Removes a listener for the given property.
+   *
+   * @param name     the name of the property.
+   * @param listener the listener.
+   */
+  public void removePropertyChangeListener
+      (final String name, final PropertyChangeListener listener)
+  {
+    this.changeSupport.removePropertyChangeListener(name, listener);
   }
 
   /**
@@ -94,7 +527,12 @@ public class ExtendedConfigurationWrapper
   public boolean getBoolProperty (final String name,
                                   final boolean defaultValue)
   {
-    return "true".equals(this.parent.getConfigProperty(name, String.valueOf(defaultValue)));
+    final Boolean value = (Boolean) getParsedValue(name, Boolean.class);
+    if (value == null)
+    {
+      return defaultValue;
+    }
+    return value.booleanValue();
   }
 
   /**
@@ -120,19 +558,104 @@ public class ExtendedConfigurationWrapper
   public int getIntProperty (final String name,
                              final int defaultValue)
   {
-    final String retval = this.parent.getConfigProperty(name);
-    if (retval == null)
+    final Integer value = (Integer) getParsedValue(name, Integer.class);
+    if (value == null)
     {
       return defaultValue;
     }
-    try
+    return value.intValue();
+  }
+
+  /**
+   * Returns a given property as long value. The specified default value is
+   * returned if the property value is no number or the property is not set.
+   *
+   * @param name the name of the property
+   * @param defaultValue the value to be returned if the property is no long
+   *                     value
+   * @return the parsed number value or the specified default value
+   */
+  public long getLongProperty (final String name,
+                               final long defaultValue)
+  {
+    final Long value = (Long) getParsedValue(name, Long.class);
+    if (value == null)
+    {
+      return defaultValue;
+    }
+    return value.longValue();
+  }
+
+  /**
+   * Returns a given property as double value. The specified default value is
+   * returned if the property value is no number or the property is not set.
+   *
+   * @param name the name of the property
+   * @param defaultValue the value to be returned if the property is no
+   *                     number
+   * @return the parsed number value or the specified default value
+   */
+  public double getDoubleProperty (final String name,
+                                   final double defaultValue)
+  {
+    final Double value = (Double) getParsedValue(name, Double.class);
+    if (value == null)
+    {
+      return defaultValue;
+    }
+    return value.doubleValue();
+  }
+
+  /**
+   * Returns a given property as duration in milliseconds. The specified
+   * default value is returned if the property value is no duration or the
+   * property is not set.
+   *
+   * @param name the name of the property
+   * @param defaultValue the value to be returned if the property is no
+   *                     duration
+   * @return the duration in milliseconds or the specified default value
+   */
+  public long getDurationProperty (final String name,
+                                   final long defaultValue)
+  {
+    final Long value = (Long) getParsedValue(name, DURATION);
+    if (value == null)
+    {
+      return defaultValue;
+    }
+    return value.longValue();
+  }
+
+  /**
+   * Returns a given property as enum constant. The specified default value
+   * is returned if the property value is not the name of a constant of the
+   * enum type or the property is not set.
+   *
+   * @param name the name of the property
+   * @param type the enum type
+   * @param defaultValue the value to be returned if the property is no
+   *                     constant of the enum type
+   * @return the enum constant or the specified default value
+   */
+  public Enum getEnumProperty (final String name,
+                               final Class type,
+                               final Enum defaultValue)
+  {
+    if (type == null)
+    {
+      throw new NullPointerException("Null 'type' argument.");
+    }
+    if (type.isEnum() == false)
     {
-      return Integer.parseInt(retval);
+      throw new IllegalArgumentException("Not an enum type: " + type);
     }
-    catch (Exception e)
+    final Enum value = (Enum) getParsedValue(name, type);
+    if (value == null)
     {
       return defaultValue;
     }
+    return value;
   }
 
   /**
@@ -205,6 +728,22 @@ public class ExtendedConfigurationWrapper
   {
     ExtendedConfigurationWrapper wrapper = (ExtendedConfigurationWrapper) super.clone();
     wrapper.parent = (Configuration) this.parent.clone();
-    return this.parent;
+    wrapper.init();
+    return wrapper;
+  }
+
+  /**
+   * Helper method for serialization.
+   *
+   * @param in the input stream from where to read the serialized object.
+   * @throws IOException            when reading the stream fails.
+   * @throws ClassNotFoundException if a class definition for a serialized
+   *                                object could not be found.
+   */
+  private void readObject (final ObjectInputStream in)
+      throws IOException, ClassNotFoundException
+  {
+    in.defaultReadObject();
+    init();
   }
 }
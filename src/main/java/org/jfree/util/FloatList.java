@@ -0,0 +1,267 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * --------------
+ * FloatList.java
+ * --------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A list of <code>float</code> values that can grow as required, without
+ * wrapping each value in an object.  Items that have not been set have the
+ * value <code>0.0f</code>.  The capacity at least doubles each time the
+ * list grows, so filling a list of <i>n</i> items takes O(<i>n</i>) time.
+ */
+public class FloatList implements Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 6129487706410837196L;
+
+    /** Storage for the values. */
+    private transient float[] values;
+
+    /** The current list size. */
+    private int size;
+
+    /**
+     * Creates a new list with the default initial capacity.
+     */
+    public FloatList() {
+        this(AbstractObjectList.DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a new list.
+     *
+     * @param initialCapacity  the initial capacity.
+     */
+    public FloatList(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "Requires initialCapacity >= 0.");
+        }
+        this.values = new float[initialCapacity];
+    }
+
+    /**
+     * Returns the value at the specified index, or <code>0.0f</code> if the
+     * index is outside the list.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The value.
+     */
+    public float getFloat(final int index) {
+        if (index >= 0 && index < this.size) {
+            return this.values[index];
+        }
+        return 0.0f;
+    }
+
+    /**
+     * Sets the value for an item in the list.  The list is expanded if
+     * necessary.
+     *
+     * @param index  the index (zero-based).
+     * @param value  the value.
+     */
+    public void setFloat(final int index, final float value) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Requires index >= 0.");
+        }
+        if (index >= this.values.length) {
+            final int capacity = AbstractObjectList.getEnlargedCapacity(
+                    this.values.length, index,
+                    AbstractObjectList.DEFAULT_INITIAL_CAPACITY);
+            final float[] enlarged = new float[capacity];
+            System.arraycopy(this.values, 0, enlarged, 0, this.size);
+            this.values = enlarged;
+        }
+        this.values[index] = value;
+        this.size = Math.max(this.size, index + 1);
+    }
+
+    /**
+     * Returns the index of the first item with the specified value, or -1
+     * if there is no such item.
+     * Values are compared in the same way as
+     * {@link Float#equals(Object)}.
+     *
+     * @param value  the value.
+     *
+     * @return The index or -1.
+     */
+    public int indexOf(final float value) {
+        for (int index = 0; index < this.size; index++) {
+            if (Float.floatToIntBits(this.values[index])
+                    == Float.floatToIntBits(value)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return The size of the list.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Clears the list.
+     */
+    public void clear() {
+        Arrays.fill(this.values, 0, this.size, 0.0f);
+        this.size = 0;
+    }
+
+    /**
+     * Returns the values in the list.
+     *
+     * @return A new array containing the values.
+     */
+    public float[] toArray() {
+        final float[] result = new float[this.size];
+        System.arraycopy(this.values, 0, result, 0, this.size);
+        return result;
+    }
+
+    /**
+     * Tests this list for equality with another object.  Two lists are
+     * equal if they have the same size and the same values (compared in
+     * the same way as {@link Float#equals(Object)}).
+     *
+     * @param obj  the object to test (<code>null</code> permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof FloatList)) {
+            return false;
+        }
+        final FloatList other = (FloatList) obj;
+        if (this.size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (Float.floatToIntBits(this.values[i])
+                    != Float.floatToIntBits(other.values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code value for the object.
+     *
+     * @return The hashcode.
+     */
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < this.size; i++) {
+            result = 31 * result + Float.floatToIntBits(this.values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a clone of the list.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning the
+     *         list.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        final FloatList clone = (FloatList) super.clone();
+        clone.values = this.values.clone();
+        return clone;
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     */
+    private void writeObject(final ObjectOutputStream stream)
+        throws IOException {
+        stream.defaultWriteObject();
+        for (int i = 0; i < this.size; i++) {
+            stream.writeFloat(this.values[i]);
+        }
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(final ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        if (this.size < 0) {
+            throw new InvalidObjectException("Negative list size.");
+        }
+        // the size comes from the stream, so grow the array as values arrive
+        final int count = this.size;
+        this.size = 0;
+        this.values = new float[Math.min(count, 65536)];
+        for (int i = 0; i < count; i++) {
+            setFloat(i, stream.readFloat());
+        }
+    }
+
+}
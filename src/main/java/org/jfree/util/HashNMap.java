@@ -42,6 +42,9 @@
  * 12-Mar-2005 : Some performance improvements, this implementation is no 
  *               longer forced to use ArrayLists, add/put behaviour changed to 
  *               fit the common behaviour of collections.
+ * 17-Oct-2026 : Added forEach(Object, HashNMapConsumer), see also
+ *               CompactHashNMap;
+ * 17-Oct-2026 : Minor Javadoc updates;
  *
  */
 
@@ -53,12 +56,17 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import java.util.Set;
 
 /**
  * The HashNMap can be used to store multiple values by a single key value. The
  * values stored can be retrieved using a direct query or by creating an
  * enumeration over the stored elements.
+ * <p>
+ * {@link CompactHashNMap} offers the same API with much less memory per key.
+ * This class is not synchronized; {@link ConcurrentHashNMap} is a
+ * thread-safe variant.
  *
  * @author Thomas Morgner
  */
@@ -236,6 +244,35 @@ public class HashNMap implements Serializable, Cloneable {
         return v.iterator();
     }
 
+    /**
+     * Passes every value registered for a key to a consumer.  The consumer
+     * must not modify this map.
+     *
+     * @param key the key.
+     * @param consumer the consumer (<code>null</code> not permitted).
+     */
+    public void forEach(final Object key, final HashNMapConsumer consumer) {
+        if (consumer == null) {
+            throw new NullPointerException("Null 'consumer' argument.");
+        }
+        final List v = (List) this.table.get(key);
+        if (v == null) {
+            return;
+        }
+        if (v instanceof RandomAccess) {
+            final int size = v.size();
+            for (int i = 0; i < size; i++) {
+                consumer.accept(key, v.get(i));
+            }
+        }
+        else {
+            final Iterator it = v.iterator();
+            while (it.hasNext()) {
+                consumer.accept(key, it.next());
+            }
+        }
+    }
+
     /**
      * Returns all registered keys as an enumeration.
      *
@@ -0,0 +1,63 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------------
+ * HashNMapFunction.java
+ * ---------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+/**
+ * Computes new values for a key in a {@link ConcurrentHashNMap}, see
+ * {@link ConcurrentHashNMap#computeValues(Object, HashNMapFunction)}.
+ */
+public interface HashNMapFunction {
+
+    /**
+     * Returns the new values for a key.  The method may be called more than
+     * once for the same update if other threads modify the key at the same
+     * time, so it should not have side effects.
+     *
+     * @param key  the key (<code>null</code> permitted).
+     * @param values  a copy of the current values (never <code>null</code>,
+     *     empty if the key is not in the map).
+     *
+     * @return The new values (<code>null</code> or an empty array removes
+     *     the key).
+     */
+    public Object[] computeValues(Object key, Object[] values);
+
+}
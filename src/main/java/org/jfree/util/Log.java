@@ -38,6 +38,12 @@
  * -------
  * 29-Apr-2003 : Distilled from the JFreeReport project and moved into JCommon
  * 11-Jun-2003 : Removing LogTarget did not work. 
+ * 17-Oct-2026 : Added parameterised and supplier log methods, and stored
+ *               SimpleMessage parameters without an array;
+ * 17-Oct-2026 : Added per-context log levels, and a lock-free registry of
+ *               log contexts;
+ * 17-Oct-2026 : Replaced dispatch() with doLog() methods that take a
+ *               levelChecked flag, so that all messages pass through doLog;
  * 
  */
 
@@ -45,7 +51,11 @@ package org.jfree.util;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A simple logging facility. Create a class implementing the {@link org.jfree.util.LogTarget}
@@ -56,7 +66,8 @@ import java.util.HashMap;
 public class Log {
 
     /**
-     * A simple message class.
+     * A simple message class.  The message text and the parameters are only
+     * concatenated when {@link #toString()} is called.
      */
     public static class SimpleMessage {
 
@@ -66,10 +77,25 @@ public class Log {
         private String message;
 
         /**
-         * The parameters.
+         * The parameters (only used by the array constructor).
          */
         private Object[] param;
 
+        /** The first parameter. */
+        private Object param1;
+
+        /** The second parameter. */
+        private Object param2;
+
+        /** The third parameter. */
+        private Object param3;
+
+        /** The fourth parameter. */
+        private Object param4;
+
+        /** The number of parameters held in the paramN fields. */
+        private int count;
+
         /**
          * Creates a new message.
          *
@@ -78,7 +104,8 @@ public class Log {
          */
         public SimpleMessage(final String message, final Object param1) {
             this.message = message;
-            this.param = new Object[]{param1};
+            this.param1 = param1;
+            this.count = 1;
         }
 
         /**
@@ -91,7 +118,9 @@ public class Log {
         public SimpleMessage(final String message, final Object param1,
                              final Object param2) {
             this.message = message;
-            this.param = new Object[]{param1, param2};
+            this.param1 = param1;
+            this.param2 = param2;
+            this.count = 2;
         }
 
         /**
@@ -105,7 +134,10 @@ public class Log {
         public SimpleMessage(final String message, final Object param1,
                              final Object param2, final Object param3) {
             this.message = message;
-            this.param = new Object[]{param1, param2, param3};
+            this.param1 = param1;
+            this.param2 = param2;
+            this.param3 = param3;
+            this.count = 3;
         }
 
         /**
@@ -121,7 +153,11 @@ public class Log {
                              final Object param2, final Object param3,
                              final Object param4) {
             this.message = message;
-            this.param = new Object[]{param1, param2, param3, param4};
+            this.param1 = param1;
+            this.param2 = param2;
+            this.param3 = param3;
+            this.param4 = param4;
+            this.count = 4;
         }
 
         /**
@@ -141,41 +177,130 @@ public class Log {
          * @return the string.
          */
         public String toString() {
-            final StringBuffer b = new StringBuffer();
-            b.append(this.message);
-            if (this.param != null) {
-                for (int i = 0; i < this.param.length; i++) {
-                    b.append(this.param[i]);
+            final MessageBuffer buffer = (MessageBuffer) BUFFERS.get();
+            final StringBuilder b = buffer.acquire();
+            try {
+                b.append(this.message);
+                if (this.param != null) {
+                    for (int i = 0; i < this.param.length; i++) {
+                        b.append(this.param[i]);
+                    }
+                }
+                if (this.count > 0) {
+                    b.append(this.param1);
+                }
+                if (this.count > 1) {
+                    b.append(this.param2);
                 }
+                if (this.count > 2) {
+                    b.append(this.param3);
+                }
+                if (this.count > 3) {
+                    b.append(this.param4);
+                }
+                return b.toString();
+            }
+            finally {
+                buffer.release(b);
             }
-            return b.toString();
         }
     }
 
+    /**
+     * A per-thread buffer for building log messages.  A nested use (for
+     * example, when the toString() method of a parameter logs a message
+     * itself) gets a new buffer instead of the shared one.
+     */
+    private static final class MessageBuffer {
+
+        /** The initial capacity of a buffer. */
+        private static final int INITIAL_CAPACITY = 256;
+
+        /** The largest capacity that is kept for the next message. */
+        private static final int MAX_CAPACITY = 4096;
+
+        /** The buffer. */
+        private StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+
+        /** Is the buffer in use? */
+        private boolean busy;
+
+        /**
+         * Returns an empty buffer.
+         *
+         * @return The buffer.
+         */
+        StringBuilder acquire() {
+            if (this.busy) {
+                return new StringBuilder(INITIAL_CAPACITY);
+            }
+            this.busy = true;
+            this.buffer.setLength(0);
+            return this.buffer;
+        }
+
+        /**
+         * Returns a buffer obtained from {@link #acquire()}.
+         *
+         * @param b  the buffer.
+         */
+        void release(final StringBuilder b) {
+            if (b != this.buffer) {
+                return;
+            }
+            if (b.capacity() > MAX_CAPACITY) {
+                this.buffer = new StringBuilder(INITIAL_CAPACITY);
+            }
+            this.busy = false;
+        }
+    }
+
+    /** The message buffers for each thread. */
+    private static final ThreadLocal BUFFERS = new ThreadLocal() {
+        protected Object initialValue() {
+            return new MessageBuffer();
+        }
+    };
 
     /**
      * The logging threshold.
      */
-    private int debuglevel;
+    private volatile int debuglevel;
 
     /**
      * Storage for the log targets.
      */
     private LogTarget[] logTargets;
 
-    /** The log contexts. */
-    private HashMap logContexts;
+    /**
+     * The log levels for context prefixes (maps String to Integer).  The map
+     * is replaced, never modified.
+     */
+    private volatile Map contextLevels;
+
+    /**
+     * The log contexts (shared by all Log instances, so that contexts created
+     * before a new instance is defined follow its levels).
+     */
+    private static final ConcurrentHashMap LOG_CONTEXTS =
+            new ConcurrentHashMap();
+
+    /** The registry key for the context without a name. */
+    private static final Object NULL_CONTEXT = new Object();
+
+    /** Incremented whenever the levels of the log contexts are updated. */
+    private static volatile int levelVersion;
 
     /**
      * the singleton instance of the Log system.
      */
-    private static Log singleton;
+    private static volatile Log singleton;
 
     /**
      * Creates a new Log instance. The Log is used to manage the log targets.
      */
     protected Log() {
-        this.logContexts = new HashMap();
+        this.contextLevels = Collections.EMPTY_MAP;
         this.logTargets = new LogTarget[0];
         this.debuglevel = 100;
     }
@@ -185,11 +310,17 @@ public class Log {
      *
      * @return the singleton instance.
      */
-    public static synchronized Log getInstance() {
-        if (singleton == null) {
-            singleton = new Log();
+    public static Log getInstance() {
+        final Log log = singleton;
+        if (log != null) {
+            return log;
+        }
+        synchronized (Log.class) {
+            if (singleton == null) {
+                singleton = new Log();
+            }
+            return singleton;
         }
-        return singleton;
     }
 
     /**
@@ -199,6 +330,7 @@ public class Log {
      */
     protected static synchronized void defineLog(final Log log) {
         singleton = log;
+        updateContextLevels();
     }
 
     /**
@@ -219,6 +351,129 @@ public class Log {
      */
     protected void setDebuglevel(final int debuglevel) {
         this.debuglevel = debuglevel;
+        if (this == singleton) {
+            updateContextLevels();
+        }
+    }
+
+    /**
+     * Returns the log level for a log context.  This is the level of the
+     * longest prefix of the context name (ending before a '.') that has a
+     * level of its own, or the debug level if there is none.  For example,
+     * the level for <code>org.jfree.xml.parser</code> is looked up for
+     * <code>org.jfree.xml.parser</code>, <code>org.jfree.xml</code>,
+     * <code>org.jfree</code> and <code>org</code>, in that order.
+     *
+     * @param context  the context name (<code>null</code> permitted).
+     *
+     * @return The log level.
+     */
+    public int getContextLevel(final String context) {
+        final Map levels = this.contextLevels;
+        if (context != null && !levels.isEmpty()) {
+            String prefix = context;
+            while (true) {
+                final Integer level = (Integer) levels.get(prefix);
+                if (level != null) {
+                    return level.intValue();
+                }
+                final int dot = prefix.lastIndexOf('.');
+                if (dot < 0) {
+                    break;
+                }
+                prefix = prefix.substring(0, dot);
+            }
+        }
+        return this.debuglevel;
+    }
+
+    /**
+     * Sets the log level for all contexts whose name is, or starts with,
+     * the given prefix followed by a '.'.  The contexts that already exist
+     * are updated immediately.
+     *
+     * @param prefix  the prefix (<code>null</code> not permitted).
+     * @param level  the log level.
+     */
+    public void setContextLevel(final String prefix, final int level) {
+        if (prefix == null) {
+            throw new NullPointerException("Null 'prefix' argument.");
+        }
+        synchronized (this) {
+            final HashMap levels = new HashMap(this.contextLevels);
+            levels.put(prefix, new Integer(level));
+            this.contextLevels = levels;
+        }
+        if (this == singleton) {
+            updateContextLevels();
+        }
+    }
+
+    /**
+     * Removes the log level for a prefix, so that the contexts with that
+     * prefix use the level of a shorter prefix (or the debug level) again.
+     *
+     * @param prefix  the prefix (<code>null</code> not permitted).
+     */
+    public void removeContextLevel(final String prefix) {
+        if (prefix == null) {
+            throw new NullPointerException("Null 'prefix' argument.");
+        }
+        synchronized (this) {
+            if (!this.contextLevels.containsKey(prefix)) {
+                return;
+            }
+            final HashMap levels = new HashMap(this.contextLevels);
+            levels.remove(prefix);
+            this.contextLevels = levels;
+        }
+        if (this == singleton) {
+            updateContextLevels();
+        }
+    }
+
+    /**
+     * Replaces all the prefix log levels.
+     *
+     * @param levels  a map from prefix (String) to log level (Integer)
+     *                (<code>null</code> not permitted).
+     */
+    public void setContextLevels(final Map levels) {
+        if (levels == null) {
+            throw new NullPointerException("Null 'levels' argument.");
+        }
+        final HashMap copy = new HashMap(levels);
+        final Iterator iterator = copy.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry entry = (Map.Entry) iterator.next();
+            if (!(entry.getKey() instanceof String)
+                    || !(entry.getValue() instanceof Integer)) {
+                throw new IllegalArgumentException(
+                        "Levels must map String to Integer.");
+            }
+        }
+        synchronized (this) {
+            this.contextLevels = copy;
+        }
+        if (this == singleton) {
+            updateContextLevels();
+        }
+    }
+
+    /**
+     * Resolves the level of every log context again, using the current log
+     * instance.
+     */
+    private static void updateContextLevels() {
+        synchronized (LOG_CONTEXTS) {
+            levelVersion++;
+            final Log log = getInstance();
+            final Iterator iterator = LOG_CONTEXTS.values().iterator();
+            while (iterator.hasNext()) {
+                final LogContext ctx = (LogContext) iterator.next();
+                ctx.setLevel(log.getContextLevel(ctx.getContextPrefix()));
+            }
+        }
     }
 
     /**
@@ -351,6 +606,162 @@ public class Log {
         log(LogTarget.ERROR, message, e);
     }
 
+    /**
+     * A convenience method for logging a 'debug' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     */
+    public static void debug(final String pattern, final Object param1,
+                             final Object param2) {
+        log(LogTarget.DEBUG, pattern, param1, param2);
+    }
+
+    /**
+     * A convenience method for logging a 'debug' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     * @param param3  parameter 3.
+     */
+    public static void debug(final String pattern, final Object param1,
+                             final Object param2, final Object param3) {
+        log(LogTarget.DEBUG, pattern, param1, param2, param3);
+    }
+
+    /**
+     * A convenience method for logging a 'debug' message.
+     * The supplier is only called if the message will be logged.
+     *
+     * @param supplier the message supplier.
+     */
+    public static void debug(final LogMessageSupplier supplier) {
+        log(LogTarget.DEBUG, supplier);
+    }
+
+    /**
+     * A convenience method for logging an 'info' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     */
+    public static void info(final String pattern, final Object param1,
+                            final Object param2) {
+        log(LogTarget.INFO, pattern, param1, param2);
+    }
+
+    /**
+     * A convenience method for logging an 'info' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     * @param param3  parameter 3.
+     */
+    public static void info(final String pattern, final Object param1,
+                            final Object param2, final Object param3) {
+        log(LogTarget.INFO, pattern, param1, param2, param3);
+    }
+
+    /**
+     * A convenience method for logging an 'info' message.
+     * The supplier is only called if the message will be logged.
+     *
+     * @param supplier the message supplier.
+     */
+    public static void info(final LogMessageSupplier supplier) {
+        log(LogTarget.INFO, supplier);
+    }
+
+    /**
+     * A convenience method for logging a 'warning' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     */
+    public static void warn(final String pattern, final Object param1,
+                            final Object param2) {
+        log(LogTarget.WARN, pattern, param1, param2);
+    }
+
+    /**
+     * A convenience method for logging a 'warning' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     * @param param3  parameter 3.
+     */
+    public static void warn(final String pattern, final Object param1,
+                            final Object param2, final Object param3) {
+        log(LogTarget.WARN, pattern, param1, param2, param3);
+    }
+
+    /**
+     * A convenience method for logging a 'warning' message.
+     * The supplier is only called if the message will be logged.
+     *
+     * @param supplier the message supplier.
+     */
+    public static void warn(final LogMessageSupplier supplier) {
+        log(LogTarget.WARN, supplier);
+    }
+
+    /**
+     * A convenience method for logging an 'error' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     */
+    public static void error(final String pattern, final Object param1,
+                             final Object param2) {
+        log(LogTarget.ERROR, pattern, param1, param2);
+    }
+
+    /**
+     * A convenience method for logging an 'error' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     * @param param3  parameter 3.
+     */
+    public static void error(final String pattern, final Object param1,
+                             final Object param2, final Object param3) {
+        log(LogTarget.ERROR, pattern, param1, param2, param3);
+    }
+
+    /**
+     * A convenience method for logging an 'error' message.
+     * The supplier is only called if the message will be logged.
+     *
+     * @param supplier the message supplier.
+     */
+    public static void error(final LogMessageSupplier supplier) {
+        log(LogTarget.ERROR, supplier);
+    }
+
     /**
      * Logs a message to the main log stream.  All attached log targets will also
      * receive this message. If the given log-level is higher than the given debug-level
@@ -359,14 +770,32 @@ public class Log {
      * @param level   log level of the message.
      * @param message text to be logged.
      */
-    protected void doLog(int level, final Object message) {
+    protected void doLog(final int level, final Object message) {
+        doLog(level, message, false);
+    }
+
+    /**
+     * Logs a message to all log targets.  Every message passes through this
+     * method: the static log methods and the log contexts whose level is
+     * not more verbose than the debug level call it through
+     * {@link #doLog(int, Object)}, and a {@link LogContext} calls it
+     * directly (with <code>levelChecked</code> set) for a message that only
+     * its own level allows.
+     *
+     * @param level        log level of the message.
+     * @param message      text to be logged.
+     * @param levelChecked true if the caller has already checked the level,
+     *                     false to check it against the debug level.
+     */
+    protected void doLog(int level, final Object message,
+                         final boolean levelChecked) {
         if (level > 3) {
             level = 3;
         }
-        if (level <= this.debuglevel) {
-            for (int i = 0; i < this.logTargets.length; i++) {
-                final LogTarget t = this.logTargets[i];
-                t.log(level, message);
+        if (levelChecked || level <= this.debuglevel) {
+            final LogTarget[] targets = this.logTargets;
+            for (int i = 0; i < targets.length; i++) {
+                targets[i].log(level, message);
             }
         }
     }
@@ -398,6 +827,61 @@ public class Log {
         getInstance().doLog(level, message, e);
     }
 
+    /**
+     * Logs a parameterised message to the main log stream, if the level is
+     * enabled.  Each <code>{}</code> in the pattern is replaced by the next
+     * parameter (extra placeholders are left as they are).  The message is
+     * built in a reusable per-thread buffer, and nothing is built at all if
+     * the level is disabled.
+     *
+     * @param level   log level of the message.
+     * @param pattern the message pattern.
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     */
+    public static void log(final int level, final String pattern,
+                           final Object param1, final Object param2) {
+        final Log log = getInstance();
+        if (log.isEnabled(level)) {
+            log.doLog(level, format(null, pattern, 2, param1, param2, null));
+        }
+    }
+
+    /**
+     * Logs a parameterised message to the main log stream, if the level is
+     * enabled.  See {@link #log(int, String, Object, Object)}.
+     *
+     * @param level   log level of the message.
+     * @param pattern the message pattern.
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     * @param param3  parameter 3.
+     */
+    public static void log(final int level, final String pattern,
+                           final Object param1, final Object param2,
+                           final Object param3) {
+        final Log log = getInstance();
+        if (log.isEnabled(level)) {
+            log.doLog(level, format(null, pattern, 3, param1, param2,
+                    param3));
+        }
+    }
+
+    /**
+     * Logs the message returned by a supplier to the main log stream.  The
+     * supplier is only called if the level is enabled.
+     *
+     * @param level    log level of the message.
+     * @param supplier the message supplier (<code>null</code> permitted).
+     */
+    public static void log(final int level,
+                           final LogMessageSupplier supplier) {
+        final Log log = getInstance();
+        if (log.isEnabled(level)) {
+            log.doLog(level, supplier != null ? supplier.getMessage() : null);
+        }
+    }
+
     /**
      * Logs a message to the main log stream. All attached logTargets will also
      * receive this message. If the given log-level is higher than the given debug-level
@@ -409,15 +893,30 @@ public class Log {
      * @param message text to be logged.
      * @param e       the exception, which should be logged.
      */
-    protected void doLog(int level, final Object message, final Exception e) {
+    protected void doLog(final int level, final Object message,
+                         final Exception e) {
+        doLog(level, message, e, false);
+    }
+
+    /**
+     * Logs a message and an exception to all log targets.  See
+     * {@link #doLog(int, Object, boolean)}.
+     *
+     * @param level        log level of the message.
+     * @param message      text to be logged.
+     * @param e            the exception, which should be logged.
+     * @param levelChecked true if the caller has already checked the level,
+     *                     false to check it against the debug level.
+     */
+    protected void doLog(int level, final Object message, final Exception e,
+                         final boolean levelChecked) {
         if (level > 3) {
             level = 3;
         }
-
-        if (level <= this.debuglevel) {
-            for (int i = 0; i < this.logTargets.length; i++) {
-                final LogTarget t = this.logTargets[i];
-                t.log(level, message, e);
+        if (levelChecked || level <= this.debuglevel) {
+            final LogTarget[] targets = this.logTargets;
+            for (int i = 0; i < targets.length; i++) {
+                targets[i].log(level, message, e);
             }
         }
     }
@@ -470,6 +969,17 @@ public class Log {
         return getInstance().getDebuglevel() >= LogTarget.ERROR;
     }
 
+    /**
+     * Returns true, if messages with the given log level are printed.
+     *
+     * @param level  the log level.
+     *
+     * @return true, if messages with the log level are allowed.
+     */
+    public boolean isEnabled(final int level) {
+        return Math.min(level, LogTarget.DEBUG) <= this.debuglevel;
+    }
+
     /**
      * Creates a log context.
      * 
@@ -500,14 +1010,70 @@ public class Log {
      * @return A log context.
      */
     protected LogContext internalCreateContext(final String context) {
-        synchronized (this) {
-            LogContext ctx = (LogContext) this.logContexts.get(context);
-            if (ctx == null) {
-                ctx = new LogContext(context);
-                this.logContexts.put(context, ctx);
+        final Object key = (context != null ? (Object) context : NULL_CONTEXT);
+        final LogContext existing = (LogContext) LOG_CONTEXTS.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        final LogContext ctx = new LogContext(context);
+        final LogContext other = (LogContext) LOG_CONTEXTS.putIfAbsent(key,
+                ctx);
+        if (other != null) {
+            return other;
+        }
+        // until its level is set the context uses the debug level, and if the
+        // levels change meanwhile the lookup is repeated
+        int version;
+        do {
+            version = levelVersion;
+            ctx.setLevel(getInstance().getContextLevel(context));
+        }
+        while (version != levelVersion);
+        return ctx;
+    }
+
+    /**
+     * Formats a message pattern, replacing each <code>{}</code> with the
+     * next parameter.  Placeholders without a parameter are left unchanged.
+     *
+     * @param prefix  a prefix that is followed by ':' (<code>null</code>
+     *                for none).
+     * @param pattern the pattern (<code>null</code> permitted).
+     * @param count   the number of parameters (0 to 3).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     * @param param3  parameter 3.
+     *
+     * @return The message.
+     */
+    static String format(final String prefix, final String pattern,
+                         final int count, final Object param1,
+                         final Object param2, final Object param3) {
+        final MessageBuffer buffer = (MessageBuffer) BUFFERS.get();
+        final StringBuilder b = buffer.acquire();
+        try {
+            if (prefix != null) {
+                b.append(prefix);
+                b.append(':');
+            }
+            if (pattern == null) {
+                b.append(pattern);
+                return b.toString();
+            }
+            int start = 0;
+            int index = pattern.indexOf("{}");
+            for (int i = 0; i < count && index >= 0; i++) {
+                b.append(pattern, start, index);
+                b.append(i == 0 ? param1 : (i == 1 ? param2 : param3));
+                start = index + 2;
+                index = pattern.indexOf("{}", start);
             }
-            return ctx;
+            b.append(pattern, start, pattern.length());
+            return b.toString();
+        }
+        finally {
+            buffer.release(b);
         }
     }
-    
+
 }
@@ -37,21 +37,35 @@
  * Changes 
  * -------
  * 26-Apr-2004 : Initial version (TM);
+ * 17-Oct-2026 : Added parameterised and supplier log methods, and check the
+ *               log level before building a message;
+ * 17-Oct-2026 : Added a log level for each context;
+ * 17-Oct-2026 : Pass messages through Log.doLog() again;
  *  
  */
 
 package org.jfree.util;
 
 /**
- * A log context.
+ * A log context.  A context created by {@link Log#createContext(String)}
+ * has its own log level, which is looked up once with
+ * {@link Log#getContextLevel(String)} and updated whenever the levels of
+ * the log change, so checking the level only reads a field.  A context
+ * created with the constructor uses the debug level of the log.
  *
  * @author Thomas Morgner
  */
 public class LogContext {
 
+    /** The level value that means 'use the debug level of the log'. */
+    private static final int INHERIT = Integer.MIN_VALUE;
+
     /** The prefix string. */
     private String contextPrefix;
 
+    /** The log level (or INHERIT). */
+    private volatile int level;
+
     /**
      * Creates a new log context.
      * 
@@ -59,6 +73,51 @@ public class LogContext {
      */
     public LogContext(final String contextPrefix) {
         this.contextPrefix = contextPrefix;
+        this.level = INHERIT;
+    }
+
+    /**
+     * Returns the prefix.
+     *
+     * @return The prefix (possibly <code>null</code>).
+     */
+    String getContextPrefix() {
+        return this.contextPrefix;
+    }
+
+    /**
+     * Sets the log level of this context (called by the {@link Log}).
+     *
+     * @param level  the log level.
+     */
+    void setLevel(final int level) {
+        this.level = level;
+    }
+
+    /**
+     * Returns the log level of this context.
+     *
+     * @return The log level.
+     */
+    public int getLevel() {
+        final int l = this.level;
+        return (l != INHERIT ? l : Log.getInstance().getDebuglevel());
+    }
+
+    /**
+     * Returns true, if messages with the given log level are printed by
+     * this context.
+     *
+     * @param level  the log level.
+     *
+     * @return true, if messages with the log level are allowed.
+     */
+    public boolean isEnabled(final int level) {
+        final int l = this.level;
+        if (l == INHERIT) {
+            return Log.getInstance().isEnabled(level);
+        }
+        return Math.min(level, LogTarget.DEBUG) <= l;
     }
 
     /**
@@ -68,7 +127,7 @@ public class LogContext {
      * @return true, if messages with an log level of DEBUG are allowed.
      */
     public boolean isDebugEnabled() {
-        return Log.isDebugEnabled();
+        return isEnabled(LogTarget.DEBUG);
     }
 
     /**
@@ -78,7 +137,7 @@ public class LogContext {
      * @return true, if messages with an log level of INFO are allowed.
      */
     public boolean isInfoEnabled() {
-        return Log.isInfoEnabled();
+        return isEnabled(LogTarget.INFO);
     }
 
     /**
@@ -88,7 +147,7 @@ public class LogContext {
      * @return true, if messages with an log level of WARN are allowed.
      */
     public boolean isWarningEnabled() {
-        return Log.isWarningEnabled();
+        return isEnabled(LogTarget.WARN);
     }
 
     /**
@@ -98,7 +157,7 @@ public class LogContext {
      * @return true, if messages with an log level of ERROR are allowed.
      */
     public boolean isErrorEnabled() {
-        return Log.isErrorEnabled();
+        return isEnabled(LogTarget.ERROR);
     }
 
 
@@ -178,6 +237,162 @@ public class LogContext {
         log(LogTarget.ERROR, message, e);
     }
 
+    /**
+     * A convenience method for logging a 'debug' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     */
+    public void debug(final String pattern, final Object param1,
+                      final Object param2) {
+        log(LogTarget.DEBUG, pattern, param1, param2);
+    }
+
+    /**
+     * A convenience method for logging a 'debug' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     * @param param3  parameter 3.
+     */
+    public void debug(final String pattern, final Object param1,
+                      final Object param2, final Object param3) {
+        log(LogTarget.DEBUG, pattern, param1, param2, param3);
+    }
+
+    /**
+     * A convenience method for logging a 'debug' message.
+     * The supplier is only called if the message will be logged.
+     *
+     * @param supplier the message supplier.
+     */
+    public void debug(final LogMessageSupplier supplier) {
+        log(LogTarget.DEBUG, supplier);
+    }
+
+    /**
+     * A convenience method for logging an 'info' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     */
+    public void info(final String pattern, final Object param1,
+                     final Object param2) {
+        log(LogTarget.INFO, pattern, param1, param2);
+    }
+
+    /**
+     * A convenience method for logging an 'info' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     * @param param3  parameter 3.
+     */
+    public void info(final String pattern, final Object param1,
+                     final Object param2, final Object param3) {
+        log(LogTarget.INFO, pattern, param1, param2, param3);
+    }
+
+    /**
+     * A convenience method for logging an 'info' message.
+     * The supplier is only called if the message will be logged.
+     *
+     * @param supplier the message supplier.
+     */
+    public void info(final LogMessageSupplier supplier) {
+        log(LogTarget.INFO, supplier);
+    }
+
+    /**
+     * A convenience method for logging a 'warning' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     */
+    public void warn(final String pattern, final Object param1,
+                     final Object param2) {
+        log(LogTarget.WARN, pattern, param1, param2);
+    }
+
+    /**
+     * A convenience method for logging a 'warning' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     * @param param3  parameter 3.
+     */
+    public void warn(final String pattern, final Object param1,
+                     final Object param2, final Object param3) {
+        log(LogTarget.WARN, pattern, param1, param2, param3);
+    }
+
+    /**
+     * A convenience method for logging a 'warning' message.
+     * The supplier is only called if the message will be logged.
+     *
+     * @param supplier the message supplier.
+     */
+    public void warn(final LogMessageSupplier supplier) {
+        log(LogTarget.WARN, supplier);
+    }
+
+    /**
+     * A convenience method for logging an 'error' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     */
+    public void error(final String pattern, final Object param1,
+                      final Object param2) {
+        log(LogTarget.ERROR, pattern, param1, param2);
+    }
+
+    /**
+     * A convenience method for logging an 'error' message.
+     * The message is only formatted if it will be logged.
+     *
+     * @param pattern the message pattern (see {@link #log(int, String,
+     *                Object, Object)}).
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     * @param param3  parameter 3.
+     */
+    public void error(final String pattern, final Object param1,
+                      final Object param2, final Object param3) {
+        log(LogTarget.ERROR, pattern, param1, param2, param3);
+    }
+
+    /**
+     * A convenience method for logging an 'error' message.
+     * The supplier is only called if the message will be logged.
+     *
+     * @param supplier the message supplier.
+     */
+    public void error(final LogMessageSupplier supplier) {
+        log(LogTarget.ERROR, supplier);
+    }
+
     /**
      * Logs a message to the main log stream.  All attached log targets will also
      * receive this message. If the given log-level is higher than the given debug-level
@@ -187,11 +402,15 @@ public class LogContext {
      * @param message text to be logged.
      */
     public void log(final int level, final Object message) {
+        if (!isEnabled(level)) {
+            return;
+        }
         if (this.contextPrefix != null) {
-            Log.getInstance().doLog(level, new Log.SimpleMessage(this.contextPrefix, ":", message));
+            doLog(level, new Log.SimpleMessage(this.contextPrefix, ":",
+                    message));
         }
         else {
-            Log.getInstance().doLog(level, message);
+            doLog(level, message);
         }
     }
 
@@ -207,13 +426,107 @@ public class LogContext {
      * @param e       the exception, which should be logged.
      */
     public void log(final int level, final Object message, final Exception e) {
+        if (!isEnabled(level)) {
+            return;
+        }
         if (this.contextPrefix != null) {
-            Log.getInstance().doLog(
+            doLog(
                 level, new Log.SimpleMessage(this.contextPrefix, ":", message), e
             );
         }
         else {
-            Log.getInstance().doLog(level, message, e);
+            doLog(level, message, e);
+        }
+    }
+
+    /**
+     * Logs a parameterised message to the main log stream, if the level is
+     * enabled.  Each <code>{}</code> in the pattern is replaced by the next
+     * parameter, and the message is prefixed with the context name.  Nothing
+     * is built if the level is disabled.
+     *
+     * @param level   log level of the message.
+     * @param pattern the message pattern.
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     */
+    public void log(final int level, final String pattern,
+                    final Object param1, final Object param2) {
+        if (isEnabled(level)) {
+            doLog(level, Log.format(this.contextPrefix, pattern, 2, param1,
+                    param2, null));
+        }
+    }
+
+    /**
+     * Logs a parameterised message to the main log stream, if the level is
+     * enabled.  See {@link #log(int, String, Object, Object)}.
+     *
+     * @param level   log level of the message.
+     * @param pattern the message pattern.
+     * @param param1  parameter 1.
+     * @param param2  parameter 2.
+     * @param param3  parameter 3.
+     */
+    public void log(final int level, final String pattern,
+                    final Object param1, final Object param2,
+                    final Object param3) {
+        if (isEnabled(level)) {
+            doLog(level, Log.format(this.contextPrefix, pattern, 3, param1,
+                    param2, param3));
+        }
+    }
+
+    /**
+     * Logs the message returned by a supplier to the main log stream.  The
+     * supplier is only called if the level is enabled.
+     *
+     * @param level    log level of the message.
+     * @param supplier the message supplier (<code>null</code> permitted).
+     */
+    public void log(final int level, final LogMessageSupplier supplier) {
+        if (isEnabled(level)) {
+            log(level, supplier != null ? supplier.getMessage() : null);
+        }
+    }
+
+    /**
+     * Passes a message that this context allows to the log.  If the debug
+     * level of the log allows it too, the message goes through
+     * {@link Log#doLog(int, Object)} like the messages of the static log
+     * methods, so that subclasses of {@link Log} that override that method
+     * see it.  Otherwise it is passed to
+     * {@link Log#doLog(int, Object, boolean)}.
+     *
+     * @param level   log level of the message.
+     * @param message the message.
+     */
+    private void doLog(final int level, final Object message) {
+        final Log log = Log.getInstance();
+        if (log.isEnabled(level)) {
+            log.doLog(level, message);
+        }
+        else {
+            log.doLog(level, message, true);
+        }
+    }
+
+    /**
+     * Passes a message and an exception that this context allows to the
+     * log.  See {@link #doLog(int, Object)}.
+     *
+     * @param level   log level of the message.
+     * @param message the message.
+     * @param e       the exception.
+     */
+    private void doLog(final int level, final Object message,
+                       final Exception e) {
+        final Log log = Log.getInstance();
+        if (log.isEnabled(level)) {
+            log.doLog(level, message, e);
+        }
+        else {
+            log.doLog(level, message, e, true);
         }
     }
 
@@ -39,6 +39,8 @@
  * 29-Apr-2003 : Version 1, based on PaintTable class (DG);
  * 21-May-2003 : Copied the array based implementation of StrokeTable and
  *               fixed the serialisation behaviour (TM).
+ * 17-Oct-2026 : Grow the storage geometrically, added the sparse storage
+ *               mode and memory usage reporting;
  */
 
 package org.jfree.util;
@@ -52,6 +54,15 @@ import java.util.Arrays;
 /**
  * A lookup table for objects. This implementation is not synchronized, it is up
  * to the caller to synchronize it properly.
+ * <p>
+ * By default the table stores one array per row, so every row that holds an
+ * object has an array as long as its last used column.  A table created in
+ * the sparse mode (see {@link #ObjectTable(int, int, boolean)}) instead
+ * keeps the objects in a hash table keyed by row and column, so its memory
+ * use grows with the number of objects rather than with the size of the
+ * table, which is much less when most cells are <code>null</code>.  In both
+ * modes the storage at least doubles each time it grows, so filling a table
+ * takes linear time.</p>
  *
  * @author Thomas Morgner
  */
@@ -63,6 +74,29 @@ public class ObjectTable implements Serializable
    */
   private static final long serialVersionUID = -3968322452944912066L;
 
+  /**
+   * The initial number of slots of the sparse storage (a power of two).
+   */
+  private static final int SPARSE_INITIAL_CAPACITY = 16;
+
+  /**
+   * The estimated size of an array header in bytes (used by
+   * {@link #getMemoryUsage()}).
+   */
+  private static final int ARRAY_HEADER_SIZE = 16;
+
+  /**
+   * The estimated size of an object reference in bytes (used by
+   * {@link #getMemoryUsage()}).
+   */
+  private static final int REFERENCE_SIZE = 4;
+
+  /**
+   * The size of a key of the sparse storage in bytes (used by
+   * {@link #getMemoryUsage()}).
+   */
+  private static final int KEY_SIZE = 8;
+
   /**
    * The number of rows.
    */
@@ -90,6 +124,29 @@ public class ObjectTable implements Serializable
    */
   private int columnIncrement;
 
+  /**
+   * A flag that controls whether the table uses the sparse storage.
+   */
+  private boolean sparse;
+
+  /**
+   * The keys (row in the high and column in the low 32 bits) of the sparse
+   * storage, an open addressing hash table with linear probing (only used
+   * in the sparse mode).
+   */
+  private transient long[] keys;
+
+  /**
+   * The objects of the sparse storage (<code>null</code> for an empty
+   * slot).
+   */
+  private transient Object[] values;
+
+  /**
+   * The number of objects in the sparse storage.
+   */
+  private transient int sparseCount;
+
   /**
    * Creates a new table.
    */
@@ -115,6 +172,19 @@ public class ObjectTable implements Serializable
    * @param colIncrement the column size increment.
    */
   public ObjectTable(final int rowIncrement, final int colIncrement)
+  {
+    this(rowIncrement, colIncrement, false);
+  }
+
+  /**
+   * Creates a new table.
+   *
+   * @param rowIncrement the row size increment.
+   * @param colIncrement the column size increment.
+   * @param sparse       use the sparse storage?
+   */
+  public ObjectTable(final int rowIncrement, final int colIncrement,
+                     final boolean sparse)
   {
     if (rowIncrement < 1)
     {
@@ -130,8 +200,27 @@ public class ObjectTable implements Serializable
     this.columns = 0;
     this.rowIncrement = rowIncrement;
     this.columnIncrement = colIncrement;
+    this.sparse = sparse;
+
+    if (sparse)
+    {
+      this.data = new Object[0][];
+      clearSparseData();
+    }
+    else
+    {
+      this.data = new Object[rowIncrement][];
+    }
+  }
 
-    this.data = new Object[rowIncrement][];
+  /**
+   * Returns <code>true</code> if the table uses the sparse storage.
+   *
+   * @return A boolean.
+   */
+  public boolean isSparse()
+  {
+    return this.sparse;
   }
 
   /**
@@ -167,7 +256,8 @@ public class ObjectTable implements Serializable
     if (row >= this.data.length)
     {
 
-      final Object[][] enlarged = new Object[row + this.rowIncrement][];
+      final Object[][] enlarged = new Object[AbstractObjectList
+          .getEnlargedCapacity(this.data.length, row, this.rowIncrement)][];
       System.arraycopy(this.data, 0, enlarged, 0, this.data.length);
       // do not create empty arrays - this is more expensive than checking
       // for null-values.
@@ -192,6 +282,11 @@ public class ObjectTable implements Serializable
     {
       throw new IndexOutOfBoundsException("Column is invalid. " + column);
     }
+    if (this.sparse)
+    {
+      // slots are allocated when an object is stored
+      return;
+    }
 
     ensureRowCapacity(row);
 
@@ -204,7 +299,8 @@ public class ObjectTable implements Serializable
     }
     else if (column >= current.length)
     {
-      final Object[] enlarged = new Object[column + this.columnIncrement];
+      final Object[] enlarged = new Object[AbstractObjectList
+          .getEnlargedCapacity(current.length, column, this.columnIncrement)];
       System.arraycopy(current, 0, enlarged, 0, current.length);
       this.data[row] = enlarged;
     }
@@ -243,6 +339,16 @@ public class ObjectTable implements Serializable
   protected Object getObject(final int row, final int column)
   {
 
+    if (this.sparse)
+    {
+      if (row < 0 || column < 0)
+      {
+        throw new IndexOutOfBoundsException("Invalid cell: " + row + ", "
+            + column);
+      }
+      final int slot = findSlot(getKey(row, column));
+      return (slot >= 0 ? this.values[slot] : null);
+    }
     if (row < this.data.length)
     {
       final Object[] current = this.data[row];
@@ -273,11 +379,235 @@ public class ObjectTable implements Serializable
 
     ensureCapacity(row, column);
 
-    this.data[row][column] = object;
+    if (this.sparse)
+    {
+      setSparseObject(row, column, object);
+    }
+    else
+    {
+      this.data[row][column] = object;
+    }
     this.rows = Math.max(this.rows, row + 1);
     this.columns = Math.max(this.columns, column + 1);
   }
 
+  /**
+   * Returns the key of a cell in the sparse storage.
+   *
+   * @param row    the row index (zero-based).
+   * @param column the column index (zero-based).
+   * @return The key.
+   */
+  private static long getKey(final int row, final int column)
+  {
+    return ((long) row << 32) | (column & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Returns the preferred slot of a key in the sparse storage.
+   *
+   * @param key the key.
+   * @return The slot.
+   */
+  private int getHomeSlot(final long key)
+  {
+    final long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & (this.keys.length - 1);
+  }
+
+  /**
+   * Returns the slot that holds a key in the sparse storage, or
+   * <code>-(slot + 1)</code> for the free slot where it would be stored.
+   *
+   * @param key the key.
+   * @return The slot.
+   */
+  private int findSlot(final long key)
+  {
+    final int mask = this.keys.length - 1;
+    int slot = getHomeSlot(key);
+    while (this.values[slot] != null)
+    {
+      if (this.keys[slot] == key)
+      {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -(slot + 1);
+  }
+
+  /**
+   * Stores an object in the sparse storage, or removes the object from a
+   * cell if the new object is <code>null</code>.
+   *
+   * @param row    the row index (zero-based).
+   * @param column the column index (zero-based).
+   * @param object the object.
+   */
+  private void setSparseObject(final int row, final int column,
+                               final Object object)
+  {
+    final long key = getKey(row, column);
+    int slot = findSlot(key);
+    if (slot >= 0)
+    {
+      if (object == null)
+      {
+        removeSlot(slot);
+      }
+      else
+      {
+        this.values[slot] = object;
+      }
+      return;
+    }
+    if (object == null)
+    {
+      return;
+    }
+    // keep the load factor at or below 0.75
+    if ((this.sparseCount + 1) * 4L > this.keys.length * 3L)
+    {
+      rehash(this.keys.length * 2);
+      slot = findSlot(key);
+    }
+    slot = -(slot + 1);
+    this.keys[slot] = key;
+    this.values[slot] = object;
+    this.sparseCount++;
+  }
+
+  /**
+   * Removes the object in a slot of the sparse storage.  The following
+   * objects of the same probe sequence are moved back, so that lookups do
+   * not need markers for removed objects.
+   *
+   * @param slot the slot.
+   */
+  private void removeSlot(final int slot)
+  {
+    final int mask = this.keys.length - 1;
+    int gap = slot;
+    int next = slot;
+    while (true)
+    {
+      next = (next + 1) & mask;
+      if (this.values[next] == null)
+      {
+        break;
+      }
+      // an object stays where it is if its home slot lies after the gap
+      final int home = getHomeSlot(this.keys[next]);
+      final boolean stays = (next > gap)
+          ? (home > gap && home <= next)
+          : (home > gap || home <= next);
+      if (!stays)
+      {
+        this.keys[gap] = this.keys[next];
+        this.values[gap] = this.values[next];
+        gap = next;
+      }
+    }
+    this.values[gap] = null;
+    this.sparseCount--;
+  }
+
+  /**
+   * Moves the sparse storage into a larger hash table.
+   *
+   * @param capacity the new number of slots (a power of two).
+   */
+  private void rehash(final int capacity)
+  {
+    final long[] oldKeys = this.keys;
+    final Object[] oldValues = this.values;
+    this.keys = new long[capacity];
+    this.values = new Object[capacity];
+    for (int i = 0; i < oldKeys.length; i++)
+    {
+      if (oldValues[i] != null)
+      {
+        final int slot = -(findSlot(oldKeys[i]) + 1);
+        this.keys[slot] = oldKeys[i];
+        this.values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Empties the sparse storage.
+   */
+  private void clearSparseData()
+  {
+    this.keys = new long[SPARSE_INITIAL_CAPACITY];
+    this.values = new Object[SPARSE_INITIAL_CAPACITY];
+    this.sparseCount = 0;
+  }
+
+  /**
+   * Returns the number of cells for which storage is allocated (including
+   * the cells that hold <code>null</code>).  In the sparse mode, this is
+   * the number of slots of the hash table.
+   *
+   * @return The number of cells.
+   */
+  public long getAllocatedCellCount()
+  {
+    if (this.sparse)
+    {
+      return this.keys.length;
+    }
+    long cells = 0;
+    for (int r = 0; r < this.data.length; r++)
+    {
+      if (this.data[r] != null)
+      {
+        cells += this.data[r].length;
+      }
+    }
+    return cells;
+  }
+
+  /**
+   * Returns an estimate of the memory used by the storage of this table in
+   * bytes, not counting the objects in the table.  The estimate assumes
+   * 16 bytes for each array header and 4 bytes for each reference (as on
+   * a 64-bit VM with compressed references).
+   *
+   * @return The estimated memory usage in bytes.
+   */
+  public long getMemoryUsage()
+  {
+    if (this.sparse)
+    {
+      return getArraySize(this.keys.length, KEY_SIZE)
+          + getArraySize(this.values.length, REFERENCE_SIZE);
+    }
+    long bytes = getArraySize(this.data.length, REFERENCE_SIZE);
+    for (int r = 0; r < this.data.length; r++)
+    {
+      if (this.data[r] != null)
+      {
+        bytes += getArraySize(this.data[r].length, REFERENCE_SIZE);
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Returns the estimated size of an array in bytes.
+   *
+   * @param length      the array length.
+   * @param elementSize the size of an element in bytes.
+   * @return The size in bytes (a multiple of 8).
+   */
+  private static long getArraySize(final int length, final int elementSize)
+  {
+    final long size = ARRAY_HEADER_SIZE + (long) length * elementSize;
+    return (size + 7) & ~7L;
+  }
+
   /**
    * Tests this paint table for equality with another object (typically also
    * an <code>ObjectTable</code>).
@@ -351,6 +681,11 @@ public class ObjectTable implements Serializable
       throws IOException
   {
     stream.defaultWriteObject();
+    if (this.sparse)
+    {
+      writeSparseData(stream);
+      return;
+    }
     final int rowCount = this.data.length;
     stream.writeInt(rowCount);
     for (int r = 0; r < rowCount; r++)
@@ -369,6 +704,41 @@ public class ObjectTable implements Serializable
     }
   }
 
+  /**
+   * Writes the sparse storage in the same form as the array storage, with
+   * each row as long as its last used column.
+   *
+   * @param stream the output stream.
+   * @throws java.io.IOException if there is an I/O problem.
+   */
+  private void writeSparseData(final ObjectOutputStream stream)
+      throws IOException
+  {
+    final int[] lengths = new int[this.rows];
+    for (int i = 0; i < this.keys.length; i++)
+    {
+      if (this.values[i] != null)
+      {
+        final int r = (int) (this.keys[i] >>> 32);
+        lengths[r] = Math.max(lengths[r], (int) this.keys[i] + 1);
+      }
+    }
+    stream.writeInt(this.rows);
+    for (int r = 0; r < this.rows; r++)
+    {
+      final int columnCount = lengths[r];
+      stream.writeBoolean(columnCount > 0);
+      if (columnCount > 0)
+      {
+        stream.writeInt(columnCount);
+        for (int c = 0; c < columnCount; c++)
+        {
+          writeSerializedData(stream, getObject(r, c));
+        }
+      }
+    }
+  }
+
   /**
    * Handles the serialization of an single element of this table.
    *
@@ -410,6 +780,36 @@ public class ObjectTable implements Serializable
         }
       }
     }
+    if (this.sparse)
+    {
+      final Object[][] dense = this.data;
+      this.data = new Object[0][];
+      clearSparseData();
+      copyIntoSparseData(dense);
+    }
+  }
+
+  /**
+   * Copies the objects of a row array into the sparse storage.
+   *
+   * @param dense the rows (<code>null</code> rows permitted).
+   */
+  private void copyIntoSparseData(final Object[][] dense)
+  {
+    for (int r = 0; r < dense.length; r++)
+    {
+      final Object[] row = dense[r];
+      if (row != null)
+      {
+        for (int c = 0; c < row.length; c++)
+        {
+          if (row[c] != null)
+          {
+            setSparseObject(r, c, row[c]);
+          }
+        }
+      }
+    }
   }
 
   /**
@@ -434,6 +834,11 @@ public class ObjectTable implements Serializable
   {
     this.rows = 0;
     this.columns = 0;
+    if (this.sparse)
+    {
+      clearSparseData();
+      return;
+    }
     for (int i = 0; i < this.data.length; i++)
     {
       if (this.data[i] != null)
@@ -466,6 +871,15 @@ public class ObjectTable implements Serializable
    */
   protected void copyRow(final int oldRow, final int newRow)
   {
+    if (this.sparse)
+    {
+      final int columnCount = getColumnCount();
+      for (int c = 0; c < columnCount; c++)
+      {
+        setObject(newRow, c, getObject(oldRow, c));
+      }
+      return;
+    }
     this.ensureCapacity(newRow, getColumnCount());
     final Object[] oldRowStorage = this.data[oldRow];
     if (oldRowStorage == null)
@@ -483,7 +897,8 @@ public class ObjectTable implements Serializable
   }
 
   /**
-   * Sets the table data.
+   * Sets the table data.  In the sparse mode, the objects are copied into
+   * the sparse storage.
    *
    * @param data  the data.
    * @param colCount  the number of columns.
@@ -497,18 +912,44 @@ public class ObjectTable implements Serializable
       throw new IndexOutOfBoundsException();
     }
 
-    this.data = data;
+    if (this.sparse)
+    {
+      clearSparseData();
+      copyIntoSparseData(data);
+    }
+    else
+    {
+      this.data = data;
+    }
     this.rows = data.length;
     this.columns = colCount;
   }
 
   /**
-   * Returns the table data.
+   * Returns the table data.  In the sparse mode, this is a copy of the
+   * objects in the table, and changing it does not change the table.
    *
    * @return The table data.
    */
   protected Object[][] getData()
   {
+    if (this.sparse)
+    {
+      final Object[][] copy = new Object[this.rows][];
+      for (int i = 0; i < this.keys.length; i++)
+      {
+        if (this.values[i] != null)
+        {
+          final int r = (int) (this.keys[i] >>> 32);
+          if (copy[r] == null)
+          {
+            copy[r] = new Object[this.columns];
+          }
+          copy[r][(int) this.keys[i]] = this.values[i];
+        }
+      }
+      return copy;
+    }
     return this.data;
   }
 }
@@ -0,0 +1,103 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ----------------------------
+ * ObservableConfiguration.java
+ * ----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.beans.PropertyChangeListener;
+
+/**
+ * A configuration that notifies listeners when the value of a property
+ * changes.
+ * <p>
+ * The events carry the old and new value of the property as strings; a value
+ * is <code>null</code> if the property was or is not set.  An event without a
+ * property name means that any number of properties may have changed, for
+ * example because a parent configuration was replaced; such events are only
+ * sent to the listeners for all properties.
+ * <p>
+ * Some values may come from a source that does not report its changes, such
+ * as the system properties.  {@link #isFullyObservable()} returns false for
+ * such a configuration, and its values must not be cached.
+ *
+ * @author Thomas Morgner
+ */
+public interface ObservableConfiguration extends Configuration
+{
+  /**
+   * Adds a listener that is notified when any property changes.
+   *
+   * @param listener the listener.
+   */
+  public void addPropertyChangeListener (PropertyChangeListener listener);
+
+  /**
+   * Adds a listener that is notified when the given property changes.
+   *
+   * @param name     the name of the property.
+   * @param listener the listener.
+   */
+  public void addPropertyChangeListener (String name,
+                                         PropertyChangeListener listener);
+
+  /**
+   * Removes a listener that was added with
+   * {@link #addPropertyChangeListener(PropertyChangeListener)}.
+   *
+   * @param listener the listener.
+   */
+  public void removePropertyChangeListener (PropertyChangeListener listener);
+
+  /**
+   * Removes a listener for the given property.
+   *
+   * @param name     the name of the property.
+   * @param listener the listener.
+   */
+  public void removePropertyChangeListener (String name,
+                                            PropertyChangeListener listener);
+
+  /**
+   * Returns true if the listeners are notified of every change of a property
+   * value, so that the values can be cached until a change is reported.
+   *
+   * @return true, if every change is reported.
+   */
+  public boolean isFullyObservable ();
+}
@@ -0,0 +1,104 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------------
+ * TypedConfiguration.java
+ * -----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+/**
+ * An extended configuration that also parses long, double, duration and enum
+ * properties, and notifies listeners when the value of a property changes.
+ * <p>
+ * Implementations may cache the parsed values of the properties, so that the
+ * typed accessors are cheap enough to be called in loops.
+ *
+ * @author Thomas Morgner
+ * @see ExtendedConfigurationWrapper
+ */
+public interface TypedConfiguration
+    extends ExtendedConfiguration, ObservableConfiguration
+{
+  /**
+   * Returns a given property as long value. The specified default value is
+   * returned if the property value is no number or the property is not set.
+   *
+   * @param name the name of the property
+   * @param defaultValue the value to be returned if the property is no long
+   *                     value
+   * @return the parsed number value or the specified default value
+   */
+  public long getLongProperty (String name, long defaultValue);
+
+  /**
+   * Returns a given property as double value. The specified default value is
+   * returned if the property value is no number or the property is not set.
+   *
+   * @param name the name of the property
+   * @param defaultValue the value to be returned if the property is no
+   *                     number
+   * @return the parsed number value or the specified default value
+   */
+  public double getDoubleProperty (String name, double defaultValue);
+
+  /**
+   * Returns a given property as duration in milliseconds. A duration is a
+   * whole number, optionally followed by one of the units 'ms', 's', 'm' (or
+   * 'min'), 'h' or 'd'; a number without unit is a number of milliseconds.
+   * The specified default value is returned if the property value is no
+   * duration or the property is not set.
+   *
+   * @param name the name of the property
+   * @param defaultValue the value to be returned if the property is no
+   *                     duration
+   * @return the duration in milliseconds or the specified default value
+   */
+  public long getDurationProperty (String name, long defaultValue);
+
+  /**
+   * Returns a given property as enum constant. The specified default value
+   * is returned if the property value is not the name of a constant of the
+   * enum type or the property is not set.
+   *
+   * @param name the name of the property
+   * @param type the enum type
+   * @param defaultValue the value to be returned if the property is no
+   *                     constant of the enum type
+   * @return the enum constant or the specified default value
+   */
+  public Enum getEnumProperty (String name, Class type, Enum defaultValue);
+}
@@ -38,6 +38,7 @@
  * -------
  * 21-Jun-2003 : Initial version (TM);
  * 26-Nov-2003 : Updated header and Javadocs (DG);
+ * 17-Oct-2026 : Use CompactHashNMap;
  * 
  */
 
@@ -55,6 +56,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Properties;
 
+import org.jfree.util.CompactHashNMap;
 import org.jfree.util.HashNMap;
 import org.jfree.xml.generator.model.ClassDescription;
 import org.jfree.xml.generator.model.DescriptionModel;
@@ -133,7 +135,7 @@ public final class ModelBuilder {
         // our list of possible base classes
         final Class[] baseClasses = findElementTypes(model);
 
-        final HashNMap classMap = new HashNMap();
+        final HashNMap classMap = new CompactHashNMap();
         for (int i = 0; i < baseClasses.length; i++) {
 
             final Class base = baseClasses[i];
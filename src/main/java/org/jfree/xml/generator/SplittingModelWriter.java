@@ -37,6 +37,7 @@
  * Changes
  * -------------------------
  * 12.11.2003 : Initial version
+ * 17-Oct-2026 : Use CompactHashNMap;
  *
  */
 
@@ -52,6 +53,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 
 import org.jfree.io.IOUtils;
+import org.jfree.util.CompactHashNMap;
 import org.jfree.util.HashNMap;
 import org.jfree.util.Log;
 import org.jfree.xml.generator.model.ClassDescription;
@@ -110,7 +112,7 @@ public class SplittingModelWriter extends ModelWriter {
         this.extension = IOUtils.getInstance().getFileExtension(target);
 
         // split into classDescriptionByPackage ...
-        this.classDescriptionByPackage = new HashNMap();
+        this.classDescriptionByPackage = new CompactHashNMap();
         for (int i = 0; i < model.size(); i++) {
             final ClassDescription cd = model.get(i);
             if (cd.getSource() == null) {
@@ -128,7 +130,7 @@ public class SplittingModelWriter extends ModelWriter {
 
         // split manual mappings into packages ...
         final ManualMappingInfo[] manualMappings = mappingModel.getManualMapping();
-        this.manualMappingByPackage = new HashNMap();
+        this.manualMappingByPackage = new CompactHashNMap();
         for (int i = 0; i < manualMappings.length; i++) {
             final ManualMappingInfo mapping = manualMappings[i];
             if (mapping.getSource() == null) {
@@ -141,7 +143,7 @@ public class SplittingModelWriter extends ModelWriter {
 
         // split manual mappings into packages ...
         final MultiplexMappingInfo[] multiplexMappings = mappingModel.getMultiplexMapping();
-        this.multiplexMappingByPackage = new HashNMap();
+        this.multiplexMappingByPackage = new CompactHashNMap();
         for (int i = 0; i < multiplexMappings.length; i++) {
             final MultiplexMappingInfo mapping = multiplexMappings[i];
             if (mapping.getSource() == null) {
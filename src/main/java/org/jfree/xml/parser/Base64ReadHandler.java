@@ -37,66 +37,170 @@
  * Changes 
  * -------
  * 11-Feb-2004 : Added standard header and Javadocs (DG);
+ * 17-Oct-2026 : Decode the character data incrementally, added a
+ *               constructor with a sink for the decoded data;
+ * 17-Oct-2026 : Reject character data after the object has been read;
  *  
  */
 
 package org.jfree.xml.parser;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.io.OutputStream;
 
-import org.jfree.xml.util.Base64;
+import org.jfree.xml.util.Base64Decoder;
 import org.xml.sax.SAXException;
 
 /**
  * A read handler for Base64 encoded elements.
- * 
+ * <p>
+ * The character data is decoded as it arrives, chunk by chunk, so the
+ * encoded text is never held in memory.  By default the decoded bytes are
+ * collected and deserialized by {@link #getObject()}.  A handler created
+ * with a sink writes the decoded bytes to the sink instead, so that the
+ * memory used stays the same however large the element is.
+ *
  * @deprecated base64 encoded elements are no longer supported ...
  */
 public class Base64ReadHandler extends AbstractXmlReadHandler {
-    
-    /** The encoded object. */
-    private String encodedObject;
-    
+
+    /**
+     * A byte array output stream whose contents can be read without
+     * copying them.
+     */
+    private static final class DecodedBytes extends ByteArrayOutputStream {
+
+        /**
+         * Creates a new buffer.
+         */
+        private DecodedBytes() {
+            super(1024);
+        }
+
+        /**
+         * Returns a stream that reads the contents of this buffer.
+         *
+         * @return The stream.
+         */
+        private InputStream getInputStream() {
+            return new ByteArrayInputStream(this.buf, 0, this.count);
+        }
+    }
+
+    /** The decoder. */
+    private final Base64Decoder decoder;
+
+    /** The stream that receives the decoded bytes. */
+    private OutputStream sink;
+
+    /** The decoded bytes, if no sink was given. */
+    private DecodedBytes decodedBytes;
+
+    /** The decoded object. */
+    private Object object;
+
+    /** Has the object been deserialized? */
+    private boolean hasObject;
+
     /**
-     * Creates a new handler.
+     * Creates a new handler that deserializes the decoded data.
      */
     public Base64ReadHandler() {
         super();
+        this.decoder = new Base64Decoder();
+        this.decodedBytes = new DecodedBytes();
+        this.sink = this.decodedBytes;
     }
 
     /**
-     * Process character data.
-     * 
+     * Creates a new handler that writes the decoded data to a stream.  The
+     * stream is flushed, but not closed, at the end of the element.
+     *
+     * @param sink  the stream (<code>null</code> not permitted).
+     */
+    public Base64ReadHandler(final OutputStream sink) {
+        super();
+        if (sink == null) {
+            throw new NullPointerException("Null 'sink' argument.");
+        }
+        this.decoder = new Base64Decoder();
+        this.sink = sink;
+    }
+
+    /**
+     * Process character data.  The parser may split the text of an element
+     * into several chunks; each is decoded when it arrives.
+     *
      * @param ch  the character buffer.
      * @param start  the start index.
      * @param length  the number of characters.
-     * 
-     * @throws SAXException ???.
+     *
+     * @throws SAXException if the decoded data cannot be written, or the
+     *     object has already been read.
      */
     public void characters(final char[] ch, final int start, final int length)
         throws SAXException {
-        this.encodedObject = new String(ch, start, length);
+        if (this.sink == null) {
+            throw new SAXException("Character data for <" + getTagName()
+                + "> after the object has been read.");
+        }
+        try {
+            this.decoder.decode(ch, start, length, this.sink);
+        }
+        catch (IOException e) {
+            throw new SAXException(e);
+        }
     }
 
     /**
-     * Returns the object under construction.
-     * 
+     * Done parsing.  Flushes the sink.
+     *
+     * @throws SAXException if there is a parsing error.
+     * @throws XmlReaderException if the sink cannot be flushed.
+     */
+    protected void doneParsing() throws SAXException, XmlReaderException {
+        if (this.sink == null) {
+            // the object has already been read
+            return;
+        }
+        try {
+            this.sink.flush();
+        }
+        catch (IOException e) {
+            throw new XmlReaderException("Can't write data for <"
+                + getTagName() + ">", e);
+        }
+    }
+
+    /**
+     * Returns the object under construction: the deserialized object, or
+     * the sink if this handler was created with one.
+     *
      * @return the object
-     * 
-     * @throws XmlReaderException ???.
+     *
+     * @throws XmlReaderException if the object cannot be deserialized.
      */
     public Object getObject() throws XmlReaderException {
+        if (this.decodedBytes == null) {
+            return this.hasObject ? this.object : this.sink;
+        }
         try {
-            final byte[] bytes = Base64.decode(this.encodedObject.toCharArray());
             final ObjectInputStream in =
-                new ObjectInputStream(new ByteArrayInputStream(bytes));
-            return in.readObject();
-        } 
+                new ObjectInputStream(this.decodedBytes.getInputStream());
+            this.object = in.readObject();
+            this.hasObject = true;
+            // the bytes are no longer needed
+            this.decodedBytes = null;
+            this.sink = null;
+            return this.object;
+        }
         catch (IOException e) {
             throw new XmlReaderException("Can't read class for <" + getTagName() + ">", e);
-        } 
+        }
         catch (ClassNotFoundException e) {
             throw new XmlReaderException("Class not found for <" + getTagName() + ">", e);
         }
@@ -37,6 +37,8 @@
  * Changes
  * -------------------------
  * 23.09.2003 : Initial version
+ * 17-Oct-2026 : Single-pass, table-driven encoding and decoding, added
+ *               methods for array ranges and NIO buffers;
  *
  */
 package org.jfree.xml.util;
@@ -56,10 +58,14 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 
 /**
  * Provides encoding of raw bytes to base64-encoded characters, and
- * decoding of base64 characters to raw bytes.
+ * decoding of base64 characters to raw bytes.  For data that does not fit
+ * comfortably in memory, see {@link Base64InputStream},
+ * {@link Base64OutputStream} and {@link Base64Decoder}.
  * date: 06 August 1998
  * modified: 14 February 2000
  * modified: 22 September 2000
@@ -81,38 +87,120 @@ public class Base64 {
      * @return base64-coded character array.
      */
     public static char[] encode(final byte[] data) {
-        final char[] out = new char[((data.length + 2) / 3) * 4];
+        return encode(data, 0, data.length);
+    }
 
+    /**
+     * Returns an array of base64-encoded characters to represent a range of
+     * bytes.
+     *
+     * @param data  the bytes (<code>null</code> not permitted).
+     * @param offset  the index of the first byte.
+     * @param length  the number of bytes.
+     *
+     * @return The encoded characters.
+     */
+    public static char[] encode(final byte[] data, final int offset,
+                                final int length) {
+        if (offset < 0 || length < 0 || offset > data.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
         //
         // 3 bytes encode to 4 chars.  Output is always an even
         // multiple of 4 characters.
         //
-        for (int i = 0, index = 0; i < data.length; i += 3, index += 4) {
-            boolean quad = false;
-            boolean trip = false;
-
-            int val = (0xFF & data[i]);
-            val <<= 8;
-            if ((i + 1) < data.length) {
-                val |= (0xFF & data[i + 1]);
-                trip = true;
-            }
-            val <<= 8;
-            if ((i + 2) < data.length) {
-                val |= (0xFF & data[i + 2]);
-                quad = true;
-            }
-            out[index + 3] = alphabet[(quad ? (val & 0x3F) : 64)];
-            val >>= 6;
-            out[index + 2] = alphabet[(trip ? (val & 0x3F) : 64)];
-            val >>= 6;
-            out[index + 1] = alphabet[val & 0x3F];
-            val >>= 6;
-            out[index + 0] = alphabet[val & 0x3F];
-        }
+        final char[] out = new char[((length + 2) / 3) * 4];
+        final int groups = encodeGroups(data, offset, length / 3, out, 0);
+        encodeTail(data, offset + groups * 3, length - groups * 3, out,
+                groups * 4);
         return out;
     }
 
+    /**
+     * Encodes whole groups of three bytes.
+     *
+     * @param data  the bytes.
+     * @param offset  the index of the first byte.
+     * @param groups  the number of groups.
+     * @param out  the array for the characters.
+     * @param outOffset  the index for the first character.
+     *
+     * @return The number of groups.
+     */
+    static int encodeGroups(final byte[] data, final int offset,
+                            final int groups, final char[] out,
+                            final int outOffset) {
+        final int[] pairs = ENCODE_PAIRS;
+        final int end = offset + groups * 3;
+        int o = outOffset;
+        for (int i = offset; i < end; i += 3) {
+            final int group = ((data[i] & 0xff) << 16)
+                    | ((data[i + 1] & 0xff) << 8) | (data[i + 2] & 0xff);
+            final int high = pairs[group >>> 12];
+            final int low = pairs[group & 0xfff];
+            out[o] = (char) (high >>> 16);
+            out[o + 1] = (char) high;
+            out[o + 2] = (char) (low >>> 16);
+            out[o + 3] = (char) low;
+            o += 4;
+        }
+        return groups;
+    }
+
+    /**
+     * Encodes the last one or two bytes of the data, with padding.  Nothing
+     * is written if the length is zero.
+     *
+     * @param data  the bytes.
+     * @param offset  the index of the first byte.
+     * @param length  the number of bytes (0-2).
+     * @param out  the array for the characters.
+     * @param outOffset  the index for the first character.
+     *
+     * @return The number of characters written (0 or 4).
+     */
+    static int encodeTail(final byte[] data, final int offset,
+                          final int length, final char[] out,
+                          final int outOffset) {
+        if (length == 0) {
+            return 0;
+        }
+        int group = (data[offset] & 0xff) << 16;
+        if (length == 2) {
+            group |= (data[offset + 1] & 0xff) << 8;
+        }
+        out[outOffset] = alphabet[group >>> 18];
+        out[outOffset + 1] = alphabet[(group >>> 12) & 0x3f];
+        out[outOffset + 2] = (length == 2)
+                ? alphabet[(group >>> 6) & 0x3f] : alphabet[64];
+        out[outOffset + 3] = alphabet[64];
+        return 4;
+    }
+
+    /**
+     * Encodes the remaining bytes in a buffer.  The buffer's position is
+     * moved to its limit.
+     *
+     * @param data  the bytes (<code>null</code> not permitted).
+     *
+     * @return A buffer with the encoded characters.
+     */
+    public static CharBuffer encode(final ByteBuffer data) {
+        final int length = data.remaining();
+        final char[] chars;
+        if (data.hasArray()) {
+            chars = encode(data.array(), data.arrayOffset() + data.position(),
+                    length);
+            data.position(data.limit());
+        }
+        else {
+            final byte[] bytes = new byte[length];
+            data.get(bytes);
+            chars = encode(bytes, 0, length);
+        }
+        return CharBuffer.wrap(chars);
+    }
+
     /**
      * Decodes a BASE-64 encoded stream to recover the original
      * data. White space before and after will be trimmed away,
@@ -120,79 +208,91 @@ public class Base64 {
      *
      * As of version 1.2 this method will properly handle input
      * containing junk characters (newlines and the like) rather
-     * than throwing an error. It does this by pre-parsing the
-     * input and generating from that a count of VALID input
-     * characters.
-     * 
+     * than throwing an error.  Such characters are skipped.
+     *
      * @param data  the character data.
-     * 
+     *
      * @return The decoded data.
      */
     public static byte[] decode(final char[] data) {
-        // as our input could contain non-BASE64 data (newlines,
-        // whitespace of any sort, whatever) we must first adjust
-        // our count of USABLE data so that...
-        // (a) we don't misallocate the output array, and
-        // (b) think that we miscalculated our data length
-        //     just because of extraneous throw-away junk
-
-        int tempLen = data.length;
-        for (int ix = 0; ix < data.length; ix++) {
-            if ((data[ix] > 255) || codes[data[ix]] < 0) {
-                --tempLen; // ignore non-valid chars and padding
-            }
-        }
-        // calculate required length:
-        //  -- 3 bytes for every 4 valid base64 chars
-        //  -- plus 2 bytes if there are 3 extra base64 chars,
-        //     or plus 1 byte if there are 2 extra.
+        return decode(data, 0, data.length);
+    }
 
-        int len = (tempLen / 4) * 3;
-        if ((tempLen % 4) == 3) {
+    /**
+     * Decodes a range of base64 characters, in the same way as
+     * {@link #decode(char[])}.
+     *
+     * @param data  the characters (<code>null</code> not permitted).
+     * @param offset  the index of the first character.
+     * @param length  the number of characters.
+     *
+     * @return The decoded data.
+     */
+    public static byte[] decode(final char[] data, final int offset,
+                                final int length) {
+        if (offset < 0 || length < 0 || offset > data.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        // the result has this length if all characters before the trailing
+        // padding and white space are valid, which is the usual case; any
+        // other junk only makes it shorter
+        int end = offset + length;
+        while (end > offset && !isBase64(data[end - 1])) {
+            end--;
+        }
+        final int count = end - offset;
+        int len = (count / 4) * 3;
+        if ((count % 4) == 3) {
             len += 2;
         }
-        if ((tempLen % 4) == 2) {
+        if ((count % 4) == 2) {
             len += 1;
         }
-
         final byte[] out = new byte[len];
-
-
-        int shift = 0; // # of excess bits stored in accum
-        int accum = 0; // excess bits
-        int index = 0;
-
-        // we now go through the entire array (NOT using the 'tempLen' value)
-        for (int ix = 0; ix < data.length; ix++) {
-            final int value = (data[ix] > 255) ? -1 : codes[data[ix]];
-
-            if (value >= 0) { // skip over non-code
-                accum <<= 6; // bits shift up by 6 each time thru
-                shift += 6; // loop, with new bits being put in
-                accum |= value; // at the bottom.
-                if (shift >= 8) { // whenever there are 8 or more shifted in,
-                    shift -= 8; // write them out (from the top, leaving any
-                    out[index++] = // excess at the bottom for next iteration.
-                        (byte) ((accum >> shift) & 0xff);
-                }
-            }
-            // we will also have skipped processing a padding null byte ('=') here;
-            // these are used ONLY for padding to an even length and do not legally
-            // occur as encoded data. for this reason we can ignore the fact that
-            // no index++ operation occurs in that special case: the out[] array is
-            // initialized to all-zero bytes to start with and that works to our
-            // advantage in this combination.
+        final int n = new Base64Decoder().decode(data, offset, count, out, 0);
+        if (n == len) {
+            return out;
         }
+        final byte[] result = new byte[n];
+        System.arraycopy(out, 0, result, 0, n);
+        return result;
+    }
 
-        // if there is STILL something wrong we just have to throw up now!
-        if (index != out.length) {
-            throw new Error("Miscalculated data length (wrote " 
-                + index + " instead of " + out.length + ")");
+    /**
+     * Decodes the remaining characters in a buffer, in the same way as
+     * {@link #decode(char[])}.  The buffer's position is moved to its limit.
+     *
+     * @param data  the characters (<code>null</code> not permitted).
+     *
+     * @return A buffer with the decoded bytes.
+     */
+    public static ByteBuffer decode(final CharBuffer data) {
+        final int length = data.remaining();
+        final byte[] bytes;
+        if (data.hasArray()) {
+            bytes = decode(data.array(), data.arrayOffset() + data.position(),
+                    length);
+            data.position(data.limit());
         }
-
-        return out;
+        else {
+            final char[] chars = new char[length];
+            data.get(chars);
+            bytes = decode(chars, 0, length);
+        }
+        return ByteBuffer.wrap(bytes);
     }
 
+    /**
+     * Returns <code>true</code> if a character is in the base64 alphabet
+     * (padding is not).
+     *
+     * @param c  the character.
+     *
+     * @return A boolean.
+     */
+    private static boolean isBase64(final char c) {
+        return c <= 0xff && codes[c] >= 0;
+    }
 
     //
     // code characters for values 0..63
@@ -222,6 +322,51 @@ public class Base64 {
         codes['/'] = 63;
     }
 
+    /**
+     * A lookup table that maps 12 bits to the two characters that encode
+     * them (the first in the high 16 bits), so that a group of three bytes
+     * is encoded with two lookups.
+     */
+    private static final int[] ENCODE_PAIRS = new int[4096];
+
+    static {
+        for (int i = 0; i < ENCODE_PAIRS.length; i++) {
+            ENCODE_PAIRS[i] = (alphabet[i >>> 6] << 16) | alphabet[i & 0x3f];
+        }
+    }
+
+    /**
+     * Lookup tables that map a character to its 6-bit value, shifted to its
+     * place in a group of 24 bits, or to -1 for a character that is not in
+     * the alphabet.  OR-ing the entries for four characters gives the three
+     * decoded bytes, or a negative number if any character is not valid.
+     */
+    static final int[] DECODE_0 = createDecodeTable(18);
+
+    /** The lookup table for the second character of a group. */
+    static final int[] DECODE_1 = createDecodeTable(12);
+
+    /** The lookup table for the third character of a group. */
+    static final int[] DECODE_2 = createDecodeTable(6);
+
+    /** The lookup table for the fourth character of a group. */
+    static final int[] DECODE_3 = createDecodeTable(0);
+
+    /**
+     * Creates a decoding table.
+     *
+     * @param shift  the number of bits to shift the values.
+     *
+     * @return The table.
+     */
+    private static int[] createDecodeTable(final int shift) {
+        final int[] table = new int[256];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (codes[i] < 0) ? -1 : codes[i] << shift;
+        }
+        return table;
+    }
+
 
 
 
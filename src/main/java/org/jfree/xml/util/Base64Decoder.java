@@ -0,0 +1,234 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ------------------
+ * Base64Decoder.java
+ * ------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.xml.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+
+/**
+ * Decodes base64 characters incrementally.  The characters can arrive in
+ * pieces of any size (for example the chunks passed to a SAX
+ * <code>characters()</code> callback): a group of four characters that is
+ * split between two pieces is completed when the next piece arrives.  As in
+ * {@link Base64#decode(char[])}, characters that are not in the base64
+ * alphabet (white space, line breaks and padding) are skipped, and each
+ * byte is produced as soon as its last character has been seen, so no
+ * final call is needed.
+ * <p>
+ * Groups of four valid characters are decoded in one step with lookup
+ * tables; single characters are only handled one at a time around
+ * characters that are skipped.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+public class Base64Decoder {
+
+    /** The number of characters decoded in one step by the stream methods. */
+    private static final int CHUNK_SIZE = 8192;
+
+    /** The bits of the incomplete group. */
+    private int bits;
+
+    /** The number of characters in the incomplete group (0-3). */
+    private int count;
+
+    /** The output buffer for the stream methods (created when needed). */
+    private byte[] buffer;
+
+    /** The input buffer for non-array char buffers (created when needed). */
+    private char[] chars;
+
+    /**
+     * Creates a new decoder.
+     */
+    public Base64Decoder() {
+        super();
+    }
+
+    /**
+     * Returns the number of characters of an incomplete group of four that
+     * have been decoded so far.
+     *
+     * @return The number of characters (0-3).
+     */
+    public int getPendingCount() {
+        return this.count;
+    }
+
+    /**
+     * Discards an incomplete group, so that the decoder can be used for new
+     * data.
+     */
+    public void reset() {
+        this.bits = 0;
+        this.count = 0;
+    }
+
+    /**
+     * Decodes characters into an array.  The array needs room for at most
+     * one byte per character.
+     *
+     * @param data  the characters (<code>null</code> not permitted).
+     * @param offset  the index of the first character.
+     * @param length  the number of characters.
+     * @param out  the array for the decoded bytes (<code>null</code> not
+     *     permitted).
+     * @param outOffset  the index for the first decoded byte.
+     *
+     * @return The number of bytes written to <code>out</code>.
+     */
+    public int decode(final char[] data, final int offset, final int length,
+                      final byte[] out, final int outOffset) {
+        if (offset < 0 || length < 0 || offset > data.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        final int[] d0 = Base64.DECODE_0;
+        final int[] d1 = Base64.DECODE_1;
+        final int[] d2 = Base64.DECODE_2;
+        final int[] d3 = Base64.DECODE_3;
+        final int end = offset + length;
+        int i = offset;
+        int o = outOffset;
+        while (i < end) {
+            if (this.count == 0) {
+                // whole groups of four valid characters
+                final int limit = end - 3;
+                while (i < limit) {
+                    final char c0 = data[i];
+                    final char c1 = data[i + 1];
+                    final char c2 = data[i + 2];
+                    final char c3 = data[i + 3];
+                    if ((c0 | c1 | c2 | c3) > 0xff) {
+                        break;
+                    }
+                    final int group = d0[c0] | d1[c1] | d2[c2] | d3[c3];
+                    if (group < 0) {
+                        break;
+                    }
+                    out[o] = (byte) (group >> 16);
+                    out[o + 1] = (byte) (group >> 8);
+                    out[o + 2] = (byte) group;
+                    o += 3;
+                    i += 4;
+                }
+                if (i == end) {
+                    break;
+                }
+            }
+            final char c = data[i++];
+            final int value = (c > 0xff) ? -1 : d3[c];
+            if (value < 0) {
+                continue;
+            }
+            this.bits = (this.bits << 6) | value;
+            this.count++;
+            if (this.count == 2) {
+                out[o++] = (byte) (this.bits >> 4);
+            }
+            else if (this.count == 3) {
+                out[o++] = (byte) (this.bits >> 2);
+            }
+            else if (this.count == 4) {
+                out[o++] = (byte) this.bits;
+                this.bits = 0;
+                this.count = 0;
+            }
+        }
+        return o - outOffset;
+    }
+
+    /**
+     * Decodes characters and writes the bytes to a stream.
+     *
+     * @param data  the characters (<code>null</code> not permitted).
+     * @param offset  the index of the first character.
+     * @param length  the number of characters.
+     * @param out  the output stream (<code>null</code> not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void decode(final char[] data, final int offset, final int length,
+                       final OutputStream out) throws IOException {
+        if (offset < 0 || length < 0 || offset > data.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (this.buffer == null) {
+            this.buffer = new byte[CHUNK_SIZE];
+        }
+        int i = offset;
+        final int end = offset + length;
+        while (i < end) {
+            final int n = Math.min(CHUNK_SIZE, end - i);
+            final int bytes = decode(data, i, n, this.buffer, 0);
+            out.write(this.buffer, 0, bytes);
+            i += n;
+        }
+    }
+
+    /**
+     * Decodes the remaining characters in a buffer and writes the bytes to a
+     * stream.  The buffer's position is moved to its limit.
+     *
+     * @param data  the characters (<code>null</code> not permitted).
+     * @param out  the output stream (<code>null</code> not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void decode(final CharBuffer data, final OutputStream out)
+            throws IOException {
+        if (data.hasArray()) {
+            decode(data.array(), data.arrayOffset() + data.position(),
+                    data.remaining(), out);
+            data.position(data.limit());
+            return;
+        }
+        if (this.chars == null) {
+            this.chars = new char[CHUNK_SIZE];
+        }
+        while (data.hasRemaining()) {
+            final int n = Math.min(CHUNK_SIZE, data.remaining());
+            data.get(this.chars, 0, n);
+            decode(this.chars, 0, n, out);
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ----------------------
+ * Base64InputStream.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.xml.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream that reads base64 characters, as ASCII bytes, from
+ * another stream and returns the decoded bytes.  As in
+ * {@link Base64#decode(char[])}, characters that are not in the base64
+ * alphabet (white space, line breaks and padding) are skipped.
+ */
+public class Base64InputStream extends FilterInputStream {
+
+    /** The number of characters read in one step. */
+    private static final int CHUNK_SIZE = 4096;
+
+    /** The decoder. */
+    private final Base64Decoder decoder;
+
+    /** The encoded data. */
+    private final byte[] input;
+
+    /** The encoded data as characters. */
+    private final char[] chars;
+
+    /** The decoded bytes. */
+    private final byte[] buffer;
+
+    /** The index of the next decoded byte. */
+    private int position;
+
+    /** The number of decoded bytes in the buffer. */
+    private int limit;
+
+    /** Has the end of the underlying stream been reached? */
+    private boolean endOfInput;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param in  the stream with the encoded data (<code>null</code> not
+     *     permitted).
+     */
+    public Base64InputStream(final InputStream in) {
+        super(in);
+        if (in == null) {
+            throw new NullPointerException("Null 'in' argument.");
+        }
+        this.decoder = new Base64Decoder();
+        this.input = new byte[CHUNK_SIZE];
+        this.chars = new char[CHUNK_SIZE];
+        this.buffer = new byte[CHUNK_SIZE];
+    }
+
+    /**
+     * Decodes more data if the buffer is empty.
+     *
+     * @return <code>false</code> if there is no more data.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private boolean fill() throws IOException {
+        while (this.position == this.limit) {
+            if (this.endOfInput) {
+                return false;
+            }
+            final int n = this.in.read(this.input);
+            if (n < 0) {
+                this.endOfInput = true;
+                return false;
+            }
+            for (int i = 0; i < n; i++) {
+                this.chars[i] = (char) (this.input[i] & 0xff);
+            }
+            this.position = 0;
+            this.limit = this.decoder.decode(this.chars, 0, n, this.buffer,
+                    0);
+        }
+        return true;
+    }
+
+    /**
+     * Reads one decoded byte.
+     *
+     * @return The byte, or -1 at the end of the data.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return this.buffer[this.position++] & 0xff;
+    }
+
+    /**
+     * Reads decoded bytes into an array.
+     *
+     * @param data  the array.
+     * @param offset  the index for the first byte.
+     * @param length  the maximum number of bytes.
+     *
+     * @return The number of bytes read, or -1 at the end of the data.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public int read(final byte[] data, final int offset, final int length)
+            throws IOException {
+        if (offset < 0 || length < 0 || offset > data.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        final int n = Math.min(length, this.limit - this.position);
+        System.arraycopy(this.buffer, this.position, data, offset, n);
+        this.position += n;
+        return n;
+    }
+
+    /**
+     * Skips decoded bytes.
+     *
+     * @param n  the number of bytes.
+     *
+     * @return The number of bytes skipped.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public long skip(final long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && fill()) {
+            final int count = (int) Math.min(n - skipped,
+                    this.limit - this.position);
+            this.position += count;
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    /**
+     * Returns the number of decoded bytes that can be read without
+     * blocking.
+     *
+     * @return The number of bytes.
+     */
+    public int available() {
+        return this.limit - this.position;
+    }
+
+    /**
+     * Marks are not supported.
+     *
+     * @return <code>false</code>.
+     */
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Marks are not supported, so this method does nothing.
+     *
+     * @param readlimit  ignored.
+     */
+    public void mark(final int readlimit) {
+        // not supported
+    }
+
+    /**
+     * Marks are not supported.
+     *
+     * @throws IOException always.
+     */
+    public void reset() throws IOException {
+        throw new IOException("Mark/reset not supported.");
+    }
+
+}
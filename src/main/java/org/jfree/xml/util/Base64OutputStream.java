@@ -0,0 +1,195 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------------
+ * Base64OutputStream.java
+ * -----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.xml.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream that encodes the bytes written to it in base64 and writes
+ * the characters, as ASCII bytes, to another stream.  The encoded data is
+ * written on a single line.  The last group of bytes, with its padding, is
+ * written by {@link #finish()} or {@link #close()}.
+ */
+public class Base64OutputStream extends FilterOutputStream {
+
+    /** The number of bytes encoded in one step. */
+    private static final int CHUNK_SIZE = 3 * 1024;
+
+    /** The bytes of an incomplete group. */
+    private final byte[] pending;
+
+    /** The number of bytes in the incomplete group. */
+    private int pendingCount;
+
+    /** The encoded characters. */
+    private final char[] chars;
+
+    /** The encoded characters as bytes. */
+    private final byte[] encoded;
+
+    /** Has the last group been written? */
+    private boolean finished;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param out  the stream for the encoded data (<code>null</code> not
+     *     permitted).
+     */
+    public Base64OutputStream(final OutputStream out) {
+        super(out);
+        if (out == null) {
+            throw new NullPointerException("Null 'out' argument.");
+        }
+        this.pending = new byte[3];
+        this.chars = new char[CHUNK_SIZE / 3 * 4];
+        this.encoded = new byte[this.chars.length];
+    }
+
+    /**
+     * Writes one byte.
+     *
+     * @param b  the byte.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void write(final int b) throws IOException {
+        if (this.finished) {
+            throw new IOException("The stream is finished.");
+        }
+        this.pending[this.pendingCount++] = (byte) b;
+        if (this.pendingCount == 3) {
+            writeChars(Base64.encodeGroups(this.pending, 0, 1, this.chars, 0)
+                    * 4);
+            this.pendingCount = 0;
+        }
+    }
+
+    /**
+     * Writes a range of bytes.
+     *
+     * @param data  the bytes.
+     * @param offset  the index of the first byte.
+     * @param length  the number of bytes.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void write(final byte[] data, final int offset, final int length)
+            throws IOException {
+        if (offset < 0 || length < 0 || offset > data.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (this.finished) {
+            throw new IOException("The stream is finished.");
+        }
+        int i = offset;
+        final int end = offset + length;
+        if (this.pendingCount > 0) {
+            while (this.pendingCount < 3 && i < end) {
+                this.pending[this.pendingCount++] = data[i++];
+            }
+            if (this.pendingCount < 3) {
+                return;
+            }
+            writeChars(Base64.encodeGroups(this.pending, 0, 1, this.chars, 0)
+                    * 4);
+            this.pendingCount = 0;
+        }
+        while (end - i >= 3) {
+            final int groups = Math.min(end - i, CHUNK_SIZE) / 3;
+            writeChars(Base64.encodeGroups(data, i, groups, this.chars, 0)
+                    * 4);
+            i += groups * 3;
+        }
+        while (i < end) {
+            this.pending[this.pendingCount++] = data[i++];
+        }
+    }
+
+    /**
+     * Writes encoded characters to the underlying stream.
+     *
+     * @param count  the number of characters.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private void writeChars(final int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            this.encoded[i] = (byte) this.chars[i];
+        }
+        this.out.write(this.encoded, 0, count);
+    }
+
+    /**
+     * Writes the last, incomplete group of bytes with its padding, without
+     * closing the underlying stream.  No more bytes can be written after
+     * this method has been called.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void finish() throws IOException {
+        if (this.finished) {
+            return;
+        }
+        this.finished = true;
+        writeChars(Base64.encodeTail(this.pending, 0, this.pendingCount,
+                this.chars, 0));
+        this.pendingCount = 0;
+        this.out.flush();
+    }
+
+    /**
+     * Finishes the encoded data and closes the underlying stream.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void close() throws IOException {
+        try {
+            finish();
+        }
+        finally {
+            this.out.close();
+        }
+    }
+
+}
@@ -0,0 +1,386 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------
+ * PngEncoderTest.java
+ * -------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 17-Oct-2026 : Version 1;
+ * 17-Oct-2026 : Added tests for every filter on gradient and noisy images;
+ *
+ */
+
+package com.keypoint;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link PngEncoder} class.
+ */
+public class PngEncoderTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(PngEncoderTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public PngEncoderTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Creates a small chart-like test image.
+     *
+     * @param type  the image type.
+     *
+     * @return The image.
+     */
+    private static BufferedImage createImage(final int type) {
+        final BufferedImage image = new BufferedImage(150, 400, type);
+        final Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setPaint(new Color(255, 255, 255, 200));
+        g2.fillRect(0, 0, 150, 400);
+        g2.setPaint(Color.blue);
+        g2.setStroke(new BasicStroke(3.0f));
+        g2.drawLine(0, 0, 150, 400);
+        g2.setPaint(new Color(255, 0, 0, 128));
+        g2.fillOval(20, 50, 100, 200);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Creates a photo-like test image: smooth gradients in every channel,
+     * including alpha, with some random noise added.
+     *
+     * @param noise  the amplitude of the noise (0 for a plain gradient).
+     *
+     * @return The image.
+     */
+    private static BufferedImage createGradient(final int noise) {
+        final int width = 173;
+        final int height = 111;
+        final BufferedImage image = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_ARGB);
+        final Random random = new Random(7);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int[] c = {255 - y * 2, x * 255 / width,
+                    y * 255 / height, (x + y) * 255 / (width + height)};
+                int argb = 0;
+                for (int i = 0; i < c.length; i++) {
+                    if (noise > 0) {
+                        c[i] += random.nextInt(2 * noise + 1) - noise;
+                    }
+                    argb = (argb << 8) | Math.max(0, Math.min(255, c[i]));
+                }
+                image.setRGB(x, y, argb);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Checks that the decoded image matches the original pixel for pixel.
+     *
+     * @param expected  the original image.
+     * @param png  the encoded bytes.
+     * @param alpha  whether the alpha channel was encoded.
+     *
+     * @throws IOException if the image cannot be decoded.
+     */
+    private static void assertImage(final BufferedImage expected,
+                                    final byte[] png, final boolean alpha)
+            throws IOException {
+        final BufferedImage actual = ImageIO.read(
+                new ByteArrayInputStream(png));
+        assertNotNull(actual);
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        final int mask = alpha ? 0xffffffff : 0x00ffffff;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(expected.getRGB(x, y) & mask,
+                        actual.getRGB(x, y) & mask);
+            }
+        }
+    }
+
+    /**
+     * The in-memory and streaming encodings should both decode to the
+     * original image for every filter.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testEncode() throws IOException {
+        final BufferedImage image = createImage(BufferedImage.TYPE_INT_ARGB);
+        for (int filter = PngEncoder.FILTER_NONE;
+             filter <= PngEncoder.FILTER_LAST; filter++) {
+            for (int a = 0; a < 2; a++) {
+                final boolean alpha = (a == 1);
+                final PngEncoder encoder = new PngEncoder(image, alpha,
+                        filter, 9);
+                assertImage(image, encoder.pngEncode(), alpha);
+
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                encoder.pngEncode(out);
+                assertImage(image, out.toByteArray(), alpha);
+            }
+        }
+    }
+
+    /**
+     * Every filter should decode to the original pixels on gradient and
+     * noisy images, where the filters that predict from the previous row
+     * and the previous pixel (AVERAGE, PAETH) see values of every size.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testFiltersOnGradients() throws IOException {
+        final int[] noise = {0, 3, 40};
+        for (int n = 0; n < noise.length; n++) {
+            final BufferedImage image = createGradient(noise[n]);
+            for (int filter = PngEncoder.FILTER_NONE;
+                 filter <= PngEncoder.FILTER_LAST; filter++) {
+                for (int a = 0; a < 2; a++) {
+                    final boolean alpha = (a == 1);
+                    final PngEncoder encoder = new PngEncoder(image, alpha,
+                            filter, 6);
+                    assertImage(image, encoder.pngEncode(), alpha);
+                    final ByteArrayOutputStream out
+                            = new ByteArrayOutputStream();
+                    encoder.pngEncode(out);
+                    assertImage(image, out.toByteArray(), alpha);
+                }
+            }
+        }
+    }
+
+    /**
+     * The adaptive filter should compress a gradient image at least as well
+     * as no filter at all.
+     */
+    public void testAdaptiveFilterSize() {
+        final int[] noise = {0, 3};
+        for (int n = 0; n < noise.length; n++) {
+            final BufferedImage image = createGradient(noise[n]);
+            final int none = new PngEncoder(image, true,
+                    PngEncoder.FILTER_NONE, 9).pngEncode().length;
+            final int adaptive = new PngEncoder(image, true,
+                    PngEncoder.FILTER_ADAPTIVE, 9).pngEncode().length;
+            assertTrue(adaptive + " > " + none, adaptive <= none);
+        }
+    }
+
+    /**
+     * Small IDAT chunks should still give a valid file when writing to a
+     * channel.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testEncodeToChannel() throws IOException {
+        final BufferedImage image = createImage(BufferedImage.TYPE_INT_RGB);
+        final PngEncoder encoder = new PngEncoder(image, false,
+                PngEncoder.FILTER_UP, 6);
+        encoder.setIdatChunkSize(100);
+        encoder.setDpi(96, 96);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.pngEncode(Channels.newChannel(out));
+        assertImage(image, out.toByteArray(), false);
+    }
+
+    /**
+     * Parallel compression should produce a valid file, also when the
+     * image data spans several blocks.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testParallelEncode() throws IOException {
+        final BufferedImage image = createImage(BufferedImage.TYPE_INT_ARGB);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (int level = 0; level <= 9; level += 3) {
+                final PngEncoder encoder = new PngEncoder(image, true,
+                        PngEncoder.FILTER_SUB, level);
+                encoder.setDeflateExecutor(executor);
+                encoder.setDeflateBlockSize(32768);
+                assertImage(image, encoder.pngEncode(), true);
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * The raster fast path and the PixelGrabber fallback should give the
+     * same pixels for every image type, including sub-images that share
+     * their parent's data buffer.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testImageTypes() throws IOException {
+        final int[] types = {BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_4BYTE_ABGR, BufferedImage.TYPE_INT_ARGB_PRE,
+            BufferedImage.TYPE_USHORT_565_RGB};
+        for (int t = 0; t < types.length; t++) {
+            final BufferedImage image = createImage(types[t]);
+            final BufferedImage sub = image.getSubimage(13, 27, 101, 333);
+            for (int a = 0; a < 2; a++) {
+                final boolean alpha = (a == 1)
+                        && types[t] != BufferedImage.TYPE_INT_ARGB_PRE;
+                PngEncoder encoder = new PngEncoder(image, alpha,
+                        PngEncoder.FILTER_UP, 6);
+                assertImage(image, encoder.pngEncode(), alpha);
+                encoder = new PngEncoder(sub, alpha, PngEncoder.FILTER_NONE,
+                        6);
+                assertImage(sub, encoder.pngEncode(), alpha);
+            }
+        }
+    }
+
+    /**
+     * Returns the colour type and bit depth from the IHDR chunk.
+     *
+     * @param png  the encoded bytes.
+     *
+     * @return The colour type * 100 + the bit depth.
+     */
+    private static int getColorTypeAndDepth(final byte[] png) {
+        return png[25] * 100 + png[24];
+    }
+
+    /**
+     * Automatic colour type selection should pick the smallest exact
+     * representation.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testAutoColorType() throws IOException {
+        // black and white: 1-bit greyscale
+        BufferedImage image = new BufferedImage(77, 31,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setPaint(Color.white);
+        g2.fillRect(0, 0, 40, 31);
+        g2.dispose();
+        PngEncoder encoder = new PngEncoder(image, true,
+                PngEncoder.FILTER_ADAPTIVE, 9);
+        encoder.setAutoColorType(true);
+        byte[] png = encoder.pngEncode();
+        assertEquals(1, getColorTypeAndDepth(png));
+        assertImage(image, png, true);
+
+        // a few translucent colours: 4-bit palette with tRNS
+        image = new BufferedImage(50, 20, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < 50; x++) {
+            for (int y = 0; y < 20; y++) {
+                image.setRGB(x, y, (x % 10) * 0x19000000 + x / 10 * 0x3050);
+            }
+        }
+        encoder = new PngEncoder(image, true, PngEncoder.FILTER_SUB, 9);
+        encoder.setAutoColorType(true);
+        png = encoder.pngEncode();
+        assertEquals(308, getColorTypeAndDepth(png));
+        assertImage(image, png, true);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.pngEncode(out);
+        assertImage(image, out.toByteArray(), true);
+
+        // gradient: too many colours for a palette, and no alpha
+        image = new BufferedImage(150, 200, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < 150; x++) {
+            for (int y = 0; y < 200; y++) {
+                image.setRGB(x, y, 0x7f000000 | (x << 16) | (y << 8));
+            }
+        }
+        encoder = new PngEncoder(image, false, PngEncoder.FILTER_PAETH, 9);
+        encoder.setAutoColorType(true);
+        png = encoder.pngEncode();
+        assertEquals(208, getColorTypeAndDepth(png));
+        assertImage(image, png, false);
+    }
+
+    /**
+     * Encoders from a pool are reused for images of different sizes, so
+     * check that no state leaks from one encoding to the next.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testPool() throws IOException {
+        final PngEncoderPool pool = new PngEncoderPool(1, true,
+                PngEncoder.FILTER_ADAPTIVE, 9, true);
+        final BufferedImage large = createImage(BufferedImage.TYPE_INT_ARGB);
+        final BufferedImage small = large.getSubimage(10, 10, 20, 30);
+        for (int i = 0; i < 3; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            pool.encode(large, out);
+            assertImage(large, out.toByteArray(), true);
+            out = new ByteArrayOutputStream();
+            pool.encode(small, out);
+            assertImage(small, out.toByteArray(), true);
+        }
+        assertEquals(1, pool.getIdleCount());
+        pool.clear();
+        assertEquals(0, pool.getIdleCount());
+    }
+
+}
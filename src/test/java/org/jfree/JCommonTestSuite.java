@@ -42,6 +42,9 @@
  * 09-Jan-2004 : Added new org.jfree.ui package tests (DG);
  * 22-Mar-2004 : Added tests for the org.jfree.text package (DG);
  * 18-Jan-2005 : Added main() method (DG);
+ * 17-Oct-2026 : Added tests for the org.jfree.threads package;
+ * 17-Oct-2026 : Added tests for the org.jfree.base.config package;
+ * 17-Oct-2026 : Added tests for the org.jfree.base.log package;
  *
  */
 
@@ -50,9 +53,12 @@ package org.jfree;
 import junit.framework.Test;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
+import org.jfree.base.config.BaseConfigPackageTests;
+import org.jfree.base.log.BaseLogPackageTests;
 import org.jfree.date.DatePackageTests;
 import org.jfree.io.IOPackageTests;
 import org.jfree.text.TextPackageTests;
+import org.jfree.threads.ThreadsPackageTests;
 import org.jfree.ui.UIPackageTests;
 import org.jfree.util.UtilPackageTests;
 
@@ -69,9 +75,12 @@ public class JCommonTestSuite extends TestCase {
      */
     public static Test suite() {
         final TestSuite suite = new TestSuite("JCommon");
+        suite.addTest(BaseConfigPackageTests.suite());
+        suite.addTest(BaseLogPackageTests.suite());
         suite.addTest(DatePackageTests.suite());
         suite.addTest(IOPackageTests.suite());
         suite.addTest(TextPackageTests.suite());
+        suite.addTest(ThreadsPackageTests.suite());
         suite.addTest(UIPackageTests.suite());
         suite.addTest(UtilPackageTests.suite());
         return suite;
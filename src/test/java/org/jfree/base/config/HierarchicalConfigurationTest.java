@@ -0,0 +1,307 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ----------------------------------
+ * HierarchicalConfigurationTest.java
+ * ----------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ * 17-Oct-2026 : Added listener tests;
+ * 17-Oct-2026 : Added testOverridingSubclass();
+ *
+ */
+
+package org.jfree.base.config;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link HierarchicalConfiguration} class.
+ */
+public class HierarchicalConfigurationTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(HierarchicalConfigurationTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public HierarchicalConfigurationTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Creates a chain of three configurations.
+     *
+     * @return The child configuration.
+     */
+    private static HierarchicalConfiguration createChain() {
+        final HierarchicalConfiguration root = new HierarchicalConfiguration();
+        root.setConfigProperty("a.x", "root");
+        root.setConfigProperty("a.y", "root");
+        root.setConfigProperty("b", "root");
+        final HierarchicalConfiguration middle
+                = new HierarchicalConfiguration(root);
+        middle.setConfigProperty("a.y", "middle");
+        middle.setConfigProperty("c", "middle");
+        final HierarchicalConfiguration child
+                = new HierarchicalConfiguration(middle);
+        child.setConfigProperty("b", "child");
+        return child;
+    }
+
+    /**
+     * Returns the keys from an iterator.
+     *
+     * @param it  the iterator.
+     *
+     * @return The keys.
+     */
+    private static List toList(final Iterator it) {
+        final List result = new ArrayList();
+        while (it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    /**
+     * A flattened configuration returns the same values as the original.
+     */
+    public void testLookup() {
+        final HierarchicalConfiguration c = createChain();
+        final String[] keys = {"a.x", "a.y", "b", "c", "d"};
+        final String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = c.getConfigProperty(keys[i], "default");
+        }
+        assertEquals("root", values[0]);
+        assertEquals("middle", values[1]);
+        assertEquals("child", values[2]);
+        assertEquals("default", values[4]);
+        c.setFlattened(true);
+        assertTrue(c.isFlattened());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(values[i], c.getConfigProperty(keys[i], "default"));
+        }
+        assertNull(c.getConfigProperty("d"));
+    }
+
+    /**
+     * The flattened view sees changes to any level of the chain.
+     */
+    public void testChanges() {
+        final HierarchicalConfiguration c = createChain();
+        c.setFlattened(true);
+        final HierarchicalConfiguration middle
+                = (HierarchicalConfiguration) c.getParentConfig();
+        final HierarchicalConfiguration root
+                = (HierarchicalConfiguration) middle.getParentConfig();
+        assertEquals("root", c.getConfigProperty("a.x"));
+
+        final long version = root.getVersion();
+        root.setConfigProperty("a.x", "changed");
+        assertEquals(version + 1, root.getVersion());
+        assertEquals("changed", c.getConfigProperty("a.x"));
+
+        middle.setConfigProperty("a.y", null);
+        assertEquals("root", c.getConfigProperty("a.y"));
+
+        final HierarchicalConfiguration inserted
+                = new HierarchicalConfiguration();
+        inserted.setConfigProperty("a.x", "inserted");
+        middle.insertConfiguration(inserted);
+        assertEquals("inserted", c.getConfigProperty("a.x"));
+
+        final PropertyFileConfiguration file = new PropertyFileConfiguration();
+        inserted.insertConfiguration(file);
+        file.load(new ByteArrayInputStream("e=file\n".getBytes()));
+        assertEquals("file", c.getConfigProperty("e"));
+
+        // an unrelated change does not affect the view
+        new HierarchicalConfiguration().setConfigProperty("e", "other");
+        assertEquals("file", c.getConfigProperty("e"));
+    }
+
+    /**
+     * Prefix searches return the same sorted keys as the original.
+     */
+    public void testFindPropertyKeys() {
+        final HierarchicalConfiguration c = createChain();
+        final List all = toList(c.findPropertyKeys(""));
+        final List a = toList(c.findPropertyKeys("a."));
+        assertEquals(Arrays.asList(new String[] {"a.x", "a.y", "b", "c"}),
+                all);
+        c.setFlattened(true);
+        assertEquals(all, toList(c.findPropertyKeys("")));
+        assertEquals(a, toList(c.findPropertyKeys("a.")));
+        assertEquals(Arrays.asList(new String[] {"c"}),
+                toList(c.findPropertyKeys("c")));
+        assertFalse(c.findPropertyKeys("z").hasNext());
+        assertFalse(c.findPropertyKeys("a.y.").hasNext());
+
+        c.setConfigProperty("a.w", "child");
+        assertEquals(Arrays.asList(new String[] {"a.w", "a.x", "a.y"}),
+                toList(c.findPropertyKeys("a.")));
+    }
+
+    /**
+     * The system properties are always read, even when they are part of a
+     * flattened chain.
+     */
+    public void testSystemProperties() {
+        final String key = "org.jfree.base.config.test";
+        final HierarchicalConfiguration root = new HierarchicalConfiguration();
+        root.setConfigProperty(key, "root");
+        final SystemPropertyConfiguration system
+                = new SystemPropertyConfiguration();
+        system.setFlattened(true);
+        final HierarchicalConfiguration c = createChain();
+        c.insertConfiguration(system);
+        system.insertConfiguration(root);
+        c.setFlattened(true);
+        assertEquals("root", c.getConfigProperty(key));
+        System.setProperty(key, "system");
+        try {
+            assertEquals("system", c.getConfigProperty(key));
+            assertTrue(toList(c.findPropertyKeys("org.jfree.base.")).contains(
+                    key));
+        }
+        finally {
+            System.getProperties().remove(key);
+        }
+        assertEquals("root", c.getConfigProperty(key));
+        assertEquals("child", c.getConfigProperty("b"));
+        assertEquals("middle", c.getConfigProperty("c"));
+    }
+
+    /**
+     * A subclass that overrides the lookup is queried by a flattened view,
+     * not merged, unless it declares that it has no external properties.
+     */
+    public void testOverridingSubclass() {
+        final HierarchicalConfiguration upper
+                = new HierarchicalConfiguration() {
+            public String getConfigProperty(final String key,
+                    final String defaultValue) {
+                return super.getConfigProperty(key, defaultValue)
+                        .toUpperCase();
+            }
+        };
+        assertTrue(upper.hasExternalProperties());
+        assertFalse(upper.isFullyObservable());
+        final HierarchicalConfiguration c = createChain();
+        c.insertConfiguration(upper);
+        c.setFlattened(true);
+        assertEquals("MIDDLE", c.getConfigProperty("c", "default"));
+        assertEquals("ROOT", c.getConfigProperty("a.x", "default"));
+        assertEquals("child", c.getConfigProperty("b", "default"));
+
+        assertFalse(new HierarchicalConfiguration().hasExternalProperties());
+        assertFalse(new PropertyFileConfiguration().hasExternalProperties());
+        assertTrue(new PropertyFileConfiguration() {
+        }.hasExternalProperties());
+    }
+
+    /**
+     * Listeners receive the changes of the parents that are not hidden.
+     */
+    public void testListeners() {
+        final HierarchicalConfiguration c = createChain();
+        final HierarchicalConfiguration middle
+                = (HierarchicalConfiguration) c.getParentConfig();
+        final HierarchicalConfiguration root
+                = (HierarchicalConfiguration) middle.getParentConfig();
+        final List events = new ArrayList();
+        final PropertyChangeListener listener = new PropertyChangeListener() {
+            public void propertyChange(final PropertyChangeEvent event) {
+                events.add(event.getPropertyName() + "=" + event.getNewValue());
+            }
+        };
+        c.addPropertyChangeListener(listener);
+        root.setConfigProperty("a.x", "1");
+        root.setConfigProperty("b", "1");
+        middle.setConfigProperty("a.y", null);
+        c.setConfigProperty("a.x", "2");
+        assertEquals(Arrays.asList(new String[] {"a.x=1", "a.y=root",
+                "a.x=2"}), events);
+
+        events.clear();
+        final HierarchicalConfiguration inserted
+                = new HierarchicalConfiguration();
+        root.insertConfiguration(inserted);
+        inserted.setConfigProperty("d", "3");
+        assertEquals(Arrays.asList(new String[] {"null=null", "d=3"}),
+                events);
+
+        events.clear();
+        c.removePropertyChangeListener(listener);
+        inserted.setConfigProperty("d", "4");
+        c.setConfigProperty("d", "5");
+        assertTrue(events.isEmpty());
+    }
+
+    /**
+     * A clone has its own view.
+     *
+     * @throws CloneNotSupportedException if cloning fails.
+     */
+    public void testClone() throws CloneNotSupportedException {
+        final HierarchicalConfiguration c = createChain();
+        c.setFlattened(true);
+        assertEquals("child", c.getConfigProperty("b"));
+        final HierarchicalConfiguration copy
+                = (HierarchicalConfiguration) c.clone();
+        copy.setConfigProperty("b", "copy");
+        assertEquals("copy", copy.getConfigProperty("b"));
+        assertEquals("child", c.getConfigProperty("b"));
+    }
+
+}
@@ -0,0 +1,277 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------------------------------
+ * ReloadingPropertyFileConfigurationTest.java
+ * -------------------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ * 17-Oct-2026 : Added tests for failed reloads;
+ * 17-Oct-2026 : Added testReloadWithFailingListener();
+ *
+ */
+
+package org.jfree.base.config;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.util.ExtendedConfigurationWrapper;
+
+/**
+ * Tests for the {@link ReloadingPropertyFileConfiguration} class.
+ */
+public class ReloadingPropertyFileConfigurationTest extends TestCase {
+
+    /** The property file. */
+    private File file;
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(ReloadingPropertyFileConfigurationTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public ReloadingPropertyFileConfigurationTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Creates the property file.
+     *
+     * @throws IOException if the file cannot be created.
+     */
+    protected void setUp() throws IOException {
+        this.file = File.createTempFile("jcommon", ".properties");
+        write("a=1\nb=2\n");
+    }
+
+    /**
+     * Deletes the property file.
+     */
+    protected void tearDown() {
+        this.file.delete();
+    }
+
+    /**
+     * Replaces the contents of the property file.
+     *
+     * @param text  the contents.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    private void write(final String text) throws IOException {
+        final OutputStream out = new FileOutputStream(this.file);
+        try {
+            out.write(text.getBytes("ISO-8859-1"));
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    /**
+     * A reload replaces the properties and notifies the listeners of the
+     * child configurations.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public void testReload() throws IOException {
+        final ReloadingPropertyFileConfiguration config
+                = new ReloadingPropertyFileConfiguration(this.file);
+        assertEquals(1, config.getReloadCount());
+        final HierarchicalConfiguration child
+                = new HierarchicalConfiguration(config);
+        child.setConfigProperty("b", "child");
+        child.setFlattened(true);
+        assertEquals("1", child.getConfigProperty("a"));
+        final List events = Collections.synchronizedList(new ArrayList());
+        child.addPropertyChangeListener(new PropertyChangeListener() {
+            public void propertyChange(final PropertyChangeEvent event) {
+                events.add(event.getPropertyName() + ":"
+                        + event.getOldValue() + ">" + event.getNewValue());
+            }
+        });
+
+        write("a=3\nb=4\nc=5\n");
+        assertTrue(config.reload());
+        assertEquals(2, config.getReloadCount());
+        assertEquals(5, config.getChangedPropertyCount());
+        assertEquals("3", child.getConfigProperty("a"));
+        assertEquals("child", child.getConfigProperty("b"));
+        assertEquals("5", child.getConfigProperty("c"));
+        Collections.sort(events);
+        assertEquals(Arrays.asList(new String[] {"a:1>3", "c:null>5"}),
+                events);
+
+        events.clear();
+        write("c=5\n");
+        assertTrue(config.reload());
+        assertNull(child.getConfigProperty("a"));
+        assertEquals(Arrays.asList(new String[] {"a:3>null"}), events);
+
+        this.file.delete();
+        assertFalse(config.reload());
+        assertEquals(1, config.getFailedReloadCount());
+        assertEquals("5", child.getConfigProperty("c"));
+
+        write("c=\\uZZZZ\n");
+        assertFalse(config.reload());
+        assertEquals(2, config.getFailedReloadCount());
+        assertEquals("5", child.getConfigProperty("c"));
+    }
+
+    /**
+     * A listener that throws an exception neither stops the reload from
+     * being counted nor hides the change from the listeners added after it.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public void testReloadWithFailingListener() throws IOException {
+        final ReloadingPropertyFileConfiguration config
+                = new ReloadingPropertyFileConfiguration(this.file);
+        config.addPropertyChangeListener(new PropertyChangeListener() {
+            public void propertyChange(final PropertyChangeEvent event) {
+                throw new IllegalStateException("Listener failed.");
+            }
+        });
+        final ExtendedConfigurationWrapper wrapper
+                = new ExtendedConfigurationWrapper(config);
+        assertEquals(1, wrapper.getIntProperty("a", 0));
+
+        write("a=3\nb=2\n");
+        assertTrue(config.reload());
+        assertEquals(2, config.getReloadCount());
+        assertEquals(3, config.getChangedPropertyCount());
+        assertEquals(3, wrapper.getIntProperty("a", 0));
+    }
+
+    /**
+     * Waits until a property of a configuration has a value.
+     *
+     * @param config  the configuration.
+     * @param key  the key.
+     * @param value  the expected value.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    private static void waitFor(final HierarchicalConfiguration config,
+            final String key, final String value)
+            throws InterruptedException {
+        final long end = System.currentTimeMillis() + 30000;
+        while (!value.equals(config.getConfigProperty(key))
+                && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(value, config.getConfigProperty(key));
+    }
+
+    /**
+     * The watcher keeps running when a reload fails with an exception.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testWatchingAfterFailure() throws Exception {
+        final ReloadingPropertyFileConfiguration config
+                = new ReloadingPropertyFileConfiguration(this.file);
+        final List events = Collections.synchronizedList(new ArrayList());
+        config.addPropertyChangeListener(new PropertyChangeListener() {
+            public void propertyChange(final PropertyChangeEvent event) {
+                events.add(event.getNewValue());
+                if (events.size() == 1) {
+                    throw new IllegalStateException("failing listener");
+                }
+            }
+        });
+        config.startWatching();
+        try {
+            write("a=first\n");
+            waitFor(config, "a", "first");
+            write("a=second\n");
+            waitFor(config, "a", "second");
+            assertTrue(config.isWatching());
+        }
+        finally {
+            config.stopWatching();
+        }
+    }
+
+    /**
+     * A watched file is reloaded when it changes.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testWatching() throws Exception {
+        final ReloadingPropertyFileConfiguration config
+                = new ReloadingPropertyFileConfiguration(this.file);
+        config.startWatching();
+        try {
+            assertTrue(config.isWatching());
+            write("a=changed\n");
+            final long end = System.currentTimeMillis() + 30000;
+            while (!"changed".equals(config.getConfigProperty("a"))
+                    && System.currentTimeMillis() < end) {
+                Thread.sleep(10);
+            }
+            assertEquals("changed", config.getConfigProperty("a"));
+            assertNull(config.getConfigProperty("b"));
+            assertTrue(config.getLastReloadLatency() > 0);
+            assertTrue(config.getMaxReloadLatency()
+                    >= config.getLastReloadLatency());
+        }
+        finally {
+            config.stopWatching();
+        }
+        assertFalse(config.isWatching());
+    }
+
+}
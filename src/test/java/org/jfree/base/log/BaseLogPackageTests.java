@@ -0,0 +1,83 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ------------------------
+ * BaseLogPackageTests.java
+ * ------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.base.log;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * A collection of tests for the org.jfree.base.log package.
+ * <P>
+ * These tests can be run using JUnit (http://www.junit.org).
+ */
+public class BaseLogPackageTests extends TestCase {
+
+    /**
+     * Returns a test suite to the JUnit test runner.
+     *
+     * @return the test suite.
+     */
+    public static Test suite() {
+        final TestSuite suite = new TestSuite("org.jfree.base.log");
+        suite.addTestSuite(LogConfigurationTest.class);
+        return suite;
+    }
+
+    /**
+     * Constructs the test suite.
+     *
+     * @param name  the suite name.
+     */
+    public BaseLogPackageTests(final String name) {
+        super(name);
+    }
+
+    /**
+     * Runs the test suite using the JUnit text-based runner.
+     *
+     * @param args  ignored.
+     */
+    public static void main(final String[] args) {
+        junit.textui.TestRunner.run(suite());
+    }
+
+}
@@ -0,0 +1,113 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------------
+ * LogConfigurationTest.java
+ * -------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.base.log;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.base.BaseBoot;
+import org.jfree.util.AsyncLogTarget;
+
+/**
+ * Tests for the {@link LogConfiguration} class.
+ */
+public class LogConfigurationTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(LogConfigurationTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public LogConfigurationTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Removes the capacity setting.
+     */
+    protected void tearDown() {
+        BaseBoot.getConfiguration().setConfigProperty(
+                LogConfiguration.ASYNC_CAPACITY, null);
+    }
+
+    /**
+     * The capacity is always one that the AsyncLogTarget accepts.
+     */
+    public void testGetAsyncCapacity() {
+        assertEquals(AsyncLogTarget.DEFAULT_CAPACITY,
+                LogConfiguration.getAsyncCapacity());
+        setCapacity("1000");
+        assertEquals(1000, LogConfiguration.getAsyncCapacity());
+        setCapacity(String.valueOf(Integer.MAX_VALUE));
+        assertEquals(AsyncLogTarget.MAXIMUM_CAPACITY,
+                LogConfiguration.getAsyncCapacity());
+        setCapacity("0");
+        assertEquals(AsyncLogTarget.DEFAULT_CAPACITY,
+                LogConfiguration.getAsyncCapacity());
+        setCapacity("-5");
+        assertEquals(AsyncLogTarget.DEFAULT_CAPACITY,
+                LogConfiguration.getAsyncCapacity());
+        setCapacity("large");
+        assertEquals(AsyncLogTarget.DEFAULT_CAPACITY,
+                LogConfiguration.getAsyncCapacity());
+    }
+
+    /**
+     * Sets the capacity in the global configuration.
+     *
+     * @param value  the value.
+     */
+    private static void setCapacity(final String value) {
+        BaseBoot.getConfiguration().setConfigProperty(
+                LogConfiguration.ASYNC_CAPACITY, value);
+    }
+
+}
@@ -0,0 +1,387 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * --------------------
+ * BinaryCodecTest.java
+ * --------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ * 17-Oct-2026 : Added testInvalidArcType();
+ *
+ */
+
+package org.jfree.io;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.TexturePaint;
+import java.awt.font.TextAttribute;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.nio.ByteBuffer;
+import java.text.AttributedString;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.util.AttributedStringUtilities;
+import org.jfree.util.PaintUtilities;
+import org.jfree.util.ShapeUtilities;
+
+/**
+ * Tests for the {@link BinaryCodec}, {@link ByteBufferDataOutput} and
+ * {@link ByteBufferDataInput} classes.
+ */
+public class BinaryCodecTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(BinaryCodecTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public BinaryCodecTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Writes some attributes to a stream and reads them back.
+     *
+     * @param values  the values (paints, strokes, composites, shapes,
+     *     points and attributed strings, in any order).
+     *
+     * @return The values that were read.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private Object[] roundTrip(final Object[] values) throws IOException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(buffer);
+        for (int i = 0; i < values.length; i++) {
+            write(values[i], out);
+        }
+        out.close();
+        final DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(buffer.toByteArray()));
+        final Object[] result = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = read(values[i], in);
+        }
+        assertEquals(-1, in.read());
+        return result;
+    }
+
+    /**
+     * Writes a value with the method for its type.
+     *
+     * @param value  the value.
+     * @param out  the output.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void write(final Object value,
+                              final java.io.DataOutput out)
+            throws IOException {
+        if (value instanceof BasicStroke) {
+            BinaryCodec.writeStroke((BasicStroke) value, out);
+        }
+        else if (value instanceof AlphaComposite) {
+            BinaryCodec.writeComposite((AlphaComposite) value, out);
+        }
+        else if (value instanceof Shape) {
+            BinaryCodec.writeShape((Shape) value, out);
+        }
+        else if (value instanceof Point2D) {
+            BinaryCodec.writePoint2D((Point2D) value, out);
+        }
+        else if (value instanceof AttributedString) {
+            BinaryCodec.writeAttributedString((AttributedString) value, out);
+        }
+        else {
+            BinaryCodec.writePaint((java.awt.Paint) value, out);
+        }
+    }
+
+    /**
+     * Reads a value with the method for the type of the original value.
+     *
+     * @param original  the original value.
+     * @param in  the input.
+     *
+     * @return The value that was read.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static Object read(final Object original,
+                               final java.io.DataInput in)
+            throws IOException {
+        if (original instanceof BasicStroke) {
+            return BinaryCodec.readStroke(in);
+        }
+        else if (original instanceof AlphaComposite) {
+            return BinaryCodec.readComposite(in);
+        }
+        else if (original instanceof Shape) {
+            return BinaryCodec.readShape(in);
+        }
+        else if (original instanceof Point2D) {
+            return BinaryCodec.readPoint2D(in);
+        }
+        else if (original instanceof AttributedString) {
+            return BinaryCodec.readAttributedString(in);
+        }
+        return BinaryCodec.readPaint(in);
+    }
+
+    /**
+     * Creates an attributed string with a few runs.
+     *
+     * @return The attributed string.
+     */
+    private static AttributedString createAttributedString() {
+        final AttributedString as = new AttributedString("Sales (EUR m)");
+        as.addAttribute(TextAttribute.FONT, new Font("SansSerif", Font.BOLD,
+                12), 0, 5);
+        as.addAttribute(TextAttribute.FOREGROUND, Color.red, 2, 9);
+        as.addAttribute(TextAttribute.SUPERSCRIPT,
+                TextAttribute.SUPERSCRIPT_SUPER, 7, 10);
+        as.addAttribute(TextAttribute.SIZE, new Float(9.5f), 7, 13);
+        as.addAttribute(TextAttribute.UNDERLINE,
+                TextAttribute.UNDERLINE_ON, 0, 13);
+        return as;
+    }
+
+    /**
+     * Paints, strokes and composites are restored.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testPaintStrokeComposite() throws IOException {
+        final GradientPaint gp = new GradientPaint(1.0f, 2.0f, Color.red,
+                3.0f, 4.0f, new Color(10, 20, 30, 40), true);
+        final BasicStroke s1 = new BasicStroke(2.5f);
+        final BasicStroke s2 = new BasicStroke(1.0f, BasicStroke.CAP_ROUND,
+                BasicStroke.JOIN_BEVEL, 4.0f, new float[] {2.0f, 1.5f},
+                0.5f);
+        final AlphaComposite ac = AlphaComposite.getInstance(
+                AlphaComposite.SRC_OVER, 0.25f);
+        final Object[] values = {Color.blue, new Color(1, 2, 3, 4), gp, s1,
+            s2, ac};
+        final Object[] result = roundTrip(values);
+        assertEquals(Color.blue, result[0]);
+        assertEquals(new Color(1, 2, 3, 4), result[1]);
+        assertTrue(PaintUtilities.equal(gp, (GradientPaint) result[2]));
+        assertEquals(s1, result[3]);
+        assertEquals(s2, result[4]);
+        assertEquals(ac, result[5]);
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(buffer);
+        BinaryCodec.writePaint(null, out);
+        BinaryCodec.writeStroke(null, out);
+        BinaryCodec.writeComposite(null, out);
+        BinaryCodec.writeShape(null, out);
+        BinaryCodec.writePoint2D(null, out);
+        BinaryCodec.writeAttributedString(null, out);
+        assertEquals(6, buffer.size());
+        final DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(buffer.toByteArray()));
+        assertNull(BinaryCodec.readPaint(in));
+        assertNull(BinaryCodec.readStroke(in));
+        assertNull(BinaryCodec.readComposite(in));
+        assertNull(BinaryCodec.readShape(in));
+        assertNull(BinaryCodec.readPoint2D(in));
+        assertNull(BinaryCodec.readAttributedString(in));
+    }
+
+    /**
+     * Shapes, points and attributed strings are restored.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testShapePointString() throws IOException {
+        final GeneralPath path = new GeneralPath(GeneralPath.WIND_EVEN_ODD);
+        path.moveTo(1.0f, 2.0f);
+        path.quadTo(3.0f, 4.0f, 5.0f, 6.0f);
+        path.curveTo(7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f);
+        path.closePath();
+        final Polygon polygon = new Polygon(new int[] {0, 10, 5},
+                new int[] {0, 0, 8}, 3);
+        final AttributedString as = createAttributedString();
+        final Object[] values = {
+            new Line2D.Double(1.0, 2.0, 3.0, 4.0),
+            new Rectangle2D.Double(1.0, 2.0, 3.0, 4.0),
+            new Ellipse2D.Double(1.0, 2.0, 3.0, 4.0),
+            new Arc2D.Double(1.0, 2.0, 3.0, 4.0, 10.0, 90.0, Arc2D.PIE),
+            path, polygon, new Point2D.Double(1.5, -2.5), as};
+        final Object[] result = roundTrip(values);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(ShapeUtilities.equal((Shape) values[i],
+                    (Shape) result[i]));
+        }
+        assertTrue(ShapeUtilities.equal(new GeneralPath(polygon),
+                (GeneralPath) result[5]));
+        assertEquals(values[6], result[6]);
+        assertTrue(AttributedStringUtilities.equal(as,
+                (AttributedString) result[7]));
+    }
+
+    /**
+     * The attributes can be written to and read from a direct buffer.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testByteBuffer() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+        final ByteBufferDataOutput out = new ByteBufferDataOutput(buffer);
+        final BasicStroke stroke = new BasicStroke(1.5f);
+        final Rectangle rectangle = new Rectangle(1, 2, 3, 4);
+        final AttributedString as = createAttributedString();
+        BinaryCodec.writePaint(Color.green, out);
+        BinaryCodec.writeStroke(stroke, out);
+        BinaryCodec.writeShape(rectangle, out);
+        BinaryCodec.writeAttributedString(as, out);
+        out.writeUTF("caf\u00e9 \u20ac\u0000");
+        buffer.flip();
+
+        // the data is the same as DataOutputStream writes
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream stream = new DataOutputStream(bytes);
+        BinaryCodec.writePaint(Color.green, stream);
+        BinaryCodec.writeStroke(stroke, stream);
+        BinaryCodec.writeShape(rectangle, stream);
+        BinaryCodec.writeAttributedString(as, stream);
+        stream.writeUTF("caf\u00e9 \u20ac\u0000");
+        assertEquals(bytes.size(), buffer.remaining());
+        final byte[] copy = new byte[buffer.remaining()];
+        buffer.duplicate().get(copy);
+        assertTrue(java.util.Arrays.equals(bytes.toByteArray(), copy));
+
+        final ByteBufferDataInput in = new ByteBufferDataInput(buffer);
+        assertEquals(Color.green, BinaryCodec.readPaint(in));
+        assertEquals(stroke, BinaryCodec.readStroke(in));
+        assertEquals(rectangle, BinaryCodec.readShape(in));
+        assertTrue(AttributedStringUtilities.equal(as,
+                BinaryCodec.readAttributedString(in)));
+        assertEquals("caf\u00e9 \u20ac\u0000", in.readUTF());
+        try {
+            in.readInt();
+            fail("Expected an EOFException.");
+        }
+        catch (EOFException e) {
+            // expected
+        }
+    }
+
+    /**
+     * An arc with an invalid type is rejected with an
+     * InvalidObjectException, like any other invalid data.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testInvalidArcType() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeShape(new Arc2D.Double(1.0, 2.0, 3.0, 4.0, 10.0,
+                90.0, Arc2D.CHORD), new DataOutputStream(bytes));
+        final byte[] data = bytes.toByteArray();
+        // the arc type is the last byte
+        assertEquals(Arc2D.CHORD, data[data.length - 1]);
+        data[data.length - 1] = 7;
+        try {
+            BinaryCodec.readShape(new DataInputStream(
+                    new ByteArrayInputStream(data)));
+            fail("Expected an InvalidObjectException.");
+        }
+        catch (InvalidObjectException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Unsupported types are rejected.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testUnsupported() throws IOException {
+        final BufferedImage image = new BufferedImage(1, 1,
+                BufferedImage.TYPE_INT_RGB);
+        final TexturePaint paint = new TexturePaint(image,
+                new Rectangle2D.Double(0, 0, 1, 1));
+        final DataOutputStream out = new DataOutputStream(
+                new ByteArrayOutputStream());
+        try {
+            BinaryCodec.writePaint(paint, out);
+            fail("Expected a NotSerializableException.");
+        }
+        catch (NotSerializableException e) {
+            // expected
+        }
+        final AttributedString as = new AttributedString("x");
+        as.addAttribute(TextAttribute.FOREGROUND, paint);
+        try {
+            BinaryCodec.writeAttributedString(as, out);
+            fail("Expected a NotSerializableException.");
+        }
+        catch (NotSerializableException e) {
+            // expected
+        }
+    }
+
+}
@@ -64,6 +64,7 @@ public class IOPackageTests extends TestCase {
         final TestSuite suite = new TestSuite("org.jfree.io");
         suite.addTestSuite(SerialUtilitiesTest.class);
         suite.addTestSuite(IOUtilsTest.class);
+        suite.addTestSuite(BinaryCodecTest.class);
         return suite;
     }
 
@@ -40,6 +40,8 @@
  * 26-Oct-2004 : Added checks for serializing Line2D instances (DG);
  * 04-Feb-2005 : Added tests for serializing Rectangle2D instances (DG);
  * 10-Oct-2011 : Added tests for serializing Composite instances (MH);
+ * 17-Oct-2026 : Added tests for the compact shape formats;
+ * 17-Oct-2026 : Added tests for the default format and unknown headers;
  * 
  */
 
@@ -50,18 +52,23 @@ import java.awt.Color;
 import java.awt.Composite;
 import java.awt.GradientPaint;
 import java.awt.Paint;
+import java.awt.Shape;
 import java.awt.TexturePaint;
 import java.awt.font.TextAttribute;
 import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
 import java.text.AttributedString;
+import java.util.Arrays;
 
 import javax.swing.UIManager;
 import javax.swing.plaf.ColorUIResource;
@@ -446,6 +453,159 @@ public class SerialUtilitiesTest extends TestCase {
 
     }
 
+    /**
+     * Writes a shape in the given format.
+     *
+     * @param shape  the shape.
+     * @param format  the format.
+     *
+     * @return The serialized form.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static byte[] writeShape(Shape shape, int format)
+            throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(buffer);
+        SerialUtilities.writeShape(shape, out, format);
+        out.close();
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Reads a shape.
+     *
+     * @param data  the serialized form.
+     *
+     * @return The shape.
+     *
+     * @throws Exception if there is a problem.
+     */
+    private static Shape readShape(byte[] data) throws Exception {
+        ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(data));
+        Shape result = SerialUtilities.readShape(in);
+        in.close();
+        return result;
+    }
+
+    /**
+     * Every shape format can be read back.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testShapeFormats() throws Exception {
+        GeneralPath path = new GeneralPath(GeneralPath.WIND_EVEN_ODD);
+        path.moveTo(1.0f, 2.0f);
+        path.lineTo(-3.5f, 4.0e-20f);
+        path.curveTo(5.0f, Float.MAX_VALUE, 7.0f, -0.0f, Float.NaN, 10.0f);
+        path.quadTo(1.0f, Float.NEGATIVE_INFINITY, 3.0f, 4.0f);
+        path.closePath();
+        path.moveTo(100.0f, 100.0f);
+        path.lineTo(100.0f, 100.0f);
+        Shape[] shapes = {path, new GeneralPath(),
+            new Line2D.Double(1.0, 2.0, 3.0, 4.0),
+            new Rectangle2D.Float(1.0f, 2.0f, 3.0f, 4.0f),
+            new Ellipse2D.Double(1.0, 2.0, 3.0, 4.0),
+            new Arc2D.Double(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, Arc2D.PIE),
+            new java.awt.Polygon(new int[] {1, 2, 3}, new int[] {4, 5, 6}, 3)};
+        int[] formats = {SerialUtilities.SHAPE_FORMAT_LEGACY,
+            SerialUtilities.SHAPE_FORMAT_COMPACT,
+            SerialUtilities.SHAPE_FORMAT_COMPACT_DELTA};
+        for (int f = 0; f < formats.length; f++) {
+            for (int i = 0; i < shapes.length; i++) {
+                Shape s2 = readShape(writeShape(shapes[i], formats[f]));
+                if (shapes[i] instanceof GeneralPath) {
+                    assertTrue(ShapeUtilities.equal((GeneralPath) shapes[i],
+                            (GeneralPath) s2));
+                }
+                else if (shapes[i] instanceof java.awt.Polygon) {
+                    assertTrue(ShapeUtilities.equal(
+                            (java.awt.Polygon) shapes[i],
+                            (java.awt.Polygon) s2));
+                }
+                else {
+                    assertTrue(ShapeUtilities.equal(shapes[i], s2));
+                }
+            }
+            assertNull(readShape(writeShape(null, formats[f])));
+        }
+    }
+
+    /**
+     * The compact formats are much smaller than the legacy format for a path
+     * with many segments.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testCompactShapeSize() throws Exception {
+        GeneralPath path = new GeneralPath();
+        path.moveTo(0.0f, 100.0f);
+        for (int i = 1; i <= 1000; i++) {
+            float x = i * 2.5f;
+            float y = 100.0f + (float) (80.0 * Math.sin(i * 0.05));
+            if (i % 4 == 0) {
+                path.quadTo(x - 1.25f, y + 3.0f, x, y);
+            }
+            else {
+                path.lineTo(x, y);
+            }
+        }
+        int legacy = writeShape(path,
+                SerialUtilities.SHAPE_FORMAT_LEGACY).length;
+        byte[] compact = writeShape(path,
+                SerialUtilities.SHAPE_FORMAT_COMPACT);
+        byte[] delta = writeShape(path,
+                SerialUtilities.SHAPE_FORMAT_COMPACT_DELTA);
+        assertTrue(compact.length * 2 < legacy);
+        assertTrue(delta.length < compact.length);
+        assertTrue(ShapeUtilities.equal(path,
+                (GeneralPath) readShape(compact)));
+        assertTrue(ShapeUtilities.equal(path,
+                (GeneralPath) readShape(delta)));
+    }
+
+    /**
+     * Without a format, shapes are written in the legacy format that older
+     * versions of JCommon can read.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testDefaultShapeFormat() throws Exception {
+        Shape[] shapes = {null, new Rectangle2D.Double(1.0, 2.0, 3.0, 4.0)};
+        for (int i = 0; i < shapes.length; i++) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream(buffer);
+            SerialUtilities.writeShape(shapes[i], out);
+            out.close();
+            assertTrue(Arrays.equals(writeShape(shapes[i],
+                    SerialUtilities.SHAPE_FORMAT_LEGACY),
+                    buffer.toByteArray()));
+        }
+    }
+
+    /**
+     * A header byte that is not known to this version is rejected rather
+     * than being read as a <code>null</code> shape.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testUnknownShapeHeader() throws Exception {
+        for (int header = 3; header < 256; header += 84) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream(buffer);
+            out.writeByte(header);
+            out.close();
+            try {
+                readShape(buffer.toByteArray());
+                fail("Header " + header + " was accepted.");
+            }
+            catch (StreamCorruptedException e) {
+                // expected
+            }
+        }
+    }
+
     /**
      * Tests the serialization of an {@link AttributedString}.
      */
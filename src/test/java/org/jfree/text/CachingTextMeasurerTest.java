@@ -0,0 +1,185 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ----------------------------
+ * CachingTextMeasurerTest.java
+ * ----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.text;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link CachingTextMeasurer} and {@link TextWidthCache}
+ * classes.
+ */
+public class CachingTextMeasurerTest extends TestCase {
+
+    /** A graphics device. */
+    private Graphics2D g2;
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(CachingTextMeasurerTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public CachingTextMeasurerTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Creates the graphics device.
+     */
+    protected void setUp() {
+        final BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        this.g2 = image.createGraphics();
+        this.g2.setFont(new Font("SansSerif", Font.PLAIN, 12));
+    }
+
+    /**
+     * Releases the graphics device.
+     */
+    protected void tearDown() {
+        this.g2.dispose();
+    }
+
+    /**
+     * The cached widths should be the widths measured by the delegate, and
+     * repeated lookups should be hits.
+     */
+    public void testWidths() {
+        final G2TextMeasurer plain = new G2TextMeasurer(this.g2);
+        final CachingTextMeasurer caching = new CachingTextMeasurer(this.g2);
+        final String text = "The quick brown fox jumps over the lazy dog";
+        for (int pass = 0; pass < 2; pass++) {
+            for (int end = 1; end <= text.length(); end++) {
+                assertEquals(plain.getStringWidth(text, 0, end),
+                        caching.getStringWidth(text, 0, end), 0.0f);
+                assertEquals(plain.getStringWidth(text, end - 1, end),
+                        caching.getStringWidth(text, end - 1, end), 0.0f);
+            }
+        }
+        final TextWidthCache cache = caching.getCache();
+        // 'text' has 28 distinct characters
+        final int n = text.length();
+        assertEquals(n - 1 + 28, cache.getMissCount());
+        assertEquals(4 * n - (n - 1 + 28), cache.getHitCount());
+        assertEquals(text.length() - 1, cache.getSize());
+    }
+
+    /**
+     * The widths depend on the font and the rendering hints.
+     */
+    public void testFontAndHints() {
+        final TextWidthCache cache = new TextWidthCache();
+        final CachingTextMeasurer measurer = new CachingTextMeasurer(this.g2,
+                cache);
+        final float w1 = measurer.getStringWidth("ABC", 0, 3);
+        this.g2.setFont(new Font("SansSerif", Font.BOLD, 24));
+        final float w2 = measurer.getStringWidth("ABC", 0, 3);
+        assertTrue(w2 > w1);
+        this.g2.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS,
+                RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        measurer.getStringWidth("ABC", 0, 3);
+        assertEquals(3, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(3, cache.getSize());
+    }
+
+    /**
+     * The least recently used widths are evicted.
+     */
+    public void testEviction() {
+        final TextWidthCache cache = new TextWidthCache(2);
+        final CachingTextMeasurer measurer = new CachingTextMeasurer(this.g2,
+                cache);
+        measurer.getStringWidth("one", 0, 3);
+        measurer.getStringWidth("two", 0, 3);
+        measurer.getStringWidth("one", 0, 3);
+        measurer.getStringWidth("three", 0, 5);
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictionCount());
+        measurer.getStringWidth("one", 0, 3);
+        assertEquals(2, cache.getHitCount());
+        measurer.getStringWidth("two", 0, 3);
+        assertEquals(4, cache.getMissCount());
+
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    /**
+     * Wrapping text with a caching measurer gives the same lines as wrapping
+     * it with a plain measurer.
+     */
+    public void testCreateTextBlock() {
+        final String text = "Quarterly revenue by region, adjusted for "
+                + "currency movements and seasonal effects.\nFigures for "
+                + "the most recent quarter are provisional.";
+        final Font font = this.g2.getFont();
+        final TextBlock b1 = TextUtilities.createTextBlock(text, font,
+                Color.black, 100.0f, new G2TextMeasurer(this.g2));
+        final CachingTextMeasurer measurer = new CachingTextMeasurer(this.g2);
+        final TextBlock b2 = TextUtilities.createTextBlock(text, font,
+                Color.black, 100.0f, measurer);
+        final TextBlock b3 = TextUtilities.createTextBlock(text, font,
+                Color.black, 100.0f, measurer);
+        assertEquals(b1, b2);
+        assertEquals(b1, b3);
+        assertTrue(measurer.getCache().getHitCount() > 0);
+    }
+
+}
@@ -0,0 +1,201 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ------------------------
+ * TextBlockLayoutTest.java
+ * ------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.text;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.ui.HorizontalAlignment;
+import org.jfree.ui.Size2D;
+
+/**
+ * Tests for the {@link TextBlockLayout} class.
+ */
+public class TextBlockLayoutTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(TextBlockLayoutTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public TextBlockLayoutTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Creates a block with lines of different widths and fonts.
+     *
+     * @return A block.
+     */
+    private static TextBlock createBlock() {
+        final TextBlock block = new TextBlock();
+        block.addLine("Quarterly Revenue", new Font("SansSerif", Font.BOLD,
+                18), Color.black);
+        final TextLine line = new TextLine("by region ", new Font("Serif",
+                Font.PLAIN, 12), Color.blue);
+        line.addFragment(new TextFragment("(provisional)", new Font(
+                "SansSerif", Font.ITALIC, 10), Color.red));
+        block.addLine(line);
+        block.addLine("2026", new Font("Monospaced", Font.PLAIN, 14),
+                Color.darkGray);
+        return block;
+    }
+
+    /**
+     * Creates an image with anti-aliased text.
+     *
+     * @return An image.
+     */
+    private static BufferedImage createImage() {
+        final BufferedImage image = new BufferedImage(300, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Returns the pixels of an image.
+     *
+     * @param image  the image.
+     *
+     * @return The pixels.
+     */
+    private static int[] pixels(final BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null,
+                0, image.getWidth());
+    }
+
+    /**
+     * The layout has the dimensions and bounds of the block.
+     */
+    public void testDimensions() {
+        final BufferedImage image = createImage();
+        final Graphics2D g2 = image.createGraphics();
+        final TextBlock block = createBlock();
+        final TextBlockLayout layout = block.createLayout(g2);
+        assertEquals(block.calculateDimensions(g2), layout
+                .calculateDimensions());
+        assertEquals(3, layout.getLineCount());
+        assertEquals(((TextLine) block.getLines().get(1))
+                .calculateDimensions(g2), new Size2D(layout.getLineWidth(1),
+                layout.getLineHeight(1)));
+        assertEquals(block.calculateBounds(g2, 150.0f, 150.0f,
+                TextBlockAnchor.CENTER_RIGHT, 100.0f, 120.0f, 0.5)
+                .getBounds2D(), layout.calculateBounds(150.0f, 150.0f,
+                TextBlockAnchor.CENTER_RIGHT, 100.0f, 120.0f, 0.5)
+                .getBounds2D());
+        assertTrue(layout.isValidFor(g2));
+        g2.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS,
+                RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        assertFalse(layout.isValidFor(g2));
+        g2.dispose();
+    }
+
+    /**
+     * Drawing the layout gives the same pixels as drawing the block.
+     */
+    public void testDraw() {
+        final TextBlockAnchor[] anchors = {TextBlockAnchor.TOP_LEFT,
+            TextBlockAnchor.CENTER, TextBlockAnchor.BOTTOM_RIGHT};
+        final HorizontalAlignment[] alignments = {HorizontalAlignment.LEFT,
+            HorizontalAlignment.CENTER, HorizontalAlignment.RIGHT};
+        final double[] angles = {0.0, -Math.PI / 2.0, 0.3};
+        for (int i = 0; i < anchors.length; i++) {
+            final TextBlock block = createBlock();
+            block.setLineAlignment(alignments[i]);
+            final BufferedImage expected = createImage();
+            final Graphics2D g1 = expected.createGraphics();
+            block.draw(g1, 150.0f, 150.0f, anchors[i], 140.0f, 160.0f,
+                    angles[i]);
+            g1.dispose();
+
+            final BufferedImage actual = createImage();
+            final Graphics2D g2 = actual.createGraphics();
+            final TextBlockLayout layout = block.createLayout(g2);
+            layout.draw(g2, 150.0f, 150.0f, anchors[i], 140.0f, 160.0f,
+                    angles[i]);
+            assertEquals(new AffineTransform(), g2.getTransform());
+            g2.dispose();
+            assertFalse(Arrays.equals(pixels(expected),
+                    pixels(createImage())));
+            assertTrue(Arrays.equals(pixels(expected), pixels(actual)));
+        }
+    }
+
+    /**
+     * The layout is not affected by later changes to the block.
+     */
+    public void testSnapshot() {
+        final BufferedImage image = createImage();
+        final Graphics2D g2 = image.createGraphics();
+        final TextBlock block = createBlock();
+        final TextBlockLayout layout = block.createLayout(g2);
+        final double height = layout.getHeight();
+        block.addLine("Another line", new Font("Serif", Font.PLAIN, 12),
+                Color.black);
+        block.getLastLine().addFragment(new TextFragment("!"));
+        assertEquals(3, layout.getLineCount());
+        assertEquals(height, layout.getHeight(), 0.0);
+        g2.dispose();
+    }
+
+}
@@ -60,11 +60,14 @@ public class TextPackageTests extends TestCase {
      */
     public static Test suite() {
         final TestSuite suite = new TestSuite("org.jfree.text");
+        suite.addTestSuite(CachingTextMeasurerTest.class);
         suite.addTestSuite(TextBlockTest.class);
         suite.addTestSuite(TextBlockAnchorTest.class);
+        suite.addTestSuite(TextBlockLayoutTest.class);
         suite.addTestSuite(TextBoxTest.class);
         suite.addTestSuite(TextFragmentTest.class);
         suite.addTestSuite(TextLineTest.class);
+        suite.addTestSuite(TextUtilitiesTest.class);
         return suite;
     }
 
@@ -0,0 +1,154 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ----------------------
+ * TextUtilitiesTest.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.text;
+
+import java.awt.Color;
+import java.awt.Font;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link TextUtilities} class.
+ */
+public class TextUtilitiesTest extends TestCase {
+
+    /** A measurer that gives every character a width of 1.0. */
+    private static final TextMeasurer FIXED = new TextMeasurer() {
+        public float getStringWidth(String text, int start, int end) {
+            return end - start;
+        }
+    };
+
+    /** A font. */
+    private static final Font FONT = new Font("SansSerif", Font.PLAIN, 12);
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(TextUtilitiesTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public TextUtilitiesTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Returns the text of each line of a block, separated by '|'.
+     *
+     * @param block  the block.
+     *
+     * @return The lines.
+     */
+    private static String lines(final TextBlock block) {
+        final StringBuffer result = new StringBuffer();
+        for (int i = 0; i < block.getLines().size(); i++) {
+            final TextLine line = (TextLine) block.getLines().get(i);
+            if (i > 0) {
+                result.append('|');
+            }
+            result.append(line.getFirstTextFragment().getText());
+        }
+        return result.toString();
+    }
+
+    /**
+     * Some checks for the createTextBlock() method that splits at newlines.
+     */
+    public void testCreateTextBlock() {
+        assertEquals("", lines(TextUtilities.createTextBlock("", FONT,
+                Color.black)));
+        assertEquals("abc", lines(TextUtilities.createTextBlock("abc", FONT,
+                Color.black)));
+        assertEquals("a|b|c", lines(TextUtilities.createTextBlock(
+                "a\nb\n\nc", FONT, Color.black)));
+        assertEquals("b", lines(TextUtilities.createTextBlock("\nb", FONT,
+                Color.black)));
+        // a trailing line is dropped when the text ends with a newline
+        assertEquals("a", lines(TextUtilities.createTextBlock("a\nb\n",
+                FONT, Color.black)));
+    }
+
+    /**
+     * Some checks for the createTextBlock() method that wraps text.
+     */
+    public void testCreateTextBlockWrapped() {
+        assertEquals("one two |three|four", lines(
+                TextUtilities.createTextBlock("one two three\nfour", FONT,
+                Color.black, 8.0f, FIXED)));
+        assertEquals("abcde|fghij|kl", lines(
+                TextUtilities.createTextBlock("abcdefghijkl", FONT,
+                Color.black, 5.0f, FIXED)));
+        assertEquals("ab|c |...", lines(
+                TextUtilities.createTextBlock("abc defgh ij", FONT,
+                Color.black, 2.5f, 3, FIXED)));
+        assertEquals("a| |...", lines(TextUtilities.createTextBlock(
+                "a b c d", FONT, Color.black, 0.5f, 3, FIXED)));
+    }
+
+    /**
+     * Wrapping a long text gives the same result as wrapping each of its
+     * paragraphs.
+     */
+    public void testCreateTextBlockLong() {
+        final StringBuffer buffer = new StringBuffer();
+        for (int i = 0; i < 2000; i++) {
+            buffer.append("The quick brown fox jumps over the lazy dog.\n");
+        }
+        final TextBlock block = TextUtilities.createTextBlock(
+                buffer.toString(), FONT, Color.black, 20.0f, FIXED);
+        assertEquals(6000, block.getLines().size());
+        assertEquals("The quick brown fox |jumps over the lazy |dog.",
+                lines(TextUtilities.createTextBlock(
+                "The quick brown fox jumps over the lazy dog.\n", FONT,
+                Color.black, 20.0f, FIXED)));
+    }
+
+}
@@ -0,0 +1,289 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------------
+ * ReaderWriterLockTest.java
+ * -------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.threads;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link ReaderWriterLock} class.
+ */
+public class ReaderWriterLockTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(ReaderWriterLockTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public ReaderWriterLockTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Waits until a thread is blocked (or has finished).
+     *
+     * @param t  the thread.
+     *
+     * @throws InterruptedException if the wait is interrupted.
+     */
+    private static void awaitBlocked(final Thread t)
+            throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            final Thread.State state = t.getState();
+            if (state == Thread.State.WAITING
+                    || state == Thread.State.TIMED_WAITING
+                    || state == Thread.State.TERMINATED) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("Thread did not block.");
+    }
+
+    /**
+     * Both locks are reentrant, and a writer can also take the read lock.
+     */
+    public void testReentrancy() {
+        final ReaderWriterLock lock = new ReaderWriterLock();
+        lock.lockRead();
+        lock.lockRead();
+        assertEquals(1, lock.getReadLockCount());
+        lock.unlock();
+        lock.unlock();
+        assertEquals(0, lock.getReadLockCount());
+
+        lock.lockWrite();
+        lock.lockRead();
+        lock.lockWrite();
+        assertTrue(lock.isWriteLocked());
+        assertEquals(0, lock.getReadLockCount());
+        lock.unlock();
+        lock.unlock();
+        assertTrue(lock.isWriteLocked());
+        lock.unlock();
+        assertFalse(lock.isWriteLocked());
+    }
+
+    /**
+     * A reader cannot upgrade to a writer, and a thread cannot release a
+     * lock that it does not hold.
+     */
+    public void testIllegalUse() {
+        final ReaderWriterLock lock = new ReaderWriterLock();
+        lock.lockRead();
+        try {
+            lock.lockWrite();
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals("Upgrade lock", e.getMessage());
+        }
+        lock.unlock();
+        try {
+            lock.unlock();
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals("Lock not held", e.getMessage());
+        }
+    }
+
+    /**
+     * A reader waits for a writer, and the wait is recorded.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    public void testReaderWaitsForWriter() throws InterruptedException {
+        final ReaderWriterLock lock = new ReaderWriterLock();
+        final List events = Collections.synchronizedList(new ArrayList());
+        lock.lockWrite();
+        final Thread reader = new Thread() {
+            public void run() {
+                lock.lockRead();
+                events.add("read");
+                lock.unlock();
+            }
+        };
+        reader.start();
+        awaitBlocked(reader);
+        events.add("write");
+        lock.unlock();
+        reader.join(5000);
+        assertEquals(2, events.size());
+        assertEquals("write", events.get(0));
+        assertEquals(1, lock.getReadContentionCount());
+        assertTrue(lock.getReadWaitTime() > 0);
+        assertEquals(0, lock.getWriteContentionCount());
+        lock.resetStatistics();
+        assertEquals(0, lock.getReadContentionCount());
+    }
+
+    /**
+     * A waiting writer is served before a reader that arrives after it, in
+     * both modes.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    public void testWaitingWriterGoesFirst() throws InterruptedException {
+        checkWaitingWriterGoesFirst(new ReaderWriterLock(false));
+        checkWaitingWriterGoesFirst(new ReaderWriterLock(true));
+    }
+
+    /**
+     * Checks that a waiting writer is served before a reader that arrives
+     * after it.
+     *
+     * @param lock  the lock.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    private void checkWaitingWriterGoesFirst(final ReaderWriterLock lock)
+            throws InterruptedException {
+        final List events = Collections.synchronizedList(new ArrayList());
+        lock.lockRead();
+        final Thread writer = new Thread() {
+            public void run() {
+                lock.lockWrite();
+                events.add("write");
+                lock.unlock();
+            }
+        };
+        writer.start();
+        awaitBlocked(writer);
+        final Thread reader = new Thread() {
+            public void run() {
+                lock.lockRead();
+                events.add("read");
+                lock.unlock();
+            }
+        };
+        reader.start();
+        awaitBlocked(reader);
+        assertTrue(events.isEmpty());
+        lock.unlock();
+        writer.join(5000);
+        reader.join(5000);
+        assertEquals(2, events.size());
+        assertEquals("write", events.get(0));
+        assertEquals(1, lock.getWriteContentionCount());
+        assertEquals(1, lock.getReadContentionCount());
+    }
+
+    /**
+     * Readers never see a half-finished write, in both modes.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    public void testExclusion() throws InterruptedException {
+        checkExclusion(new ReaderWriterLock(false));
+        checkExclusion(new ReaderWriterLock(true));
+    }
+
+    /**
+     * Runs readers and writers against a lock and checks that they exclude
+     * each other.
+     *
+     * @param lock  the lock.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    private void checkExclusion(final ReaderWriterLock lock)
+            throws InterruptedException {
+        final int[] data = new int[2];
+        final int[] errors = new int[1];
+        final Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final boolean isWriter = t % 4 == 0;
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 2000; i++) {
+                        if (isWriter) {
+                            lock.lockWrite();
+                            data[0]++;
+                            Thread.yield();
+                            data[1]++;
+                            lock.unlock();
+                        }
+                        else {
+                            lock.lockRead();
+                            if (data[0] != data[1]) {
+                                synchronized (errors) {
+                                    errors[0]++;
+                                }
+                            }
+                            lock.unlock();
+                        }
+                    }
+                }
+            };
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join(30000);
+        }
+        lock.lockRead();
+        assertEquals(4000, data[0]);
+        assertEquals(4000, data[1]);
+        lock.unlock();
+        synchronized (errors) {
+            assertEquals(0, errors[0]);
+        }
+        assertEquals(0, lock.getReadLockCount());
+        assertFalse(lock.isWriteLocked());
+    }
+
+}
@@ -0,0 +1,353 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------------
+ * AsyncLogTargetTest.java
+ * -----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ * 17-Oct-2026 : Added tests for closing while logging and bad levels;
+ * 17-Oct-2026 : Added testFailingDelegate();
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link AsyncLogTarget} class.
+ */
+public class AsyncLogTargetTest extends TestCase {
+
+    /**
+     * A log target that records the messages, and can be made to wait
+     * before it accepts the first one.
+     */
+    private static class RecordingLogTarget implements LogTarget {
+
+        /** The messages. */
+        private List messages = Collections.synchronizedList(new ArrayList());
+
+        /** Wait before accepting messages? */
+        private boolean blocked;
+
+        /**
+         * Blocks or releases the target.
+         *
+         * @param blocked  the new state.
+         */
+        public synchronized void setBlocked(final boolean blocked) {
+            this.blocked = blocked;
+            notifyAll();
+        }
+
+        /**
+         * Logs a message at a specified log level.
+         *
+         * @param level  the log level.
+         * @param message  the log message.
+         */
+        public void log(final int level, final Object message) {
+            synchronized (this) {
+                while (this.blocked) {
+                    try {
+                        wait();
+                    }
+                    catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+            this.messages.add(LEVELS[level] + message);
+        }
+
+        /**
+         * Logs a message at a specified log level.
+         *
+         * @param level  the log level.
+         * @param message  the log message.
+         * @param e  the exception
+         */
+        public void log(final int level, final Object message,
+                        final Exception e) {
+            log(level, message + " " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(AsyncLogTargetTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public AsyncLogTargetTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Records from several threads are written to the stream in the
+     * format of the PrintStreamLogTarget, each thread's in order.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    public void testPrintStream() throws InterruptedException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final PrintStream stream = new PrintStream(bytes, true);
+        final AsyncLogTarget target = new AsyncLogTarget(stream, 64,
+                AsyncLogTarget.BLOCK);
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int id = t;
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 500; i++) {
+                        target.log(LogTarget.INFO, id + ":" + i);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        target.log(LogTarget.ERROR, "failed", new Exception("cause"));
+        target.flush();
+        assertEquals(2001, target.getQueuedCount());
+        assertEquals(2001, target.getWrittenCount());
+        assertEquals(0, target.getDroppedCount());
+        assertEquals(0, target.getPendingCount());
+
+        final String[] lines = bytes.toString().split("\r?\n");
+        final int[] next = new int[threads.length];
+        int count = 0;
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].startsWith(LogTarget.LEVELS[LogTarget.INFO])) {
+                final String text = lines[i].substring(7);
+                final int id = Integer.parseInt(text.substring(0, 1));
+                assertEquals(id + ":" + next[id], text);
+                next[id]++;
+                count++;
+            }
+        }
+        assertEquals(2000, count);
+        assertTrue(lines[2000].equals("ERROR: failed"));
+        assertTrue(lines[2001].startsWith("java.lang.Exception: cause"));
+        target.close();
+    }
+
+    /**
+     * The DROP policy drops records when the buffer is full.
+     */
+    public void testDrop() {
+        final RecordingLogTarget delegate = new RecordingLogTarget();
+        delegate.setBlocked(true);
+        final AsyncLogTarget target = new AsyncLogTarget(delegate, 8,
+                AsyncLogTarget.DROP, 1);
+        for (int i = 0; i < 100; i++) {
+            target.log(LogTarget.DEBUG, "m" + i);
+        }
+        // the writer holds at most one batch, the buffer 8 more records
+        assertTrue(target.getDroppedCount() > 0);
+        assertEquals(100, target.getQueuedCount() + target.getDroppedCount());
+        delegate.setBlocked(false);
+        target.flush();
+        assertEquals(target.getQueuedCount(), delegate.messages.size());
+        assertEquals("DEBUG: m0", delegate.messages.get(0));
+        target.close();
+    }
+
+    /**
+     * The BLOCK policy waits for room, so no records are lost.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    public void testBlock() throws InterruptedException {
+        final RecordingLogTarget delegate = new RecordingLogTarget();
+        delegate.setBlocked(true);
+        final AsyncLogTarget target = new AsyncLogTarget(delegate, 8,
+                AsyncLogTarget.BLOCK, 1);
+        final Thread producer = new Thread() {
+            public void run() {
+                for (int i = 0; i < 100; i++) {
+                    target.log(LogTarget.WARN, "m" + i);
+                }
+            }
+        };
+        producer.start();
+        Thread.sleep(100);
+        assertTrue(producer.isAlive());
+        delegate.setBlocked(false);
+        producer.join(10000);
+        target.flush();
+        assertEquals(0, target.getDroppedCount());
+        assertEquals(100, delegate.messages.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("WARN:  m" + i, delegate.messages.get(i));
+        }
+        target.close();
+    }
+
+    /**
+     * The SAMPLE policy keeps one record in every sampleRate once the
+     * buffer is half full.
+     */
+    public void testSample() {
+        final RecordingLogTarget delegate = new RecordingLogTarget();
+        delegate.setBlocked(true);
+        final AsyncLogTarget target = new AsyncLogTarget(delegate, 64,
+                AsyncLogTarget.SAMPLE, 4);
+        for (int i = 0; i < 200; i++) {
+            target.log(LogTarget.INFO, "m" + i);
+        }
+        final long queued = target.getQueuedCount();
+        assertTrue(queued > 32);
+        assertTrue(target.getDroppedCount() > 0);
+        assertEquals(200, queued + target.getDroppedCount());
+        delegate.setBlocked(false);
+        target.close();
+        assertEquals(queued, delegate.messages.size());
+
+        // after closing, records are written on the calling thread
+        target.log(LogTarget.INFO, "late");
+        assertEquals("INFO:  late", delegate.messages.get((int) queued));
+    }
+
+    /**
+     * Records that are logged while the target is closed are all written,
+     * whether they reach the buffer before or after the writer stops.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    public void testLogWhileClosing() throws InterruptedException {
+        for (int run = 0; run < 20; run++) {
+            final RecordingLogTarget delegate = new RecordingLogTarget();
+            final AsyncLogTarget target = new AsyncLogTarget(delegate, 16,
+                    AsyncLogTarget.BLOCK, 1);
+            final Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread() {
+                    public void run() {
+                        for (int i = 0; i < 200; i++) {
+                            target.log(LogTarget.INFO, "m" + i);
+                        }
+                    }
+                };
+                threads[t].start();
+            }
+            target.close();
+            for (int t = 0; t < threads.length; t++) {
+                threads[t].join(10000);
+                assertFalse(threads[t].isAlive());
+            }
+            assertEquals(800, delegate.messages.size());
+            assertEquals(800, target.getWrittenCount());
+        }
+    }
+
+    /**
+     * A record that the delegate fails to log is counted and reported, and
+     * does not stop the rest of the batch from being passed on.
+     */
+    public void testFailingDelegate() {
+        final RecordingLogTarget delegate = new RecordingLogTarget() {
+            public void log(final int level, final Object message) {
+                if ("bad".equals(message)) {
+                    throw new IllegalStateException("Target failed.");
+                }
+                super.log(level, message);
+            }
+        };
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final PrintStream savedErr = System.err;
+        System.setErr(new PrintStream(bytes, true));
+        try {
+            delegate.setBlocked(true);
+            final AsyncLogTarget target = new AsyncLogTarget(delegate, 8,
+                    AsyncLogTarget.BLOCK, 1);
+            target.log(LogTarget.INFO, "a");
+            target.log(LogTarget.INFO, "bad");
+            target.log(LogTarget.INFO, "c");
+            delegate.setBlocked(false);
+            target.close();
+            assertEquals(2, target.getWrittenCount());
+            assertEquals(1, target.getFailedCount());
+            assertEquals(0, target.getDroppedCount());
+        }
+        finally {
+            System.setErr(savedErr);
+        }
+        assertEquals(2, delegate.messages.size());
+        assertEquals("INFO:  a", delegate.messages.get(0));
+        assertEquals("INFO:  c", delegate.messages.get(1));
+        final String[] lines = bytes.toString().split("\r?\n");
+        assertEquals("ERROR: Failed to write the log record 'bad'", lines[0]);
+        assertTrue(lines[1].startsWith(
+                "java.lang.IllegalStateException: Target failed."));
+    }
+
+    /**
+     * Levels outside the valid range are clamped, rather than breaking the
+     * output.
+     */
+    public void testInvalidLevel() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final PrintStream stream = new PrintStream(bytes, true);
+        final AsyncLogTarget target = new AsyncLogTarget(stream, 8,
+                AsyncLogTarget.BLOCK);
+        target.log(-1, "low");
+        target.log(99, "high");
+        target.close();
+        final String[] lines = bytes.toString().split("\r?\n");
+        assertEquals(2, lines.length);
+        assertEquals("ERROR: low", lines[0]);
+        assertEquals("DEBUG: high", lines[1]);
+        assertEquals(2, target.getWrittenCount());
+    }
+
+}
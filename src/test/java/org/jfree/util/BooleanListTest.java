@@ -37,6 +37,8 @@
  * Changes
  * -------
  * 13-Aug-2003 : Version 1 (DG);
+ * 17-Oct-2026 : Added tests for the bit set storage;
+ * 17-Oct-2026 : Added test for serializing trailing null items;
  *
  */
 
@@ -152,4 +154,104 @@ public class BooleanListTest extends TestCase {
 
     }
 
+    /**
+     * The size of the list, including trailing <code>null</code> items,
+     * survives serialization.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testSerializationSize() throws Exception {
+        final BooleanList l1 = new BooleanList();
+        l1.setBoolean(0, Boolean.TRUE);
+        l1.setBoolean(1, Boolean.FALSE);
+        l1.setBoolean(99, null);
+        final BooleanList empty = new BooleanList();
+        empty.setBoolean(2, null);
+        final BooleanList[] lists = {l1, empty};
+        for (int i = 0; i < lists.length; i++) {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            final ObjectOutput out = new ObjectOutputStream(buffer);
+            out.writeObject(lists[i]);
+            out.close();
+            final ObjectInput in = new ObjectInputStream(
+                    new ByteArrayInputStream(buffer.toByteArray()));
+            final BooleanList l2 = (BooleanList) in.readObject();
+            in.close();
+            assertEquals(lists[i].size(), l2.size());
+            assertEquals(lists[i], l2);
+            assertNull(l2.getBoolean(l2.size() - 1));
+            l2.setBoolean(150, true);
+            assertEquals(151, l2.size());
+            assertSame(Boolean.TRUE, l2.getBoolean(150));
+        }
+    }
+
+    /**
+     * Some checks for values stored in different words of the bit sets.
+     */
+    public void testBits() {
+        final BooleanList l = new BooleanList();
+        l.setBoolean(0, true);
+        l.setBoolean(63, Boolean.FALSE);
+        l.setBoolean(64, Boolean.TRUE);
+        l.setBoolean(200, false);
+        assertEquals(201, l.size());
+        assertSame(Boolean.TRUE, l.getBoolean(0));
+        assertSame(Boolean.FALSE, l.getBoolean(63));
+        assertSame(Boolean.TRUE, l.getBoolean(64));
+        assertSame(Boolean.FALSE, l.getBoolean(200));
+        assertNull(l.getBoolean(1));
+        assertNull(l.getBoolean(201));
+        assertNull(l.getBoolean(-1));
+        assertTrue(l.getBoolean(1, true));
+        assertFalse(l.getBoolean(200, true));
+        assertTrue(l.getBoolean(64, false));
+
+        l.setBoolean(64, null);
+        assertNull(l.getBoolean(64));
+        assertEquals(201, l.size());
+
+        l.clear();
+        assertEquals(0, l.size());
+        l.setBoolean(300, true);
+        assertNull(l.getBoolean(0));
+        assertNull(l.getBoolean(63));
+        assertEquals(301, l.size());
+    }
+
+    /**
+     * A list serialized by the version that stored Boolean objects can
+     * still be read.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testReadOldSerializedForm() throws Exception {
+        // TRUE at 0, FALSE at 1, TRUE at 5, written with Boolean storage
+        final String hex =
+          "aced00057372001a6f72672e6a667265652e7574696c2e426f6f6c65"
+        + "616e4c69737489708fd878cd00a6020000787200216f72672e6a6672"
+        + "65652e7574696c2e41627374726163744f626a6563744c6973746c1b"
+        + "0c8b3b0194ab030002490009696e6372656d656e7449000473697a65"
+        + "7870000000080000000677080000000600000000737200116a617661"
+        + "2e6c616e672e426f6f6c65616ecd207280d59cfaee0200015a000576"
+        + "616c75657870017704000000017371007e0003007710ffffffffffff"
+        + "ffffffffffff0000000571007e000478";
+        final byte[] data = new byte[hex.length() / 2];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) Integer.parseInt(hex.substring(i * 2,
+                    i * 2 + 2), 16);
+        }
+        final ObjectInput in = new ObjectInputStream(
+                new ByteArrayInputStream(data));
+        final BooleanList l = (BooleanList) in.readObject();
+        in.close();
+        assertEquals(6, l.size());
+        assertEquals(Boolean.TRUE, l.getBoolean(0));
+        assertEquals(Boolean.FALSE, l.getBoolean(1));
+        assertNull(l.getBoolean(2));
+        assertEquals(Boolean.TRUE, l.getBoolean(5));
+        l.setBoolean(100, true);
+        assertEquals(101, l.size());
+    }
+
 }
@@ -0,0 +1,274 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ------------------------
+ * CompactHashNMapTest.java
+ * ------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link CompactHashNMap} class.
+ */
+public class CompactHashNMapTest extends TestCase {
+
+    /**
+     * A consumer that records the values it receives.
+     */
+    private static class RecordingConsumer implements HashNMapConsumer {
+
+        /** The values. */
+        private List values = new ArrayList();
+
+        /**
+         * Receives one value.
+         *
+         * @param key  the key.
+         * @param value  the value.
+         */
+        public void accept(final Object key, final Object value) {
+            this.values.add(key + "=" + value);
+        }
+    }
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(CompactHashNMapTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public CompactHashNMapTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Some checks for the put, add, get and remove methods.
+     */
+    public void testAddAndRemove() {
+        final CompactHashNMap map = new CompactHashNMap();
+        assertNull(map.getFirst("A"));
+        assertEquals(0, map.getValueCount("A"));
+        map.add("A", "1");
+        map.add("A", "2");
+        map.add("A", null);
+        map.put("B", "3");
+        map.add(null, "4");
+        assertEquals(3, map.getValueCount("A"));
+        assertEquals("1", map.getFirst("A"));
+        assertNull(map.get("A", 2));
+        assertEquals("4", map.getFirst(null));
+        assertTrue(map.containsValue("A", null));
+        assertTrue(map.containsValue("3"));
+        assertTrue(map.contains("B"));
+        assertFalse(map.containsValue("5"));
+        try {
+            map.get("A", 3);
+            fail("Expected an IndexOutOfBoundsException.");
+        }
+        catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+
+        assertTrue(map.remove("A", "2"));
+        assertFalse(map.remove("A", "2"));
+        assertTrue(Arrays.equals(new Object[] {"1", null}, map.toArray("A")));
+        assertTrue(map.remove("A", null));
+        assertTrue(map.remove("A", "1"));
+        assertFalse(map.containsKey("A"));
+
+        map.add("B", "5");
+        map.put("B", "6");
+        assertTrue(Arrays.equals(new Object[] {"6"}, map.toArray("B")));
+        map.removeAll("B");
+        assertEquals(1, map.keySet().size());
+        map.clear();
+        assertEquals(0, map.keySet().size());
+        assertFalse(map.containsKey(null));
+    }
+
+    /**
+     * Checks the toArray methods against the List.toArray() contract.
+     */
+    public void testToArray() {
+        final CompactHashNMap map = new CompactHashNMap();
+        map.add("A", "1");
+        map.add("A", "2");
+        assertEquals(0, map.toArray("X").length);
+        final String[] small = (String[]) map.toArray("A", new String[0]);
+        assertTrue(Arrays.equals(new String[] {"1", "2"}, small));
+        final String[] large = new String[] {"x", "x", "x", "x"};
+        assertSame(large, map.toArray("A", large));
+        assertTrue(Arrays.equals(new String[] {"1", "2", null, "x"}, large));
+        try {
+            map.toArray(null);
+            fail("Expected a NullPointerException.");
+        }
+        catch (NullPointerException e) {
+            // expected
+        }
+    }
+
+    /**
+     * The forEach method visits the values in order, and the value iterator
+     * supports removal.
+     */
+    public void testIteration() {
+        final CompactHashNMap map = new CompactHashNMap();
+        map.add("A", "1");
+        map.add("A", "2");
+        map.add("A", "3");
+        final RecordingConsumer consumer = new RecordingConsumer();
+        map.forEach("A", consumer);
+        map.forEach("X", consumer);
+        assertEquals(Arrays.asList(new String[] {"A=1", "A=2", "A=3"}),
+                consumer.values);
+
+        Iterator it = map.getAll("A");
+        assertEquals("1", it.next());
+        it.remove();
+        assertEquals("2", it.next());
+        assertEquals("3", it.next());
+        it.remove();
+        assertFalse(it.hasNext());
+        assertTrue(Arrays.equals(new Object[] {"2"}, map.toArray("A")));
+        it = map.getAll("A");
+        it.next();
+        it.remove();
+        assertFalse(map.containsKey("A"));
+        assertFalse(map.getAll("A").hasNext());
+
+        map.add("B", "1");
+        it = map.getAll("B");
+        map.add("B", "2");
+        try {
+            it.next();
+            fail("Expected a ConcurrentModificationException.");
+        }
+        catch (ConcurrentModificationException e) {
+            // expected
+        }
+        assertTrue(map.keySet().remove("B"));
+        assertFalse(map.keys().hasNext());
+    }
+
+    /**
+     * Random operations give the same results as a HashNMap, also after
+     * cloning and serialization.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testCompareWithHashNMap() throws Exception {
+        final Random random = new Random(42);
+        final HashNMap expected = new HashNMap();
+        CompactHashNMap map = new CompactHashNMap(0);
+        for (int i = 0; i < 20000; i++) {
+            final Integer key = new Integer(random.nextInt(500) - 50);
+            final Integer value = new Integer(random.nextInt(5));
+            final int op = random.nextInt(10);
+            if (op < 5) {
+                assertEquals(expected.add(key, value), map.add(key, value));
+            }
+            else if (op < 6) {
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            else if (op < 9) {
+                assertEquals(expected.remove(key, value),
+                        map.remove(key, value));
+            }
+            else {
+                expected.removeAll(key);
+                map.removeAll(key);
+            }
+        }
+        assertSameContents(expected, map);
+        assertSameContents(expected, (CompactHashNMap) map.clone());
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final ObjectOutput out = new ObjectOutputStream(buffer);
+        out.writeObject(map);
+        out.close();
+        final ObjectInput in = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.toByteArray()));
+        map = (CompactHashNMap) in.readObject();
+        in.close();
+        assertSameContents(expected, map);
+    }
+
+    /**
+     * Checks that two maps have the same keys and values.
+     *
+     * @param expected  the expected contents.
+     * @param map  the map to check.
+     */
+    private void assertSameContents(final HashNMap expected,
+                                    final CompactHashNMap map) {
+        assertEquals(expected.keySet(), map.keySet());
+        assertEquals(expected.keySet(), new HashSet(map.keySet()));
+        final Iterator keys = expected.keys();
+        while (keys.hasNext()) {
+            final Object key = keys.next();
+            assertTrue(Arrays.equals(expected.toArray(key),
+                    map.toArray(key)));
+        }
+    }
+
+}
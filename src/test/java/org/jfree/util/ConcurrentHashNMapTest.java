@@ -0,0 +1,210 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------------------
+ * ConcurrentHashNMapTest.java
+ * ---------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link ConcurrentHashNMap} class.
+ */
+public class ConcurrentHashNMapTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(ConcurrentHashNMapTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public ConcurrentHashNMapTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Some checks for the single-threaded behaviour.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testBasics() throws Exception {
+        final ConcurrentHashNMap map = new ConcurrentHashNMap();
+        map.add("A", "1");
+        map.add("A", "2");
+        map.add(null, null);
+        assertTrue(map.putIfAbsent("A", "3"));
+        assertFalse(map.putIfAbsent("A", "2"));
+        assertEquals(3, map.getValueCount("A"));
+        assertEquals("2", map.get("A", 1));
+        assertNull(map.get("B", 0));
+        assertTrue(map.containsKey(null));
+        assertTrue(map.containsValue(null, null));
+        assertTrue(map.containsValue("3"));
+
+        // the iterator works on a snapshot
+        final Iterator it = map.getAll("A");
+        map.put("A", "4");
+        assertEquals("1", it.next());
+        map.put("A", "1");
+        it.remove();
+        assertFalse(map.containsKey("A"));
+        assertEquals("2", it.next());
+        assertEquals("3", it.next());
+        assertFalse(it.hasNext());
+
+        map.add("B", "1");
+        map.add("B", "2");
+        final Iterator keys = map.keys();
+        while (keys.hasNext()) {
+            if (keys.next() == null) {
+                keys.remove();
+            }
+        }
+        assertEquals(1, map.keySet().size());
+        final ConcurrentHashNMap copy = (ConcurrentHashNMap) map.clone();
+        map.add("B", "3");
+        assertEquals(2, copy.getValueCount("B"));
+
+        copy.add(null, "x");
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final ObjectOutput out = new ObjectOutputStream(buffer);
+        out.writeObject(copy);
+        out.close();
+        final ObjectInput in = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.toByteArray()));
+        final ConcurrentHashNMap restored
+                = (ConcurrentHashNMap) in.readObject();
+        in.close();
+        assertEquals(copy.keySet(), restored.keySet());
+        assertTrue(Arrays.equals(new Object[] {"1", "2"},
+                restored.toArray("B")));
+        assertEquals("x", restored.getFirst(null));
+    }
+
+    /**
+     * Checks the computeValues method.
+     */
+    public void testComputeValues() {
+        final ConcurrentHashNMap map = new ConcurrentHashNMap();
+        final HashNMapFunction reverse = new HashNMapFunction() {
+            public Object[] computeValues(final Object key,
+                                          final Object[] values) {
+                final Object[] result = new Object[values.length + 1];
+                for (int i = 0; i < values.length; i++) {
+                    result[values.length - i] = values[i];
+                }
+                result[0] = key;
+                return result;
+            }
+        };
+        assertTrue(Arrays.equals(new Object[] {"A"},
+                map.computeValues("A", reverse)));
+        map.add("A", "1");
+        assertTrue(Arrays.equals(new Object[] {"A", "1", "A"},
+                map.computeValues("A", reverse)));
+        final HashNMapFunction clear = new HashNMapFunction() {
+            public Object[] computeValues(final Object key,
+                                          final Object[] values) {
+                return null;
+            }
+        };
+        assertEquals(0, map.computeValues("A", clear).length);
+        assertFalse(map.containsKey("A"));
+    }
+
+    /**
+     * Several threads that add and remove values at the same time do not
+     * lose any updates.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    public void testConcurrentUpdates() throws InterruptedException {
+        final ConcurrentHashNMap map = new ConcurrentHashNMap();
+        final int[] failures = new int[1];
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final Integer id = new Integer(t);
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 2000; i++) {
+                        final Integer key = new Integer(i % 10);
+                        map.add(key, id);
+                        map.putIfAbsent("unique", new Integer(i));
+                        if (!map.remove(key, id)) {
+                            synchronized (failures) {
+                                failures[0]++;
+                            }
+                        }
+                        map.add(key, id);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        assertEquals(0, failures[0]);
+        assertEquals(2000, map.getValueCount("unique"));
+        int total = 0;
+        for (int i = 0; i < 10; i++) {
+            total += map.getValueCount(new Integer(i));
+        }
+        assertEquals(2000 * threads.length, total);
+    }
+
+}
@@ -0,0 +1,186 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------
+ * DoubleListTest.java
+ * -------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link DoubleList} class.
+ */
+public class DoubleListTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DoubleListTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public DoubleListTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Some checks for the get and set methods.
+     */
+    public void testGetSet() {
+        final DoubleList l = new DoubleList(2);
+        assertEquals(0, l.size());
+        assertEquals(0.0, l.getDouble(0), 0.0);
+        l.setDouble(0, 7.5);
+        l.setDouble(5, -3.25);
+        assertEquals(6, l.size());
+        assertEquals(7.5, l.getDouble(0), 0.0);
+        assertEquals(0.0, l.getDouble(3), 0.0);
+        assertEquals(-3.25, l.getDouble(5), 0.0);
+        assertEquals(0.0, l.getDouble(6), 0.0);
+        assertEquals(0.0, l.getDouble(-1), 0.0);
+        assertEquals(5, l.indexOf(-3.25));
+        assertEquals(-1, l.indexOf(42.0));
+        try {
+            l.setDouble(-1, 7.5);
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        // growing the list one item at a time
+        for (int i = 0; i < 10000; i++) {
+            l.setDouble(i, (double) i);
+        }
+        assertEquals(10000, l.size());
+        assertEquals((double) 9999, l.getDouble(9999), 0.0);
+        assertEquals(10000, l.toArray().length);
+
+        // cleared items read as zero when the list grows again
+        l.clear();
+        assertEquals(0, l.size());
+        l.setDouble(10, 7.5);
+        assertEquals(0.0, l.getDouble(5), 0.0);
+    }
+
+    /**
+     * Tests the equals() and hashCode() methods.
+     */
+    public void testEquals() {
+        final DoubleList l1 = new DoubleList();
+        l1.setDouble(0, 7.5);
+        l1.setDouble(2, -3.25);
+        final DoubleList l2 = new DoubleList(1);
+        l2.setDouble(2, -3.25);
+        assertFalse(l1.equals(l2));
+        l2.setDouble(0, 7.5);
+        assertTrue(l1.equals(l2));
+        assertEquals(l1.hashCode(), l2.hashCode());
+        l2.setDouble(3, 0.0);
+        assertFalse(l1.equals(l2));
+        assertFalse(l2.equals(l1));
+
+        // NaN equals NaN, but 0.0 differs from -0.0, as for Double
+        l1.setDouble(1, Double.NaN);
+        l2.setDouble(1, Double.NaN);
+        l2.setDouble(3, -0.0);
+        l1.setDouble(3, -0.0);
+        assertTrue(l1.equals(l2));
+        assertEquals(1, l1.indexOf(Double.NaN));
+        l2.setDouble(3, 0.0);
+        assertFalse(l1.equals(l2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    public void testCloning() throws CloneNotSupportedException {
+        final DoubleList l1 = new DoubleList();
+        l1.setDouble(0, 7.5);
+        l1.setDouble(1, -3.25);
+        final DoubleList l2 = (DoubleList) l1.clone();
+        assertTrue(l1 != l2);
+        assertTrue(l1.getClass() == l2.getClass());
+        assertTrue(l1.equals(l2));
+        l2.setDouble(0, 42.0);
+        assertFalse(l1.equals(l2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testSerialization() throws Exception {
+        final DoubleList l1 = new DoubleList();
+        l1.setDouble(0, 7.5);
+        l1.setDouble(20, -3.25);
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final ObjectOutput out = new ObjectOutputStream(buffer);
+        out.writeObject(l1);
+        out.close();
+
+        final ObjectInput in = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.toByteArray()));
+        final DoubleList l2 = (DoubleList) in.readObject();
+        in.close();
+        assertEquals(l1, l2);
+        l2.setDouble(21, 42.0);
+        assertEquals(22, l2.size());
+    }
+
+}
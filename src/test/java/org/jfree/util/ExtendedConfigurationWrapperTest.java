@@ -0,0 +1,356 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------------------------
+ * ExtendedConfigurationWrapperTest.java
+ * -------------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ * 17-Oct-2026 : Added test for chains that include the system properties;
+ * 17-Oct-2026 : Added testBootConfiguration() and
+ *               testCollectedWrappers();
+ *
+ */
+
+package org.jfree.util;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.base.BaseBoot;
+import org.jfree.base.config.HierarchicalConfiguration;
+import org.jfree.base.config.PropertyFileConfiguration;
+import org.jfree.base.config.SystemPropertyConfiguration;
+
+/**
+ * Tests for the {@link ExtendedConfigurationWrapper} class.
+ */
+public class ExtendedConfigurationWrapperTest extends TestCase {
+
+    /** An enum for the tests. */
+    private static enum Mode { FAST, SAFE }
+
+    /**
+     * A listener that records the events.
+     */
+    private static class Recorder implements PropertyChangeListener {
+
+        /** The events. */
+        private final List events = new ArrayList();
+
+        /**
+         * Records an event.
+         *
+         * @param event  the event.
+         */
+        public void propertyChange(final PropertyChangeEvent event) {
+            this.events.add(event);
+        }
+
+        /**
+         * Returns the recorded event with the given index.
+         *
+         * @param index  the index.
+         *
+         * @return The event.
+         */
+        private PropertyChangeEvent get(final int index) {
+            return (PropertyChangeEvent) this.events.get(index);
+        }
+    }
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(ExtendedConfigurationWrapperTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public ExtendedConfigurationWrapperTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Checks the typed accessors.
+     */
+    public void testTypedProperties() {
+        final HierarchicalConfiguration config
+                = new HierarchicalConfiguration();
+        config.setConfigProperty("int", "42");
+        config.setConfigProperty("long", "12345678901");
+        config.setConfigProperty("double", "2.5");
+        config.setConfigProperty("bool", "true");
+        config.setConfigProperty("enum", "SAFE");
+        config.setConfigProperty("junk", "junk");
+        config.setConfigProperty("duration1", "250");
+        config.setConfigProperty("duration2", " 10s");
+        config.setConfigProperty("duration3", "5 min");
+        config.setConfigProperty("duration4", "2h");
+        config.setConfigProperty("duration5", "-3d");
+        final TypedConfiguration c
+                = new ExtendedConfigurationWrapper(config);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(42, c.getIntProperty("int"));
+            assertEquals(7, c.getIntProperty("junk", 7));
+            assertEquals(7, c.getIntProperty("missing", 7));
+            assertEquals(12345678901L, c.getLongProperty("long", 0));
+            assertEquals(2.5, c.getDoubleProperty("double", 0), 0.0);
+            assertEquals(1.5, c.getDoubleProperty("junk", 1.5), 0.0);
+            assertTrue(c.getBoolProperty("bool"));
+            assertFalse(c.getBoolProperty("junk", true));
+            assertTrue(c.getBoolProperty("missing", true));
+            assertEquals(Mode.SAFE, c.getEnumProperty("enum", Mode.class,
+                    Mode.FAST));
+            assertEquals(Mode.FAST, c.getEnumProperty("junk", Mode.class,
+                    Mode.FAST));
+            assertEquals(250, c.getDurationProperty("duration1", 0));
+            assertEquals(10000, c.getDurationProperty("duration2", 0));
+            assertEquals(300000, c.getDurationProperty("duration3", 0));
+            assertEquals(7200000, c.getDurationProperty("duration4", 0));
+            assertEquals(-1, c.getDurationProperty("duration5", -1));
+            assertEquals(-1, c.getDurationProperty("junk", -1));
+        }
+        // the same key read as another type
+        assertEquals(42L, c.getLongProperty("int", 0));
+        assertEquals(42, c.getDurationProperty("int", 0));
+    }
+
+    /**
+     * The cached values follow the changes of the configuration chain.
+     */
+    public void testChanges() {
+        final HierarchicalConfiguration root = new HierarchicalConfiguration();
+        root.setConfigProperty("size", "1");
+        final HierarchicalConfiguration config
+                = new HierarchicalConfiguration(root);
+        final TypedConfiguration c
+                = new ExtendedConfigurationWrapper(config);
+        assertEquals(1, c.getIntProperty("size"));
+        root.setConfigProperty("size", "2");
+        assertEquals(2, c.getIntProperty("size"));
+        config.setConfigProperty("size", "3");
+        assertEquals(3, c.getIntProperty("size"));
+        config.setConfigProperty("size", null);
+        assertEquals(2, c.getIntProperty("size"));
+
+        final PropertyFileConfiguration file = new PropertyFileConfiguration();
+        config.insertConfiguration(file);
+        assertEquals(2, c.getIntProperty("size"));
+        file.load(new ByteArrayInputStream("size=4\n".getBytes()));
+        assertEquals(4, c.getIntProperty("size"));
+    }
+
+    /**
+     * Listeners are notified of effective changes only.
+     */
+    public void testListeners() {
+        final HierarchicalConfiguration root = new HierarchicalConfiguration();
+        final HierarchicalConfiguration config
+                = new HierarchicalConfiguration(root);
+        final TypedConfiguration c
+                = new ExtendedConfigurationWrapper(config);
+        final Recorder all = new Recorder();
+        final Recorder size = new Recorder();
+        c.addPropertyChangeListener(all);
+        c.addPropertyChangeListener("size", size);
+
+        root.setConfigProperty("size", "1");
+        assertEquals(1, size.events.size());
+        assertNull(size.get(0).getOldValue());
+        assertEquals("1", size.get(0).getNewValue());
+        assertSame(c, size.get(0).getSource());
+
+        // hidden by the child configuration
+        config.setConfigProperty("size", "2");
+        root.setConfigProperty("size", "3");
+        assertEquals(2, size.events.size());
+        assertEquals("1", size.get(1).getOldValue());
+        assertEquals("2", size.get(1).getNewValue());
+
+        // no change
+        config.setConfigProperty("size", "2");
+        assertEquals(2, size.events.size());
+
+        root.setConfigProperty("other", "x");
+        assertEquals(2, size.events.size());
+        assertEquals(3, all.events.size());
+        assertEquals("other", all.get(2).getPropertyName());
+
+        // a loaded file is compared with the known values
+        final PropertyFileConfiguration file = new PropertyFileConfiguration();
+        final HierarchicalConfiguration top
+                = new HierarchicalConfiguration(file);
+        final TypedConfiguration fileConfig
+                = new ExtendedConfigurationWrapper(top);
+        final Recorder fileSize = new Recorder();
+        fileConfig.addPropertyChangeListener("size", fileSize);
+        file.load(new ByteArrayInputStream("size=5\nother=y\n".getBytes()));
+        assertEquals(1, fileSize.events.size());
+        assertNull(fileSize.get(0).getOldValue());
+        assertEquals("5", fileSize.get(0).getNewValue());
+        assertEquals(5, fileConfig.getIntProperty("size"));
+
+        c.removePropertyChangeListener("size", size);
+        c.removePropertyChangeListener(all);
+        root.setConfigProperty("other", "z");
+        assertEquals(2, size.events.size());
+        assertEquals(3, all.events.size());
+    }
+
+    /**
+     * The values of a chain that includes the system properties are read on
+     * every call, because the system properties change without notice.
+     */
+    public void testSystemProperties() {
+        final String key = "org.jfree.util.ExtendedConfigurationWrapperTest";
+        final HierarchicalConfiguration root = new HierarchicalConfiguration();
+        root.setConfigProperty(key, "1");
+        final HierarchicalConfiguration config
+                = new HierarchicalConfiguration(root);
+        final TypedConfiguration c
+                = new ExtendedConfigurationWrapper(config);
+        assertTrue(c.isFullyObservable());
+        assertEquals(1, c.getIntProperty(key));
+
+        config.insertConfiguration(new SystemPropertyConfiguration());
+        assertFalse(config.isFullyObservable());
+        assertFalse(c.isFullyObservable());
+        try {
+            assertEquals(1, c.getIntProperty(key));
+            System.setProperty(key, "2");
+            assertEquals(2, c.getIntProperty(key));
+            assertEquals(2L, c.getLongProperty(key, 0));
+            System.setProperty(key, "3");
+            assertEquals(3, c.getIntProperty(key));
+        }
+        finally {
+            System.getProperties().remove(key);
+        }
+        assertEquals(1, c.getIntProperty(key));
+
+        final TypedConfiguration system = new ExtendedConfigurationWrapper(
+                new SystemPropertyConfiguration());
+        assertFalse(system.isFullyObservable());
+    }
+
+    /**
+     * The global configuration of the BaseBoot includes the system
+     * properties, so its values are read on every call, but they are only
+     * parsed again when the text changes.
+     */
+    public void testBootConfiguration() {
+        final String key = "org.jfree.util.ExtendedConfigurationWrapperTest";
+        final ExtendedConfigurationWrapper c = new ExtendedConfigurationWrapper(
+                BaseBoot.getInstance().getGlobalConfig());
+        assertFalse(c.isFullyObservable());
+        try {
+            System.setProperty(key, "1000");
+            final Object value = c.getParsedValue(key, Long.class);
+            assertEquals(Long.valueOf(1000L), value);
+            assertSame(value, c.getParsedValue(key, Long.class));
+            assertEquals(1000L, c.getLongProperty(key, 0));
+            assertEquals(1000, c.getIntProperty(key));
+
+            System.setProperty(key, "2000");
+            assertEquals(2000L, c.getLongProperty(key, 0));
+            assertSame(c.getParsedValue(key, Long.class),
+                    c.getParsedValue(key, Long.class));
+        }
+        finally {
+            System.getProperties().remove(key);
+        }
+        assertEquals(0L, c.getLongProperty(key, 0));
+    }
+
+    /**
+     * The listeners of wrappers that have been garbage collected are
+     * removed from the wrapped configuration.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    public void testCollectedWrappers() throws InterruptedException {
+        final int[] listeners = new int[1];
+        final HierarchicalConfiguration config
+                = new HierarchicalConfiguration() {
+            public void addPropertyChangeListener(
+                    final PropertyChangeListener listener) {
+                super.addPropertyChangeListener(listener);
+                listeners[0]++;
+            }
+            public void removePropertyChangeListener(
+                    final PropertyChangeListener listener) {
+                super.removePropertyChangeListener(listener);
+                listeners[0]--;
+            }
+        };
+        for (int i = 0; i < 100; i++) {
+            new ExtendedConfigurationWrapper(config).getIntProperty("size");
+        }
+        assertEquals(100, listeners[0]);
+        ExtendedConfigurationWrapper c = null;
+        for (int i = 0; i < 100 && listeners[0] > 2; i++) {
+            System.gc();
+            Thread.sleep(10);
+            c = new ExtendedConfigurationWrapper(config);
+        }
+        assertTrue(listeners[0] <= 2);
+        config.setConfigProperty("size", "2");
+        assertEquals(2, c.getIntProperty("size"));
+    }
+
+    /**
+     * A configuration that does not report changes is read on every call.
+     */
+    public void testPlainConfiguration() {
+        final DefaultConfiguration config = new DefaultConfiguration();
+        config.setConfigProperty("size", "1");
+        final TypedConfiguration c
+                = new ExtendedConfigurationWrapper(config);
+        assertEquals(1, c.getIntProperty("size"));
+        config.setConfigProperty("size", "2");
+        assertEquals(2, c.getIntProperty("size"));
+    }
+
+}
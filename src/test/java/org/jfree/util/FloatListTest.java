@@ -0,0 +1,186 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ------------------
+ * FloatListTest.java
+ * ------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link FloatList} class.
+ */
+public class FloatListTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(FloatListTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public FloatListTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Some checks for the get and set methods.
+     */
+    public void testGetSet() {
+        final FloatList l = new FloatList(2);
+        assertEquals(0, l.size());
+        assertEquals(0.0f, l.getFloat(0), 0.0f);
+        l.setFloat(0, 7.5f);
+        l.setFloat(5, -3.25f);
+        assertEquals(6, l.size());
+        assertEquals(7.5f, l.getFloat(0), 0.0f);
+        assertEquals(0.0f, l.getFloat(3), 0.0f);
+        assertEquals(-3.25f, l.getFloat(5), 0.0f);
+        assertEquals(0.0f, l.getFloat(6), 0.0f);
+        assertEquals(0.0f, l.getFloat(-1), 0.0f);
+        assertEquals(5, l.indexOf(-3.25f));
+        assertEquals(-1, l.indexOf(42.0f));
+        try {
+            l.setFloat(-1, 7.5f);
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        // growing the list one item at a time
+        for (int i = 0; i < 10000; i++) {
+            l.setFloat(i, (float) i);
+        }
+        assertEquals(10000, l.size());
+        assertEquals((float) 9999, l.getFloat(9999), 0.0f);
+        assertEquals(10000, l.toArray().length);
+
+        // cleared items read as zero when the list grows again
+        l.clear();
+        assertEquals(0, l.size());
+        l.setFloat(10, 7.5f);
+        assertEquals(0.0f, l.getFloat(5), 0.0f);
+    }
+
+    /**
+     * Tests the equals() and hashCode() methods.
+     */
+    public void testEquals() {
+        final FloatList l1 = new FloatList();
+        l1.setFloat(0, 7.5f);
+        l1.setFloat(2, -3.25f);
+        final FloatList l2 = new FloatList(1);
+        l2.setFloat(2, -3.25f);
+        assertFalse(l1.equals(l2));
+        l2.setFloat(0, 7.5f);
+        assertTrue(l1.equals(l2));
+        assertEquals(l1.hashCode(), l2.hashCode());
+        l2.setFloat(3, 0.0f);
+        assertFalse(l1.equals(l2));
+        assertFalse(l2.equals(l1));
+
+        // NaN equals NaN, but 0.0 differs from -0.0, as for Float
+        l1.setFloat(1, Float.NaN);
+        l2.setFloat(1, Float.NaN);
+        l2.setFloat(3, -0.0f);
+        l1.setFloat(3, -0.0f);
+        assertTrue(l1.equals(l2));
+        assertEquals(1, l1.indexOf(Float.NaN));
+        l2.setFloat(3, 0.0f);
+        assertFalse(l1.equals(l2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    public void testCloning() throws CloneNotSupportedException {
+        final FloatList l1 = new FloatList();
+        l1.setFloat(0, 7.5f);
+        l1.setFloat(1, -3.25f);
+        final FloatList l2 = (FloatList) l1.clone();
+        assertTrue(l1 != l2);
+        assertTrue(l1.getClass() == l2.getClass());
+        assertTrue(l1.equals(l2));
+        l2.setFloat(0, 42.0f);
+        assertFalse(l1.equals(l2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testSerialization() throws Exception {
+        final FloatList l1 = new FloatList();
+        l1.setFloat(0, 7.5f);
+        l1.setFloat(20, -3.25f);
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final ObjectOutput out = new ObjectOutputStream(buffer);
+        out.writeObject(l1);
+        out.close();
+
+        final ObjectInput in = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.toByteArray()));
+        final FloatList l2 = (FloatList) in.readObject();
+        in.close();
+        assertEquals(l1, l2);
+        l2.setFloat(21, 42.0f);
+        assertEquals(22, l2.size());
+    }
+
+}
@@ -0,0 +1,176 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ----------------
+ * IntListTest.java
+ * ----------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link IntList} class.
+ */
+public class IntListTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(IntListTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public IntListTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Some checks for the get and set methods.
+     */
+    public void testGetSet() {
+        final IntList l = new IntList(2);
+        assertEquals(0, l.size());
+        assertEquals(0, l.getInt(0));
+        l.setInt(0, 7);
+        l.setInt(5, -3);
+        assertEquals(6, l.size());
+        assertEquals(7, l.getInt(0));
+        assertEquals(0, l.getInt(3));
+        assertEquals(-3, l.getInt(5));
+        assertEquals(0, l.getInt(6));
+        assertEquals(0, l.getInt(-1));
+        assertEquals(5, l.indexOf(-3));
+        assertEquals(-1, l.indexOf(42));
+        try {
+            l.setInt(-1, 7);
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        // growing the list one item at a time
+        for (int i = 0; i < 10000; i++) {
+            l.setInt(i, (int) i);
+        }
+        assertEquals(10000, l.size());
+        assertEquals((int) 9999, l.getInt(9999));
+        assertEquals(10000, l.toArray().length);
+
+        // cleared items read as zero when the list grows again
+        l.clear();
+        assertEquals(0, l.size());
+        l.setInt(10, 7);
+        assertEquals(0, l.getInt(5));
+    }
+
+    /**
+     * Tests the equals() and hashCode() methods.
+     */
+    public void testEquals() {
+        final IntList l1 = new IntList();
+        l1.setInt(0, 7);
+        l1.setInt(2, -3);
+        final IntList l2 = new IntList(1);
+        l2.setInt(2, -3);
+        assertFalse(l1.equals(l2));
+        l2.setInt(0, 7);
+        assertTrue(l1.equals(l2));
+        assertEquals(l1.hashCode(), l2.hashCode());
+        l2.setInt(3, 0);
+        assertFalse(l1.equals(l2));
+        assertFalse(l2.equals(l1));
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    public void testCloning() throws CloneNotSupportedException {
+        final IntList l1 = new IntList();
+        l1.setInt(0, 7);
+        l1.setInt(1, -3);
+        final IntList l2 = (IntList) l1.clone();
+        assertTrue(l1 != l2);
+        assertTrue(l1.getClass() == l2.getClass());
+        assertTrue(l1.equals(l2));
+        l2.setInt(0, 42);
+        assertFalse(l1.equals(l2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testSerialization() throws Exception {
+        final IntList l1 = new IntList();
+        l1.setInt(0, 7);
+        l1.setInt(20, -3);
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final ObjectOutput out = new ObjectOutputStream(buffer);
+        out.writeObject(l1);
+        out.close();
+
+        final ObjectInput in = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.toByteArray()));
+        final IntList l2 = (IntList) in.readObject();
+        in.close();
+        assertEquals(l1, l2);
+        l2.setInt(21, 42);
+        assertEquals(22, l2.size());
+    }
+
+}
@@ -38,10 +38,17 @@
  * -------
  * 21-Feb-2004 : Initial version
  * 07-Jun-2004 : Added JCommon header (DG);
+ * 17-Oct-2026 : Added tests for parameterised and supplier logging;
+ * 17-Oct-2026 : Added tests for context log levels;
+ * 17-Oct-2026 : Added test for context messages passing through doLog();
  */
 
 package org.jfree.util;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
 import junit.framework.TestCase;
 
 /**
@@ -135,4 +142,258 @@ public class LogTest extends TestCase {
         assertEquals("Context Test", ctx2, Log.createContext("Test"));
 
     }
+
+    /**
+     * Tests the formatting of message patterns.
+     */
+    public void testFormat() {
+        assertEquals("a 1 b 2 c", Log.format(null, "a {} b {} c", 2,
+                new Integer(1), new Integer(2), null));
+        assertEquals("ctx:1, 2, 3", Log.format("ctx", "{}, {}, {}", 3,
+                new Integer(1), new Integer(2), new Integer(3)));
+        assertEquals("x null {}", Log.format(null, "x {} {}", 1, null, null,
+                null));
+        assertEquals("no placeholders", Log.format(null, "no placeholders",
+                2, "a", "b", null));
+        assertEquals("null", Log.format(null, null, 2, "a", "b", null));
+    }
+
+    /**
+     * A parameter that fails the test if it is converted to a string.
+     */
+    private static class FailingParameter {
+
+        /**
+         * Fails.
+         *
+         * @return Never.
+         */
+        public String toString() {
+            fail("Parameter formatted for a disabled level.");
+            return null;
+        }
+    }
+
+    /**
+     * Messages are only built for enabled levels.
+     */
+    public void testLazyMessages() {
+        final List messages = new ArrayList();
+        final LogTarget target = new LogTargetImpl() {
+            public void log(final int level, final Object message) {
+                messages.add(LogTarget.LEVELS[level] + message);
+            }
+        };
+        final Log log = Log.getInstance();
+        final int savedLevel = log.getDebuglevel();
+        log.addTarget(target);
+        try {
+            log.setDebuglevel(LogTarget.WARN);
+            final LogMessageSupplier failing = new LogMessageSupplier() {
+                public Object getMessage() {
+                    fail("Supplier called for a disabled level.");
+                    return null;
+                }
+            };
+            final Object p = new FailingParameter();
+            final LogContext ctx = Log.createContext("ctx");
+            Log.debug("{} {}", p, p);
+            Log.info("{} {} {}", p, p, p);
+            Log.debug(failing);
+            ctx.debug("{} {}", p, p);
+            ctx.info(failing);
+            ctx.debug(p);
+            assertTrue(messages.isEmpty());
+
+            Log.warn("{} of {}", new Integer(1), new Integer(2));
+            ctx.error("{}-{}-{}", "a", "b", "c");
+            ctx.warn(new LogMessageSupplier() {
+                public Object getMessage() {
+                    return "supplied";
+                }
+            });
+            ctx.warn("plain");
+            assertEquals(4, messages.size());
+            assertEquals("WARN:  1 of 2", messages.get(0));
+            assertEquals("ERROR: ctx:a-b-c", messages.get(1));
+            assertEquals("WARN:  ctx:supplied", messages.get(2));
+            assertEquals("WARN:  ctx:plain", messages.get(3));
+        }
+        finally {
+            log.setDebuglevel(savedLevel);
+            log.removeTarget(target);
+        }
+    }
+
+    /**
+     * A message that logs while it is being formatted gets its own buffer.
+     */
+    public void testNestedFormat() {
+        final Object nested = new Object() {
+            public String toString() {
+                return Log.format(null, "<{}>", 1, "inner", null, null);
+            }
+        };
+        assertEquals("a <inner> b", Log.format(null, "a {} b", 1, nested,
+                null, null));
+        assertEquals("x1<inner>", new Log.SimpleMessage("x", "1",
+                nested).toString());
+    }
+
+    /**
+     * Contexts take the level of their longest prefix with a level, and
+     * follow changes to the levels.
+     */
+    public void testContextLevels() {
+        final List messages = new ArrayList();
+        final LogTarget target = new LogTargetImpl() {
+            public void log(final int level, final Object message) {
+                messages.add(LogTarget.LEVELS[level] + message);
+            }
+        };
+        final Log log = Log.getInstance();
+        final int savedLevel = log.getDebuglevel();
+        log.addTarget(target);
+        try {
+            log.setDebuglevel(LogTarget.WARN);
+            final LogContext xml = Log.createContext("test.xml.parser.A");
+            final LogContext other = Log.createContext("test.other.B");
+            assertEquals(LogTarget.WARN, xml.getLevel());
+            assertFalse(xml.isDebugEnabled());
+
+            log.setContextLevel("test.xml", LogTarget.DEBUG);
+            assertEquals(LogTarget.DEBUG, xml.getLevel());
+            assertTrue(xml.isDebugEnabled());
+            assertEquals(LogTarget.WARN, other.getLevel());
+            xml.debug("shown");
+            other.debug("hidden");
+            Log.debug("hidden");
+            assertEquals(1, messages.size());
+            assertEquals("DEBUG: test.xml.parser.A:shown", messages.get(0));
+
+            // a longer prefix takes precedence, new contexts see the levels
+            log.setContextLevel("test.xml.parser", LogTarget.ERROR);
+            assertEquals(LogTarget.ERROR, xml.getLevel());
+            assertEquals(LogTarget.DEBUG,
+                    Log.createContext("test.xml.writer").getLevel());
+            assertEquals(LogTarget.DEBUG,
+                    Log.createContext("test.xml").getLevel());
+            assertEquals(LogTarget.WARN,
+                    Log.createContext("test.xmlx").getLevel());
+
+            log.removeContextLevel("test.xml.parser");
+            assertEquals(LogTarget.DEBUG, xml.getLevel());
+            log.setDebuglevel(LogTarget.ERROR);
+            assertEquals(LogTarget.ERROR, other.getLevel());
+            log.setContextLevels(new HashMap());
+            assertEquals(LogTarget.ERROR, xml.getLevel());
+            assertFalse(xml.isWarningEnabled());
+        }
+        finally {
+            log.setContextLevels(new HashMap());
+            log.setDebuglevel(savedLevel);
+            log.removeTarget(target);
+        }
+    }
+
+    /**
+     * A log that records the messages passed to its doLog() methods.
+     */
+    private static class RecordingLog extends Log {
+
+        /** The messages passed to doLog(int, Object). */
+        private List logged = new ArrayList();
+
+        /** The messages passed to doLog(int, Object, boolean). */
+        private List checked = new ArrayList();
+
+        /**
+         * Records a message.
+         *
+         * @param level   log level of the message.
+         * @param message text to be logged.
+         */
+        protected void doLog(final int level, final Object message) {
+            this.logged.add(String.valueOf(message));
+            super.doLog(level, message);
+        }
+
+        /**
+         * Records a message.
+         *
+         * @param level        log level of the message.
+         * @param message      text to be logged.
+         * @param levelChecked has the level been checked?
+         */
+        protected void doLog(final int level, final Object message,
+                             final boolean levelChecked) {
+            this.checked.add(String.valueOf(message));
+            super.doLog(level, message, levelChecked);
+        }
+    }
+
+    /**
+     * Context messages pass through the overridable doLog() methods.
+     */
+    public void testContextDoLog() {
+        final Log saved = Log.getInstance();
+        final RecordingLog log = new RecordingLog();
+        final List messages = new ArrayList();
+        log.addTarget(new LogTargetImpl() {
+            public void log(final int level, final Object message) {
+                messages.add(LogTarget.LEVELS[level] + message);
+            }
+        });
+        Log.defineLog(log);
+        try {
+            log.setDebuglevel(LogTarget.WARN);
+            log.setContextLevel("test.dolog", LogTarget.DEBUG);
+            final LogContext ctx = Log.createContext("test.dolog.A");
+            ctx.warn("warn");
+            ctx.debug("{}", "debug", null);
+            Log.debug("hidden");
+            assertEquals(2, messages.size());
+            assertEquals("WARN:  test.dolog.A:warn", messages.get(0));
+            assertEquals("DEBUG: test.dolog.A:debug", messages.get(1));
+            // the message allowed by the global level uses the usual path
+            assertEquals(2, log.logged.size());
+            assertEquals("test.dolog.A:warn", log.logged.get(0));
+            assertEquals("hidden", log.logged.get(1));
+            // the message allowed only by the context level uses the hook
+            assertEquals(3, log.checked.size());
+            assertEquals("test.dolog.A:debug", log.checked.get(1));
+        }
+        finally {
+            Log.defineLog(saved);
+        }
+    }
+
+    /**
+     * Contexts created by several threads at once are unique.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    public void testConcurrentCreateContext() throws InterruptedException {
+        final LogContext[][] results = new LogContext[4][100];
+        final Thread[] threads = new Thread[results.length];
+        for (int t = 0; t < threads.length; t++) {
+            final LogContext[] result = results[t];
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < result.length; i++) {
+                        result[i] = Log.createContext("test.concurrent." + i);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        for (int i = 0; i < 100; i++) {
+            for (int t = 1; t < threads.length; t++) {
+                assertSame(results[0][i], results[t][i]);
+            }
+        }
+    }
 }
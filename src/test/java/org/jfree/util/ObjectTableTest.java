@@ -37,12 +37,20 @@
  * Changes
  * -------
  * 29-Apr-2003 : Version 1 (DG);
+ * 17-Oct-2026 : Added tests for growth and the sparse storage;
  *
  */
 
 package org.jfree.util;
 
 import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.util.Random;
 
 import junit.framework.Test;
 import junit.framework.TestCase;
@@ -65,6 +73,15 @@ public class ObjectTableTest extends TestCase {
             super();
         }
 
+        /**
+         * Creates a table with the default increments.
+         *
+         * @param sparse  use the sparse storage?
+         */
+        public TObjectTable(final boolean sparse) {
+            super(5, 5, sparse);
+        }
+
         /**
          * Returns the object from a particular cell in the table.
          * Returns null, if there is no object at the given position.
@@ -140,4 +157,137 @@ public class ObjectTableTest extends TestCase {
 
     }
 
+    /**
+     * Filling a large table one cell at a time works in both modes.
+     */
+    public void testGrowth() {
+        final TObjectTable dense = new TObjectTable(false);
+        final TObjectTable sparse = new TObjectTable(true);
+        for (int r = 0; r < 20000; r++) {
+            final Integer value = new Integer(r);
+            dense.setObject(r, r % 7, value);
+            sparse.setObject(r, r % 7, value);
+        }
+        assertEquals(20000, dense.getRowCount());
+        assertEquals(7, sparse.getColumnCount());
+        assertEquals(new Integer(12345), dense.getObject(12345, 12345 % 7));
+        assertEquals(new Integer(12345), sparse.getObject(12345, 12345 % 7));
+        assertNull(sparse.getObject(12345, 0));
+        assertTrue(dense.equals(sparse));
+        assertTrue(sparse.equals(dense));
+    }
+
+    /**
+     * Some checks for the sparse storage.
+     */
+    public void testSparse() {
+        final TObjectTable t = new TObjectTable(true);
+        assertTrue(t.isSparse());
+        assertFalse(new TObjectTable().isSparse());
+        assertNull(t.getObject(3, 3));
+        t.setObject(100, 40, Color.red);
+        t.setObject(15, 16, Color.blue);
+        t.setObject(16, 15, Color.green);
+        assertEquals(101, t.getRowCount());
+        assertEquals(41, t.getColumnCount());
+        assertEquals(Color.red, t.getObject(100, 40));
+        assertEquals(Color.blue, t.getObject(15, 16));
+        assertEquals(Color.green, t.getObject(16, 15));
+        assertNull(t.getObject(15, 15));
+        assertNull(t.getObject(16, 16));
+        assertNull(t.getObject(1000, 1000));
+
+        // setting null does not allocate storage, but extends the table
+        final long cells = t.getAllocatedCellCount();
+        t.setObject(500, 500, null);
+        assertEquals(cells, t.getAllocatedCellCount());
+        assertEquals(501, t.getRowCount());
+        t.setObject(100, 40, null);
+        assertNull(t.getObject(100, 40));
+
+        t.copyRow(15, 3);
+        assertEquals(Color.blue, t.getObject(3, 16));
+        final Object[][] data = t.getData();
+        assertEquals(501, data.length);
+        assertEquals(Color.green, data[16][15]);
+        assertNull(data[100]);
+
+        t.clear();
+        assertEquals(0, t.getRowCount());
+        assertNull(t.getObject(15, 16));
+        assertNull(t.getObject(3, 16));
+    }
+
+    /**
+     * Random changes to a sparse table give the same results as for a
+     * table with the array storage.
+     */
+    public void testSparseRandom() {
+        final TObjectTable dense = new TObjectTable(false);
+        final TObjectTable sparse = new TObjectTable(true);
+        final Random random = new Random(17L);
+        for (int i = 0; i < 20000; i++) {
+            final int row = random.nextInt(60);
+            final int column = random.nextInt(60);
+            final Object value = random.nextInt(3) == 0 ? null
+                    : new Integer(random.nextInt(100));
+            dense.setObject(row, column, value);
+            sparse.setObject(row, column, value);
+        }
+        for (int r = 0; r < 60; r++) {
+            for (int c = 0; c < 60; c++) {
+                assertEquals(dense.getObject(r, c), sparse.getObject(r, c));
+            }
+        }
+        assertTrue(sparse.equals(dense));
+    }
+
+    /**
+     * The sparse storage needs less memory for a mostly empty table.
+     */
+    public void testMemoryUsage() {
+        final TObjectTable dense = new TObjectTable(false);
+        final TObjectTable sparse = new TObjectTable(true);
+        assertTrue(dense.getMemoryUsage() > 0);
+        for (int r = 0; r < 10000; r += 100) {
+            dense.setObject(r, 1000, Color.red);
+            sparse.setObject(r, 1000, Color.red);
+        }
+        assertTrue(dense.getAllocatedCellCount() >= 100 * 1001);
+        assertTrue(sparse.getAllocatedCellCount() <= 256);
+        assertTrue(sparse.getMemoryUsage() * 100 < dense.getMemoryUsage());
+    }
+
+    /**
+     * Serialize instances, restore them, and check for equality.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testSerialization() throws Exception {
+        // ObjectTable itself, the inner test class is not serializable
+        final ObjectTable[] tables = {new ObjectTable(5, 5, false),
+                new ObjectTable(5, 5, true)};
+        for (int i = 0; i < tables.length; i++) {
+            final ObjectTable t1 = tables[i];
+            t1.setObject(0, 0, Color.red);
+            t1.setObject(40, 3, Color.blue);
+            t1.setObject(41, 50, null);
+
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            final ObjectOutput out = new ObjectOutputStream(buffer);
+            out.writeObject(t1);
+            out.close();
+
+            final ObjectInput in = new ObjectInputStream(
+                    new ByteArrayInputStream(buffer.toByteArray()));
+            final ObjectTable t2 = (ObjectTable) in.readObject();
+            in.close();
+            assertEquals(t1, t2);
+            assertEquals(t1.isSparse(), t2.isSparse());
+            assertEquals(Color.blue, t2.getObject(40, 3));
+            t2.setObject(60, 60, Color.green);
+            assertEquals(Color.green, t2.getObject(60, 60));
+        }
+    }
+
 }
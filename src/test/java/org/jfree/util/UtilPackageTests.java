@@ -40,6 +40,11 @@
  * 08-Oct-2004 : Added tests for UnitType class (DG);
  * 26-Oct-2004 : Added tests for ShapeUtilities class (DG);
  * 17-Jun-2008 : Added tests for ShapeList class (DG);
+ * 17-Oct-2026 : Added tests for AsyncLogTarget class;
+ * 17-Oct-2026 : Added tests for IntList, FloatList and DoubleList classes;
+ * 17-Oct-2026 : Added tests for CompactHashNMap class;
+ * 17-Oct-2026 : Added tests for ConcurrentHashNMap class;
+ * 17-Oct-2026 : Added tests for ExtendedConfigurationWrapper class;
  *
  */
 
@@ -64,7 +69,14 @@ public class UtilPackageTests extends TestCase {
     public static Test suite() {
         TestSuite suite = new TestSuite("org.jfree.util");
         suite.addTestSuite(ArrayUtilitiesTest.class);
+        suite.addTestSuite(AsyncLogTargetTest.class);
         suite.addTestSuite(BooleanListTest.class);
+        suite.addTestSuite(CompactHashNMapTest.class);
+        suite.addTestSuite(ConcurrentHashNMapTest.class);
+        suite.addTestSuite(DoubleListTest.class);
+        suite.addTestSuite(ExtendedConfigurationWrapperTest.class);
+        suite.addTestSuite(FloatListTest.class);
+        suite.addTestSuite(IntListTest.class);
         suite.addTestSuite(ObjectListTest.class);
         suite.addTestSuite(ObjectTableTest.class);
         suite.addTestSuite(ObjectUtilitiesTest.class);
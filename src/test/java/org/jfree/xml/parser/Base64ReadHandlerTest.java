@@ -0,0 +1,178 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * --------------------------
+ * Base64ReadHandlerTest.java
+ * --------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ * 17-Oct-2026 : Added testCharactersAfterGetObject();
+ *
+ */
+
+package org.jfree.xml.parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.jfree.xml.util.Base64;
+import org.xml.sax.SAXException;
+
+/**
+ * Tests for the {@link Base64ReadHandler} class.
+ */
+public class Base64ReadHandlerTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(Base64ReadHandlerTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public Base64ReadHandlerTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Passes text to a handler in chunks of random size, the way a SAX
+     * parser might split it.
+     *
+     * @param handler  the handler.
+     * @param text  the text.
+     *
+     * @throws Exception if there is a problem.
+     */
+    private static void parse(final Base64ReadHandler handler,
+                              final String text) throws Exception {
+        final char[] chars = text.toCharArray();
+        final Random random = new Random(11);
+        int i = 0;
+        while (i < chars.length) {
+            final int n = Math.min(1 + random.nextInt(100), chars.length - i);
+            // the parser reuses its buffer
+            final char[] buffer = new char[n + 10];
+            System.arraycopy(chars, i, buffer, 5, n);
+            handler.characters(buffer, 5, n);
+            i += n;
+        }
+        handler.doneParsing();
+    }
+
+    /**
+     * Returns the serialized form of an object.
+     *
+     * @param object  the object.
+     *
+     * @return The bytes.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static byte[] serialize(final Object object) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * An object whose text is split into many chunks is read completely.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testChunkedObject() throws Exception {
+        final List list = new ArrayList();
+        for (int i = 0; i < 1000; i++) {
+            list.add("Item " + i);
+        }
+        final String text = "\n  " + new String(Base64.encode(
+                serialize(list))) + "\n";
+        final Base64ReadHandler handler = new Base64ReadHandler();
+        parse(handler, text);
+        assertEquals(list, handler.getObject());
+        assertSame(handler.getObject(), handler.getObject());
+    }
+
+    /**
+     * Character data that arrives after the object has been read is
+     * rejected with a SAXException rather than a NullPointerException.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testCharactersAfterGetObject() throws Exception {
+        final Base64ReadHandler handler = new Base64ReadHandler();
+        parse(handler, new String(Base64.encode(serialize("text"))));
+        assertEquals("text", handler.getObject());
+        final char[] more = "QUJD".toCharArray();
+        try {
+            handler.characters(more, 0, more.length);
+            fail("Expected a SAXException.");
+        }
+        catch (SAXException e) {
+            assertTrue(e.getMessage().indexOf("after the object") >= 0);
+        }
+        handler.doneParsing();
+        assertEquals("text", handler.getObject());
+    }
+
+    /**
+     * A handler with a sink writes the decoded bytes to the sink.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testSink() throws Exception {
+        final byte[] data = new byte[50000];
+        new Random(5).nextBytes(data);
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        final Base64ReadHandler handler = new Base64ReadHandler(sink);
+        parse(handler, new String(Base64.encode(data)));
+        assertSame(sink, handler.getObject());
+        assertTrue(Arrays.equals(data, sink.toByteArray()));
+    }
+
+}
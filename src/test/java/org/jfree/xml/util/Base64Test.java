@@ -0,0 +1,234 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------
+ * Base64Test.java
+ * ---------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes:
+ * --------
+ * 17-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.xml.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link Base64} class and the base64 streams.
+ */
+public class Base64Test extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(Base64Test.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public Base64Test(final String name) {
+        super(name);
+    }
+
+    /**
+     * Checks the examples from RFC 4648.
+     */
+    public void testRFC4648() {
+        final String[] plain = {"", "f", "fo", "foo", "foob", "fooba",
+                "foobar"};
+        final String[] encoded = {"", "Zg==", "Zm8=", "Zm9v", "Zm9vYg==",
+                "Zm9vYmE=", "Zm9vYmFy"};
+        for (int i = 0; i < plain.length; i++) {
+            final byte[] bytes = getBytes(plain[i]);
+            assertEquals(encoded[i], new String(Base64.encode(bytes)));
+            assertTrue(Arrays.equals(bytes,
+                    Base64.decode(encoded[i].toCharArray())));
+        }
+    }
+
+    /**
+     * Characters outside the alphabet are skipped, wherever they are.
+     */
+    public void testJunk() {
+        final String text = " Zm9v\r\nYm\u20acFy\n==\t";
+        assertEquals("foobar", getString(Base64.decode(text.toCharArray())));
+        assertEquals("foob",
+                getString(Base64.decode("Zm=9vYg".toCharArray())));
+        assertEquals(0, Base64.decode(" =\n".toCharArray()).length);
+        assertEquals("foo", getString(Base64.decode(
+                text.toCharArray(), 1, 4)));
+    }
+
+    /**
+     * Random data survives a round trip through the array, buffer and
+     * stream methods.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testRoundTrip() throws IOException {
+        final Random random = new Random(7);
+        for (int length = 0; length < 300; length += 1 + length / 10) {
+            final byte[] data = new byte[length];
+            random.nextBytes(data);
+            final char[] chars = Base64.encode(data);
+            assertTrue(Arrays.equals(data, Base64.decode(chars)));
+
+            final CharBuffer charBuffer = Base64.encode(ByteBuffer.wrap(data));
+            assertEquals(new String(chars), charBuffer.toString());
+            final ByteBuffer byteBuffer = Base64.decode(
+                    CharBuffer.wrap(new String(chars)));
+            assertEquals(ByteBuffer.wrap(data), byteBuffer);
+
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final Base64OutputStream out = new Base64OutputStream(bytes);
+            int i = 0;
+            while (i < length) {
+                final int n = Math.min(random.nextInt(5), length - i);
+                if (n == 1) {
+                    out.write(data[i]);
+                }
+                else {
+                    out.write(data, i, n);
+                }
+                i += n;
+            }
+            out.close();
+            assertEquals(new String(chars), getString(bytes.toByteArray()));
+
+            final InputStream in = new Base64InputStream(
+                    new ByteArrayInputStream(bytes.toByteArray()));
+            final byte[] result = new byte[length];
+            i = 0;
+            while (i < length) {
+                final int n = in.read(result, i, Math.min(length - i, 7));
+                assertTrue(n > 0);
+                i += n;
+            }
+            assertEquals(-1, in.read());
+            assertTrue(Arrays.equals(data, result));
+        }
+    }
+
+    /**
+     * The decoder carries incomplete groups from one chunk to the next.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public void testDecoderChunks() throws IOException {
+        final byte[] data = new byte[10000];
+        new Random(3).nextBytes(data);
+        final String text = wrap(new String(Base64.encode(data)), 76);
+        final char[] chars = text.toCharArray();
+        for (int chunk = 1; chunk < 20; chunk += 3) {
+            final Base64Decoder decoder = new Base64Decoder();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (int i = 0; i < chars.length; i += chunk) {
+                decoder.decode(chars, i, Math.min(chunk, chars.length - i),
+                        out);
+            }
+            // the last group has two characters and the padding
+            assertEquals(2, decoder.getPendingCount());
+            assertTrue(Arrays.equals(data, out.toByteArray()));
+        }
+        final Base64Decoder decoder = new Base64Decoder();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        decoder.decode(CharBuffer.wrap(text), out);
+        assertTrue(Arrays.equals(data, out.toByteArray()));
+        assertTrue(Arrays.equals(data, Base64.decode(chars)));
+    }
+
+    /**
+     * Splits text into lines.
+     *
+     * @param text  the text.
+     * @param lineLength  the line length.
+     *
+     * @return The text with line breaks.
+     */
+    private static String wrap(final String text, final int lineLength) {
+        final StringBuilder result = new StringBuilder();
+        for (int i = 0; i < text.length(); i += lineLength) {
+            result.append(text.substring(i,
+                    Math.min(text.length(), i + lineLength)));
+            result.append("\r\n");
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns the ASCII bytes for a string.
+     *
+     * @param s  the string.
+     *
+     * @return The bytes.
+     */
+    private static byte[] getBytes(final String s) {
+        final byte[] bytes = new byte[s.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) s.charAt(i);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the string for ASCII bytes.
+     *
+     * @param bytes  the bytes.
+     *
+     * @return The string.
+     */
+    private static String getString(final byte[] bytes) {
+        final char[] chars = new char[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i] = (char) (bytes[i] & 0xff);
+        }
+        return new String(chars);
+    }
+
+}